@@ -0,0 +1,183 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.attitudes;
+
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.AngularDerivativesFilter;
+import org.orekit.utils.ImmutableTimeStampedCache;
+import org.orekit.utils.TimeStampedAngularCoordinates;
+
+/** Quaternion interpolation kernel for tabulated angular coordinates.
+ * <p>
+ * This table holds the quaternions of chronologically sorted entries in
+ * primitive arrays, for a lightweight allocation-free interpolation. The
+ * entries bracketing the interpolation date are selected using
+ * {@link ImmutableTimeStampedCache#getNeighborsStart(AbsoluteDate)}.
+ * </p>
+ * @since 11.0
+ */
+class AngularCoordinatesTable {
+
+    /** Threshold on quaternions dot product below which spherical interpolation is used. */
+    private static final double SLERP_THRESHOLD = 0.9995;
+
+    /** Tabulated entries, in chronological order. */
+    private final List<TimeStampedAngularCoordinates> entries;
+
+    /** Cache used for selecting the entries bracketing a date. */
+    private final ImmutableTimeStampedCache<TimeStampedAngularCoordinates> brackets;
+
+    /** Filter for derivatives from the sample to use in interpolation. */
+    private final AngularDerivativesFilter filter;
+
+    /** Quaternions components and their first time derivatives.
+     * <p>
+     * Element {@code q[k][i]} is component k of entry i, components being
+     * q0, q1, q2, q3 and then their first time derivatives. Signs are selected
+     * so that consecutive quaternions lie in the same hemisphere.
+     * </p>
+     */
+    private final double[][] q;
+
+    /** Simple constructor.
+     * @param entries tabulated entries, in chronological order
+     * @param filter filter for derivatives from the sample to use in interpolation
+     */
+    AngularCoordinatesTable(final List<TimeStampedAngularCoordinates> entries,
+                            final AngularDerivativesFilter filter) {
+
+        final int n = entries.size();
+        this.entries  = entries;
+        this.brackets = ImmutableTimeStampedCache.fromSortedList(FastMath.min(2, n), entries);
+        this.filter   = filter;
+
+        q = new double[8][n];
+        for (int i = 0; i < n; ++i) {
+            final TimeStampedAngularCoordinates ac   = entries.get(i);
+            final Rotation                      r    = ac.getRotation();
+            final Vector3D                      rate = ac.getRotationRate();
+            q[0][i] = r.getQ0();
+            q[1][i] = r.getQ1();
+            q[2][i] = r.getQ2();
+            q[3][i] = r.getQ3();
+            q[4][i] = 0.5 * (-q[1][i] * rate.getX() - q[2][i] * rate.getY() - q[3][i] * rate.getZ());
+            q[5][i] = 0.5 * ( q[0][i] * rate.getX() - q[3][i] * rate.getY() + q[2][i] * rate.getZ());
+            q[6][i] = 0.5 * ( q[3][i] * rate.getX() + q[0][i] * rate.getY() - q[1][i] * rate.getZ());
+            q[7][i] = 0.5 * (-q[2][i] * rate.getX() + q[1][i] * rate.getY() + q[0][i] * rate.getZ());
+            if (i > 0 &&
+                q[0][i] * q[0][i - 1] + q[1][i] * q[1][i - 1] + q[2][i] * q[2][i - 1] + q[3][i] * q[3][i - 1] < 0) {
+                // use the quaternion closest to the previous one
+                for (int k = 0; k < q.length; ++k) {
+                    q[k][i] = -q[k][i];
+                }
+            }
+        }
+
+    }
+
+    /** Interpolate quaternion.
+     * <p>
+     * Only the two entries bracketing the date are used. If the filter is
+     * {@link AngularDerivativesFilter#USE_R}, spherical linear interpolation is
+     * used, otherwise a cubic Hermite polynomial matching quaternions and their
+     * first time derivatives at both entries is used, and its value normalized.
+     * </p>
+     * <p>
+     * This method does not allocate any object.
+     * </p>
+     * @param date interpolation date
+     * @param quaternion placeholder where to put the q0, q1, q2, q3 quaternion
+     * components, starting at {@code index}
+     * @param index index of the q0 component in the placeholder
+     */
+    public void interpolate(final AbsoluteDate date, final double[] quaternion, final int index) {
+
+        final int i = brackets.getNeighborsStart(date);
+        if (brackets.getNeighborsSize() < 2) {
+            // single entry table
+            for (int k = 0; k < 4; ++k) {
+                quaternion[index + k] = q[k][i];
+            }
+            return;
+        }
+
+        final AbsoluteDate t0 = entries.get(i).getDate();
+        final double h = entries.get(i + 1).getDate().durationFrom(t0);
+        final double s = date.durationFrom(t0) / h;
+        if (filter == AngularDerivativesFilter.USE_R) {
+
+            // spherical linear interpolation
+            final double dot = q[0][i] * q[0][i + 1] + q[1][i] * q[1][i + 1] +
+                               q[2][i] * q[2][i + 1] + q[3][i] * q[3][i + 1];
+            final double c0;
+            final double c1;
+            if (dot > SLERP_THRESHOLD) {
+                // quaternions are too close, linear interpolation is accurate and stable
+                c0 = 1 - s;
+                c1 = s;
+            } else {
+                final double theta    = FastMath.acos(dot);
+                final double invSin   = 1.0 / FastMath.sin(theta);
+                c0 = FastMath.sin((1 - s) * theta) * invSin;
+                c1 = FastMath.sin(s * theta) * invSin;
+            }
+            combine(i, c0, 0.0, c1, 0.0, quaternion, index);
+
+        } else {
+
+            // cubic Hermite basis functions
+            final double s1  = 1 - s;
+            final double h00 = (1 + 2 * s) * s1 * s1;
+            final double h10 = s * s1 * s1 * h;
+            final double h01 = s * s * (3 - 2 * s);
+            final double h11 = -s * s * s1 * h;
+            combine(i, h00, h10, h01, h11, quaternion, index);
+
+        }
+
+    }
+
+    /** Combine quaternions and derivatives from two consecutive entries, and normalize the result.
+     * @param i index of the first entry
+     * @param c0 coefficient for quaternion at first entry
+     * @param c0Dot coefficient for quaternion derivative at first entry
+     * @param c1 coefficient for quaternion at second entry
+     * @param c1Dot coefficient for quaternion derivative at second entry
+     * @param quaternion placeholder where to put the normalized quaternion
+     * @param index index of the q0 component in the placeholder
+     */
+    private void combine(final int i,
+                         final double c0, final double c0Dot, final double c1, final double c1Dot,
+                         final double[] quaternion, final int index) {
+        double norm2 = 0;
+        for (int k = 0; k < 4; ++k) {
+            final double qk = c0 * q[k][i] + c0Dot * q[k + 4][i] + c1 * q[k][i + 1] + c1Dot * q[k + 4][i + 1];
+            quaternion[index + k] = qk;
+            norm2 += qk * qk;
+        }
+        final double inv = 1.0 / FastMath.sqrt(norm2);
+        for (int k = 0; k < 4; ++k) {
+            quaternion[index + k] *= inv;
+        }
+    }
+
+}
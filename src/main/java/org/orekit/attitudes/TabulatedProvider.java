@@ -34,6 +34,13 @@ import org.orekit.utils.TimeStampedFieldAngularCoordinates;
 /**
  * This class handles an attitude provider interpolating from a predefined table.
  * <p>Instances of this class are guaranteed to be immutable.</p>
+ * <p>
+ * In addition to the full
+ * {@link #getAttitude(PVCoordinatesProvider, AbsoluteDate, Frame) getAttitude}
+ * methods, the {@link #getQuaternion(AbsoluteDate, double[])} and
+ * {@link #getQuaternions(AbsoluteDate[], double[])} methods provide a lightweight
+ * allocation-free path for users evaluating raw attitude at high rates.
+ * </p>
  * @author Luc Maisonobe
  * @see TabulatedLofOffset
  * @since 6.1
@@ -41,7 +48,10 @@ import org.orekit.utils.TimeStampedFieldAngularCoordinates;
 public class TabulatedProvider implements BoundedAttitudeProvider {
 
     /** Cached attitude table. */
-    private final transient ImmutableTimeStampedCache<? extends TimeStampedAngularCoordinates> table;
+    private final transient ImmutableTimeStampedCache<TimeStampedAngularCoordinates> table;
+
+    /** Quaternions interpolation kernel. */
+    private final transient AngularCoordinatesTable quaternions;
 
     /** Filter for derivatives from the sample to use in interpolation. */
     private final AngularDerivativesFilter filter;
@@ -85,6 +95,7 @@ public class TabulatedProvider implements BoundedAttitudeProvider {
                              final AbsoluteDate minDate, final AbsoluteDate maxDate,
                              final AttitudeBuilder builder) {
         this.table          = new ImmutableTimeStampedCache<TimeStampedAngularCoordinates>(n, table);
+        this.quaternions    = new AngularCoordinatesTable(this.table.getAll(), filter);
         this.filter         = filter;
         this.minDate        = minDate;
         this.maxDate        = maxDate;
@@ -128,6 +139,50 @@ public class TabulatedProvider implements BoundedAttitudeProvider {
 
     }
 
+    /** Get the raw interpolated quaternion at a specified date.
+     * <p>
+     * The quaternion corresponds to the raw tabulated attitudes, before the
+     * attitude builder is applied. For instances built with a reference frame,
+     * this is the rotation from this reference frame to spacecraft frame.
+     * </p>
+     * <p>
+     * This method is a lightweight alternative to the {@link #getAttitude(PVCoordinatesProvider,
+     * AbsoluteDate, Frame) getAttitude} method. It uses only the two tabulated
+     * attitudes bracketing the date, regardless of the number of points set up
+     * at construction. If the filter is {@link AngularDerivativesFilter#USE_R},
+     * spherical linear interpolation (SLERP) is used, otherwise a cubic Hermite
+     * polynomial matching the quaternions and their first time derivatives is
+     * used, and normalized. Its accuracy is therefore similar to a two points
+     * interpolation with the {@link AngularDerivativesFilter#USE_RR} filter.
+     * </p>
+     * <p>
+     * This method does not allocate any object.
+     * </p>
+     * @param date date at which quaternion is requested
+     * @param quaternion placeholder where to put the q0, q1, q2, q3 components
+     * (q0 being the scalar part), must have at least 4 elements
+     * @since 11.0
+     */
+    public void getQuaternion(final AbsoluteDate date, final double[] quaternion) {
+        quaternions.interpolate(date, quaternion, 0);
+    }
+
+    /** Get the raw interpolated quaternions at several dates.
+     * <p>
+     * Each quaternion is computed as per {@link #getQuaternion(AbsoluteDate, double[])}.
+     * </p>
+     * @param dates dates at which quaternions are requested
+     * @param quaternions placeholder where to put the quaternions, with the q0, q1, q2, q3
+     * components of quaternion i at indices 4i to 4i+3, must have at least
+     * 4 * {@code dates.length} elements
+     * @since 11.0
+     */
+    public void getQuaternions(final AbsoluteDate[] dates, final double[] quaternions) {
+        for (int i = 0; i < dates.length; ++i) {
+            this.quaternions.interpolate(dates[i], quaternions, 4 * i);
+        }
+    }
+
     /** {@inheritDoc} */
     public AbsoluteDate getMinDate() {
         return minDate;
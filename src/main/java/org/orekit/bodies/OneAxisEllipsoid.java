@@ -17,9 +17,12 @@
 package org.orekit.bodies;
 
 import java.io.Serializable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.FieldLine;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Line;
@@ -29,6 +32,7 @@ import org.hipparchus.util.FastMath;
 import org.hipparchus.util.FieldSinCos;
 import org.hipparchus.util.MathArrays;
 import org.hipparchus.util.SinCos;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.frames.FieldTransform;
 import org.orekit.frames.Frame;
 import org.orekit.frames.Transform;
@@ -53,6 +57,9 @@ public class OneAxisEllipsoid extends Ellipsoid implements BodyShape {
     /** Serializable UID. */
     private static final long serialVersionUID = 20130518L;
 
+    /** Number of points per chunk for concurrent conversions. */
+    private static final int CHUNK_SIZE = 4096;
+
     /** Threshold for polar and equatorial points detection. */
     private static final double ANGULAR_THRESHOLD = 1.0e-4;
 
@@ -424,12 +431,38 @@ public class OneAxisEllipsoid extends Ellipsoid implements BodyShape {
 
         // transform point to body frame
         final Vector3D pointInBodyFrame = frame.getTransformTo(bodyFrame, date).transformPosition(point);
-        final double   r2               = pointInBodyFrame.getX() * pointInBodyFrame.getX() +
-                                          pointInBodyFrame.getY() * pointInBodyFrame.getY();
+
+        final double[] lla = new double[3];
+        toGeodetic(pointInBodyFrame.getX(), pointInBodyFrame.getY(), pointInBodyFrame.getZ(),
+                   lla, 0, lla, 1, lla, 2);
+        return new GeodeticPoint(lla[0], lla[1], lla[2]);
+
+    }
+
+    /** Convert Cartesian coordinates in body frame to geodetic coordinates.
+     * <p>
+     * This method uses the same algorithm as {@link #transform(Vector3D, Frame, AbsoluteDate)}
+     * and stores its results in caller-provided arrays, so it does not allocate anything.
+     * </p>
+     * @param x abscissa in body frame (m)
+     * @param y ordinate in body frame (m)
+     * @param z height in body frame (m)
+     * @param latitude array where to store geodetic latitude
+     * @param latitudeIndex index where to store geodetic latitude
+     * @param longitude array where to store longitude
+     * @param longitudeIndex index where to store longitude
+     * @param altitude array where to store altitude
+     * @param altitudeIndex index where to store altitude
+     */
+    private void toGeodetic(final double x, final double y, final double z,
+                            final double[] latitude, final int latitudeIndex,
+                            final double[] longitude, final int longitudeIndex,
+                            final double[] altitude, final int altitudeIndex) {
+
+        final double   r2               = x * x + y * y;
         final double   r                = FastMath.sqrt(r2);
-        final double   z                = pointInBodyFrame.getZ();
 
-        final double   lambda           = FastMath.atan2(pointInBodyFrame.getY(), pointInBodyFrame.getX());
+        final double   lambda           = FastMath.atan2(y, x);
 
         double h;
         double phi;
@@ -520,10 +553,170 @@ public class OneAxisEllipsoid extends Ellipsoid implements BodyShape {
             }
         }
 
-        return new GeodeticPoint(phi, lambda, h);
+        latitude[latitudeIndex]   = phi;
+        longitude[longitudeIndex] = lambda;
+        altitude[altitudeIndex]   = h;
 
     }
 
+    /** Convert a cloud of points from Cartesian coordinates in body frame to geodetic coordinates.
+     * <p>
+     * The points are given and returned as structures of arrays. This method uses the
+     * same algorithm as {@link #transform(Vector3D, Frame, AbsoluteDate)}, but it does
+     * not allocate anything.
+     * </p>
+     * @param x abscissas in {@link #getBodyFrame() body frame} (m)
+     * @param y ordinates in {@link #getBodyFrame() body frame} (m)
+     * @param z heights in {@link #getBodyFrame() body frame} (m)
+     * @param latitude array where to store geodetic latitudes (rad)
+     * @param longitude array where to store longitudes (rad)
+     * @param altitude array where to store altitudes (m)
+     * @see #toCartesian(double[], double[], double[], double[], double[], double[])
+     * @since 11.0
+     */
+    public void toGeodetic(final double[] x, final double[] y, final double[] z,
+                           final double[] latitude, final double[] longitude, final double[] altitude) {
+        checkDimensions(x.length, y, z, latitude, longitude, altitude);
+        toGeodetic(x, y, z, latitude, longitude, altitude, 0, x.length);
+    }
+
+    /** Convert a cloud of points from Cartesian coordinates in body frame to geodetic coordinates.
+     * <p>
+     * This method is similar to {@link #toGeodetic(double[], double[], double[], double[], double[], double[])},
+     * but the points are split in chunks converted concurrently in the specified pool.
+     * </p>
+     * @param x abscissas in {@link #getBodyFrame() body frame} (m)
+     * @param y ordinates in {@link #getBodyFrame() body frame} (m)
+     * @param z heights in {@link #getBodyFrame() body frame} (m)
+     * @param latitude array where to store geodetic latitudes (rad)
+     * @param longitude array where to store longitudes (rad)
+     * @param altitude array where to store altitudes (m)
+     * @param pool pool in which conversion should be performed
+     * @since 11.0
+     */
+    public void toGeodetic(final double[] x, final double[] y, final double[] z,
+                           final double[] latitude, final double[] longitude, final double[] altitude,
+                           final ForkJoinPool pool) {
+        checkDimensions(x.length, y, z, latitude, longitude, altitude);
+        final int n = x.length;
+        pool.submit(() -> IntStream.range(0, chunks(n)).parallel().forEach(c -> {
+            final int begin = c * CHUNK_SIZE;
+            toGeodetic(x, y, z, latitude, longitude, altitude, begin, FastMath.min(n, begin + CHUNK_SIZE));
+        })).join();
+    }
+
+    /** Convert a range of points from Cartesian coordinates in body frame to geodetic coordinates.
+     * @param x abscissas in body frame (m)
+     * @param y ordinates in body frame (m)
+     * @param z heights in body frame (m)
+     * @param latitude array where to store geodetic latitudes (rad)
+     * @param longitude array where to store longitudes (rad)
+     * @param altitude array where to store altitudes (m)
+     * @param begin index of first point to convert (included)
+     * @param end index of last point to convert (excluded)
+     */
+    private void toGeodetic(final double[] x, final double[] y, final double[] z,
+                            final double[] latitude, final double[] longitude, final double[] altitude,
+                            final int begin, final int end) {
+        for (int i = begin; i < end; ++i) {
+            toGeodetic(x[i], y[i], z[i], latitude, i, longitude, i, altitude, i);
+        }
+    }
+
+    /** Convert a cloud of points from geodetic coordinates to Cartesian coordinates in body frame.
+     * <p>
+     * The points are given and returned as structures of arrays. This method uses the
+     * same algorithm as {@link #transform(GeodeticPoint)}, but it does not allocate anything.
+     * </p>
+     * @param latitude geodetic latitudes (rad)
+     * @param longitude longitudes (rad)
+     * @param altitude altitudes (m)
+     * @param x array where to store abscissas in {@link #getBodyFrame() body frame} (m)
+     * @param y array where to store ordinates in {@link #getBodyFrame() body frame} (m)
+     * @param z array where to store heights in {@link #getBodyFrame() body frame} (m)
+     * @see #toGeodetic(double[], double[], double[], double[], double[], double[])
+     * @since 11.0
+     */
+    public void toCartesian(final double[] latitude, final double[] longitude, final double[] altitude,
+                            final double[] x, final double[] y, final double[] z) {
+        checkDimensions(latitude.length, longitude, altitude, x, y, z);
+        toCartesian(latitude, longitude, altitude, x, y, z, 0, latitude.length);
+    }
+
+    /** Convert a cloud of points from geodetic coordinates to Cartesian coordinates in body frame.
+     * <p>
+     * This method is similar to {@link #toCartesian(double[], double[], double[], double[], double[], double[])},
+     * but the points are split in chunks converted concurrently in the specified pool.
+     * </p>
+     * @param latitude geodetic latitudes (rad)
+     * @param longitude longitudes (rad)
+     * @param altitude altitudes (m)
+     * @param x array where to store abscissas in {@link #getBodyFrame() body frame} (m)
+     * @param y array where to store ordinates in {@link #getBodyFrame() body frame} (m)
+     * @param z array where to store heights in {@link #getBodyFrame() body frame} (m)
+     * @param pool pool in which conversion should be performed
+     * @since 11.0
+     */
+    public void toCartesian(final double[] latitude, final double[] longitude, final double[] altitude,
+                            final double[] x, final double[] y, final double[] z,
+                            final ForkJoinPool pool) {
+        checkDimensions(latitude.length, longitude, altitude, x, y, z);
+        final int n = latitude.length;
+        pool.submit(() -> IntStream.range(0, chunks(n)).parallel().forEach(c -> {
+            final int begin = c * CHUNK_SIZE;
+            toCartesian(latitude, longitude, altitude, x, y, z, begin, FastMath.min(n, begin + CHUNK_SIZE));
+        })).join();
+    }
+
+    /** Convert a range of points from geodetic coordinates to Cartesian coordinates in body frame.
+     * @param latitude geodetic latitudes (rad)
+     * @param longitude longitudes (rad)
+     * @param altitude altitudes (m)
+     * @param x array where to store abscissas in body frame (m)
+     * @param y array where to store ordinates in body frame (m)
+     * @param z array where to store heights in body frame (m)
+     * @param begin index of first point to convert (included)
+     * @param end index of last point to convert (excluded)
+     */
+    private void toCartesian(final double[] latitude, final double[] longitude, final double[] altitude,
+                             final double[] x, final double[] y, final double[] z,
+                             final int begin, final int end) {
+        final double a = getA();
+        for (int i = begin; i < end; ++i) {
+            final double sinLambda = FastMath.sin(longitude[i]);
+            final double cosLambda = FastMath.cos(longitude[i]);
+            final double sinPhi    = FastMath.sin(latitude[i]);
+            final double cosPhi    = FastMath.cos(latitude[i]);
+            final double h         = altitude[i];
+            final double n         = a / FastMath.sqrt(1.0 - e2 * sinPhi * sinPhi);
+            final double r         = (n + h) * cosPhi;
+            x[i] = r * cosLambda;
+            y[i] = r * sinLambda;
+            z[i] = (g2 * n + h) * sinPhi;
+        }
+    }
+
+    /** Get the number of chunks for concurrent conversions.
+     * @param n number of points
+     * @return number of chunks
+     */
+    private static int chunks(final int n) {
+        return (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    /** Check arrays dimensions.
+     * @param expected expected dimension
+     * @param arrays arrays to check
+     */
+    private static void checkDimensions(final int expected, final double[]... arrays) {
+        for (final double[] array : arrays) {
+            if (array.length != expected) {
+                throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                         array.length, expected);
+            }
+        }
+    }
+
     /** {@inheritDoc}
      * <p>
      * This method is based on Toshio Fukushima's algorithm which uses Halley's method.
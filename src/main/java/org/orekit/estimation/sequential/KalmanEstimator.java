@@ -16,9 +16,14 @@
  */
 package org.orekit.estimation.sequential;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathRuntimeException;
+import org.hipparchus.filtering.kalman.KalmanFilter;
 import org.hipparchus.filtering.kalman.ProcessEstimate;
 import org.hipparchus.filtering.kalman.extended.ExtendedKalmanFilter;
 import org.hipparchus.linear.MatrixDecomposer;
@@ -26,6 +31,8 @@ import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.linear.RealVector;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.estimation.measurements.MultiplexedMeasurement;
 import org.orekit.estimation.measurements.ObservedMeasurement;
 import org.orekit.estimation.measurements.PV;
 import org.orekit.estimation.measurements.Position;
@@ -63,6 +70,12 @@ import org.orekit.utils.ParameterDriversList.DelegatingDriver;
  * All the variables seen by Hipparchus (states, covariances, measurement matrices...) are normalized
  * using a specific scale for each estimated parameters or standard deviation noise for each measurement components.
  * </p>
+ * <p>
+ * For large state vectors, a {@link UDKalmanFilter U-D factorized} filter can be selected
+ * using {@link KalmanEstimatorBuilder#udFactorization(boolean)}. It is numerically more robust
+ * and processes the measurement components sequentially, without inverting the innovation
+ * covariance matrix.
+ * </p>
  *
  * <p>A {@link KalmanEstimator} object is built using the {@link KalmanEstimatorBuilder#build() build}
  * method of a {@link KalmanEstimatorBuilder}.</p>
@@ -84,7 +97,7 @@ public class KalmanEstimator {
     private final AbstractKalmanModel processModel;
 
     /** Filter. */
-    private final ExtendedKalmanFilter<MeasurementDecorator> filter;
+    private final KalmanFilter<MeasurementDecorator> filter;
 
     /** Observer to retrieve current estimation info. */
     private KalmanObserver observer;
@@ -95,13 +108,16 @@ public class KalmanEstimator {
      * @param processNoiseMatricesProviders providers for process noise matrices
      * @param estimatedMeasurementParameters measurement parameters to estimate
      * @param measurementProcessNoiseMatrix provider for measurement process noise matrix
-     * @since 10.3
+     * @param udFactorization if true, a {@link UDKalmanFilter} is used instead of
+     * an {@link ExtendedKalmanFilter} (in this case {@code decomposer} is ignored)
+     * @since 11.0
      */
     KalmanEstimator(final MatrixDecomposer decomposer,
                     final List<OrbitDeterminationPropagatorBuilder> propagatorBuilders,
                     final List<CovarianceMatrixProvider> processNoiseMatricesProviders,
                     final ParameterDriversList estimatedMeasurementParameters,
-                    final CovarianceMatrixProvider measurementProcessNoiseMatrix) {
+                    final CovarianceMatrixProvider measurementProcessNoiseMatrix,
+                    final boolean udFactorization) {
 
         this.propagatorBuilders = propagatorBuilders;
         this.referenceDate      = propagatorBuilders.get(0).getInitialOrbitDate();
@@ -113,7 +129,11 @@ public class KalmanEstimator {
                                                                        estimatedMeasurementParameters,
                                                                        measurementProcessNoiseMatrix);
 
-        this.filter = new ExtendedKalmanFilter<>(decomposer, processModel, processModel.getEstimate());
+        if (udFactorization) {
+            this.filter = new UDKalmanFilter<>(processModel, processModel.getEstimate());
+        } else {
+            this.filter = new ExtendedKalmanFilter<>(decomposer, processModel, processModel.getEstimate());
+        }
 
     }
 
@@ -241,6 +261,76 @@ public class KalmanEstimator {
         return propagators;
     }
 
+    /** Process several simultaneous measurements as one stacked measurement.
+     * <p>
+     * The measurements are combined in a {@link MultiplexedMeasurement}, so the
+     * filter performs only one prediction and one correction for the whole group.
+     * All measurements must share the same date.
+     * </p>
+     * <p>
+     * As the group is processed in one filter step, the {@link #getCurrentMeasurementNumber()
+     * current measurement number} is increased by one only. Outlier rejection is also
+     * performed on the group as a whole: if the stacked measurement is rejected, none
+     * of the measurements of the group are used for the correction.
+     * </p>
+     * @param observedMeasurements the simultaneous measurements to process
+     * @return estimated propagators
+     * @exception OrekitIllegalArgumentException if the list is empty or if the
+     * measurements do not share the same date
+     * @since 11.0
+     */
+    public Propagator[] estimationStep(final List<ObservedMeasurement<?>> observedMeasurements) {
+
+        if (observedMeasurements.isEmpty()) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.INSUFFICIENT_DIMENSION, 0, 1);
+        }
+
+        final AbsoluteDate date = observedMeasurements.get(0).getDate();
+        for (final ObservedMeasurement<?> observedMeasurement : observedMeasurements) {
+            final double dt = observedMeasurement.getDate().durationFrom(date);
+            if (dt != 0.0) {
+                throw new OrekitIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, dt, 0.0, 0.0);
+            }
+        }
+
+        return observedMeasurements.size() == 1 ?
+               estimationStep(observedMeasurements.get(0)) :
+               estimationStep(new MultiplexedMeasurement(observedMeasurements));
+
+    }
+
+    /** Process several measurements, gathering simultaneous ones.
+     * <p>
+     * Consecutive measurements sharing the same date are automatically
+     * grouped and processed as {@link #estimationStep(List) one stacked measurement},
+     * hence requiring only one propagation per epoch. Measurements are pulled
+     * from the stream as the filter progresses, so only the current group is
+     * held in memory.
+     * </p>
+     * @param observedMeasurements the measurements to process in <em>chronologically sorted</em> order
+     * @return estimated propagators
+     * @since 11.0
+     */
+    public Propagator[] processMeasurementsByEpoch(final Stream<? extends ObservedMeasurement<?>> observedMeasurements) {
+        Propagator[] propagators = null;
+        List<ObservedMeasurement<?>> group = new ArrayList<>();
+        final Iterator<? extends ObservedMeasurement<?>> iterator = observedMeasurements.iterator();
+        while (iterator.hasNext()) {
+            final ObservedMeasurement<?> observedMeasurement = iterator.next();
+            if (!group.isEmpty() && !observedMeasurement.getDate().equals(group.get(0).getDate())) {
+                // we have reached a new epoch, process the complete group
+                propagators = estimationStep(group);
+                group       = new ArrayList<>();
+            }
+            group.add(observedMeasurement);
+        }
+        if (!group.isEmpty()) {
+            // process last group
+            propagators = estimationStep(group);
+        }
+        return propagators;
+    }
+
     /** Decorate an observed measurement.
      * <p>
      * The "physical" measurement noise matrix is the covariance matrix of the measurement.
@@ -258,7 +348,18 @@ public class KalmanEstimator {
         // Indeed, the "physical" measurement noise matrix is the covariance matrix of the measurement
         // Normalizing it leaves us with the matrix of the correlation coefficients
         final RealMatrix covariance;
-        if (observedMeasurement instanceof PV) {
+        if (observedMeasurement instanceof MultiplexedMeasurement) {
+            // Multiplexed measurements are independent from each other,
+            // so the correlation coefficients matrix is block diagonal
+            final int dimension = observedMeasurement.getDimension();
+            covariance = MatrixUtils.createRealMatrix(dimension, dimension);
+            int index = 0;
+            for (final ObservedMeasurement<?> measurement :
+                 ((MultiplexedMeasurement) observedMeasurement).getMeasurements()) {
+                covariance.setSubMatrix(decorate(measurement).getCovariance().getData(), index, index);
+                index += measurement.getDimension();
+            }
+        } else if (observedMeasurement instanceof PV) {
             // For PV measurements we do have a covariance matrix and thus a correlation coefficients matrix
             final PV pv = (PV) observedMeasurement;
             covariance = MatrixUtils.createRealMatrix(pv.getCorrelationCoefficientsMatrix());
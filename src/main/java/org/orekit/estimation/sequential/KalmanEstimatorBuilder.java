@@ -48,6 +48,9 @@ public class KalmanEstimatorBuilder {
     /** Process noise matrix provider for measurement parameters. */
     private CovarianceMatrixProvider measurementProcessNoiseMatrix;
 
+    /** Indicator for U-D factorized covariance. */
+    private boolean udFactorization;
+
     /** Default constructor.
      *  Set an extended Kalman filter, with linearized covariance prediction.
      */
@@ -57,6 +60,7 @@ public class KalmanEstimatorBuilder {
         this.estimatedMeasurementsParameters = new ParameterDriversList();
         this.processNoiseMatricesProviders   = new ArrayList<>();
         this.measurementProcessNoiseMatrix   = null;
+        this.udFactorization                 = false;
     }
 
     /** Construct a {@link KalmanEstimator} from the data in this builder.
@@ -73,7 +77,8 @@ public class KalmanEstimatorBuilder {
             throw new OrekitException(OrekitMessages.NO_PROPAGATOR_CONFIGURED);
         }
         return new KalmanEstimator(decomposer, propagatorBuilders, processNoiseMatricesProviders,
-                                   estimatedMeasurementsParameters, measurementProcessNoiseMatrix);
+                                   estimatedMeasurementsParameters, measurementProcessNoiseMatrix,
+                                   udFactorization);
     }
 
     /** Configure the matrix decomposer.
@@ -85,6 +90,25 @@ public class KalmanEstimatorBuilder {
         return this;
     }
 
+    /** Configure the use of a U-D factorized covariance.
+     * <p>
+     * If this method is not called, a classical extended Kalman filter is used.
+     * The {@link UDKalmanFilter U-D factorized filter} is recommended for large
+     * state vectors (for example when several satellites are estimated together),
+     * as it is numerically more robust and processes measurements components
+     * sequentially without inverting the innovation covariance matrix. When
+     * it is selected, the {@link #decomposer(MatrixDecomposer) decomposer} is ignored
+     * and the physical Kalman gain is not available from {@link KalmanEstimation}.
+     * </p>
+     * @param useUDFactorization if true, covariance is propagated in U-D factorized form
+     * @return this object.
+     * @since 11.0
+     */
+    public KalmanEstimatorBuilder udFactorization(final boolean useUDFactorization) {
+        udFactorization = useUDFactorization;
+        return this;
+    }
+
     /** Add a propagation configuration.
      * <p>
      * This method must be called once for each propagator to managed with the
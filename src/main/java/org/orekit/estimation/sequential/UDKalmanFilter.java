@@ -0,0 +1,541 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.sequential;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathRuntimeException;
+import org.hipparchus.filtering.kalman.KalmanFilter;
+import org.hipparchus.filtering.kalman.Measurement;
+import org.hipparchus.filtering.kalman.ProcessEstimate;
+import org.hipparchus.filtering.kalman.extended.NonLinearEvolution;
+import org.hipparchus.filtering.kalman.extended.NonLinearProcess;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.util.FastMath;
+
+/** Extended Kalman filter using a U-D factorization of the covariance matrix.
+ * <p>
+ * This filter is a numerically robust alternative to the Hipparchus
+ * {@link org.hipparchus.filtering.kalman.extended.ExtendedKalmanFilter ExtendedKalmanFilter}.
+ * The covariance matrix P is never propagated directly, it is kept as a
+ * factorization P = U D U<sup>T</sup> where U is a unit upper triangular matrix
+ * and D is a diagonal matrix with non-negative elements. The time update uses
+ * Thornton's modified weighted Gram-Schmidt orthogonalization and the measurement
+ * update uses Bierman's algorithm, processing the measurement components one at
+ * a time. The innovation covariance matrix is therefore never inverted.
+ * Correlated measurement components are decorrelated beforehand using a Cholesky
+ * factorization of the measurement covariance matrix.
+ * </p>
+ * <p>
+ * All the workspace arrays are allocated once at construction and are updated
+ * in place at each step (except for the measurement-dependent ones which are
+ * reallocated only if the measurement dimension grows). Full covariance matrices
+ * are rebuilt from the factors only when the covariance of an estimate is requested.
+ * </p>
+ * <p>
+ * As measurement components are processed sequentially, the Kalman gain matrix is
+ * not computed, so {@link ProcessEstimate#getKalmanGain()} returns null for
+ * the corrected estimates built by this filter.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ * @param <T> the type of the measurements
+ * @since 11.0
+ */
+public class UDKalmanFilter<T extends Measurement> implements KalmanFilter<T> {
+
+    /** Process to be estimated. */
+    private final NonLinearProcess<T> process;
+
+    /** State dimension. */
+    private final int n;
+
+    /** Unit upper triangular factor of the current covariance. */
+    private final double[][] u;
+
+    /** Diagonal factor of the current covariance. */
+    private final double[] d;
+
+    /** Unit upper triangular factor of the predicted covariance. */
+    private final double[][] uPredicted;
+
+    /** Diagonal factor of the predicted covariance. */
+    private final double[] dPredicted;
+
+    /** Weighted Gram-Schmidt workspace (n rows, 2n columns). */
+    private final double[][] w;
+
+    /** Weights for the Gram-Schmidt orthogonalization. */
+    private final double[] dw;
+
+    /** Weighted row workspace for the Gram-Schmidt orthogonalization. */
+    private final double[] weightedRow;
+
+    /** Bierman update workspace for f = U<sup>T</sup> h. */
+    private final double[] f;
+
+    /** Bierman update workspace for v = D f. */
+    private final double[] v;
+
+    /** Bierman update workspace for the unscaled gain. */
+    private final double[] k;
+
+    /** State correction accumulated over the measurement components. */
+    private final double[] dx;
+
+    /** Decorrelated measurement Jacobian workspace. */
+    private double[][] hWork;
+
+    /** Cholesky factor of the measurement covariance workspace. */
+    private double[][] lWork;
+
+    /** Decorrelated innovation workspace. */
+    private double[] zWork;
+
+    /** Time of the predicted state. */
+    private double predictedTime;
+
+    /** Predicted state. */
+    private RealVector predictedState;
+
+    /** Predicted estimate (lazily built). */
+    private ProcessEstimate predicted;
+
+    /** Corrected estimate (with lazily rebuilt covariance). */
+    private ProcessEstimate corrected;
+
+    /** Simple constructor.
+     * @param process non-linear process to estimate
+     * @param initialState initial state
+     */
+    public UDKalmanFilter(final NonLinearProcess<T> process, final ProcessEstimate initialState) {
+
+        this.process     = process;
+        this.n           = initialState.getState().getDimension();
+        this.u           = new double[n][n];
+        this.d           = new double[n];
+        this.uPredicted  = new double[n][n];
+        this.dPredicted  = new double[n];
+        this.w           = new double[n][2 * n];
+        this.dw          = new double[2 * n];
+        this.weightedRow = new double[2 * n];
+        this.f           = new double[n];
+        this.v           = new double[n];
+        this.k           = new double[n];
+        this.dx          = new double[n];
+        this.hWork       = new double[0][];
+        this.lWork       = new double[0][];
+        this.zWork       = new double[0];
+
+        factorize(initialState.getCovariance(), u, 0, d, 0);
+        this.predictedTime  = initialState.getTime();
+        this.predictedState = initialState.getState();
+        this.predicted      = initialState;
+        this.corrected      = initialState;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ProcessEstimate estimationStep(final T measurement)
+        throws MathRuntimeException {
+
+        final NonLinearEvolution evolution = process.getEvolution(corrected.getTime(), corrected.getState(), measurement);
+
+        // time update
+        final RealMatrix stm = evolution.getStateTransitionMatrix();
+        predict(evolution.getCurrentTime(), evolution.getCurrentState(), stm, evolution.getProcessNoiseMatrix());
+
+        final RealMatrix h = evolution.getMeasurementJacobian();
+        if (h == null) {
+            // nothing to correct
+            corrected = new FactorizedEstimate(predictedTime, predictedState, u, d, stm, null, null);
+            return corrected;
+        }
+
+        // measurement update
+        final RealMatrix s          = computeInnovationCovarianceMatrix(measurement.getCovariance(), h);
+        final RealVector innovation = process.getInnovation(measurement, evolution, s);
+        if (innovation == null) {
+            // the measurement has been rejected, we use the predicted state as the corrected state
+            corrected = new FactorizedEstimate(predictedTime, predictedState, u, d, stm, h, s);
+        } else {
+            correct(measurement.getCovariance(), h, innovation);
+            corrected = new FactorizedEstimate(predictedTime, predictedState.add(new ArrayRealVector(dx, false)),
+                                               u, d, stm, h, s);
+        }
+
+        return corrected;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ProcessEstimate getPredicted() {
+        if (predicted == null) {
+            predicted = new ProcessEstimate(predictedTime, predictedState, rebuildCovariance(uPredicted, dPredicted));
+        }
+        return predicted;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ProcessEstimate getCorrected() {
+        return corrected;
+    }
+
+    /** Perform the time update.
+     * <p>
+     * The predicted covariance Φ P Φ<sup>T</sup> + Q is written
+     * W D<sub>w</sub> W<sup>T</sup> with W = [Φ U | U<sub>q</sub>] and
+     * D<sub>w</sub> = diag(D, D<sub>q</sub>), and W is orthogonalized
+     * in place to retrieve the new factors.
+     * </p>
+     * @param time process time
+     * @param state predicted state
+     * @param stm state transition matrix
+     * @param noise process noise covariance matrix
+     */
+    private void predict(final double time, final RealVector state,
+                         final RealMatrix stm, final RealMatrix noise) {
+
+        // left half of the workspace: Φ U, taking into account the unit upper triangular shape of U
+        for (int i = 0; i < n; ++i) {
+            final double[] wi = w[i];
+            for (int j = 0; j < n; ++j) {
+                double sum = stm.getEntry(i, j);
+                for (int l = 0; l < j; ++l) {
+                    sum += stm.getEntry(i, l) * u[l][j];
+                }
+                wi[j] = sum;
+            }
+        }
+        System.arraycopy(d, 0, dw, 0, n);
+
+        // right half of the workspace: U-D factorization of the process noise
+        for (final double[] wi : w) {
+            Arrays.fill(wi, n, 2 * n, 0.0);
+        }
+        factorize(noise, w, n, dw, n);
+
+        // modified weighted Gram-Schmidt orthogonalization (Thornton)
+        for (int j = n - 1; j >= 0; --j) {
+            final double[] wj = w[j];
+            double sigma = 0;
+            for (int l = 0; l < 2 * n; ++l) {
+                weightedRow[l] = dw[l] * wj[l];
+                sigma         += weightedRow[l] * wj[l];
+            }
+            d[j]    = sigma;
+            u[j][j] = 1.0;
+            for (int i = 0; i < j; ++i) {
+                final double[] wi = w[i];
+                double dot = 0;
+                for (int l = 0; l < 2 * n; ++l) {
+                    dot += wi[l] * weightedRow[l];
+                }
+                final double uij = sigma > 0 ? dot / sigma : 0.0;
+                u[i][j] = uij;
+                for (int l = 0; l < 2 * n; ++l) {
+                    wi[l] -= uij * wj[l];
+                }
+            }
+        }
+
+        // store predicted factors, the full covariance will be rebuilt only if needed
+        for (int i = 0; i < n; ++i) {
+            System.arraycopy(u[i], 0, uPredicted[i], 0, n);
+        }
+        System.arraycopy(d, 0, dPredicted, 0, n);
+        predictedTime  = time;
+        predictedState = state;
+        predicted      = null;
+
+    }
+
+    /** Compute innovation covariance matrix S = H P H<sup>T</sup> + R.
+     * @param r measurement covariance
+     * @param h Jacobian of the measurement with respect to the state
+     * @return innovation covariance matrix
+     */
+    private RealMatrix computeInnovationCovarianceMatrix(final RealMatrix r, final RealMatrix h) {
+
+        final int p = h.getRowDimension();
+        ensureMeasurementCapacity(p);
+
+        // F = U^T H^T, stored row by row (one row per measurement component)
+        for (int row = 0; row < p; ++row) {
+            final double[] fRow = hWork[row];
+            for (int j = 0; j < n; ++j) {
+                fRow[j] = h.getEntry(row, j);
+            }
+            // columns are processed backward so fRow[i] still holds H[row][i] when it is read
+            for (int i = n - 1; i >= 0; --i) {
+                final double hi = fRow[i];
+                if (hi != 0.0) {
+                    final double[] ui = u[i];
+                    for (int j = i + 1; j < n; ++j) {
+                        fRow[j] += ui[j] * hi;
+                    }
+                }
+            }
+        }
+
+        // S = F^T D F + R
+        final RealMatrix s = new Array2DRowRealMatrix(p, p);
+        for (int r1 = 0; r1 < p; ++r1) {
+            for (int r2 = 0; r2 <= r1; ++r2) {
+                double sum = r.getEntry(r1, r2);
+                for (int j = 0; j < n; ++j) {
+                    sum += hWork[r1][j] * d[j] * hWork[r2][j];
+                }
+                s.setEntry(r1, r2, sum);
+                s.setEntry(r2, r1, sum);
+            }
+        }
+
+        return s;
+
+    }
+
+    /** Perform the measurement update, one measurement component at a time.
+     * @param r measurement covariance
+     * @param h Jacobian of the measurement with respect to the state
+     * @param innovation innovation vector
+     */
+    private void correct(final RealMatrix r, final RealMatrix h, final RealVector innovation) {
+
+        final int p = h.getRowDimension();
+
+        // Cholesky factorization R = L L^T of the measurement covariance
+        for (int i = 0; i < p; ++i) {
+            for (int j = 0; j <= i; ++j) {
+                double sum = r.getEntry(i, j);
+                for (int l = 0; l < j; ++l) {
+                    sum -= lWork[i][l] * lWork[j][l];
+                }
+                if (i == j) {
+                    if (sum <= 0) {
+                        throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+                    }
+                    lWork[i][i] = FastMath.sqrt(sum);
+                } else {
+                    lWork[i][j] = sum / lWork[j][j];
+                }
+            }
+        }
+
+        // decorrelate Jacobian and innovation: H' = L⁻¹ H, z' = L⁻¹ z
+        for (int i = 0; i < p; ++i) {
+            final double[] hi = hWork[i];
+            double zi = innovation.getEntry(i);
+            for (int j = 0; j < n; ++j) {
+                hi[j] = h.getEntry(i, j);
+            }
+            for (int l = 0; l < i; ++l) {
+                final double lil = lWork[i][l];
+                final double[] hl = hWork[l];
+                for (int j = 0; j < n; ++j) {
+                    hi[j] -= lil * hl[j];
+                }
+                zi -= lil * zWork[l];
+            }
+            final double inv = 1.0 / lWork[i][i];
+            for (int j = 0; j < n; ++j) {
+                hi[j] *= inv;
+            }
+            zWork[i] = zi * inv;
+        }
+
+        // sequential scalar updates, with unit variance after decorrelation
+        Arrays.fill(dx, 0.0);
+        for (int i = 0; i < p; ++i) {
+            final double[] hi = hWork[i];
+            // the linearized residual must take previous components corrections into account
+            double residual = zWork[i];
+            for (int j = 0; j < n; ++j) {
+                residual -= hi[j] * dx[j];
+            }
+            biermanUpdate(hi, residual);
+        }
+
+    }
+
+    /** Perform Bierman's scalar measurement update with unit variance.
+     * @param h Jacobian row of the scalar measurement
+     * @param residual residual of the scalar measurement
+     */
+    private void biermanUpdate(final double[] h, final double residual) {
+
+        // f = U^T h, v = D f
+        System.arraycopy(h, 0, f, 0, n);
+        for (int i = 0; i < n; ++i) {
+            final double hi = h[i];
+            if (hi != 0.0) {
+                final double[] ui = u[i];
+                for (int j = i + 1; j < n; ++j) {
+                    f[j] += ui[j] * hi;
+                }
+            }
+        }
+        for (int j = 0; j < n; ++j) {
+            v[j] = d[j] * f[j];
+        }
+
+        // update factors and compute unscaled gain
+        double alpha = 1.0;
+        for (int j = 0; j < n; ++j) {
+            final double alphaPrevious = alpha;
+            alpha += f[j] * v[j];
+            d[j] *= alphaPrevious / alpha;
+            final double lambda = -f[j] / alphaPrevious;
+            for (int i = 0; i < j; ++i) {
+                final double uij = u[i][j];
+                u[i][j] = uij + lambda * k[i];
+                k[i]   += uij * v[j];
+            }
+            k[j] = v[j];
+        }
+
+        // update state correction
+        final double factor = residual / alpha;
+        for (int j = 0; j < n; ++j) {
+            dx[j] += k[j] * factor;
+        }
+
+    }
+
+    /** Ensure measurement-dependent workspaces are large enough.
+     * @param p measurement dimension
+     */
+    private void ensureMeasurementCapacity(final int p) {
+        if (hWork.length < p) {
+            hWork = new double[p][n];
+            lWork = new double[p][p];
+            zWork = new double[p];
+        }
+    }
+
+    /** Compute the U-D factorization of a symmetric positive semi-definite matrix.
+     * <p>
+     * Negative diagonal elements that may appear due to rounding errors
+     * are reset to zero.
+     * </p>
+     * @param p matrix to factorize
+     * @param uTarget array where to store the unit upper triangular factor
+     * @param uOffset column offset in {@code uTarget}
+     * @param dTarget array where to store the diagonal factor
+     * @param dOffset offset in {@code dTarget}
+     */
+    private void factorize(final RealMatrix p, final double[][] uTarget, final int uOffset,
+                           final double[] dTarget, final int dOffset) {
+        for (int j = n - 1; j >= 0; --j) {
+            double dj = p.getEntry(j, j);
+            for (int l = j + 1; l < n; ++l) {
+                final double ujl = uTarget[j][uOffset + l];
+                dj -= ujl * ujl * dTarget[dOffset + l];
+            }
+            dj = FastMath.max(0.0, dj);
+            dTarget[dOffset + j]     = dj;
+            uTarget[j][uOffset + j]  = 1.0;
+            for (int i = 0; i < j; ++i) {
+                double pij = p.getEntry(i, j);
+                for (int l = j + 1; l < n; ++l) {
+                    pij -= uTarget[i][uOffset + l] * dTarget[dOffset + l] * uTarget[j][uOffset + l];
+                }
+                uTarget[i][uOffset + j] = dj > 0 ? pij / dj : 0.0;
+            }
+        }
+    }
+
+    /** Rebuild a full covariance matrix P = U D U<sup>T</sup> from its factors.
+     * @param uFactor unit upper triangular factor
+     * @param dFactor diagonal factor
+     * @return covariance matrix
+     */
+    private static RealMatrix rebuildCovariance(final double[][] uFactor, final double[] dFactor) {
+        final int dim = dFactor.length;
+        final double[][] p = new double[dim][dim];
+        for (int i = 0; i < dim; ++i) {
+            for (int j = i; j < dim; ++j) {
+                // U is unit upper triangular, so only indices l ≥ j contribute
+                double sum = uFactor[i][j] * dFactor[j];
+                for (int l = j + 1; l < dim; ++l) {
+                    sum += uFactor[i][l] * dFactor[l] * uFactor[j][l];
+                }
+                p[i][j] = sum;
+                p[j][i] = sum;
+            }
+        }
+        return new Array2DRowRealMatrix(p, false);
+    }
+
+    /** Process estimate with a covariance rebuilt from its U-D factors only when requested.
+     * <p>
+     * The factors are copied at construction, so the estimate remains valid after
+     * the filter has processed subsequent measurements.
+     * </p>
+     */
+    private static class FactorizedEstimate extends ProcessEstimate {
+
+        /** Unit upper triangular factor of the covariance. */
+        private final double[][] uFactor;
+
+        /** Diagonal factor of the covariance. */
+        private final double[] dFactor;
+
+        /** Covariance matrix (lazily built). */
+        private RealMatrix covariance;
+
+        /** Simple constructor.
+         * @param time process time
+         * @param state state vector
+         * @param uFactor unit upper triangular factor of the covariance (will be copied)
+         * @param dFactor diagonal factor of the covariance (will be copied)
+         * @param stm state transition matrix
+         * @param h measurement Jacobian (may be null)
+         * @param s innovation covariance matrix (may be null)
+         */
+        FactorizedEstimate(final double time, final RealVector state,
+                           final double[][] uFactor, final double[] dFactor,
+                           final RealMatrix stm, final RealMatrix h, final RealMatrix s) {
+            super(time, state, null, stm, h, s, null);
+            this.uFactor = new double[uFactor.length][];
+            for (int i = 0; i < uFactor.length; ++i) {
+                this.uFactor[i] = uFactor[i].clone();
+            }
+            this.dFactor = dFactor.clone();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix getCovariance() {
+            if (covariance == null) {
+                covariance = rebuildCovariance(uFactor, dFactor);
+            }
+            return covariance;
+        }
+
+    }
+
+}
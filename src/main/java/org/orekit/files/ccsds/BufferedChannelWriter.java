@@ -0,0 +1,211 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+import org.hipparchus.util.FastMath;
+
+/** Writer sending characters to a NIO channel in large blocks.
+ * <p>
+ * This writer is intended to be used as the output of {@link StreamingOemWriter}
+ * or {@link StreamingAemWriter} when huge ephemerides are written. Characters are
+ * accumulated in a large buffer and encoded in blocks, and {@link StringBuilder}
+ * instances are {@link #append(CharSequence) appended} without creating intermediate
+ * strings.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ * @since 11.0
+ */
+public class BufferedChannelWriter extends Writer {
+
+    /** Default buffer size (number of characters). */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    /** Output channel. */
+    private final WritableByteChannel channel;
+
+    /** Characters encoder. */
+    private final CharsetEncoder encoder;
+
+    /** Buffer for characters. */
+    private final CharBuffer chars;
+
+    /** Buffer for bytes. */
+    private final ByteBuffer bytes;
+
+    /** Build a writer using UTF-8 encoding and default buffer size.
+     * @param channel output channel
+     */
+    public BufferedChannelWriter(final WritableByteChannel channel) {
+        this(channel, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+    }
+
+    /** Build a writer.
+     * @param channel output channel
+     * @param charset characters encoding
+     * @param bufferSize buffer size (number of characters)
+     */
+    public BufferedChannelWriter(final WritableByteChannel channel, final Charset charset,
+                                 final int bufferSize) {
+        this.channel = channel;
+        this.encoder = charset.newEncoder();
+        this.chars   = CharBuffer.allocate(bufferSize);
+        this.bytes   = ByteBuffer.allocate((int) FastMath.ceil(bufferSize * encoder.maxBytesPerChar()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final int c) throws IOException {
+        if (!chars.hasRemaining()) {
+            drain(false);
+        }
+        chars.put((char) c);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        int start = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!chars.hasRemaining()) {
+                drain(false);
+            }
+            final int n = FastMath.min(remaining, chars.remaining());
+            chars.put(cbuf, start, n);
+            start     += n;
+            remaining -= n;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        int start = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!chars.hasRemaining()) {
+                drain(false);
+            }
+            final int n = FastMath.min(remaining, chars.remaining());
+            str.getChars(start, start + n, chars.array(), chars.arrayOffset() + chars.position());
+            chars.position(chars.position() + n);
+            start     += n;
+            remaining -= n;
+        }
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * {@link String} and {@link StringBuilder} instances are copied directly
+     * to the internal buffer, without creating any intermediate object.
+     * </p>
+     */
+    @Override
+    public BufferedChannelWriter append(final CharSequence csq) throws IOException {
+        if (csq == null) {
+            write("null");
+        } else if (csq instanceof String) {
+            write((String) csq);
+        } else if (csq instanceof StringBuilder) {
+            final StringBuilder sb = (StringBuilder) csq;
+            int start = 0;
+            int remaining = sb.length();
+            while (remaining > 0) {
+                if (!chars.hasRemaining()) {
+                    drain(false);
+                }
+                final int n = FastMath.min(remaining, chars.remaining());
+                sb.getChars(start, start + n, chars.array(), chars.arrayOffset() + chars.position());
+                chars.position(chars.position() + n);
+                start     += n;
+                remaining -= n;
+            }
+        } else {
+            for (int i = 0; i < csq.length(); ++i) {
+                write(csq.charAt(i));
+            }
+        }
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void flush() throws IOException {
+        drain(false);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The underlying channel is closed too.
+     * </p>
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            drain(true);
+            channel.close();
+        }
+    }
+
+    /** Encode buffered characters and write them to the channel.
+     * @param endOfInput if true, no more characters will be written
+     * @exception IOException if characters cannot be encoded or written
+     */
+    private void drain(final boolean endOfInput) throws IOException {
+        chars.flip();
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            writeBytes();
+        } while (result.isOverflow());
+        if (endOfInput) {
+            while (encoder.flush(bytes).isOverflow()) {
+                writeBytes();
+            }
+            writeBytes();
+        }
+        // keep characters that could not be encoded yet (incomplete surrogate pairs)
+        chars.compact();
+    }
+
+    /** Write all buffered bytes to the channel.
+     * @exception IOException if bytes cannot be written
+     */
+    private void writeBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+}
@@ -0,0 +1,175 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import org.hipparchus.util.FastMath;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateComponents;
+import org.orekit.time.DateTimeComponents;
+import org.orekit.time.TimeComponents;
+import org.orekit.time.TimeScale;
+import org.orekit.utils.Constants;
+
+/** Fast formatter for CCSDS epochs.
+ * <p>
+ * This class produces exactly the same strings as {@link StreamingOemWriter#dateToString(DateTimeComponents)}
+ * applied to {@link AbsoluteDate#getComponents(TimeScale)}, but it is intended to be used on
+ * chronologically ordered dates, as in ephemeris files. It caches the calendar day of the last
+ * formatted date, so dates in the same day are formatted by computing only the elapsed time since
+ * the beginning of the day, without recomputing calendar components and without creating
+ * decimal formatters. Days containing a leap second, dates too close to a rounding tie at
+ * nanosecond level and non-finite dates are delegated to the general method.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ * @since 11.0
+ */
+class EpochFormatter {
+
+    /** Number of nanoseconds in one second. */
+    private static final long NANOS = 1000000000L;
+
+    /** Time scale used for formatting. */
+    private final TimeScale timeScale;
+
+    /** Start of the cached day. */
+    private AbsoluteDate dayStart;
+
+    /** Calendar part of the cached day, including the 'T' separator. */
+    private String dayPrefix;
+
+    /** Indicator for days with exactly 86400 seconds. */
+    private boolean regularDay;
+
+    /** Simple constructor.
+     * @param timeScale time scale used for formatting
+     */
+    EpochFormatter(final TimeScale timeScale) {
+        this.timeScale = timeScale;
+    }
+
+    /** Append a formatted date.
+     * @param sb string builder where to append the date
+     * @param date date to format
+     */
+    public void format(final StringBuilder sb, final AbsoluteDate date) {
+
+        double elapsed = dayStart == null ? Double.NaN : date.durationFrom(dayStart);
+        if (!(elapsed >= 0 && elapsed < Constants.JULIAN_DAY)) {
+            if (date.compareTo(AbsoluteDate.PAST_INFINITY) <= 0 ||
+                date.compareTo(AbsoluteDate.FUTURE_INFINITY) >= 0) {
+                sb.append(StreamingOemWriter.dateToString(date.getComponents(timeScale)));
+                return;
+            }
+            setDay(date);
+            elapsed = date.durationFrom(dayStart);
+        }
+
+        if (!regularDay) {
+            sb.append(StreamingOemWriter.dateToString(date.getComponents(timeScale)));
+            return;
+        }
+
+        // split elapsed time in whole seconds and accurate fractional part
+        int    whole      = (int) FastMath.floor(elapsed);
+        double fractional = date.durationFrom(dayStart.shiftedBy(whole));
+        if (fractional < 0) {
+            --whole;
+            fractional = date.durationFrom(dayStart.shiftedBy(whole));
+        } else if (fractional >= 1) {
+            ++whole;
+            fractional = date.durationFrom(dayStart.shiftedBy(whole));
+        }
+        if (whole < 0 || whole >= Constants.JULIAN_DAY || fractional < 0 || fractional >= 1) {
+            sb.append(StreamingOemWriter.dateToString(date.getComponents(timeScale)));
+            return;
+        }
+
+        // same computation as in TimeComponents
+        final int hour   = whole / 3600;
+        final int minute = (whole - 3600 * hour) / 60;
+        final double naiveSecond = (whole - 3600 * hour - 60 * minute) + fractional;
+        final double second = naiveSecond < 60 ? naiveSecond : FastMath.nextDown(60.0);
+
+        // round to nanoseconds, delegating values too close to a tie
+        final double scaled    = second * NANOS;
+        final long   truncated = (long) FastMath.floor(scaled);
+        final double remainder = scaled - truncated;
+        if (FastMath.abs(remainder - 0.5) < 1.0e-3) {
+            sb.append(StreamingOemWriter.dateToString(date.getComponents(timeScale)));
+            return;
+        }
+        final long nanos     = remainder < 0.5 ? truncated : truncated + 1;
+        final long intPart   = nanos / NANOS;
+        long       fracPart  = nanos - intPart * NANOS;
+
+        sb.append(dayPrefix);
+        appendTwoDigits(sb, hour);
+        sb.append(':');
+        appendTwoDigits(sb, minute);
+        sb.append(':');
+        appendTwoDigits(sb, (int) intPart);
+        sb.append('.');
+
+        // fractional part with at least one and at most nine digits, without trailing zeros
+        int digits = 9;
+        while (digits > 1 && fracPart % 10 == 0) {
+            fracPart /= 10;
+            --digits;
+        }
+        for (long p = pow10(digits - 1); p > 0; p /= 10) {
+            sb.append((char) ('0' + (fracPart / p) % 10));
+        }
+
+    }
+
+    /** Update the cached day.
+     * @param date date within the day
+     */
+    private void setDay(final AbsoluteDate date) {
+        final DateComponents day = date.getComponents(timeScale).getDate();
+        dayStart   = new AbsoluteDate(day, TimeComponents.H00, timeScale);
+        dayPrefix  = day.toString() + "T";
+        final AbsoluteDate next = new AbsoluteDate(new DateComponents(day, 1), TimeComponents.H00, timeScale);
+        regularDay = next.durationFrom(dayStart) == Constants.JULIAN_DAY;
+    }
+
+    /** Append a number using at least two digits.
+     * @param sb string builder where to append the number
+     * @param n number to append
+     */
+    private static void appendTwoDigits(final StringBuilder sb, final int n) {
+        if (n < 10) {
+            sb.append('0');
+        }
+        sb.append(n);
+    }
+
+    /** Compute a power of ten.
+     * @param n exponent
+     * @return 10<sup>n</sup>
+     */
+    private static long pow10(final int n) {
+        long p = 1;
+        for (int i = 0; i < n; ++i) {
+            p *= 10;
+        }
+        return p;
+    }
+
+}
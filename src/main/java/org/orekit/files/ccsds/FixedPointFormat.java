@@ -0,0 +1,233 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hipparchus.util.FastMath;
+
+/** Fast formatter for fixed point {@link java.util.Formatter} conversions.
+ * <p>
+ * This class handles formats of the form {@code %[flags][width][.precision]f}
+ * where flags are limited to {@code '-'}, {@code '+'}, {@code ' '} and {@code '0'}.
+ * It produces exactly the same characters as {@link String#format(Locale, String, Object...)}
+ * with {@link Locale#US}, but appends them directly to a {@link StringBuilder} without
+ * parsing the format for each number. Any other format, as well as non-finite or huge
+ * values and values too close to a rounding tie to be decided safely, are delegated
+ * to {@link String#format(Locale, String, Object...)}.
+ * </p>
+ * @since 11.0
+ */
+class FixedPointFormat {
+
+    /** Locale used for delegated formatting. */
+    private static final Locale STANDARDIZED_LOCALE = Locale.US;
+
+    /** Pattern for supported formats. */
+    private static final Pattern SUPPORTED = Pattern.compile("%([-+ 0]*)([1-9][0-9]*)?(?:\\.([0-9]+))?f");
+
+    /** Default precision. */
+    private static final int DEFAULT_PRECISION = 6;
+
+    /** Maximum supported precision. */
+    private static final int MAX_PRECISION = 15;
+
+    /** Limit above which scaled values are delegated. */
+    private static final double MAX_SCALED = 0x1.0p52;
+
+    /** Powers of ten. */
+    private static final long[] POWERS = new long[MAX_PRECISION + 1];
+
+    static {
+        POWERS[0] = 1L;
+        for (int i = 1; i < POWERS.length; ++i) {
+            POWERS[i] = 10L * POWERS[i - 1];
+        }
+    }
+
+    /** Original format. */
+    private final String format;
+
+    /** Indicator for formats handled by the fast path. */
+    private final boolean fast;
+
+    /** Indicator for left justification. */
+    private final boolean leftJustify;
+
+    /** Indicator for zero padding. */
+    private final boolean zeroPad;
+
+    /** Sign for positive values (may be 0 if no sign is output). */
+    private final char positiveSign;
+
+    /** Minimum width. */
+    private final int width;
+
+    /** Number of digits after decimal point. */
+    private final int precision;
+
+    /** Simple constructor.
+     * @param format format, as used in {@link java.util.Formatter}
+     */
+    FixedPointFormat(final String format) {
+
+        this.format = format;
+
+        final Matcher matcher = SUPPORTED.matcher(format);
+        boolean ok = matcher.matches();
+        boolean minus = false;
+        boolean plus  = false;
+        boolean space = false;
+        boolean zero  = false;
+        int w = -1;
+        int p = DEFAULT_PRECISION;
+        if (ok) {
+            final String flags = matcher.group(1);
+            minus = flags.indexOf('-') >= 0;
+            plus  = flags.indexOf('+') >= 0;
+            space = flags.indexOf(' ') >= 0;
+            zero  = flags.indexOf('0') >= 0;
+            if (matcher.group(2) != null) {
+                w = Integer.parseInt(matcher.group(2));
+            }
+            if (matcher.group(3) != null) {
+                p = matcher.group(3).length() > 2 ? Integer.MAX_VALUE : Integer.parseInt(matcher.group(3));
+            }
+            // combinations rejected by java.util.Formatter are left to it
+            ok = !(plus && space) && !(minus && zero) && !((minus || zero) && w < 0) &&
+                 p <= MAX_PRECISION && !hasDuplicates(flags);
+        }
+
+        this.fast         = ok;
+        this.leftJustify  = minus;
+        this.zeroPad      = zero;
+        this.positiveSign = plus ? '+' : (space ? ' ' : 0);
+        this.width        = w;
+        this.precision    = p;
+
+    }
+
+    /** Check if flags contain duplicates.
+     * @param flags flags to check
+     * @return true if some flags are duplicated
+     */
+    private static boolean hasDuplicates(final String flags) {
+        for (int i = 0; i < flags.length(); ++i) {
+            if (flags.indexOf(flags.charAt(i), i + 1) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Get the original format.
+     * @return original format
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /** Append a formatted value.
+     * @param sb string builder where to append the value
+     * @param value value to format
+     */
+    public void format(final StringBuilder sb, final double value) {
+
+        if (!fast || Double.isNaN(value) || Double.isInfinite(value)) {
+            sb.append(String.format(STANDARDIZED_LOCALE, format, value));
+            return;
+        }
+
+        final double scaled = FastMath.abs(value) * POWERS[precision];
+        if (scaled >= MAX_SCALED) {
+            sb.append(String.format(STANDARDIZED_LOCALE, format, value));
+            return;
+        }
+
+        // java.util.Formatter rounds half-up the shortest decimal representation of the
+        // value, which may differ from the exact binary value by up to half an ulp,
+        // so values close to a tie are delegated to ensure identical output
+        final long   truncated = (long) FastMath.floor(scaled);
+        final double remainder = scaled - truncated;
+        if (FastMath.abs(remainder - 0.5) < 1.0e-6 + 1.0e-14 * scaled) {
+            sb.append(String.format(STANDARDIZED_LOCALE, format, value));
+            return;
+        }
+        final long rounded = remainder < 0.5 ? truncated : truncated + 1;
+
+        // number of characters for the value itself
+        final boolean negative  = Double.compare(value, 0.0) < 0;
+        final long    intPart   = rounded / POWERS[precision];
+        final long    fracPart  = rounded - intPart * POWERS[precision];
+        final int     intDigits = countDigits(intPart);
+        final int     length    = ((negative || positiveSign != 0) ? 1 : 0) + intDigits +
+                                  (precision > 0 ? precision + 1 : 0);
+        final int     padding   = FastMath.max(0, width - length);
+
+        if (padding > 0 && !leftJustify && !zeroPad) {
+            appendRepeated(sb, ' ', padding);
+        }
+        if (negative) {
+            sb.append('-');
+        } else if (positiveSign != 0) {
+            sb.append(positiveSign);
+        }
+        if (padding > 0 && zeroPad) {
+            appendRepeated(sb, '0', padding);
+        }
+        sb.append(intPart);
+        if (precision > 0) {
+            sb.append('.');
+            if (fracPart == 0) {
+                appendRepeated(sb, '0', precision);
+            } else {
+                appendRepeated(sb, '0', precision - countDigits(fracPart));
+                sb.append(fracPart);
+            }
+        }
+        if (padding > 0 && leftJustify) {
+            appendRepeated(sb, ' ', padding);
+        }
+
+    }
+
+    /** Count the number of decimal digits of a non-negative number.
+     * @param n number to check
+     * @return number of decimal digits (1 for 0)
+     */
+    private static int countDigits(final long n) {
+        int digits = 1;
+        while (digits < POWERS.length && n >= POWERS[digits]) {
+            ++digits;
+        }
+        return digits;
+    }
+
+    /** Append a character several times.
+     * @param sb string builder where to append the characters
+     * @param c character to append
+     * @param n number of times the character should be appended
+     */
+    private static void appendRepeated(final StringBuilder sb, final char c, final int n) {
+        for (int i = 0; i < n; ++i) {
+            sb.append(c);
+        }
+    }
+
+}
@@ -248,7 +248,13 @@ public class StreamingAemWriter {
     private final TimeScale timeScale;
 
     /** Format for attitude ephemeris data output. */
-    private final String attitudeFormat;
+    private final FixedPointFormat attitudeFormat;
+
+    /** Formatter for attitude ephemeris lines epochs. */
+    private final EpochFormatter epochFormatter;
+
+    /** Reusable buffer for attitude ephemeris lines. */
+    private final StringBuilder line;
 
     /**
      * Create an AEM writer that streams data to the given output stream.
@@ -295,7 +301,9 @@ public class StreamingAemWriter {
                 ZonedDateTime.now(ZoneOffset.UTC).format(DateTimeFormatter.ISO_INSTANT));
         this.metadata.putIfAbsent(Keyword.ORIGINATOR, DEFAULT_ORIGINATOR);
         this.metadata.putIfAbsent(Keyword.TIME_SYSTEM, timeScale.getName());
-        this.attitudeFormat = attitudeFormat;
+        this.attitudeFormat = new FixedPointFormat(attitudeFormat);
+        this.epochFormatter = new EpochFormatter(timeScale);
+        this.line           = new StringBuilder();
     }
 
     /**
@@ -448,19 +456,18 @@ public class StreamingAemWriter {
                                                final RotationOrder rotationOrder)
             throws IOException {
             // Epoch
-            final String epoch = dateToString(attitude.getDate().getComponents(timeScale));
-            writer.append(epoch).append(" ");
+            line.setLength(0);
+            epochFormatter.format(line, attitude.getDate());
             // Attitude data in degrees
             final AEMAttitudeType type = AEMAttitudeType.getAttitudeType(attitudeName);
             final double[]        data = type.getAttitudeData(attitude, isFirst, rotationOrder);
-            final int             size = data.length;
-            for (int index = 0; index < size; index++) {
-                writer.append(String.format(STANDARDIZED_LOCALE, attitudeFormat, data[index]));
-                final String space = (index == size - 1) ? "" : " ";
-                writer.append(space);
+            for (final double value : data) {
+                line.append(' ');
+                attitudeFormat.format(line, value);
             }
             // end the line
-            writer.append(NEW_LINE);
+            line.append(NEW_LINE);
+            writer.append(line);
         }
 
         /**
@@ -291,10 +291,16 @@ public class StreamingOemWriter {
     private final TimeScale timeScale;
 
     /** Format for position ephemeris data output. */
-    private final String positionFormat;
+    private final FixedPointFormat positionFormat;
 
     /** Format for velocity ephemeris data output. */
-    private final String velocityFormat;
+    private final FixedPointFormat velocityFormat;
+
+    /** Formatter for ephemeris lines epochs. */
+    private final EpochFormatter epochFormatter;
+
+    /** Reusable buffer for ephemeris lines. */
+    private final StringBuilder line;
 
     /**
      * Create an OEM writer than streams data to the given output stream. Default formatting for
@@ -344,8 +350,10 @@ public class StreamingOemWriter {
                 ZonedDateTime.now(ZoneOffset.UTC).format(DateTimeFormatter.ISO_INSTANT));
         this.metadata.putIfAbsent(Keyword.ORIGINATOR, DEFAULT_ORIGINATOR);
         this.metadata.putIfAbsent(Keyword.TIME_SYSTEM, timeScale.getName());
-        this.positionFormat = positionFormat;
-        this.velocityFormat = velocityFormat;
+        this.positionFormat = new FixedPointFormat(positionFormat);
+        this.velocityFormat = new FixedPointFormat(velocityFormat);
+        this.epochFormatter = new EpochFormatter(timeScale);
+        this.line           = new StringBuilder();
     }
 
     /**
@@ -544,22 +552,25 @@ public class StreamingOemWriter {
          */
         public void writeEphemerisLine(final TimeStampedPVCoordinates pv)
                 throws IOException {
-            final String epoch = dateToString(pv.getDate().getComponents(timeScale));
-            writer.append(epoch).append(" ");
+            // the complete line is built before being sent to the writer,
+            // so each line is a single append call on the output stream
+            line.setLength(0);
+            epochFormatter.format(line, pv.getDate());
+            line.append(' ');
             // output in km, see Section 6.6.2.1
-            writer.append(String.format(STANDARDIZED_LOCALE, positionFormat,
-                                        pv.getPosition().getX() * M_TO_KM)).append(" ");
-            writer.append(String.format(STANDARDIZED_LOCALE, positionFormat,
-                                        pv.getPosition().getY() * M_TO_KM)).append(" ");
-            writer.append(String.format(STANDARDIZED_LOCALE, positionFormat,
-                                        pv.getPosition().getZ() * M_TO_KM)).append(" ");
-            writer.append(String.format(STANDARDIZED_LOCALE, velocityFormat,
-                                        pv.getVelocity().getX() * M_TO_KM)).append(" ");
-            writer.append(String.format(STANDARDIZED_LOCALE, velocityFormat,
-                                        pv.getVelocity().getY() * M_TO_KM)).append(" ");
-            writer.append(String.format(STANDARDIZED_LOCALE, velocityFormat,
-                                        pv.getVelocity().getZ() * M_TO_KM));
-            writer.append(NEW_LINE);
+            positionFormat.format(line, pv.getPosition().getX() * M_TO_KM);
+            line.append(' ');
+            positionFormat.format(line, pv.getPosition().getY() * M_TO_KM);
+            line.append(' ');
+            positionFormat.format(line, pv.getPosition().getZ() * M_TO_KM);
+            line.append(' ');
+            velocityFormat.format(line, pv.getVelocity().getX() * M_TO_KM);
+            line.append(' ');
+            velocityFormat.format(line, pv.getVelocity().getY() * M_TO_KM);
+            line.append(' ');
+            velocityFormat.format(line, pv.getVelocity().getZ() * M_TO_KM);
+            line.append(NEW_LINE);
+            writer.append(line);
         }
 
         /**
@@ -16,7 +16,6 @@
  */
 package org.orekit.files.general;
 
-import java.util.List;
 import java.util.stream.Stream;
 
 import org.orekit.attitudes.InertialProvider;
@@ -32,6 +31,7 @@ import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.analytical.AbstractAnalyticalPropagator;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.ImmutableTimeStampedCache;
+import org.orekit.utils.TimeStampedCache;
 import org.orekit.utils.TimeStampedPVCoordinates;
 
 /**
@@ -42,17 +42,17 @@ import org.orekit.utils.TimeStampedPVCoordinates;
  * org.orekit.utils.PVCoordinatesProvider} still behaves as expected when the ephemeris
  * file did not have a valid gravitational parameter.
  *
+ * <p> The states used for interpolation are retrieved from a {@link TimeStampedCache},
+ * which may be provided by the segment itself, for example when it can select
+ * neighbors without decoding all its states.
+ *
  * @author Evan Ward
  */
-class EphemerisSegmentPropagator extends AbstractAnalyticalPropagator
+public class EphemerisSegmentPropagator extends AbstractAnalyticalPropagator
         implements BoundedPropagator {
 
-    /**
-     * Sorted cache of state vectors. A duplication of the information in {@link
-     * #ephemeris} that could be avoided by duplicating the logic of {@link
-     * ImmutableTimeStampedCache#getNeighbors(AbsoluteDate)} for a general {@link List}.
-     */
-    private final ImmutableTimeStampedCache<TimeStampedPVCoordinates> cache;
+    /** Provider for the state vectors to use for interpolation. */
+    private final TimeStampedCache<TimeStampedPVCoordinates> cache;
     /** Tabular data from which this propagator is built. */
     private final EphemerisSegment ephemeris;
     /** Inertial frame used for creating orbits. */
@@ -66,10 +66,23 @@ class EphemerisSegmentPropagator extends AbstractAnalyticalPropagator
      * @param ephemeris segment containing the data for this propagator.
      */
     EphemerisSegmentPropagator(final EphemerisSegment ephemeris) {
-        super(new InertialProvider(ephemeris.getInertialFrame()));
-        this.cache = new ImmutableTimeStampedCache<>(
+        this(ephemeris, new ImmutableTimeStampedCache<>(
                 ephemeris.getInterpolationSamples(),
-                ephemeris.getCoordinates());
+                ephemeris.getCoordinates()));
+    }
+
+    /**
+     * Create a {@link Propagator} from an ephemeris segment and a neighbors provider.
+     *
+     * @param ephemeris segment containing the data for this propagator.
+     * @param cache     provider for the state vectors of the segment to use for
+     *                  interpolation, its earliest entry is used as initial state.
+     * @since 11.0
+     */
+    public EphemerisSegmentPropagator(final EphemerisSegment ephemeris,
+                                      final TimeStampedCache<TimeStampedPVCoordinates> cache) {
+        super(new InertialProvider(ephemeris.getInertialFrame()));
+        this.cache = cache;
         this.ephemeris = ephemeris;
         this.ephemerisFrame = ephemeris.getFrame();
         this.inertialFrame = ephemeris.getInertialFrame();
@@ -0,0 +1,365 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.oeb;
+
+import java.nio.DoubleBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.files.general.EphemerisFile;
+import org.orekit.files.general.EphemerisSegmentPropagator;
+import org.orekit.frames.Frame;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.ImmutableTimeStampedCache;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Ephemeris file in Orekit Ephemeris Binary (OEB) format.
+ * <p>
+ * All numbers are stored in big-endian order. The file starts with a header:
+ * </p>
+ * <ul>
+ *   <li>magic number ({@code int}), format version ({@code int}), header size
+ *       ({@code int}) and number of satellites ({@code int}),</li>
+ *   <li>for each satellite: identifier (UTF-8 bytes count as {@code int} followed
+ *       by the bytes) and number of segments ({@code int}),</li>
+ *   <li>for each segment: gravitational parameter ({@code double}), frame name,
+ *       frame center name and time scale name (encoded as satellite identifiers),
+ *       number of interpolation samples ({@code int}), available derivatives
+ *       ({@code int} ordinal of {@link CartesianDerivativesFilter}), reference date
+ *       (whole seconds since {@link AbsoluteDate#ARBITRARY_EPOCH} as {@code long} and
+ *       fractional part as {@code double}),
+ *       segment start and stop as offsets from reference date ({@code double}),
+ *       number of records ({@code int}) and position of the first record in the
+ *       file ({@code long}).</li>
+ * </ul>
+ * <p>
+ * The header is followed by fixed-size records, aligned on 8 bytes boundaries.
+ * Each record contains the offset from segment reference date, then position,
+ * velocity and acceleration, depending on available derivatives. All values are
+ * {@code double} in SI units. The records of one segment are memory mapped when
+ * the file is parsed, and states are decoded only when needed.
+ * </p>
+ * @see OEBParser
+ * @see OEBWriter
+ * @since 11.0
+ */
+public class OEBFile implements EphemerisFile {
+
+    /** Magic number at file start. */
+    static final int MAGIC = 0x4f454246;
+
+    /** Format version. */
+    static final int VERSION = 1;
+
+    /** Size of the fixed part of the header. */
+    static final int FIXED_HEADER_SIZE = 16;
+
+    /** Satellites in the file. */
+    private final Map<String, OEBSatelliteEphemeris> satellites;
+
+    /** Simple constructor.
+     * @param satellites satellites in the file
+     */
+    OEBFile(final Map<String, OEBSatelliteEphemeris> satellites) {
+        this.satellites = Collections.unmodifiableMap(satellites);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, OEBSatelliteEphemeris> getSatellites() {
+        return satellites;
+    }
+
+    /** Ephemeris of one satellite in an OEB file. */
+    public static class OEBSatelliteEphemeris implements SatelliteEphemeris {
+
+        /** Satellite identifier. */
+        private final String id;
+
+        /** Ephemeris segments. */
+        private final List<OEBSegment> segments;
+
+        /** Simple constructor.
+         * @param id satellite identifier
+         * @param segments ephemeris segments
+         */
+        OEBSatelliteEphemeris(final String id, final List<OEBSegment> segments) {
+            this.id       = id;
+            this.segments = Collections.unmodifiableList(new ArrayList<>(segments));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getMu() {
+            return segments.get(0).getMu();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<OEBSegment> getSegments() {
+            return segments;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getStart() {
+            return segments.get(0).getStart();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getStop() {
+            return segments.get(segments.size() - 1).getStop();
+        }
+
+    }
+
+    /** Ephemeris segment backed by memory mapped records. */
+    public static class OEBSegment implements EphemerisSegment {
+
+        /** Gravitational parameter. */
+        private final double mu;
+
+        /** Frame name. */
+        private final String frameName;
+
+        /** Frame center name. */
+        private final String frameCenterName;
+
+        /** Reference frame. */
+        private final Frame frame;
+
+        /** Time scale. */
+        private final TimeScale timeScale;
+
+        /** Number of interpolation samples. */
+        private final int interpolationSamples;
+
+        /** Available derivatives. */
+        private final CartesianDerivativesFilter filter;
+
+        /** Reference date for records offsets. */
+        private final AbsoluteDate reference;
+
+        /** Segment start. */
+        private final AbsoluteDate start;
+
+        /** Segment stop. */
+        private final AbsoluteDate stop;
+
+        /** Records. */
+        private final DoubleBuffer records;
+
+        /** Number of doubles in each record. */
+        private final int recordSize;
+
+        /** Number of records. */
+        private final int size;
+
+        /** Simple constructor.
+         * @param mu gravitational parameter
+         * @param frameName frame name
+         * @param frameCenterName frame center name
+         * @param frame reference frame
+         * @param timeScale time scale
+         * @param interpolationSamples number of interpolation samples
+         * @param filter available derivatives
+         * @param reference reference date for records offsets
+         * @param start segment start
+         * @param stop segment stop
+         * @param records records
+         */
+        OEBSegment(final double mu, final String frameName, final String frameCenterName,
+                   final Frame frame, final TimeScale timeScale,
+                   final int interpolationSamples, final CartesianDerivativesFilter filter,
+                   final AbsoluteDate reference, final AbsoluteDate start, final AbsoluteDate stop,
+                   final DoubleBuffer records) {
+            this.mu                   = mu;
+            this.frameName            = frameName;
+            this.frameCenterName      = frameCenterName;
+            this.frame                = frame;
+            this.timeScale            = timeScale;
+            this.interpolationSamples = interpolationSamples;
+            this.filter               = filter;
+            this.reference            = reference;
+            this.start                = start;
+            this.stop                 = stop;
+            this.records              = records;
+            this.recordSize           = getRecordSize(filter);
+            this.size                 = records.capacity() / recordSize;
+        }
+
+        /** Get the number of doubles in records.
+         * @param filter available derivatives
+         * @return number of doubles in each record
+         */
+        static int getRecordSize(final CartesianDerivativesFilter filter) {
+            return 1 + 3 * (filter.getMaxOrder() + 1);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getMu() {
+            return mu;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String getFrameCenterString() {
+            return frameCenterName;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String getFrameString() {
+            return frameName;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Frame getFrame() {
+            return frame;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String getTimeScaleString() {
+            return timeScale.getName();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public TimeScale getTimeScale() {
+            return timeScale;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getInterpolationSamples() {
+            return interpolationSamples;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public CartesianDerivativesFilter getAvailableDerivatives() {
+            return filter;
+        }
+
+        /** {@inheritDoc}
+         * <p>
+         * The returned list is a view of the memory mapped records,
+         * states are decoded each time they are retrieved.
+         * </p>
+         */
+        @Override
+        public List<TimeStampedPVCoordinates> getCoordinates() {
+            return new RecordsList();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getStart() {
+            return start;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getStop() {
+            return stop;
+        }
+
+        /** {@inheritDoc}
+         * <p>
+         * The propagator interpolates directly from the memory mapped records,
+         * only the records surrounding the propagation date are decoded.
+         * </p>
+         */
+        @Override
+        public BoundedPropagator getPropagator() {
+            return new EphemerisSegmentPropagator(this,
+                                                  ImmutableTimeStampedCache.fromSortedList(FastMath.min(interpolationSamples, size),
+                                                                                           getCoordinates()));
+        }
+
+        /** Get the number of records.
+         * @return number of records
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /** Get the state stored in one record.
+         * @param index index of the record
+         * @return state stored in record
+         */
+        public TimeStampedPVCoordinates getPVCoordinates(final int index) {
+            final int base = index * recordSize;
+            final Vector3D position = new Vector3D(records.get(base + 1),
+                                                   records.get(base + 2),
+                                                   records.get(base + 3));
+            final Vector3D velocity = filter.getMaxOrder() < 1 ?
+                                      Vector3D.ZERO :
+                                      new Vector3D(records.get(base + 4),
+                                                   records.get(base + 5),
+                                                   records.get(base + 6));
+            final Vector3D acceleration = filter.getMaxOrder() < 2 ?
+                                          Vector3D.ZERO :
+                                          new Vector3D(records.get(base + 7),
+                                                       records.get(base + 8),
+                                                       records.get(base + 9));
+            return new TimeStampedPVCoordinates(reference.shiftedBy(records.get(base)),
+                                                position, velocity, acceleration);
+        }
+
+        /** Read-only view of the records. */
+        private class RecordsList extends AbstractList<TimeStampedPVCoordinates> implements RandomAccess {
+
+            /** {@inheritDoc} */
+            @Override
+            public TimeStampedPVCoordinates get(final int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException(Integer.toString(index));
+                }
+                return getPVCoordinates(index);
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public int size() {
+                return size;
+            }
+
+        }
+
+    }
+
+}
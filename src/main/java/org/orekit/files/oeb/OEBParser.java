@@ -0,0 +1,281 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.oeb;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.orekit.annotation.DefaultDataContext;
+import org.orekit.data.DataContext;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.files.oeb.OEBFile.OEBSatelliteEphemeris;
+import org.orekit.files.oeb.OEBFile.OEBSegment;
+import org.orekit.frames.Frame;
+import org.orekit.frames.Frames;
+import org.orekit.frames.Predefined;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScales;
+import org.orekit.utils.CartesianDerivativesFilter;
+
+/** Parser for {@link OEBFile Orekit Ephemeris Binary} files.
+ * <p>
+ * Only the header is read when a file is parsed, the records are memory mapped
+ * and decoded on demand.
+ * </p>
+ * <p>
+ * OEB is a binary format, so this class does not implement
+ * {@link org.orekit.files.general.EphemerisFileParser EphemerisFileParser}
+ * which reads character streams. Files are parsed only from a {@link Path}
+ * or a file name.
+ * </p>
+ * @see OEBWriter
+ * @since 11.0
+ */
+public class OEBParser {
+
+    /** Mapping from frame names in the file to {@link Frame frames}. */
+    private final Function<? super String, ? extends Frame> frameBuilder;
+
+    /** Set of time scales. */
+    private final TimeScales timeScales;
+
+    /** Create a parser using default values.
+     * <p>
+     * This constructor uses the {@link DataContext#getDefault() default data context}.
+     * </p>
+     * @see #OEBParser(Frames, TimeScales)
+     */
+    @DefaultDataContext
+    public OEBParser() {
+        this(DataContext.getDefault().getFrames(), DataContext.getDefault().getTimeScales());
+    }
+
+    /** Create a parser recognizing {@link Predefined predefined} frames.
+     * @param frames set of frames
+     * @param timeScales set of time scales
+     */
+    public OEBParser(final Frames frames, final TimeScales timeScales) {
+        this(name -> guessFrame(frames, name), timeScales);
+    }
+
+    /** Create a parser.
+     * @param frameBuilder function building a frame from its name in the file
+     * (it must return null for unknown names)
+     * @param timeScales set of time scales
+     */
+    public OEBParser(final Function<? super String, ? extends Frame> frameBuilder,
+                     final TimeScales timeScales) {
+        this.frameBuilder = frameBuilder;
+        this.timeScales   = timeScales;
+    }
+
+    /** Default frame name to {@link Frame} conversion.
+     * @param frames set of frames
+     * @param name name of the frame
+     * @return predefined frame with the same name, or null if no frame has this name
+     */
+    private static Frame guessFrame(final Frames frames, final String name) {
+        for (final Predefined predefined : Predefined.values()) {
+            if (predefined.getName().equals(name)) {
+                return frames.getFrame(predefined);
+            }
+        }
+        return null;
+    }
+
+    /** Parse an OEB file.
+     * @param fileName name of the file
+     * @return parsed file, with records memory mapped
+     * @exception IOException if file cannot be read
+     * @see #parse(Path)
+     */
+    public OEBFile parse(final String fileName) throws IOException {
+        return parse(Paths.get(fileName));
+    }
+
+    /** Parse an OEB file.
+     * @param path path of the file
+     * @return parsed file, with records memory mapped
+     * @exception IOException if file cannot be read
+     */
+    public OEBFile parse(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            // fixed size part of the header
+            final ByteBuffer start = read(channel, 0L, OEBFile.FIXED_HEADER_SIZE);
+            if (start.getInt() != OEBFile.MAGIC || start.getInt() != OEBFile.VERSION) {
+                throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT, path);
+            }
+            final int headerSize   = start.getInt();
+            final int nbSatellites = start.getInt();
+            if (headerSize < OEBFile.FIXED_HEADER_SIZE || nbSatellites < 0) {
+                throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT, path);
+            }
+
+            // satellites and segments directory
+            final ByteBuffer header = read(channel, OEBFile.FIXED_HEADER_SIZE,
+                                           headerSize - OEBFile.FIXED_HEADER_SIZE);
+            final Map<String, OEBSatelliteEphemeris> satellites = new LinkedHashMap<>();
+            try {
+                for (int i = 0; i < nbSatellites; ++i) {
+                    final String id = getString(header);
+                    final int nbSegments = header.getInt();
+                    final List<OEBSegment> segments = new ArrayList<>(nbSegments);
+                    for (int j = 0; j < nbSegments; ++j) {
+                        segments.add(parseSegment(channel, header, path));
+                    }
+                    satellites.put(id, new OEBSatelliteEphemeris(id, segments));
+                }
+            } catch (BufferUnderflowException bue) {
+                throw new OrekitException(bue, OrekitMessages.UNSUPPORTED_FILE_FORMAT, path);
+            }
+
+            return new OEBFile(satellites);
+
+        }
+    }
+
+    /** Parse a segment header and map its records.
+     * @param channel file channel
+     * @param header header buffer, positioned at segment start
+     * @param path path of the file
+     * @return parsed segment
+     * @exception IOException if records cannot be mapped
+     */
+    private OEBSegment parseSegment(final FileChannel channel, final ByteBuffer header, final Path path)
+        throws IOException {
+
+        final double mu              = header.getDouble();
+        final String frameName       = getString(header);
+        final String frameCenterName = getString(header);
+        final String timeScaleName   = getString(header);
+        final int    samples         = header.getInt();
+        final int    filterIndex     = header.getInt();
+        final long   whole           = header.getLong();
+        final double fraction        = header.getDouble();
+        final double startOffset     = header.getDouble();
+        final double stopOffset      = header.getDouble();
+        final int    size            = header.getInt();
+        final long   offset          = header.getLong();
+        if (filterIndex < 0 || filterIndex >= CartesianDerivativesFilter.values().length || size < 0) {
+            throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT, path);
+        }
+
+        final Frame frame = frameBuilder.apply(frameName);
+        if (frame == null) {
+            throw new OrekitException(OrekitMessages.VALUE_NOT_FOUND, frameName, path);
+        }
+        final TimeScale timeScale = getTimeScale(timeScaleName);
+
+        final CartesianDerivativesFilter filter = CartesianDerivativesFilter.values()[filterIndex];
+        final long nbBytes = 8L * size * OEBSegment.getRecordSize(filter);
+        if (offset + nbBytes > channel.size()) {
+            throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT, path);
+        }
+        final DoubleBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, offset, nbBytes).asDoubleBuffer();
+
+        final AbsoluteDate reference = AbsoluteDate.ARBITRARY_EPOCH.shiftedBy(whole).shiftedBy(fraction);
+        return new OEBSegment(mu, frameName, frameCenterName, frame, timeScale, samples, filter,
+                              reference, reference.shiftedBy(startOffset), reference.shiftedBy(stopOffset),
+                              records);
+
+    }
+
+    /** Get a time scale from its name.
+     * @param name time scale name
+     * @return time scale
+     */
+    private TimeScale getTimeScale(final String name) {
+        switch (name) {
+            case "UTC" :
+                return timeScales.getUTC();
+            case "TAI" :
+                return timeScales.getTAI();
+            case "TT" :
+                return timeScales.getTT();
+            case "GPS" :
+                return timeScales.getGPS();
+            case "GST" :
+                return timeScales.getGST();
+            case "GLONASS" :
+                return timeScales.getGLONASS();
+            case "QZSS" :
+                return timeScales.getQZSS();
+            case "BDT" :
+                return timeScales.getBDT();
+            case "IRNSS" :
+                return timeScales.getIRNSS();
+            case "TCG" :
+                return timeScales.getTCG();
+            case "TCB" :
+                return timeScales.getTCB();
+            case "TDB" :
+                return timeScales.getTDB();
+            default :
+                throw new OrekitException(OrekitMessages.UNKNOWN_TIME_SYSTEM, name);
+        }
+    }
+
+    /** Get a string from the header.
+     * @param header header buffer
+     * @return string read (may be null)
+     */
+    private static String getString(final ByteBuffer header) {
+        final int length = header.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        header.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Read a part of a file.
+     * @param channel channel to read
+     * @param position position of the first byte
+     * @param size number of bytes to read
+     * @return buffer ready to be read
+     * @exception IOException if file cannot be read (including if it is truncated)
+     */
+    private static ByteBuffer read(final FileChannel channel, final long position, final int size)
+        throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+}
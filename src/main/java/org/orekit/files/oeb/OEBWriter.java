@@ -0,0 +1,242 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.oeb;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.files.general.EphemerisFile;
+import org.orekit.files.general.EphemerisFile.EphemerisSegment;
+import org.orekit.files.general.EphemerisFile.SatelliteEphemeris;
+import org.orekit.files.oeb.OEBFile.OEBSegment;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Writer for {@link OEBFile Orekit Ephemeris Binary} files.
+ * <p>
+ * Any {@link EphemerisFile} can be written, for example an OEM file can
+ * be converted once to OEB format and then read much faster afterwards.
+ * The frame and time scale of each segment are identified by their Orekit names.
+ * </p>
+ * <p>
+ * OEB is a binary format, so this class does not implement
+ * {@link org.orekit.files.general.EphemerisFileWriter EphemerisFileWriter}
+ * which writes to character streams. Files are written only to a {@link Path}
+ * or a file name.
+ * </p>
+ * @see OEBParser
+ * @since 11.0
+ */
+public class OEBWriter {
+
+    /** Size of the blocks used for writing records. */
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    /** Fixed size part of satellites entries in header. */
+    private static final int SATELLITE_ENTRY_SIZE = 8;
+
+    /** Fixed size part of segments entries in header. */
+    private static final int SEGMENT_ENTRY_SIZE = 72;
+
+    /** Simple constructor.
+     */
+    public OEBWriter() {
+        // nothing to do
+    }
+
+    /** Write an ephemeris file in OEB format.
+     * @param outputFilePath name of the file to write
+     * @param ephemerisFile ephemeris file to write
+     * @exception IOException if file cannot be written
+     * @see #write(Path, EphemerisFile)
+     */
+    public void write(final String outputFilePath, final EphemerisFile ephemerisFile)
+        throws IOException {
+        write(Paths.get(outputFilePath), ephemerisFile);
+    }
+
+    /** Write an ephemeris file in OEB format.
+     * @param path path of the file to write
+     * @param ephemerisFile ephemeris file to write
+     * @exception IOException if file cannot be written
+     */
+    public void write(final Path path, final EphemerisFile ephemerisFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE)) {
+
+            final Map<String, ? extends SatelliteEphemeris> satellites = ephemerisFile.getSatellites();
+
+            // gather header strings and compute header size
+            final List<byte[]> strings = new ArrayList<>();
+            int headerSize = OEBFile.FIXED_HEADER_SIZE;
+            for (final SatelliteEphemeris satellite : satellites.values()) {
+                headerSize += SATELLITE_ENTRY_SIZE + add(strings, satellite.getId());
+                for (final EphemerisSegment segment : satellite.getSegments()) {
+                    headerSize += SEGMENT_ENTRY_SIZE +
+                                  add(strings, segment.getFrame().getName()) +
+                                  add(strings, segment.getFrameCenterString()) +
+                                  add(strings, segment.getTimeScale().getName());
+                }
+            }
+            // align records on 8 bytes boundaries
+            long offset = 8 * ((headerSize + 7) / 8);
+
+            // header
+            final ByteBuffer header = ByteBuffer.allocate((int) offset);
+            header.putInt(OEBFile.MAGIC);
+            header.putInt(OEBFile.VERSION);
+            header.putInt((int) offset);
+            header.putInt(satellites.size());
+            int index = 0;
+            for (final SatelliteEphemeris satellite : satellites.values()) {
+                put(header, strings.get(index++));
+                header.putInt(satellite.getSegments().size());
+                for (final EphemerisSegment segment : satellite.getSegments()) {
+                    final List<? extends TimeStampedPVCoordinates> coordinates = segment.getCoordinates();
+                    final int recordSize = OEBSegment.getRecordSize(segment.getAvailableDerivatives());
+                    if ((long) coordinates.size() * recordSize > Integer.MAX_VALUE / 8) {
+                        throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_LARGE,
+                                                                 coordinates.size(),
+                                                                 Integer.MAX_VALUE / (8 * recordSize));
+                    }
+                    final AbsoluteDate reference = coordinates.isEmpty() ?
+                                                   segment.getStart() : coordinates.get(0).getDate();
+                    final long whole = (long) FastMath.floor(reference.durationFrom(AbsoluteDate.ARBITRARY_EPOCH));
+                    header.putDouble(segment.getMu());
+                    put(header, strings.get(index++));
+                    put(header, strings.get(index++));
+                    put(header, strings.get(index++));
+                    header.putInt(segment.getInterpolationSamples());
+                    header.putInt(segment.getAvailableDerivatives().ordinal());
+                    header.putLong(whole);
+                    header.putDouble(reference.durationFrom(AbsoluteDate.ARBITRARY_EPOCH.shiftedBy(whole)));
+                    header.putDouble(segment.getStart().durationFrom(reference));
+                    header.putDouble(segment.getStop().durationFrom(reference));
+                    header.putInt(coordinates.size());
+                    header.putLong(offset);
+                    offset += 8L * recordSize * coordinates.size();
+                }
+            }
+            header.rewind();
+            writeFully(channel, header);
+
+            // records, written in large blocks
+            final ByteBuffer   block = ByteBuffer.allocate(BLOCK_SIZE);
+            final DoubleBuffer view  = block.asDoubleBuffer();
+            for (final SatelliteEphemeris satellite : satellites.values()) {
+                for (final EphemerisSegment segment : satellite.getSegments()) {
+                    final int order = segment.getAvailableDerivatives().getMaxOrder();
+                    final List<? extends TimeStampedPVCoordinates> coordinates = segment.getCoordinates();
+                    final AbsoluteDate reference = coordinates.isEmpty() ?
+                                                   segment.getStart() : coordinates.get(0).getDate();
+                    view.clear();
+                    for (final TimeStampedPVCoordinates pv : coordinates) {
+                        if (view.remaining() < OEBSegment.getRecordSize(segment.getAvailableDerivatives())) {
+                            flush(channel, block, view);
+                        }
+                        view.put(pv.getDate().durationFrom(reference));
+                        put(view, pv.getPosition());
+                        if (order > 0) {
+                            put(view, pv.getVelocity());
+                        }
+                        if (order > 1) {
+                            put(view, pv.getAcceleration());
+                        }
+                    }
+                    flush(channel, block, view);
+                }
+            }
+
+        }
+    }
+
+    /** Add a string to the header strings.
+     * @param strings header strings
+     * @param string string to add (may be null)
+     * @return number of bytes used by the string in header
+     */
+    private static int add(final List<byte[]> strings, final String string) {
+        final byte[] bytes = string == null ? null : string.getBytes(StandardCharsets.UTF_8);
+        strings.add(bytes);
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    /** Put a string in the header.
+     * @param header header buffer
+     * @param bytes UTF-8 representation of the string (null strings are stored with a negative length)
+     */
+    private static void put(final ByteBuffer header, final byte[] bytes) {
+        if (bytes == null) {
+            header.putInt(-1);
+        } else {
+            header.putInt(bytes.length);
+            header.put(bytes);
+        }
+    }
+
+    /** Put a vector in a records block.
+     * @param view records block
+     * @param vector vector to put
+     */
+    private static void put(final DoubleBuffer view, final Vector3D vector) {
+        view.put(vector.getX());
+        view.put(vector.getY());
+        view.put(vector.getZ());
+    }
+
+    /** Flush a records block.
+     * @param channel channel to write to
+     * @param block records block
+     * @param view double view of the records block
+     * @exception IOException if block cannot be written
+     */
+    private static void flush(final FileChannel channel, final ByteBuffer block, final DoubleBuffer view)
+        throws IOException {
+        block.clear();
+        block.limit(8 * view.position());
+        writeFully(channel, block);
+        view.clear();
+    }
+
+    /** Write a buffer completely.
+     * @param channel channel to write to
+     * @param buffer buffer to write
+     * @exception IOException if buffer cannot be written
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer)
+        throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ *
+ * This package provides a compact binary format for orbit ephemerides.
+ *
+ * <p>
+ * The Orekit Ephemeris Binary (OEB) format is intended for fast exchange of
+ * huge ephemerides between Orekit-based applications. Files are memory mapped
+ * when read and states are decoded and interpolated on demand, so only the
+ * parts of the ephemeris that are really used are loaded.
+ * </p>
+ *
+ * @since 11.0
+ */
+package org.orekit.files.oeb;
@@ -21,6 +21,7 @@
  * package. Specifically, see {@link org.orekit.files.general.EphemerisFile
  * EphemerisFile} and {@link org.orekit.files.general.AttitudeEphemerisFile
  * AttitudeEphemerisFile}. Each format is handled by a separate sub-package: {@link org.orekit.files.ccsds},
- * {@link org.orekit.files.sp3}, {@link org.orekit.files.ilrs}, {@link org.orekit.files.sinex}.</p>
+ * {@link org.orekit.files.sp3}, {@link org.orekit.files.ilrs}, {@link org.orekit.files.sinex},
+ * {@link org.orekit.files.oeb}.</p>
  */
 package org.orekit.files;
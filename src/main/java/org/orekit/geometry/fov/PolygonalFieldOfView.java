@@ -18,6 +18,9 @@ package org.orekit.geometry.fov;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.hipparchus.geometry.enclosing.EnclosingBall;
 import org.hipparchus.geometry.euclidean.threed.Line;
@@ -168,54 +171,167 @@ public class PolygonalFieldOfView extends AbstractFieldOfView {
     public List<List<GeodeticPoint>> getFootprint(final Transform fovToBody,
                                                   final OneAxisEllipsoid body,
                                                   final double angularStep) {
+        return footprint(fovToBody, body, sampleBoundary(angularStep), angularStep, 0.0);
+    }
 
-        final Frame     bodyFrame = body.getBodyFrame();
-        final Vector3D  position  = fovToBody.transformPosition(Vector3D.ZERO);
-        final double    r         = position.getNorm();
-        if (body.isInside(position)) {
-            throw new OrekitException(OrekitMessages.POINT_INSIDE_ELLIPSOID);
-        }
+    /** Get the footprint of the Field Of View on ground, using adaptive boundary sampling.
+     * <p>
+     * This method is similar to {@link #getFootprint(Transform, OneAxisEllipsoid, double)},
+     * but the boundary is sampled adaptively: between two projected points, the
+     * intermediate lines of sight are projected only if the projection of the middle one
+     * is farther than {@code tolerance} from the chord joining the two points. As Field
+     * Of View edges are great circle arcs, their projections on ground are smooth curves
+     * and most intermediate intersections are avoided when the footprint is small with
+     * respect to the body. Polygon vertices are always preserved.
+     * </p>
+     * @param fovToBody transform between the frame in which the Field Of View
+     * is defined and body frame.
+     * @param body body surface the Field Of View will be projected on
+     * @param angularStep finest step used for boundary loops sampling (radians)
+     * @param tolerance maximum distance between the footprint and the returned
+     * polygon at sampling mid-points (m), if 0 all boundary samples are used, as
+     * in {@link #getFootprint(Transform, OneAxisEllipsoid, double)}
+     * @return list footprint boundary loops (there may be several independent
+     * loops if the Field Of View shape is complex)
+     * @since 11.0
+     */
+    public List<List<GeodeticPoint>> getFootprint(final Transform fovToBody,
+                                                  final OneAxisEllipsoid body,
+                                                  final double angularStep,
+                                                  final double tolerance) {
+        return footprint(fovToBody, body, sampleBoundary(angularStep), angularStep, tolerance);
+    }
 
-        final List<List<GeodeticPoint>> footprint = new ArrayList<>();
+    /** Get the footprints of the Field Of View on ground for a sequence of transforms.
+     * <p>
+     * The Field Of View boundary is sampled only once and reused for all transforms.
+     * The footprints are computed lazily as the returned stream is consumed, in the
+     * same order as the transforms. If the transforms stream is
+     * {@link Stream#parallel() parallel}, the footprints are computed concurrently.
+     * </p>
+     * @param fovToBody transforms between the frame in which the Field Of View
+     * is defined and body frame.
+     * @param body body surface the Field Of View will be projected on
+     * @param angularStep finest step used for boundary loops sampling (radians)
+     * @param tolerance maximum distance between the footprint and the returned
+     * polygons at sampling mid-points (m), if 0 all boundary samples are used
+     * @return stream of footprints, one for each transform
+     * @see #getFootprint(Transform, OneAxisEllipsoid, double, double)
+     * @since 11.0
+     */
+    public Stream<List<List<GeodeticPoint>>> getFootprints(final Stream<Transform> fovToBody,
+                                                           final OneAxisEllipsoid body,
+                                                           final double angularStep,
+                                                           final double tolerance) {
+        final List<SampledLoop> loops = sampleBoundary(angularStep);
+        return fovToBody.map(t -> footprint(t, body, loops, angularStep, tolerance));
+    }
 
-        final List<Vertex> boundary = zone.getBoundaryLoops();
-        for (final Vertex loopStart : boundary) {
+    /** Get the footprints of the Field Of View on ground for a list of transforms.
+     * <p>
+     * The Field Of View boundary is sampled only once and reused for all transforms,
+     * and the footprints are computed concurrently in the specified pool.
+     * </p>
+     * @param fovToBody transforms between the frame in which the Field Of View
+     * is defined and body frame.
+     * @param body body surface the Field Of View will be projected on
+     * @param angularStep finest step used for boundary loops sampling (radians)
+     * @param tolerance maximum distance between the footprint and the returned
+     * polygons at sampling mid-points (m), if 0 all boundary samples are used
+     * @param pool pool in which footprints should be computed
+     * @return footprints, one for each transform, in the same order as the transforms
+     * @see #getFootprint(Transform, OneAxisEllipsoid, double, double)
+     * @since 11.0
+     */
+    public List<List<List<GeodeticPoint>>> getFootprints(final List<Transform> fovToBody,
+                                                         final OneAxisEllipsoid body,
+                                                         final double angularStep,
+                                                         final double tolerance,
+                                                         final ForkJoinPool pool) {
+        return pool.submit(() -> getFootprints(fovToBody.stream().parallel(), body, angularStep, tolerance).
+                                 collect(Collectors.toList())).join();
+    }
+
+    /** Sample the boundary loops of the Field Of View.
+     * @param angularStep step used for boundary loops sampling (radians)
+     * @return sampled loops
+     */
+    private List<SampledLoop> sampleBoundary(final double angularStep) {
+        final List<SampledLoop> loops = new ArrayList<>();
+        for (final Vertex loopStart : zone.getBoundaryLoops()) {
             int count = 0;
-            final List<GeodeticPoint> loop  = new ArrayList<>();
-            boolean intersectionsFound      = false;
+            final List<Vector3D> directions = new ArrayList<>();
+            final List<Integer>  edgeStarts = new ArrayList<>();
             for (Edge edge = loopStart.getOutgoing();
                  count == 0 || edge.getStart() != loopStart;
                  edge = edge.getEnd().getOutgoing()) {
                 ++count;
+                edgeStarts.add(directions.size());
                 final int    n     = (int) FastMath.ceil(edge.getLength() / angularStep);
                 final double delta =  edge.getLength() / n;
                 for (int i = 0; i < n; ++i) {
-                    final Vector3D awaySC      = new Vector3D(r, edge.getPointAt(i * delta));
-                    final Vector3D awayBody    = fovToBody.transformPosition(awaySC);
-                    final Line     lineOfSight = new Line(position, awayBody, 1.0e-3);
-                    GeodeticPoint  gp          = body.getIntersectionPoint(lineOfSight, position,
-                                                                           bodyFrame, null);
-                    if (gp != null &&
-                        Vector3D.dotProduct(awayBody.subtract(position),
-                                            body.transform(gp).subtract(position)) < 0) {
-                        // the intersection is in fact on the half-line pointing
-                        // towards the back side, it is a spurious intersection
-                        gp = null;
-                    }
-
-                    if (gp != null) {
-                        // the line of sight does intersect the body
-                        intersectionsFound = true;
-                    } else {
-                        // the line of sight does not intersect body
-                        // we use a point on the limb
-                        gp = body.transform(body.pointOnLimb(position, awayBody), bodyFrame, null);
-                    }
-
-                    // add the point in front of the list
-                    // (to ensure the loop will be in trigonometric orientation)
-                    loop.add(0, gp);
+                    directions.add(edge.getPointAt(i * delta));
+                }
+            }
+            loops.add(new SampledLoop(directions, edgeStarts));
+        }
+        return loops;
+    }
+
+    /** Compute the footprint of the Field Of View on ground.
+     * @param fovToBody transform between the frame in which the Field Of View
+     * is defined and body frame.
+     * @param body body surface the Field Of View will be projected on
+     * @param loops sampled boundary loops
+     * @param angularStep step used for boundary loops sampling (radians)
+     * @param tolerance maximum distance between the footprint and the returned
+     * polygons at sampling mid-points (m), if 0 all boundary samples are used
+     * @return list footprint boundary loops
+     */
+    private List<List<GeodeticPoint>> footprint(final Transform fovToBody,
+                                                final OneAxisEllipsoid body,
+                                                final List<SampledLoop> loops,
+                                                final double angularStep,
+                                                final double tolerance) {
+
+        final Frame     bodyFrame = body.getBodyFrame();
+        final Vector3D  position  = fovToBody.transformPosition(Vector3D.ZERO);
+        final double    r         = position.getNorm();
+        if (body.isInside(position)) {
+            throw new OrekitException(OrekitMessages.POINT_INSIDE_ELLIPSOID);
+        }
+
+        final List<List<GeodeticPoint>> footprint = new ArrayList<>();
 
+        for (final SampledLoop sampled : loops) {
+
+            final int n = sampled.directions.size();
+            final Projected[] projected = new Projected[n];
+            if (tolerance <= 0) {
+                // project all samples
+                for (int i = 0; i < n; ++i) {
+                    projected[i] = project(fovToBody, body, position, r, sampled.directions.get(i));
+                }
+            } else {
+                // always project the polygon vertices, then refine each edge adaptively
+                for (final int start : sampled.edgeStarts) {
+                    projected[start] = project(fovToBody, body, position, r, sampled.directions.get(start));
+                }
+                for (int k = 0; k < sampled.edgeStarts.size(); ++k) {
+                    final int start = sampled.edgeStarts.get(k);
+                    final int end   = (k + 1 < sampled.edgeStarts.size()) ? sampled.edgeStarts.get(k + 1) : n;
+                    refine(fovToBody, body, position, r, sampled, projected, start, end, tolerance);
+                }
+            }
+
+            boolean intersectionsFound = false;
+            final List<GeodeticPoint> loop = new ArrayList<>();
+            for (int i = n - 1; i >= 0; --i) {
+                // add the points in reverse order
+                // (to ensure the loop will be in trigonometric orientation)
+                if (projected[i] != null) {
+                    intersectionsFound |= projected[i].hit;
+                    loop.add(projected[i].gp);
                 }
             }
 
@@ -257,6 +373,97 @@ public class PolygonalFieldOfView extends AbstractFieldOfView {
 
     }
 
+    /** Refine adaptively the projection of part of a sampled edge.
+     * @param fovToBody transform between the frame in which the Field Of View
+     * is defined and body frame.
+     * @param body body surface the Field Of View will be projected on
+     * @param position Field Of View origin in body frame
+     * @param r distance from body center to Field Of View origin
+     * @param sampled sampled loop
+     * @param projected projected samples (the one at {@code start} must already be available)
+     * @param start index of first sample (already projected)
+     * @param end index of last sample (already projected, or loop size for the closing edge)
+     * @param tolerance maximum distance between projection and chord at mid-point (m)
+     */
+    private void refine(final Transform fovToBody, final OneAxisEllipsoid body,
+                        final Vector3D position, final double r,
+                        final SampledLoop sampled, final Projected[] projected,
+                        final int start, final int end, final double tolerance) {
+
+        if (end - start < 2) {
+            // no intermediate samples
+            return;
+        }
+
+        final int n = sampled.directions.size();
+        final Projected p0 = projected[start];
+        final Projected p1 = projected[end % n];
+        if (p1 == null) {
+            // the end sample is the start of the next edge, which has not been projected yet
+            projected[end % n] = project(fovToBody, body, position, r, sampled.directions.get(end % n));
+            refine(fovToBody, body, position, r, sampled, projected, start, end, tolerance);
+            return;
+        }
+
+        final int middle = (start + end) / 2;
+        final Projected pm = project(fovToBody, body, position, r, sampled.directions.get(middle));
+
+        // distance from the middle point to the chord
+        final Vector3D chord     = p1.cartesian.subtract(p0.cartesian);
+        final Vector3D toMiddle  = pm.cartesian.subtract(p0.cartesian);
+        final double   chordNorm = chord.getNorm();
+        final double   deviation = chordNorm == 0 ?
+                                   toMiddle.getNorm() :
+                                   Vector3D.crossProduct(toMiddle, chord).getNorm() / chordNorm;
+
+        if (deviation > tolerance || pm.hit != p0.hit || pm.hit != p1.hit) {
+            // the chord is not accurate enough, we keep the middle point and refine both halves
+            projected[middle] = pm;
+            refine(fovToBody, body, position, r, sampled, projected, start, middle, tolerance);
+            refine(fovToBody, body, position, r, sampled, projected, middle, end, tolerance);
+        }
+
+    }
+
+    /** Project one line of sight on ground.
+     * @param fovToBody transform between the frame in which the Field Of View
+     * is defined and body frame.
+     * @param body body surface the Field Of View will be projected on
+     * @param position Field Of View origin in body frame
+     * @param r distance from body center to Field Of View origin
+     * @param direction line of sight direction in Field Of View frame
+     * @return projected point
+     */
+    private Projected project(final Transform fovToBody, final OneAxisEllipsoid body,
+                              final Vector3D position, final double r,
+                              final Vector3D direction) {
+
+        final Frame    bodyFrame   = body.getBodyFrame();
+        final Vector3D awaySC      = new Vector3D(r, direction);
+        final Vector3D awayBody    = fovToBody.transformPosition(awaySC);
+        final Line     lineOfSight = new Line(position, awayBody, 1.0e-3);
+        GeodeticPoint  gp          = body.getIntersectionPoint(lineOfSight, position,
+                                                               bodyFrame, null);
+        Vector3D       cartesian   = gp == null ? null : body.transform(gp);
+        if (gp != null &&
+            Vector3D.dotProduct(awayBody.subtract(position), cartesian.subtract(position)) < 0) {
+            // the intersection is in fact on the half-line pointing
+            // towards the back side, it is a spurious intersection
+            gp = null;
+        }
+
+        if (gp != null) {
+            // the line of sight does intersect the body
+            return new Projected(gp, cartesian, true);
+        } else {
+            // the line of sight does not intersect body
+            // we use a point on the limb
+            cartesian = body.pointOnLimb(position, awayBody);
+            return new Projected(body.transform(cartesian, bodyFrame, null), cartesian, false);
+        }
+
+    }
+
     /** Enumerate for cone/polygon relative position.
      * @since 10.1
      */
@@ -331,4 +538,49 @@ public class PolygonalFieldOfView extends AbstractFieldOfView {
 
     }
 
+    /** Container for a sampled boundary loop. */
+    private static class SampledLoop {
+
+        /** Lines of sight along the loop, in Field Of View frame. */
+        private final List<Vector3D> directions;
+
+        /** Indices of the samples at polygon vertices. */
+        private final List<Integer> edgeStarts;
+
+        /** Simple constructor.
+         * @param directions lines of sight along the loop
+         * @param edgeStarts indices of the samples at polygon vertices
+         */
+        SampledLoop(final List<Vector3D> directions, final List<Integer> edgeStarts) {
+            this.directions = directions;
+            this.edgeStarts = edgeStarts;
+        }
+
+    }
+
+    /** Container for a projected line of sight. */
+    private static class Projected {
+
+        /** Geodetic point. */
+        private final GeodeticPoint gp;
+
+        /** Cartesian point in body frame. */
+        private final Vector3D cartesian;
+
+        /** Indicator for real intersection (as opposed to limb point). */
+        private final boolean hit;
+
+        /** Simple constructor.
+         * @param gp geodetic point
+         * @param cartesian Cartesian point in body frame
+         * @param hit indicator for real intersection (as opposed to limb point)
+         */
+        Projected(final GeodeticPoint gp, final Vector3D cartesian, final boolean hit) {
+            this.gp        = gp;
+            this.cartesian = cartesian;
+            this.hit       = hit;
+        }
+
+    }
+
 }
@@ -0,0 +1,521 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.propagation.analytical.gnss.GNSSConstellationEvaluator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ElevationMask;
+
+/**
+ * Computer for visibility and dilution of precision statistics over a set of locations.
+ * <p>
+ * This class is the grid counterpart of {@link DOPComputer}. The positions of all
+ * spacecrafts of the constellations are evaluated only once per epoch, using
+ * {@link GNSSConstellationEvaluator}, and are shared by all locations. Locations are
+ * then processed independently, each one accumulating its statistics on the fly
+ * (see {@link CoverageStatistics}) so individual samples are never stored. This
+ * allows processing locations in parallel.
+ * </p>
+ * <p>
+ * Locations can be set up as a regular latitude/longitude grid, as an arbitrary
+ * list or as a sample produced by {@link org.orekit.models.earth.tessellation.EllipsoidTessellator#sample(
+ * org.hipparchus.geometry.spherical.twod.SphericalPolygonsSet, double, double)
+ * EllipsoidTessellator.sample}.
+ * </p>
+ * <p>
+ * Instances of this class are immutable and can be shared between threads.
+ * </p>
+ * @see DOPComputer
+ * @since 11.0
+ */
+public class CoverageMapComputer {
+
+    /** Minimum number of spacecrafts for DOP computation. */
+    private static final int DOP_MIN_SPACECRAFTS = 4;
+
+    /** Default histogram bin width. */
+    private static final double DEFAULT_BIN_WIDTH = 0.05;
+
+    /** Default histogram maximum value. */
+    private static final double DEFAULT_MAX_VALUE = 20.0;
+
+    /** Body shape on which locations are defined. */
+    private final OneAxisEllipsoid shape;
+
+    /** Locations. */
+    private final List<GeodeticPoint> locations;
+
+    /** Elevation mask used for computation, if defined. */
+    private final ElevationMask elevationMask;
+
+    /** Minimum elevation value used if no mask is defined. */
+    private final double minElevation;
+
+    /** Type of the dilution of precision. */
+    private final DOPType type;
+
+    /** Histogram bin width. */
+    private final double binWidth;
+
+    /** Number of histogram bins (including the last one for values beyond range). */
+    private final int nbBins;
+
+    /** Simple constructor.
+     * @param shape body shape on which locations are defined
+     * @param locations locations
+     * @param minElevation minimum elevation value used if no mask is defined
+     * @param elevationMask elevation mask used for computation (may be null)
+     * @param type type of the dilution of precision
+     * @param binWidth histogram bin width
+     * @param nbBins number of histogram bins (including the last one for values beyond range)
+     */
+    private CoverageMapComputer(final OneAxisEllipsoid shape, final List<GeodeticPoint> locations,
+                                final double minElevation, final ElevationMask elevationMask,
+                                final DOPType type, final double binWidth, final int nbBins) {
+        this.shape         = shape;
+        this.locations     = locations;
+        this.minElevation  = minElevation;
+        this.elevationMask = elevationMask;
+        this.type          = type;
+        this.binWidth      = binWidth;
+        this.nbBins        = nbBins;
+    }
+
+    /**
+     * Creates a coverage map computer for a list of locations.
+     * <p>A minimum elevation of 0° is taken into account to compute visibility
+     * and {@link DOPType#PDOP PDOP} statistics are computed.</p>
+     * @param shape the body shape on which the locations are defined
+     * @param locations the points of interest
+     * @return a configured coverage map computer
+     */
+    public static CoverageMapComputer create(final OneAxisEllipsoid shape, final List<GeodeticPoint> locations) {
+        return new CoverageMapComputer(shape, new ArrayList<>(locations),
+                                       DOPComputer.DOP_MIN_ELEVATION, null, DOPType.PDOP,
+                                       DEFAULT_BIN_WIDTH, (int) FastMath.ceil(DEFAULT_MAX_VALUE / DEFAULT_BIN_WIDTH) + 1);
+    }
+
+    /**
+     * Creates a coverage map computer for a tessellation sample.
+     * <p>The sample is flattened, zone after zone.</p>
+     * @param shape the body shape on which the locations are defined
+     * @param sample sample as produced by {@link org.orekit.models.earth.tessellation.EllipsoidTessellator#sample(
+     * org.hipparchus.geometry.spherical.twod.SphericalPolygonsSet, double, double) EllipsoidTessellator.sample}
+     * @return a configured coverage map computer
+     * @see #create(OneAxisEllipsoid, List)
+     */
+    public static CoverageMapComputer createFromSample(final OneAxisEllipsoid shape,
+                                                       final List<List<GeodeticPoint>> sample) {
+        return create(shape, sample.stream().flatMap(List::stream).collect(Collectors.toList()));
+    }
+
+    /**
+     * Creates a coverage map computer for a global regular grid.
+     * <p>Latitudes range from -90° to +90° and longitudes from -180° (included)
+     * to +180° (excluded). Points are ordered by latitude first, then by longitude.</p>
+     * @param shape the body shape on which the locations are defined
+     * @param latitudeStep grid step in latitude (rad)
+     * @param longitudeStep grid step in longitude (rad)
+     * @return a configured coverage map computer
+     * @see #create(OneAxisEllipsoid, List)
+     */
+    public static CoverageMapComputer createGrid(final OneAxisEllipsoid shape,
+                                                 final double latitudeStep, final double longitudeStep) {
+        if (latitudeStep <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     latitudeStep, 0);
+        }
+        if (longitudeStep <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     longitudeStep, 0);
+        }
+        final int nbLat = (int) FastMath.floor(FastMath.PI / latitudeStep + 1.0e-10) + 1;
+        final int nbLon = (int) FastMath.ceil(MathUtils.TWO_PI / longitudeStep - 1.0e-10);
+        final List<GeodeticPoint> grid = new ArrayList<>(nbLat * nbLon);
+        for (int i = 0; i < nbLat; ++i) {
+            final double latitude = FastMath.min(-0.5 * FastMath.PI + i * latitudeStep, 0.5 * FastMath.PI);
+            for (int j = 0; j < nbLon; ++j) {
+                grid.add(new GeodeticPoint(latitude, -FastMath.PI + j * longitudeStep, 0.0));
+            }
+        }
+        return create(shape, grid);
+    }
+
+    /**
+     * Set the minimum elevation.
+     * <p>This will override an elevation mask if it has been configured as such previously.</p>
+     * @param newMinElevation minimum elevation for visibility (rad)
+     * @return a new computer with updated configuration (the instance is not changed)
+     * @see #getMinElevation()
+     */
+    public CoverageMapComputer withMinElevation(final double newMinElevation) {
+        return new CoverageMapComputer(shape, locations, newMinElevation, null, type, binWidth, nbBins);
+    }
+
+    /**
+     * Set the elevation mask.
+     * <p>This will override the min elevation if it has been configured as such previously.</p>
+     * @param newElevationMask elevation mask to use for the computation
+     * @return a new computer with updated configuration (the instance is not changed)
+     * @see #getElevationMask()
+     */
+    public CoverageMapComputer withElevationMask(final ElevationMask newElevationMask) {
+        return new CoverageMapComputer(shape, locations, DOPComputer.DOP_MIN_ELEVATION, newElevationMask,
+                                       type, binWidth, nbBins);
+    }
+
+    /**
+     * Set the type of dilution of precision for which statistics are computed.
+     * @param newType type of dilution of precision
+     * @return a new computer with updated configuration (the instance is not changed)
+     * @see #getType()
+     */
+    public CoverageMapComputer withType(final DOPType newType) {
+        return new CoverageMapComputer(shape, locations, minElevation, elevationMask, newType, binWidth, nbBins);
+    }
+
+    /**
+     * Set the histogram used for percentiles estimation.
+     * <p>Dilutions of precision larger than the maximum value are gathered in a
+     * single overflow bin.</p>
+     * @param newBinWidth histogram bin width
+     * @param newMaxValue maximum value of the histogram range
+     * @return a new computer with updated configuration (the instance is not changed)
+     * @see CoverageStatistics#getPercentile(double)
+     */
+    public CoverageMapComputer withHistogram(final double newBinWidth, final double newMaxValue) {
+        if (newBinWidth <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     newBinWidth, 0);
+        }
+        if (newMaxValue < newBinWidth) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     newMaxValue, newBinWidth);
+        }
+        return new CoverageMapComputer(shape, locations, minElevation, elevationMask, type,
+                                       newBinWidth, (int) FastMath.ceil(newMaxValue / newBinWidth) + 1);
+    }
+
+    /**
+     * Get the body shape on which locations are defined.
+     * @return body shape on which locations are defined
+     */
+    public OneAxisEllipsoid getShape() {
+        return shape;
+    }
+
+    /**
+     * Get the locations.
+     * @return locations
+     */
+    public List<GeodeticPoint> getLocations() {
+        return locations;
+    }
+
+    /**
+     * Get the minimum elevation.
+     * @return the minimum elevation (rad)
+     */
+    public double getMinElevation() {
+        return minElevation;
+    }
+
+    /**
+     * Get the elevation mask.
+     * @return the elevation mask
+     */
+    public ElevationMask getElevationMask() {
+        return elevationMask;
+    }
+
+    /**
+     * Get the type of dilution of precision for which statistics are computed.
+     * @return type of dilution of precision
+     */
+    public DOPType getType() {
+        return type;
+    }
+
+    /**
+     * Compute the statistics for all locations.
+     * <p>
+     * Locations are processed sequentially in the current thread.
+     * </p>
+     * @param start first sampling date
+     * @param end last sampling date
+     * @param step sampling step (s)
+     * @param constellations evaluators for the spacecrafts positions
+     * @return statistics for all locations, in the same order as {@link #getLocations()}
+     */
+    public List<CoverageStatistics> compute(final AbsoluteDate start, final AbsoluteDate end, final double step,
+                                            final List<GNSSConstellationEvaluator> constellations) {
+        final double[][][] positions = getPositions(start, end, step, constellations);
+        return IntStream.range(0, locations.size()).
+               mapToObj(i -> computeLocation(locations.get(i), positions)).
+               collect(Collectors.toList());
+    }
+
+    /**
+     * Compute the statistics for all locations, processing them in parallel.
+     * <p>
+     * Spacecrafts positions are computed once, then locations are dispatched
+     * among the threads of the pool. The result does not depend on the pool.
+     * </p>
+     * @param start first sampling date
+     * @param end last sampling date
+     * @param step sampling step (s)
+     * @param constellations evaluators for the spacecrafts positions
+     * @param pool pool in which computation is performed
+     * @return statistics for all locations, in the same order as {@link #getLocations()}
+     */
+    public List<CoverageStatistics> compute(final AbsoluteDate start, final AbsoluteDate end, final double step,
+                                            final List<GNSSConstellationEvaluator> constellations,
+                                            final ForkJoinPool pool) {
+        final double[][][] positions = getPositions(start, end, step, constellations);
+        return pool.submit(() -> IntStream.range(0, locations.size()).parallel().
+                                 mapToObj(i -> computeLocation(locations.get(i), positions)).
+                                 collect(Collectors.toList())).join();
+    }
+
+    /** Compute the positions of all spacecrafts at all sampling dates.
+     * @param start first sampling date
+     * @param end last sampling date
+     * @param step sampling step (s)
+     * @param constellations evaluators for the spacecrafts positions
+     * @return positions of spacecrafts, indexed by date, then coordinate (x, y, z), then spacecraft
+     */
+    private double[][][] getPositions(final AbsoluteDate start, final AbsoluteDate end, final double step,
+                                      final List<GNSSConstellationEvaluator> constellations) {
+
+        if (step <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     step, 0);
+        }
+        final double duration = end.durationFrom(start);
+        if (duration < 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, duration, 0);
+        }
+
+        int nbSpacecrafts = 0;
+        for (final GNSSConstellationEvaluator constellation : constellations) {
+            nbSpacecrafts += constellation.getSize();
+        }
+        if (nbSpacecrafts < DOP_MIN_SPACECRAFTS) {
+            throw new OrekitException(OrekitMessages.NOT_ENOUGH_GNSS_FOR_DOP, nbSpacecrafts, DOP_MIN_SPACECRAFTS);
+        }
+
+        final int nbDates = (int) FastMath.floor(duration / step + 1.0e-10) + 1;
+        final double[][][] positions = new double[nbDates][3][nbSpacecrafts];
+        for (int k = 0; k < nbDates; ++k) {
+            final AbsoluteDate date = start.shiftedBy(k * step);
+            int offset = 0;
+            for (final GNSSConstellationEvaluator constellation : constellations) {
+                constellation.getPositions(date, positions[k][0], positions[k][1], positions[k][2], offset);
+                offset += constellation.getSize();
+            }
+        }
+
+        return positions;
+
+    }
+
+    /** Compute the statistics for one location.
+     * @param location location
+     * @param positions positions of spacecrafts, indexed by date, then coordinate (x, y, z), then spacecraft
+     * @return statistics for the location
+     */
+    private CoverageStatistics computeLocation(final GeodeticPoint location, final double[][][] positions) {
+
+        // local frame in the body shape frame
+        final Vector3D origin = shape.transform(location);
+        final double ox = origin.getX();
+        final double oy = origin.getY();
+        final double oz = origin.getZ();
+        final Vector3D east   = location.getEast();
+        final Vector3D north  = location.getNorth();
+        final Vector3D zenith = location.getZenith();
+        final double ex = east.getX();
+        final double ey = east.getY();
+        final double ez = east.getZ();
+        final double nx = north.getX();
+        final double ny = north.getY();
+        final double nz = north.getZ();
+        final double zx = zenith.getX();
+        final double zy = zenith.getY();
+        final double zz = zenith.getZ();
+
+        // horizon test: a spacecraft is certainly hidden if sin(elevation) is below this threshold
+        final double sinMin = FastMath.sin(elevationMask == null ? minElevation : elevationMask.getMinElevation());
+
+        // statistics accumulators
+        int    minVisible   = Integer.MAX_VALUE;
+        int    maxVisible   = 0;
+        long   sumVisible   = 0;
+        int    available    = 0;
+        double minDOP       = Double.NaN;
+        double maxDOP       = Double.NaN;
+        double sumDOP       = 0;
+        final int[] histogram = new int[nbBins];
+
+        // normal matrix H^T H, with H rows [e, n, z, -1]
+        final double[][] normal = new double[4][4];
+        final double[][] l      = new double[4][4];
+
+        for (final double[][] p : positions) {
+
+            for (final double[] row : normal) {
+                Arrays.fill(row, 0.0);
+            }
+            int visible = 0;
+
+            final double[] x = p[0];
+            final double[] y = p[1];
+            final double[] z = p[2];
+            for (int i = 0; i < x.length; ++i) {
+
+                final double dx = x[i] - ox;
+                final double dy = y[i] - oy;
+                final double dz = z[i] - oz;
+
+                // fast horizon test, without any square root
+                final double du = dx * zx + dy * zy + dz * zz;
+                final double d2 = dx * dx + dy * dy + dz * dz;
+                if (du * FastMath.abs(du) <= sinMin * FastMath.abs(sinMin) * d2) {
+                    continue;
+                }
+
+                final double de    = dx * ex + dy * ey + dz * ez;
+                final double dn    = dx * nx + dy * ny + dz * nz;
+                final double range = FastMath.sqrt(d2);
+                if (elevationMask != null) {
+                    final double azimuth = MathUtils.normalizeAngle(FastMath.atan2(de, dn), FastMath.PI);
+                    if (FastMath.asin(du / range) <= elevationMask.getElevation(azimuth)) {
+                        continue;
+                    }
+                }
+
+                // accumulate the normal matrix
+                final double ue = de / range;
+                final double un = dn / range;
+                final double uz = du / range;
+                normal[0][0] += ue * ue;
+                normal[1][0] += un * ue;
+                normal[1][1] += un * un;
+                normal[2][0] += uz * ue;
+                normal[2][1] += uz * un;
+                normal[2][2] += uz * uz;
+                normal[3][0] -= ue;
+                normal[3][1] -= un;
+                normal[3][2] -= uz;
+                normal[3][3] += 1;
+                ++visible;
+
+            }
+
+            minVisible  = FastMath.min(minVisible, visible);
+            maxVisible  = FastMath.max(maxVisible, visible);
+            sumVisible += visible;
+
+            if (visible >= DOP_MIN_SPACECRAFTS) {
+                final double dop = computeDOP(normal, l);
+                if (!Double.isNaN(dop)) {
+                    ++available;
+                    minDOP  = Double.isNaN(minDOP) ? dop : FastMath.min(minDOP, dop);
+                    maxDOP  = Double.isNaN(maxDOP) ? dop : FastMath.max(maxDOP, dop);
+                    sumDOP += dop;
+                    histogram[FastMath.min((int) FastMath.floor(dop / binWidth), nbBins - 1)]++;
+                }
+            }
+
+        }
+
+        return new CoverageStatistics(location, type, positions.length, available,
+                                      minVisible, maxVisible, ((double) sumVisible) / positions.length,
+                                      minDOP, maxDOP, available == 0 ? Double.NaN : sumDOP / available,
+                                      binWidth, histogram);
+
+    }
+
+    /** Compute dilution of precision from the normal matrix.
+     * <p>
+     * Only the diagonal of the inverse normal matrix is needed, it is computed
+     * from the Cholesky decomposition of the normal matrix.
+     * </p>
+     * @param normal lower triangular part of the normal matrix H<sup>T</sup>H
+     * @param l placeholder for Cholesky decomposition
+     * @return dilution of precision, or NaN if geometry is singular
+     */
+    private double computeDOP(final double[][] normal, final double[][] l) {
+
+        // Cholesky decomposition normal = L L^T
+        for (int j = 0; j < 4; ++j) {
+            double s = normal[j][j];
+            for (int k = 0; k < j; ++k) {
+                s -= l[j][k] * l[j][k];
+            }
+            if (!(s > 0)) {
+                return Double.NaN;
+            }
+            l[j][j] = FastMath.sqrt(s);
+            for (int i = j + 1; i < 4; ++i) {
+                double t = normal[i][j];
+                for (int k = 0; k < j; ++k) {
+                    t -= l[i][k] * l[j][k];
+                }
+                l[i][j] = t / l[j][j];
+            }
+        }
+
+        // invert L in place (it remains lower triangular)
+        for (int j = 0; j < 4; ++j) {
+            l[j][j] = 1.0 / l[j][j];
+            for (int i = j + 1; i < 4; ++i) {
+                double t = 0;
+                for (int k = j; k < i; ++k) {
+                    t -= l[i][k] * l[k][j];
+                }
+                l[i][j] = t / l[i][i];
+            }
+        }
+
+        // diagonal of normal^-1 = L^-T L^-1
+        final double sE2 = l[0][0] * l[0][0] + l[1][0] * l[1][0] + l[2][0] * l[2][0] + l[3][0] * l[3][0];
+        final double sN2 = l[1][1] * l[1][1] + l[2][1] * l[2][1] + l[3][1] * l[3][1];
+        final double sZ2 = l[2][2] * l[2][2] + l[3][2] * l[3][2];
+        final double sT2 = l[3][3] * l[3][3];
+
+        return type.getValue(sE2, sN2, sZ2, sT2);
+
+    }
+
+}
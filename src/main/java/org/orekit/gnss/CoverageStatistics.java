@@ -0,0 +1,219 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+/**
+ * Statistics of visibility and dilution of precision at one location.
+ * <p>
+ * Instances of this class are produced by {@link CoverageMapComputer}. Percentiles
+ * are estimated from a fixed-width histogram, so their accuracy is limited by the
+ * histogram bin width, whereas minimum, maximum and mean values are exact.
+ * </p>
+ * @see CoverageMapComputer
+ * @since 11.0
+ */
+public class CoverageStatistics {
+
+    /** Location. */
+    private final GeodeticPoint location;
+
+    /** Type of the dilution of precision. */
+    private final DOPType type;
+
+    /** Number of samples. */
+    private final int samples;
+
+    /** Number of samples for which dilution of precision could be computed. */
+    private final int available;
+
+    /** Minimum number of visible spacecrafts. */
+    private final int minVisible;
+
+    /** Maximum number of visible spacecrafts. */
+    private final int maxVisible;
+
+    /** Mean number of visible spacecrafts. */
+    private final double meanVisible;
+
+    /** Minimum dilution of precision. */
+    private final double minDOP;
+
+    /** Maximum dilution of precision. */
+    private final double maxDOP;
+
+    /** Mean dilution of precision. */
+    private final double meanDOP;
+
+    /** Histogram bin width. */
+    private final double binWidth;
+
+    /** Histogram of dilution of precision (last bin gathers all values beyond range). */
+    private final int[] histogram;
+
+    /** Simple constructor.
+     * @param location location
+     * @param type type of the dilution of precision
+     * @param samples number of samples
+     * @param available number of samples for which dilution of precision could be computed
+     * @param minVisible minimum number of visible spacecrafts
+     * @param maxVisible maximum number of visible spacecrafts
+     * @param meanVisible mean number of visible spacecrafts
+     * @param minDOP minimum dilution of precision
+     * @param maxDOP maximum dilution of precision
+     * @param meanDOP mean dilution of precision
+     * @param binWidth histogram bin width
+     * @param histogram histogram of dilution of precision (last bin gathers all values beyond range)
+     */
+    CoverageStatistics(final GeodeticPoint location, final DOPType type,
+                       final int samples, final int available,
+                       final int minVisible, final int maxVisible, final double meanVisible,
+                       final double minDOP, final double maxDOP, final double meanDOP,
+                       final double binWidth, final int[] histogram) {
+        this.location    = location;
+        this.type        = type;
+        this.samples     = samples;
+        this.available   = available;
+        this.minVisible  = minVisible;
+        this.maxVisible  = maxVisible;
+        this.meanVisible = meanVisible;
+        this.minDOP      = minDOP;
+        this.maxDOP      = maxDOP;
+        this.meanDOP     = meanDOP;
+        this.binWidth    = binWidth;
+        this.histogram   = histogram;
+    }
+
+    /** Get the location.
+     * @return location
+     */
+    public GeodeticPoint getLocation() {
+        return location;
+    }
+
+    /** Get the type of the dilution of precision.
+     * @return type of the dilution of precision
+     */
+    public DOPType getType() {
+        return type;
+    }
+
+    /** Get the number of samples.
+     * @return number of samples
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    /** Get the number of samples for which dilution of precision could be computed.
+     * <p>
+     * Dilution of precision can be computed only when at least 4 spacecrafts are visible.
+     * </p>
+     * @return number of samples for which dilution of precision could be computed
+     */
+    public int getAvailableSamples() {
+        return available;
+    }
+
+    /** Get the availability.
+     * @return ratio of samples for which dilution of precision could be computed
+     */
+    public double getAvailability() {
+        return ((double) available) / samples;
+    }
+
+    /** Get the minimum number of visible spacecrafts.
+     * @return minimum number of visible spacecrafts
+     */
+    public int getMinVisible() {
+        return minVisible;
+    }
+
+    /** Get the maximum number of visible spacecrafts.
+     * @return maximum number of visible spacecrafts
+     */
+    public int getMaxVisible() {
+        return maxVisible;
+    }
+
+    /** Get the mean number of visible spacecrafts.
+     * @return mean number of visible spacecrafts
+     */
+    public double getMeanVisible() {
+        return meanVisible;
+    }
+
+    /** Get the minimum dilution of precision.
+     * @return minimum dilution of precision, or NaN if it was never available
+     */
+    public double getMinDOP() {
+        return minDOP;
+    }
+
+    /** Get the maximum dilution of precision.
+     * @return maximum dilution of precision, or NaN if it was never available
+     */
+    public double getMaxDOP() {
+        return maxDOP;
+    }
+
+    /** Get the mean dilution of precision.
+     * @return mean dilution of precision over available samples, or NaN if it was never available
+     */
+    public double getMeanDOP() {
+        return meanDOP;
+    }
+
+    /** Get an estimate of a percentile of the dilution of precision.
+     * <p>
+     * The estimate is linearly interpolated within histogram bins, so its accuracy
+     * is of the order of the bin width. Values beyond the histogram range are
+     * reported as the maximum dilution of precision.
+     * </p>
+     * @param p percentile, between 0 and 100
+     * @return estimate of the percentile over available samples, or NaN if
+     * dilution of precision was never available
+     */
+    public double getPercentile(final double p) {
+
+        if (p < 0 || p > 100) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, p, 0, 100);
+        }
+        if (available == 0) {
+            return Double.NaN;
+        }
+
+        final double rank = 0.01 * p * available;
+        int cumulated = 0;
+        for (int i = 0; i < histogram.length - 1; ++i) {
+            if (histogram[i] > 0 && cumulated + histogram[i] >= rank) {
+                final double estimate = binWidth * (i + (rank - cumulated) / histogram[i]);
+                return FastMath.max(minDOP, FastMath.min(maxDOP, estimate));
+            }
+            cumulated += histogram[i];
+        }
+
+        // the percentile lies beyond histogram range
+        return maxDOP;
+
+    }
+
+}
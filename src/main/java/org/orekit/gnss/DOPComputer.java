@@ -18,13 +18,16 @@ package org.orekit.gnss;
 
 import java.util.List;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.TopocentricFrame;
 import org.orekit.propagation.Propagator;
@@ -57,6 +60,18 @@ public class DOPComputer {
     /** Minimum elevation value used if no mask is defined. */
     private final double minElevation;
 
+    /** Location in the body shape frame. */
+    private final Vector3D origin;
+
+    /** East direction in the body shape frame. */
+    private final Vector3D east;
+
+    /** North direction in the body shape frame. */
+    private final Vector3D north;
+
+    /** Zenith direction in the body shape frame. */
+    private final Vector3D zenith;
+
     /**
      * Constructor for DOP computation.
      *
@@ -71,6 +86,11 @@ public class DOPComputer {
         this.minElevation = minElev;
         // Set the elevation mask
         this.elevationMask = elevMask;
+        // Set the local frame in the body shape frame, for positions already expressed in it
+        this.origin = frame.getParentShape().transform(frame.getPoint());
+        this.east   = frame.getEast();
+        this.north  = frame.getNorth();
+        this.zenith = frame.getZenith();
     }
 
     /**
@@ -133,13 +153,6 @@ public class DOPComputer {
             throw new OrekitException(OrekitMessages.NOT_ENOUGH_GNSS_FOR_DOP, gnss.size(), DOP_MIN_PROPAGATORS);
         }
 
-        // Initializes DOP values
-        double gdop = Double.NaN;
-        double pdop = Double.NaN;
-        double hdop = Double.NaN;
-        double vdop = Double.NaN;
-        double tdop = Double.NaN;
-
         // Loop over the propagators of GNSS orbits
         final double[][] satDir = new double[gnss.size()][4];
         int satNb = 0;
@@ -161,6 +174,94 @@ public class DOPComputer {
             }
         }
 
+        return computeDOP(date, satDir, satNb);
+
+    }
+
+    /**
+     * Compute the {@link DOP} at a given date for a set of GNSS spacecrafts positions.
+     * <p>
+     * This method is intended for intensive computations, for example on grids of locations,
+     * when the positions of all spacecrafts at the computation date have already been computed
+     * once and can be shared by all locations (see
+     * {@link org.orekit.propagation.analytical.gnss.GNSSConstellationEvaluator}). As it does not
+     * perform any frame transform, this method can safely be called from several threads.
+     * </p>
+     * <p>Four GNSS spacecraft at least are needed to compute the DOP.
+     * If less than 4 positions are provided, an exception will be thrown.
+     * If less than 4 spacecrafts are visible at the date, all DOP values will be
+     * set to {@link java.lang.Double#NaN NaN}.</p>
+     *
+     * @param date the computation date
+     * @param x X coordinates of the GNSS spacecrafts in the body shape frame (m)
+     * @param y Y coordinates of the GNSS spacecrafts in the body shape frame (m)
+     * @param z Z coordinates of the GNSS spacecrafts in the body shape frame (m)
+     * @return the {@link DOP} at the location
+     * @exception OrekitIllegalArgumentException if arrays lengths are inconsistent
+     * @since 11.0
+     */
+    public DOP compute(final AbsoluteDate date, final double[] x, final double[] y, final double[] z) {
+
+        // Checks the consistency of the coordinates arrays
+        if (y.length != x.length) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH, y.length, x.length);
+        }
+        if (z.length != x.length) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH, z.length, x.length);
+        }
+
+        // Checks the number of provided positions
+        if (x.length < DOP_MIN_PROPAGATORS) {
+            throw new OrekitException(OrekitMessages.NOT_ENOUGH_GNSS_FOR_DOP, x.length, DOP_MIN_PROPAGATORS);
+        }
+
+        // Loop over the positions of GNSS spacecrafts
+        final double[][] satDir = new double[x.length][4];
+        int satNb = 0;
+        for (int i = 0; i < x.length; ++i) {
+            // Line of sight in topocentric frame
+            final double dx = x[i] - origin.getX();
+            final double dy = y[i] - origin.getY();
+            final double dz = z[i] - origin.getZ();
+            final double de = dx * east.getX()   + dy * east.getY()   + dz * east.getZ();
+            final double dn = dx * north.getX()  + dy * north.getY()  + dz * north.getZ();
+            final double du = dx * zenith.getX() + dy * zenith.getY() + dz * zenith.getZ();
+            final double range = FastMath.sqrt(de * de + dn * dn + du * du);
+            final double elev  = FastMath.asin(du / range);
+            final double elMin = (elevationMask != null) ?
+                                 elevationMask.getElevation(MathUtils.normalizeAngle(FastMath.atan2(de, dn), FastMath.PI)) :
+                                 minElevation;
+            // Only visible satellites are considered
+            if (elev > elMin) {
+                // Create the rows of the H matrix
+                satDir[satNb][0] = de / range;
+                satDir[satNb][1] = dn / range;
+                satDir[satNb][2] = du / range;
+                satDir[satNb][3] = -1.;
+                satNb++;
+            }
+        }
+
+        return computeDOP(date, satDir, satNb);
+
+    }
+
+    /**
+     * Compute the DOP values from the rows of the H matrix.
+     * @param date the computation date
+     * @param satDir directions of the visible spacecrafts, completed with -1
+     * @param satNb number of visible spacecrafts
+     * @return the {@link DOP} at the location
+     */
+    private DOP computeDOP(final AbsoluteDate date, final double[][] satDir, final int satNb) {
+
+        // Initializes DOP values
+        double gdop = Double.NaN;
+        double pdop = Double.NaN;
+        double hdop = Double.NaN;
+        double vdop = Double.NaN;
+        double tdop = Double.NaN;
+
         // DOP values are computed only if at least 4 SV are visible from the location
         if (satNb > 3) {
             // Construct matrix H
@@ -0,0 +1,130 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import org.hipparchus.util.FastMath;
+
+/**
+ * Enumerate for the various kinds of dilution of precision.
+ *
+ * @see DOP
+ * @see CoverageMapComputer
+ * @since 11.0
+ */
+public enum DOPType {
+
+    /** Geometric dilution of precision. */
+    GDOP {
+
+        /** {@inheritDoc} */
+        @Override
+        public double getValue(final DOP dop) {
+            return dop.getGdop();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double getValue(final double sE2, final double sN2, final double sZ2, final double sT2) {
+            return FastMath.sqrt(sE2 + sN2 + sZ2 + sT2);
+        }
+
+    },
+
+    /** Position dilution of precision. */
+    PDOP {
+
+        /** {@inheritDoc} */
+        @Override
+        public double getValue(final DOP dop) {
+            return dop.getPdop();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double getValue(final double sE2, final double sN2, final double sZ2, final double sT2) {
+            return FastMath.sqrt(sE2 + sN2 + sZ2);
+        }
+
+    },
+
+    /** Horizontal dilution of precision. */
+    HDOP {
+
+        /** {@inheritDoc} */
+        @Override
+        public double getValue(final DOP dop) {
+            return dop.getHdop();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double getValue(final double sE2, final double sN2, final double sZ2, final double sT2) {
+            return FastMath.sqrt(sE2 + sN2);
+        }
+
+    },
+
+    /** Vertical dilution of precision. */
+    VDOP {
+
+        /** {@inheritDoc} */
+        @Override
+        public double getValue(final DOP dop) {
+            return dop.getVdop();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double getValue(final double sE2, final double sN2, final double sZ2, final double sT2) {
+            return FastMath.sqrt(sZ2);
+        }
+
+    },
+
+    /** Time dilution of precision. */
+    TDOP {
+
+        /** {@inheritDoc} */
+        @Override
+        public double getValue(final DOP dop) {
+            return dop.getTdop();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double getValue(final double sE2, final double sN2, final double sZ2, final double sT2) {
+            return FastMath.sqrt(sT2);
+        }
+
+    };
+
+    /** Extract the dilution of precision of this type.
+     * @param dop all dilutions of precision
+     * @return dilution of precision of this type
+     */
+    public abstract double getValue(DOP dop);
+
+    /** Compute the dilution of precision of this type.
+     * @param sE2 diagonal element of the covariance for East component
+     * @param sN2 diagonal element of the covariance for North component
+     * @param sZ2 diagonal element of the covariance for Zenith component
+     * @param sT2 diagonal element of the covariance for time component
+     * @return dilution of precision of this type
+     */
+    abstract double getValue(double sE2, double sN2, double sZ2, double sT2);
+
+}
@@ -0,0 +1,563 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss.clock;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.gnss.clock.ClockFile.ClockDataLine;
+import org.orekit.gnss.clock.ClockFile.ClockDataType;
+import org.orekit.time.AbsoluteDate;
+
+/** Compact storage for clock data.
+ * <p>
+ * {@link ClockFile} keeps one {@link ClockDataLine} object per data line, which
+ * is convenient for inspecting files but becomes memory and garbage collector
+ * intensive for high rate multi-GNSS products spanning several days. This class
+ * stores the data of one {@link ClockDataType clock data type} in columns of
+ * primitive doubles, one {@link ClockSeries series} per receiver/satellite,
+ * together with an index allowing fast interpolated clock bias lookups:
+ * constant time for regularly sampled series and binary search otherwise.
+ * </p>
+ * <p>
+ * Stores can be {@link #write(Path) written} to a binary file and later
+ * {@link #map(Path) memory mapped}, in which case columns are read directly
+ * from the mapped file and are not loaded in the Java heap. This allows using
+ * multi-week archives at almost no memory cost.
+ * </p>
+ * <p>
+ * Instances of this class are immutable and can be shared between threads.
+ * </p>
+ * @see ClockFile
+ * @since 11.0
+ */
+public class ClockDataStore {
+
+    /** Magic number for binary files. */
+    private static final int MAGIC = 0x4f434c4b;
+
+    /** Version of binary files format. */
+    private static final int VERSION = 1;
+
+    /** Number of data columns (epoch, bias, bias sigma, rate, rate sigma, acceleration, acceleration sigma). */
+    private static final int COLUMNS = 7;
+
+    /** Relative tolerance for regular sampling detection. */
+    private static final double UNIFORM_TOLERANCE = 1.0e-9;
+
+    /** Tolerance on dates at series boundaries (s). */
+    private static final double DATE_TOLERANCE = 1.0e-9;
+
+    /** Reference date for all epochs. */
+    private final AbsoluteDate reference;
+
+    /** Clock data type. */
+    private final ClockDataType type;
+
+    /** Series, indexed by receiver/satellite name. */
+    private final Map<String, ClockSeries> series;
+
+    /** Simple constructor.
+     * @param reference reference date for all epochs
+     * @param type clock data type
+     * @param series series, indexed by receiver/satellite name
+     */
+    private ClockDataStore(final AbsoluteDate reference, final ClockDataType type,
+                           final Map<String, ClockSeries> series) {
+        this.reference = reference;
+        this.type      = type;
+        this.series    = series;
+    }
+
+    /** Create a store from a parsed clock file.
+     * <p>
+     * Lines are sorted chronologically for each receiver/satellite, and
+     * lines with duplicated epochs are ignored (only the first one is kept).
+     * If the file does not contain any line of the selected type, the store
+     * is empty and its reference date is {@link AbsoluteDate#ARBITRARY_EPOCH}.
+     * </p>
+     * @param file parsed clock file
+     * @param type clock data type to extract
+     * @return a new store
+     */
+    public static ClockDataStore create(final ClockFile file, final ClockDataType type) {
+
+        // gather lines of the selected type
+        AbsoluteDate reference = null;
+        final Map<String, List<ClockDataLine>> selected = new LinkedHashMap<>();
+        for (final Map.Entry<String, List<ClockDataLine>> entry : file.getClockData().entrySet()) {
+            final List<ClockDataLine> lines = new ArrayList<>();
+            for (final ClockDataLine line : entry.getValue()) {
+                if (line.getDataType() == type) {
+                    lines.add(line);
+                    final AbsoluteDate epoch = line.getEpoch();
+                    if (reference == null || epoch.compareTo(reference) < 0) {
+                        reference = epoch;
+                    }
+                }
+            }
+            if (!lines.isEmpty()) {
+                selected.put(entry.getKey(), lines);
+            }
+        }
+
+        if (reference == null) {
+            // no lines of the selected type, the store will be empty
+            reference = AbsoluteDate.ARBITRARY_EPOCH;
+        }
+
+        // build the columns
+        final Map<String, ClockSeries> series = new LinkedHashMap<>();
+        for (final Map.Entry<String, List<ClockDataLine>> entry : selected.entrySet()) {
+
+            final List<ClockDataLine> lines = entry.getValue();
+            final double[] epochs = new double[lines.size()];
+            final Integer[] order = new Integer[lines.size()];
+            for (int i = 0; i < epochs.length; ++i) {
+                epochs[i] = lines.get(i).getEpoch().durationFrom(reference);
+                order[i]  = i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(i -> epochs[i]));
+
+            final double[][] columns = new double[COLUMNS][lines.size()];
+            int n = 0;
+            for (final int i : order) {
+                if (n > 0 && epochs[i] <= columns[0][n - 1]) {
+                    // duplicated epoch
+                    continue;
+                }
+                final ClockDataLine line = lines.get(i);
+                columns[0][n] = epochs[i];
+                columns[1][n] = line.getClockBias();
+                columns[2][n] = line.getClockBiasSigma();
+                columns[3][n] = line.getClockRate();
+                columns[4][n] = line.getClockRateSigma();
+                columns[5][n] = line.getClockAcceleration();
+                columns[6][n] = line.getClockAccelerationSigma();
+                ++n;
+            }
+
+            final DoubleBuffer[] buffers = new DoubleBuffer[COLUMNS];
+            for (int k = 0; k < COLUMNS; ++k) {
+                buffers[k] = DoubleBuffer.wrap(Arrays.copyOf(columns[k], n));
+            }
+            series.put(entry.getKey(), new ClockSeries(entry.getKey(), reference, buffers));
+
+        }
+
+        return new ClockDataStore(reference, type, Collections.unmodifiableMap(series));
+
+    }
+
+    /** Memory map a store previously written by {@link #write(Path)}.
+     * <p>
+     * Data columns are not loaded in memory, they are read from the
+     * mapped file on demand.
+     * </p>
+     * @param path path of the binary file
+     * @return mapped store
+     * @exception IOException if file cannot be read
+     */
+    public static ClockDataStore map(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            // fixed size part of the header
+            final ByteBuffer start = read(channel, 0L, 32);
+            if (start.getInt() != MAGIC || start.getInt() != VERSION) {
+                throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT, path);
+            }
+            final long   whole     = start.getLong();
+            final double fraction  = start.getDouble();
+            final int    typeIndex = start.getInt();
+            final int    nbSeries  = start.getInt();
+            final AbsoluteDate reference = AbsoluteDate.ARBITRARY_EPOCH.shiftedBy(whole).shiftedBy(fraction);
+            if (typeIndex < 0 || typeIndex >= ClockDataType.values().length || nbSeries < 0) {
+                throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT, path);
+            }
+
+            // series directory
+            final Map<String, ClockSeries> series = new LinkedHashMap<>();
+            long position = 32L;
+            for (int s = 0; s < nbSeries; ++s) {
+                final ByteBuffer entryHeader = read(channel, position, 4);
+                final int nameLength = entryHeader.getInt();
+                final ByteBuffer entry = read(channel, position + 4, nameLength + 12);
+                final byte[] nameBytes = new byte[nameLength];
+                entry.get(nameBytes);
+                final String name   = new String(nameBytes, StandardCharsets.UTF_8);
+                final int    size   = entry.getInt();
+                final long   offset = entry.getLong();
+                position += 16 + nameLength;
+
+                // map the data columns of this series
+                final DoubleBuffer all = channel.map(FileChannel.MapMode.READ_ONLY, offset, 8L * COLUMNS * size).asDoubleBuffer();
+                final DoubleBuffer[] buffers = new DoubleBuffer[COLUMNS];
+                for (int k = 0; k < COLUMNS; ++k) {
+                    final DoubleBuffer column = all.duplicate();
+                    column.position(k * size);
+                    column.limit((k + 1) * size);
+                    buffers[k] = column.slice();
+                }
+                series.put(name, new ClockSeries(name, reference, buffers));
+
+            }
+
+            return new ClockDataStore(reference, ClockDataType.values()[typeIndex], Collections.unmodifiableMap(series));
+
+        }
+    }
+
+    /** Write the store to a binary file.
+     * @param path path of the binary file
+     * @exception IOException if file cannot be written
+     * @see #map(Path)
+     */
+    public void write(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE)) {
+
+            // compute header size
+            final List<byte[]> names = new ArrayList<>(series.size());
+            long headerSize = 32L;
+            for (final String name : series.keySet()) {
+                final byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+                names.add(nameBytes);
+                headerSize += 16 + nameBytes.length;
+            }
+            // align data on 8 bytes boundaries
+            long offset = 8 * ((headerSize + 7) / 8);
+
+            // header
+            final ByteBuffer header = ByteBuffer.allocate((int) offset);
+            final long whole = (long) FastMath.floor(reference.durationFrom(AbsoluteDate.ARBITRARY_EPOCH));
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putLong(whole);
+            header.putDouble(reference.durationFrom(AbsoluteDate.ARBITRARY_EPOCH.shiftedBy(whole)));
+            header.putInt(type.ordinal());
+            header.putInt(series.size());
+            int index = 0;
+            for (final ClockSeries s : series.values()) {
+                final byte[] nameBytes = names.get(index++);
+                header.putInt(nameBytes.length);
+                header.put(nameBytes);
+                header.putInt(s.getSize());
+                header.putLong(offset);
+                offset += 8L * COLUMNS * s.getSize();
+            }
+            header.rewind();
+            writeFully(channel, header);
+
+            // data columns, written in large blocks
+            final ByteBuffer block = ByteBuffer.allocate(1 << 16);
+            for (final ClockSeries s : series.values()) {
+                for (final DoubleBuffer column : s.columns) {
+                    final DoubleBuffer source = column.duplicate();
+                    source.rewind();
+                    while (source.hasRemaining()) {
+                        block.clear();
+                        final DoubleBuffer view = block.asDoubleBuffer();
+                        final int n = FastMath.min(view.remaining(), source.remaining());
+                        for (int i = 0; i < n; ++i) {
+                            view.put(source.get());
+                        }
+                        block.limit(8 * n);
+                        writeFully(channel, block);
+                    }
+                }
+            }
+
+        }
+    }
+
+    /** Read a part of a file.
+     * @param channel channel to read
+     * @param position position of the first byte
+     * @param size number of bytes to read
+     * @return buffer ready to be read
+     * @exception IOException if file cannot be read (including if it is truncated)
+     */
+    private static ByteBuffer read(final FileChannel channel, final long position, final int size)
+        throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /** Write a buffer completely.
+     * @param channel channel to write to
+     * @param buffer buffer to write
+     * @exception IOException if buffer cannot be written
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer)
+        throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /** Get the reference date for all epochs.
+     * @return reference date for all epochs
+     */
+    public AbsoluteDate getReferenceDate() {
+        return reference;
+    }
+
+    /** Get the clock data type.
+     * @return clock data type
+     */
+    public ClockDataType getDataType() {
+        return type;
+    }
+
+    /** Get the names of the receivers/satellites.
+     * @return unmodifiable list of names of the receivers/satellites
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(new ArrayList<>(series.keySet()));
+    }
+
+    /** Get the series for one receiver/satellite.
+     * @param name receiver/satellite name
+     * @return series for the receiver/satellite, or null if it is not in the store
+     */
+    public ClockSeries getSeries(final String name) {
+        return series.get(name);
+    }
+
+    /** Clock data for one receiver/satellite. */
+    public static class ClockSeries {
+
+        /** Receiver/Satellite name. */
+        private final String name;
+
+        /** Reference date for epochs. */
+        private final AbsoluteDate reference;
+
+        /** Data columns. */
+        private final DoubleBuffer[] columns;
+
+        /** Epochs, as offsets from reference date (s). */
+        private final DoubleBuffer epochs;
+
+        /** Clock biases (s). */
+        private final DoubleBuffer bias;
+
+        /** Number of epochs. */
+        private final int size;
+
+        /** Sampling step if regular, NaN otherwise. */
+        private final double step;
+
+        /** Simple constructor.
+         * @param name receiver/satellite name
+         * @param reference reference date for epochs
+         * @param columns data columns
+         */
+        ClockSeries(final String name, final AbsoluteDate reference, final DoubleBuffer[] columns) {
+            this.name      = name;
+            this.reference = reference;
+            this.columns   = columns;
+            this.epochs    = columns[0];
+            this.bias      = columns[1];
+            this.size      = epochs.limit();
+
+            // check if sampling is regular
+            double s = Double.NaN;
+            if (size > 1) {
+                s = (epochs.get(size - 1) - epochs.get(0)) / (size - 1);
+                for (int i = 1; i < size; ++i) {
+                    if (FastMath.abs(epochs.get(i) - (epochs.get(0) + i * s)) > UNIFORM_TOLERANCE * s) {
+                        s = Double.NaN;
+                        break;
+                    }
+                }
+            }
+            this.step = s;
+
+        }
+
+        /** Get the receiver/satellite name.
+         * @return receiver/satellite name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /** Get the number of epochs.
+         * @return number of epochs
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /** Check if the series is regularly sampled.
+         * <p>
+         * Interpolation in regularly sampled series is performed in constant time.
+         * </p>
+         * @return true if the series is regularly sampled
+         */
+        public boolean isRegular() {
+            return !Double.isNaN(step);
+        }
+
+        /** Get the first epoch.
+         * @return first epoch
+         */
+        public AbsoluteDate getMinDate() {
+            return getEpoch(0);
+        }
+
+        /** Get the last epoch.
+         * @return last epoch
+         */
+        public AbsoluteDate getMaxDate() {
+            return getEpoch(size - 1);
+        }
+
+        /** Get one epoch.
+         * @param index index of the epoch
+         * @return epoch
+         */
+        public AbsoluteDate getEpoch(final int index) {
+            return reference.shiftedBy(epochs.get(index));
+        }
+
+        /** Get clock bias at one epoch.
+         * @param index index of the epoch
+         * @return clock bias (s)
+         */
+        public double getClockBias(final int index) {
+            return bias.get(index);
+        }
+
+        /** Get clock bias sigma at one epoch.
+         * @param index index of the epoch
+         * @return clock bias sigma (s)
+         */
+        public double getClockBiasSigma(final int index) {
+            return columns[2].get(index);
+        }
+
+        /** Get clock rate at one epoch.
+         * @param index index of the epoch
+         * @return clock rate
+         */
+        public double getClockRate(final int index) {
+            return columns[3].get(index);
+        }
+
+        /** Get clock rate sigma at one epoch.
+         * @param index index of the epoch
+         * @return clock rate sigma
+         */
+        public double getClockRateSigma(final int index) {
+            return columns[4].get(index);
+        }
+
+        /** Get clock acceleration at one epoch.
+         * @param index index of the epoch
+         * @return clock acceleration (s⁻¹)
+         */
+        public double getClockAcceleration(final int index) {
+            return columns[5].get(index);
+        }
+
+        /** Get clock acceleration sigma at one epoch.
+         * @param index index of the epoch
+         * @return clock acceleration sigma (s⁻¹)
+         */
+        public double getClockAccelerationSigma(final int index) {
+            return columns[6].get(index);
+        }
+
+        /** Get the clock bias at any date, using linear interpolation between epochs.
+         * @param date interpolation date
+         * @return interpolated clock bias (s)
+         */
+        public double getClockBias(final AbsoluteDate date) {
+
+            final double t = date.durationFrom(reference);
+            if (t < epochs.get(0) - DATE_TOLERANCE || t > epochs.get(size - 1) + DATE_TOLERANCE) {
+                throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE,
+                                          date, getMinDate(), getMaxDate());
+            }
+            if (size == 1) {
+                return bias.get(0);
+            }
+
+            // index of the first epoch of the interpolation interval
+            final int i = FastMath.max(0, FastMath.min(size - 2, findIndex(t)));
+
+            final double t0 = epochs.get(i);
+            final double b0 = bias.get(i);
+            return b0 + (t - t0) * (bias.get(i + 1) - b0) / (epochs.get(i + 1) - t0);
+
+        }
+
+        /** Find the index of the last epoch before a date.
+         * @param t date, as an offset from reference date (s)
+         * @return index of the last epoch before t (may be out of range)
+         */
+        private int findIndex(final double t) {
+
+            if (isRegular()) {
+                // constant time index computation
+                return (int) FastMath.floor((t - epochs.get(0)) / step);
+            }
+
+            // binary search
+            int low  = 0;
+            int high = size - 1;
+            while (high - low > 1) {
+                final int middle = (low + high) >>> 1;
+                if (epochs.get(middle) <= t) {
+                    low = middle;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+
+        }
+
+    }
+
+}
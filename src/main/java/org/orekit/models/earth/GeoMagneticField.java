@@ -16,11 +16,12 @@
  */
 package org.orekit.models.earth;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.SinCos;
-import org.orekit.bodies.GeodeticPoint;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.utils.Constants;
 
@@ -211,19 +212,24 @@ public class GeoMagneticField {
     public GeoMagneticElements calculateField(final double latitude,
                                               final double longitude,
                                               final double height) {
+        return new Evaluator().calculateField(latitude, longitude, height);
+    }
 
-        final GeodeticPoint gp = new GeodeticPoint(latitude, longitude, height);
-
-        final SphericalCoordinates sph = transformToSpherical(gp);
-        final SphericalHarmonicVars vars = new SphericalHarmonicVars(sph);
-        final LegendreFunction legendre = new LegendreFunction(FastMath.sin(sph.phi));
-
-        // sum up the magnetic field vector components
-        final Vector3D magFieldSph = summation(sph, vars, legendre);
-        // rotate the field to geodetic coordinates
-        final Vector3D magFieldGeo = rotateMagneticVector(sph, gp, magFieldSph);
-        // return the magnetic elements
-        return new GeoMagneticElements(magFieldGeo);
+    /** Create an evaluator reusing its internal workspace between calls.
+     * <p>
+     * The evaluator computes exactly the same values as {@link
+     * #calculateField(double, double, double)}, but it allocates the spherical
+     * harmonics and Legendre functions tables only once, and it can write the
+     * field components directly into primitive arrays for bulk computations.
+     * </p>
+     * <p>
+     * The evaluator is <em>not</em> thread-safe, each thread must use its own instance.
+     * </p>
+     * @return a new evaluator, confined to the calling thread
+     * @since 11.0
+     */
+    public Evaluator createEvaluator() {
+        return new Evaluator();
     }
 
     /** Time transform the model coefficients from the base year of the model
@@ -329,17 +335,18 @@ public class GeoMagneticField {
     }
 
     /** Transform geodetic coordinates to spherical coordinates.
-     * @param gp the geodetic point
-     * @return the spherical coordinates wrt to the reference ellipsoid of the model
+     * @param lat the WGS84 latitude in radians
+     * @param lon the WGS84 longitude in radians
+     * @param heightAboveEllipsoid the height above the WGS84 ellipsoid in meters
+     * @param sph placeholder for the spherical coordinates wrt to the reference ellipsoid of the model
      */
-    private SphericalCoordinates transformToSpherical(final GeodeticPoint gp) {
+    private static void transformToSpherical(final double lat, final double lon, final double heightAboveEllipsoid,
+                                             final SphericalCoordinates sph) {
 
         // Convert geodetic coordinates (defined by the WGS-84 reference ellipsoid)
         // to Earth Centered Earth Fixed Cartesian coordinates, and then to spherical coordinates.
 
-        final double lat = gp.getLatitude();
         final SinCos sc  = FastMath.sinCos(lat);
-        final double heightAboveEllipsoid = gp.getAltitude();
 
         // compute the local radius of curvature on the reference ellipsoid
         final double rc = a / FastMath.sqrt(1.0d - epssq * sc.sin() * sc.sin());
@@ -350,29 +357,33 @@ public class GeoMagneticField {
 
         // compute spherical radius and angle lambda and phi of specified point
         final double r = FastMath.hypot(xp, zp);
-        return new SphericalCoordinates(r, gp.getLongitude(), FastMath.asin(zp / r));
+        sph.r      = r;
+        sph.lambda = lon;
+        sph.phi    = FastMath.asin(zp / r);
     }
 
     /** Rotate the magnetic vectors to geodetic coordinates.
      * @param sph the spherical coordinates
-     * @param gp the geodetic point
-     * @param field the magnetic field in spherical coordinates
-     * @return the magnetic field in geodetic coordinates
+     * @param latitude the geodetic latitude
+     * @param field the magnetic field in spherical coordinates, will be replaced
+     * by the magnetic field in geodetic coordinates
      */
-    private Vector3D rotateMagneticVector(final SphericalCoordinates sph,
-                                          final GeodeticPoint gp,
-                                          final Vector3D field) {
+    private static void rotateMagneticVector(final SphericalCoordinates sph,
+                                             final double latitude,
+                                             final double[] field) {
 
         // difference between the spherical and geodetic latitudes
-        final double psi = sph.phi - gp.getLatitude();
+        final double psi = sph.phi - latitude;
         final SinCos sc  = FastMath.sinCos(psi);
 
         // rotate spherical field components to the geodetic system
-        final double Bz = field.getX() * sc.sin() + field.getZ() * sc.cos();
-        final double Bx = field.getX() * sc.cos() - field.getZ() * sc.sin();
-        final double By = field.getY();
+        final double Bz = field[0] * sc.sin() + field[2] * sc.cos();
+        final double Bx = field[0] * sc.cos() - field[2] * sc.sin();
+        final double By = field[1];
 
-        return new Vector3D(Bx, By, Bz);
+        field[0] = Bx;
+        field[1] = By;
+        field[2] = Bz;
     }
 
     /** Computes Geomagnetic Field Elements X, Y and Z in spherical coordinate
@@ -387,10 +398,12 @@ public class GeoMagneticField {
      * @param sph the spherical coordinates
      * @param vars the spherical harmonic variables
      * @param legendre the legendre function
-     * @return the magnetic field vector in spherical coordinates
+     * @param mPcupS work array for the special calculation at poles
+     * @param field placeholder for the magnetic field vector in spherical coordinates
      */
-    private Vector3D summation(final SphericalCoordinates sph, final SphericalHarmonicVars vars,
-                               final LegendreFunction legendre) {
+    private void summation(final SphericalCoordinates sph, final SphericalHarmonicVars vars,
+                           final LegendreFunction legendre, final double[] mPcupS,
+                           final double[] field) {
 
         int index;
         double Bx = 0.0;
@@ -442,22 +455,25 @@ public class GeoMagneticField {
             // special calculation for component - By - at geographic poles.
             // To avoid using this function, make sure that the latitude is not
             // exactly +/- π/2.
-            By = summationSpecial(sph, vars);
+            By = summationSpecial(sph, vars, mPcupS);
         }
 
-        return new Vector3D(Bx, By, Bz);
+        field[0] = Bx;
+        field[1] = By;
+        field[2] = Bz;
     }
 
     /** Special calculation for the component By at geographic poles.
      * @param sph the spherical coordinates
      * @param vars the spherical harmonic variables
+     * @param mPcupS work array, with at least maxN + 1 elements
      * @return the By component of the magnetic field
      */
-    private double summationSpecial(final SphericalCoordinates sph, final SphericalHarmonicVars vars) {
+    private double summationSpecial(final SphericalCoordinates sph, final SphericalHarmonicVars vars,
+                                    final double[] mPcupS) {
 
         double k;
         final double sinPhi = FastMath.sin(sph.phi);
-        final double[] mPcupS = new double[maxN + 1];
         mPcupS[0] = 1;
         double By = 0.0;
 
@@ -497,15 +513,11 @@ public class GeoMagneticField {
         /** the polar angle (radians). */
         private double phi;
 
-        /** Create a new spherical coordinate object.
-         * @param r the radius, meters
-         * @param lambda the lambda angle, radians
-         * @param phi the phi angle, radians
-         */
-        private SphericalCoordinates(final double r, final double lambda, final double phi) {
-            this.r = r;
-            this.lambda = lambda;
-            this.phi = phi;
+        /** Create a new spherical coordinate object, with all coordinates set to 0. */
+        private SphericalCoordinates() {
+            this.r      = 0;
+            this.lambda = 0;
+            this.phi    = 0;
         }
     }
 
@@ -513,20 +525,25 @@ public class GeoMagneticField {
     private class SphericalHarmonicVars {
 
         /** (Radius of Earth / Spherical radius r)^(n+2). */
-        private double[] relativeRadiusPower;
+        private final double[] relativeRadiusPower;
 
         /** cos(m*lambda). */
-        private double[] cmLambda;
+        private final double[] cmLambda;
 
         /** sin(m*lambda). */
-        private double[] smLambda;
+        private final double[] smLambda;
+
+        /** Allocate the tables for the spherical harmonic variables. */
+        private SphericalHarmonicVars() {
+            relativeRadiusPower = new double[maxN + 1];
+            cmLambda            = new double[maxN + 1];
+            smLambda            = new double[maxN + 1];
+        }
 
         /** Calculates the spherical harmonic variables for a given spherical coordinate.
          * @param sph the spherical coordinate
          */
-        private SphericalHarmonicVars(final SphericalCoordinates sph) {
-
-            relativeRadiusPower = new double[maxN + 1];
+        private void compute(final SphericalCoordinates sph) {
 
             // Compute a table of (EARTH_REFERENCE_RADIUS / radius)^n for i in
             // 0 .. maxN (this is much faster than calling FastMath.pow maxN+1 times).
@@ -540,9 +557,6 @@ public class GeoMagneticField {
             // Compute tables of sin(lon * m) and cos(lon * m) for m = 0 .. maxN
             // this is much faster than calling FastMath.sin and FastMath.cos maxN+1 times.
 
-            cmLambda = new double[maxN + 1];
-            smLambda = new double[maxN + 1];
-
             cmLambda[0] = 1.0d;
             smLambda[0] = 0.0d;
 
@@ -561,10 +575,17 @@ public class GeoMagneticField {
     private class LegendreFunction {
 
         /** the vector of all associated Legendre polynomials. */
-        private double[] mP;
+        private final double[] mP;
 
         /** the vector of derivatives of the Legendre polynomials wrt latitude. */
-        private double[] mPDeriv;
+        private final double[] mPDeriv;
+
+        /** Allocate the tables for the Legendre functions. */
+        private LegendreFunction() {
+            final int numTerms = (maxN + 1) * (maxN + 2) / 2;
+            mP      = new double[numTerms + 1];
+            mPDeriv = new double[numTerms + 1];
+        }
 
         /** Calculate the Schmidt-semi normalized Legendre function.
          * <p>
@@ -575,12 +596,7 @@ public class GeoMagneticField {
          * </p>
          * @param x sinus of the spherical latitude (or cosinus of the spherical colatitude)
          */
-        private LegendreFunction(final double x) {
-
-            final int numTerms = (maxN + 1) * (maxN + 2) / 2;
-
-            mP = new double[numTerms + 1];
-            mPDeriv = new double[numTerms + 1];
+        private void compute(final double x) {
 
             mP[0] = 1.0;
             mPDeriv[0] = 0.0;
@@ -637,4 +653,116 @@ public class GeoMagneticField {
             }
         }
     }
+
+    /** Thread-confined evaluator reusing its workspace between calls.
+     * @see GeoMagneticField#createEvaluator()
+     * @since 11.0
+     */
+    public class Evaluator {
+
+        /** Spherical coordinates of current point. */
+        private final SphericalCoordinates sph;
+
+        /** Spherical harmonic variables. */
+        private final SphericalHarmonicVars vars;
+
+        /** Legendre functions. */
+        private final LegendreFunction legendre;
+
+        /** Work array for the special calculation at poles. */
+        private final double[] mPcupS;
+
+        /** Field components. */
+        private final double[] field;
+
+        /** Simple constructor.
+         * <p>
+         * Instances are created by {@link GeoMagneticField#createEvaluator()}.
+         * </p>
+         */
+        private Evaluator() {
+            this.sph      = new SphericalCoordinates();
+            this.vars     = new SphericalHarmonicVars();
+            this.legendre = new LegendreFunction();
+            this.mPcupS   = new double[maxN + 1];
+            this.field    = new double[3];
+        }
+
+        /** Get the model evaluated.
+         * @return model evaluated
+         */
+        public GeoMagneticField getModel() {
+            return GeoMagneticField.this;
+        }
+
+        /** Calculate the magnetic field at the specified geodetic point identified
+         * by latitude, longitude and altitude.
+         * @param latitude the WGS84 latitude in radians
+         * @param longitude the WGS84 longitude in radians
+         * @param height the height above the WGS84 ellipsoid in meters
+         * @return the {@link GeoMagneticElements} at the given geodetic point
+         */
+        public GeoMagneticElements calculateField(final double latitude,
+                                                  final double longitude,
+                                                  final double height) {
+            compute(latitude, longitude, height);
+            return new GeoMagneticElements(new Vector3D(field[0], field[1], field[2]));
+        }
+
+        /** Calculate the magnetic field at several geodetic points.
+         * <p>
+         * The field components are the same as the ones of {@link
+         * GeoMagneticElements#getFieldVector()}: north, east and down, in nT.
+         * </p>
+         * @param latitudes the WGS84 latitudes in radians
+         * @param longitudes the WGS84 longitudes in radians
+         * @param heights the heights above the WGS84 ellipsoid in meters
+         * @param north placeholder for the north components of the field (nT)
+         * @param east placeholder for the east components of the field (nT)
+         * @param down placeholder for the down components of the field (nT)
+         */
+        public void calculateField(final double[] latitudes, final double[] longitudes, final double[] heights,
+                                   final double[] north, final double[] east, final double[] down) {
+            checkDimension(longitudes.length, latitudes.length);
+            checkDimension(heights.length,    latitudes.length);
+            checkDimension(north.length,      latitudes.length);
+            checkDimension(east.length,       latitudes.length);
+            checkDimension(down.length,       latitudes.length);
+            for (int i = 0; i < latitudes.length; ++i) {
+                compute(latitudes[i], longitudes[i], heights[i]);
+                north[i] = field[0];
+                east[i]  = field[1];
+                down[i]  = field[2];
+            }
+        }
+
+        /** Compute the field components in the workspace.
+         * @param latitude the WGS84 latitude in radians
+         * @param longitude the WGS84 longitude in radians
+         * @param height the height above the WGS84 ellipsoid in meters
+         */
+        private void compute(final double latitude, final double longitude, final double height) {
+
+            transformToSpherical(latitude, longitude, height, sph);
+            vars.compute(sph);
+            legendre.compute(FastMath.sin(sph.phi));
+
+            // sum up the magnetic field vector components
+            summation(sph, vars, legendre, mPcupS, field);
+            // rotate the field to geodetic coordinates
+            rotateMagneticVector(sph, latitude, field);
+
+        }
+
+        /** Check array dimension.
+         * @param dimension dimension to check
+         * @param expected expected dimension
+         */
+        private void checkDimension(final int dimension, final int expected) {
+            if (dimension != expected) {
+                throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH, dimension, expected);
+            }
+        }
+
+    }
 }
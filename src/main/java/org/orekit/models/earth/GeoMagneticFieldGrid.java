@@ -0,0 +1,307 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+/** Body-fixed interpolation grid for a geomagnetic field model.
+ * <p>
+ * The grid samples the field of one {@link GeoMagneticField model} (hence one epoch)
+ * on regular latitude, longitude and altitude nodes, and evaluates the field by
+ * trilinear interpolation between these nodes. This is much faster than the
+ * spherical harmonics summation and is intended for bulk computations where a
+ * small interpolation error is acceptable, like magnetometer simulations or
+ * magnetic field events detection along long propagations. Points outside of
+ * the altitude range of the grid are evaluated using the underlying model.
+ * </p>
+ * <p>
+ * The interpolation error depends on the angular step and on the altitude step.
+ * Near the poles, the north and east components of the field rotate quickly with
+ * longitude, so the interpolation error increases there.
+ * </p>
+ * <p>
+ * Instances are immutable once built, they can be shared between threads.
+ * </p>
+ * @see GeoMagneticField#createEvaluator()
+ * @since 11.0
+ */
+public class GeoMagneticFieldGrid {
+
+    /** Underlying model. */
+    private final GeoMagneticField model;
+
+    /** Minimum altitude of the grid (m). */
+    private final double minAltitude;
+
+    /** Maximum altitude of the grid (m). */
+    private final double maxAltitude;
+
+    /** Altitude step (m). */
+    private final double altitudeStep;
+
+    /** Latitude step (rad). */
+    private final double latitudeStep;
+
+    /** Longitude step (rad). */
+    private final double longitudeStep;
+
+    /** Number of altitude nodes. */
+    private final int nAlt;
+
+    /** Number of latitude nodes. */
+    private final int nLat;
+
+    /** Number of longitude nodes (longitude is periodic, last node is not duplicated). */
+    private final int nLon;
+
+    /** North component of the field at nodes (nT). */
+    private final double[] north;
+
+    /** East component of the field at nodes (nT). */
+    private final double[] east;
+
+    /** Down component of the field at nodes (nT). */
+    private final double[] down;
+
+    /** Simple constructor.
+     * @param model underlying model
+     * @param minAltitude minimum altitude of the grid (m)
+     * @param maxAltitude maximum altitude of the grid (m)
+     * @param altitudeNodes number of altitude nodes (at least 2)
+     * @param angularStep maximum angular step in latitude and longitude (rad)
+     */
+    public GeoMagneticFieldGrid(final GeoMagneticField model,
+                                final double minAltitude, final double maxAltitude,
+                                final int altitudeNodes, final double angularStep) {
+
+        if (altitudeNodes < 2) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     altitudeNodes, 2);
+        }
+        if (maxAltitude <= minAltitude) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     maxAltitude, minAltitude);
+        }
+        if (angularStep <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     angularStep, 0.0);
+        }
+
+        this.model         = model;
+        this.minAltitude   = minAltitude;
+        this.maxAltitude   = maxAltitude;
+        this.nAlt          = altitudeNodes;
+        this.nLat          = 1 + (int) FastMath.ceil(FastMath.PI / angularStep);
+        this.nLon          = FastMath.max(3, (int) FastMath.ceil(MathUtils.TWO_PI / angularStep));
+        this.altitudeStep  = (maxAltitude - minAltitude) / (nAlt - 1);
+        this.latitudeStep  = FastMath.PI / (nLat - 1);
+        this.longitudeStep = MathUtils.TWO_PI / nLon;
+
+        // sample the field at nodes
+        final int size = nAlt * nLat * nLon;
+        this.north = new double[size];
+        this.east  = new double[size];
+        this.down  = new double[size];
+        final double[] latitudes  = new double[nLon];
+        final double[] longitudes = new double[nLon];
+        final double[] altitudes  = new double[nLon];
+        final double[] n          = new double[nLon];
+        final double[] e          = new double[nLon];
+        final double[] d          = new double[nLon];
+        for (int k = 0; k < nLon; ++k) {
+            longitudes[k] = -FastMath.PI + k * longitudeStep;
+        }
+        final GeoMagneticField.Evaluator evaluator = model.createEvaluator();
+        for (int i = 0; i < nAlt; ++i) {
+            final double altitude = (i == nAlt - 1) ? maxAltitude : minAltitude + i * altitudeStep;
+            for (int j = 0; j < nLat; ++j) {
+                final double latitude = (j == nLat - 1) ? 0.5 * FastMath.PI : -0.5 * FastMath.PI + j * latitudeStep;
+                for (int k = 0; k < nLon; ++k) {
+                    latitudes[k] = latitude;
+                    altitudes[k] = altitude;
+                }
+                evaluator.calculateField(latitudes, longitudes, altitudes, n, e, d);
+                final int offset = index(i, j, 0);
+                System.arraycopy(n, 0, north, offset, nLon);
+                System.arraycopy(e, 0, east,  offset, nLon);
+                System.arraycopy(d, 0, down,  offset, nLon);
+            }
+        }
+
+    }
+
+    /** Get the underlying model.
+     * @return underlying model
+     */
+    public GeoMagneticField getModel() {
+        return model;
+    }
+
+    /** Get the minimum altitude of the grid.
+     * @return minimum altitude of the grid (m)
+     */
+    public double getMinAltitude() {
+        return minAltitude;
+    }
+
+    /** Get the maximum altitude of the grid.
+     * @return maximum altitude of the grid (m)
+     */
+    public double getMaxAltitude() {
+        return maxAltitude;
+    }
+
+    /** Calculate the magnetic field at the specified geodetic point identified
+     * by latitude, longitude and altitude.
+     * @param latitude the WGS84 latitude in radians
+     * @param longitude the WGS84 longitude in radians
+     * @param height the height above the WGS84 ellipsoid in meters
+     * @return the {@link GeoMagneticElements} at the given geodetic point
+     */
+    public GeoMagneticElements calculateField(final double latitude,
+                                              final double longitude,
+                                              final double height) {
+        if (height < minAltitude || height > maxAltitude) {
+            return model.calculateField(latitude, longitude, height);
+        }
+        final double[] field = new double[3];
+        interpolate(latitude, longitude, height, field);
+        return new GeoMagneticElements(new Vector3D(field[0], field[1], field[2]));
+    }
+
+    /** Calculate the magnetic field at several geodetic points.
+     * <p>
+     * The field components are the same as the ones of {@link
+     * GeoMagneticElements#getFieldVector()}: north, east and down, in nT.
+     * </p>
+     * @param latitudes the WGS84 latitudes in radians
+     * @param longitudes the WGS84 longitudes in radians
+     * @param heights the heights above the WGS84 ellipsoid in meters
+     * @param northComponents placeholder for the north components of the field (nT)
+     * @param eastComponents placeholder for the east components of the field (nT)
+     * @param downComponents placeholder for the down components of the field (nT)
+     */
+    public void calculateField(final double[] latitudes, final double[] longitudes, final double[] heights,
+                               final double[] northComponents, final double[] eastComponents,
+                               final double[] downComponents) {
+
+        checkDimension(longitudes.length,      latitudes.length);
+        checkDimension(heights.length,         latitudes.length);
+        checkDimension(northComponents.length, latitudes.length);
+        checkDimension(eastComponents.length,  latitudes.length);
+        checkDimension(downComponents.length,  latitudes.length);
+
+        final double[] field = new double[3];
+        GeoMagneticField.Evaluator evaluator = null;
+        for (int i = 0; i < latitudes.length; ++i) {
+            if (heights[i] < minAltitude || heights[i] > maxAltitude) {
+                // outside of the grid, use the model
+                if (evaluator == null) {
+                    evaluator = model.createEvaluator();
+                }
+                final Vector3D b = evaluator.calculateField(latitudes[i], longitudes[i], heights[i]).getFieldVector();
+                northComponents[i] = b.getX();
+                eastComponents[i]  = b.getY();
+                downComponents[i]  = b.getZ();
+            } else {
+                interpolate(latitudes[i], longitudes[i], heights[i], field);
+                northComponents[i] = field[0];
+                eastComponents[i]  = field[1];
+                downComponents[i]  = field[2];
+            }
+        }
+
+    }
+
+    /** Interpolate the field components.
+     * @param latitude the WGS84 latitude in radians
+     * @param longitude the WGS84 longitude in radians
+     * @param height the height above the WGS84 ellipsoid in meters (must be within grid)
+     * @param field placeholder for the north, east and down components of the field (nT)
+     */
+    private void interpolate(final double latitude, final double longitude, final double height,
+                             final double[] field) {
+
+        // altitude cell
+        final double sAlt = (height - minAltitude) / altitudeStep;
+        final int    iAlt = FastMath.max(0, FastMath.min(nAlt - 2, (int) FastMath.floor(sAlt)));
+        final double wAlt = sAlt - iAlt;
+
+        // latitude cell
+        final double sLat = (latitude + 0.5 * FastMath.PI) / latitudeStep;
+        final int    iLat = FastMath.max(0, FastMath.min(nLat - 2, (int) FastMath.floor(sLat)));
+        final double wLat = sLat - iLat;
+
+        // longitude cell (periodic)
+        final double sLon  = (MathUtils.normalizeAngle(longitude, FastMath.PI) + FastMath.PI) / longitudeStep;
+        final int    kLon  = FastMath.max(0, (int) FastMath.floor(sLon));
+        final double wLon  = sLon - kLon;
+        final int    iLon0 = kLon % nLon;
+        final int    iLon1 = (iLon0 + 1) % nLon;
+
+        final int i000 = index(iAlt,     iLat,     iLon0);
+        final int i001 = index(iAlt,     iLat,     iLon1);
+        final int i010 = index(iAlt,     iLat + 1, iLon0);
+        final int i011 = index(iAlt,     iLat + 1, iLon1);
+        final int i100 = index(iAlt + 1, iLat,     iLon0);
+        final int i101 = index(iAlt + 1, iLat,     iLon1);
+        final int i110 = index(iAlt + 1, iLat + 1, iLon0);
+        final int i111 = index(iAlt + 1, iLat + 1, iLon1);
+
+        final double w000 = (1 - wAlt) * (1 - wLat) * (1 - wLon);
+        final double w001 = (1 - wAlt) * (1 - wLat) * wLon;
+        final double w010 = (1 - wAlt) * wLat       * (1 - wLon);
+        final double w011 = (1 - wAlt) * wLat       * wLon;
+        final double w100 = wAlt       * (1 - wLat) * (1 - wLon);
+        final double w101 = wAlt       * (1 - wLat) * wLon;
+        final double w110 = wAlt       * wLat       * (1 - wLon);
+        final double w111 = wAlt       * wLat       * wLon;
+
+        field[0] = w000 * north[i000] + w001 * north[i001] + w010 * north[i010] + w011 * north[i011] +
+                   w100 * north[i100] + w101 * north[i101] + w110 * north[i110] + w111 * north[i111];
+        field[1] = w000 * east[i000]  + w001 * east[i001]  + w010 * east[i010]  + w011 * east[i011] +
+                   w100 * east[i100]  + w101 * east[i101]  + w110 * east[i110]  + w111 * east[i111];
+        field[2] = w000 * down[i000]  + w001 * down[i001]  + w010 * down[i010]  + w011 * down[i011] +
+                   w100 * down[i100]  + w101 * down[i101]  + w110 * down[i110]  + w111 * down[i111];
+
+    }
+
+    /** Get the index of a node.
+     * @param iAlt altitude index
+     * @param iLat latitude index
+     * @param iLon longitude index
+     * @return index of the node in the flattened arrays
+     */
+    private int index(final int iAlt, final int iLat, final int iLon) {
+        return (iAlt * nLat + iLat) * nLon + iLon;
+    }
+
+    /** Check array dimension.
+     * @param dimension dimension to check
+     * @param expected expected dimension
+     */
+    private static void checkDimension(final int dimension, final int expected) {
+        if (dimension != expected) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH, dimension, expected);
+        }
+    }
+
+}
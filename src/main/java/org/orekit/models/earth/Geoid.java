@@ -152,6 +152,14 @@ public class Geoid implements EarthShape {
      * harmonics. The Holmes and Featherstone method is very robust.
      */
     private final transient HolmesFeatherstoneAttractionModel harmonics;
+    /**
+     * the optional precomputed grid of undulations.
+     */
+    private final transient GeoidGrid grid;
+    /**
+     * the interpolation method used with {@link #grid}.
+     */
+    private final GeoidGrid.Interpolation interpolation;
 
     /**
      * Creates a geoid from the given geopotential, reference ellipsoid and the
@@ -184,6 +192,46 @@ public class Geoid implements EarthShape {
         this.harmonics = new HolmesFeatherstoneAttractionModel(
                 referenceEllipsoid.getBodyFrame(), potential);
         this.defaultDate = geopotential.getReferenceDate();
+        this.grid = null;
+        this.interpolation = null;
+    }
+
+    /**
+     * Creates a geoid whose undulations are interpolated in a precomputed grid.
+     *
+     * <p> The grid is frozen at the date used to compute it, so the {@code date}
+     * argument of {@link #getUndulation(double, double, AbsoluteDate)} is
+     * ignored. The geopotential is still used to build the exact geoid from
+     * which the grid is computed, see {@link GeoidGrid#compute(Geoid,
+     * AbsoluteDate, double, java.util.concurrent.ForkJoinPool)}.
+     *
+     * @param geopotential       the gravity potential, see {@link
+     *                           #Geoid(NormalizedSphericalHarmonicsProvider,
+     *                           ReferenceEllipsoid)}
+     * @param referenceEllipsoid the normal gravity potential.
+     * @param grid               precomputed grid of undulations for this geoid
+     * @param interpolation      interpolation method to use in the grid
+     * @throws NullPointerException if any argument is null
+     * @since 11.0
+     */
+    public Geoid(final NormalizedSphericalHarmonicsProvider geopotential,
+                 final ReferenceEllipsoid referenceEllipsoid,
+                 final GeoidGrid grid,
+                 final GeoidGrid.Interpolation interpolation) {
+        // parameter check
+        if (geopotential == null || referenceEllipsoid == null ||
+            grid == null || interpolation == null) {
+            throw new NullPointerException();
+        }
+
+        // set instance parameters
+        this.referenceEllipsoid = referenceEllipsoid;
+        this.harmonics = new HolmesFeatherstoneAttractionModel(
+                referenceEllipsoid.getBodyFrame(),
+                new SubtractEllipsoid(geopotential, referenceEllipsoid));
+        this.defaultDate = geopotential.getReferenceDate();
+        this.grid = grid;
+        this.interpolation = interpolation;
     }
 
     @Override
@@ -207,7 +255,8 @@ public class Geoid implements EarthShape {
      *                         ellipsoid), in radians.
      * @param longitude        on the reference ellipsoid, in radians.
      * @param date             of evaluation. Used for time varying geopotential
-     *                         fields.
+     *                         fields, ignored if the geoid uses a {@link
+     *                         GeoidGrid grid}.
      * @return the undulation in m, positive means the geoid is higher than the
      * ellipsoid.
      * @see Geoid
@@ -216,6 +265,9 @@ public class Geoid implements EarthShape {
     public double getUndulation(final double geodeticLatitude,
                                 final double longitude,
                                 final AbsoluteDate date) {
+        if (grid != null) {
+            return grid.getUndulation(geodeticLatitude, longitude, interpolation);
+        }
         /*
          * equations references are to the algorithm printed in the geoid
          * cookbook[2]. See comment for Geoid.
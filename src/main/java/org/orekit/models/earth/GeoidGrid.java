@@ -0,0 +1,347 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.time.AbsoluteDate;
+
+/** Precomputed global grid of geoid undulations.
+ * <p>
+ * Evaluating the {@link Geoid#getUndulation(double, double, AbsoluteDate) undulation}
+ * from a high degree gravity field requires a full spherical harmonics summation
+ * for each point. This class samples the undulation once on a regular latitude and
+ * longitude grid and then evaluates it by bilinear or bicubic interpolation. The grid
+ * can be {@link #write(Path) written} to a binary file and {@link #read(Path) read}
+ * back using memory mapping, so the expensive computation is done only once.
+ * </p>
+ * <p>
+ * When a grid is built, the interpolation error is estimated for both interpolation
+ * methods by comparing interpolated values with the exact ones at the center of a
+ * regular subset of the grid cells, where interpolation errors are the largest. The
+ * estimates are stored in the binary files.
+ * </p>
+ * <p>
+ * The grid is frozen at the date used to build it, time-dependent gravity fields are
+ * not taken into account afterwards. Instances are immutable and can be shared between
+ * threads.
+ * </p>
+ * @see Geoid#Geoid(org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider,
+ * ReferenceEllipsoid, GeoidGrid, GeoidGrid.Interpolation)
+ * @since 11.0
+ */
+public class GeoidGrid {
+
+    /** Interpolation methods. */
+    public enum Interpolation {
+
+        /** Bilinear interpolation between the 4 surrounding nodes. */
+        BILINEAR,
+
+        /** Bicubic (cubic convolution) interpolation between the 16 surrounding nodes. */
+        BICUBIC;
+
+    }
+
+    /** Magic number for binary files ("GEOG" in ASCII). */
+    private static final int MAGIC = 0x47454F47;
+
+    /** Format version for binary files. */
+    private static final int VERSION = 1;
+
+    /** Size of binary files header. */
+    private static final int HEADER_SIZE = 4 * Integer.BYTES + 2 * Double.BYTES;
+
+    /** Target number of samples for error estimation. */
+    private static final int ERROR_SAMPLES = 10000;
+
+    /** Number of latitude nodes (including both poles). */
+    private final int nLat;
+
+    /** Number of longitude nodes (longitude is periodic, last node is not duplicated). */
+    private final int nLon;
+
+    /** Latitude step (rad). */
+    private final double latitudeStep;
+
+    /** Longitude step (rad). */
+    private final double longitudeStep;
+
+    /** Undulations at nodes, latitude major. */
+    private final DoubleBuffer undulations;
+
+    /** Error estimate for bilinear interpolation (m). */
+    private final double bilinearError;
+
+    /** Error estimate for bicubic interpolation (m). */
+    private final double bicubicError;
+
+    /** Simple constructor.
+     * @param nLat number of latitude nodes (including both poles)
+     * @param nLon number of longitude nodes (must be even)
+     * @param undulations undulations at nodes, latitude major
+     * @param bilinearError error estimate for bilinear interpolation (m)
+     * @param bicubicError error estimate for bicubic interpolation (m)
+     */
+    private GeoidGrid(final int nLat, final int nLon, final DoubleBuffer undulations,
+                      final double bilinearError, final double bicubicError) {
+        this.nLat          = nLat;
+        this.nLon          = nLon;
+        this.latitudeStep  = FastMath.PI / (nLat - 1);
+        this.longitudeStep = MathUtils.TWO_PI / nLon;
+        this.undulations   = undulations;
+        this.bilinearError = bilinearError;
+        this.bicubicError  = bicubicError;
+    }
+
+    /** Compute a grid from a geoid.
+     * <p>
+     * The grid rows are computed in parallel in the specified pool, hence
+     * the geoid must be thread-safe, which is the case of {@link Geoid}.
+     * </p>
+     * @param geoid geoid to sample
+     * @param date date at which the geoid is sampled
+     * @param angularStep maximum angular step in latitude and longitude (rad)
+     * @param pool pool in which the grid is computed
+     * @return computed grid
+     */
+    public static GeoidGrid compute(final Geoid geoid, final AbsoluteDate date,
+                                    final double angularStep, final ForkJoinPool pool) {
+
+        if (angularStep <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     angularStep, 0.0);
+        }
+
+        // the number of longitude nodes is even so opposite meridians are on nodes
+        final int nLat = FastMath.max(3, 1 + (int) FastMath.ceil(FastMath.PI / angularStep));
+        final int nLon = 2 * FastMath.max(2, (int) FastMath.ceil(FastMath.PI / angularStep));
+        final double latStep = FastMath.PI / (nLat - 1);
+        final double lonStep = MathUtils.TWO_PI / nLon;
+
+        // sample the geoid, one row per task
+        final double[] values = new double[nLat * nLon];
+        pool.submit(() -> IntStream.range(0, nLat).parallel().forEach(i -> {
+            final double latitude = (i == nLat - 1) ? 0.5 * FastMath.PI : -0.5 * FastMath.PI + i * latStep;
+            for (int j = 0; j < nLon; ++j) {
+                values[i * nLon + j] = geoid.getUndulation(latitude, -FastMath.PI + j * lonStep, date);
+            }
+        })).join();
+        final GeoidGrid raw = new GeoidGrid(nLat, nLon, DoubleBuffer.wrap(values), Double.NaN, Double.NaN);
+
+        // estimate interpolation errors at the center of a regular subset of cells
+        final int stride = FastMath.max(1, (int) FastMath.ceil(FastMath.sqrt((double) (nLat - 1) * nLon / ERROR_SAMPLES)));
+        final int nRows  = (nLat - 2) / stride + 1;
+        final double[] rowBilinear = new double[nRows];
+        final double[] rowBicubic  = new double[nRows];
+        pool.submit(() -> IntStream.range(0, nRows).parallel().forEach(r -> {
+            final double latitude = -0.5 * FastMath.PI + (r * stride + 0.5) * latStep;
+            for (int j = 0; j < nLon; j += stride) {
+                final double longitude = -FastMath.PI + (j + 0.5) * lonStep;
+                final double exact     = geoid.getUndulation(latitude, longitude, date);
+                rowBilinear[r] = FastMath.max(rowBilinear[r],
+                                              FastMath.abs(raw.getUndulation(latitude, longitude, Interpolation.BILINEAR) - exact));
+                rowBicubic[r]  = FastMath.max(rowBicubic[r],
+                                              FastMath.abs(raw.getUndulation(latitude, longitude, Interpolation.BICUBIC) - exact));
+            }
+        })).join();
+        double bilinear = 0;
+        double bicubic  = 0;
+        for (int r = 0; r < nRows; ++r) {
+            bilinear = FastMath.max(bilinear, rowBilinear[r]);
+            bicubic  = FastMath.max(bicubic,  rowBicubic[r]);
+        }
+
+        return new GeoidGrid(nLat, nLon, raw.undulations, bilinear, bicubic);
+
+    }
+
+    /** Read a grid from a binary file, using memory mapping.
+     * @param file file to read
+     * @return grid read
+     * @exception IOException if file cannot be read
+     * @see #write(Path)
+     */
+    public static GeoidGrid read(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            if (channel.size() < HEADER_SIZE) {
+                throw new OrekitException(OrekitMessages.UNEXPECTED_END_OF_FILE, file);
+            }
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+
+            // header
+            final int    magic    = buffer.getInt();
+            final int    version  = buffer.getInt();
+            final int    nLat     = buffer.getInt();
+            final int    nLon     = buffer.getInt();
+            final double bilinear = buffer.getDouble();
+            final double bicubic  = buffer.getDouble();
+            if (magic != MAGIC || version != VERSION || nLat < 3 || nLon < 4 || nLon % 2 != 0) {
+                throw new OrekitException(OrekitMessages.CORRUPTED_FILE, file);
+            }
+            if (channel.size() != HEADER_SIZE + (long) nLat * nLon * Double.BYTES) {
+                throw new OrekitException(OrekitMessages.CORRUPTED_FILE, file);
+            }
+
+            // the mapping remains valid after the channel is closed
+            return new GeoidGrid(nLat, nLon, buffer.asDoubleBuffer(), bilinear, bicubic);
+
+        }
+    }
+
+    /** Write the grid to a binary file.
+     * <p>
+     * The file contains a small header with the grid size and the error estimates,
+     * followed by the undulations in big-endian order.
+     * </p>
+     * @param file file to write
+     * @exception IOException if file cannot be written
+     * @see #read(Path)
+     */
+    public void write(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(nLat).putInt(nLon);
+            header.putDouble(bilinearError).putDouble(bicubicError);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            final ByteBuffer data = ByteBuffer.allocate(nLon * Double.BYTES).order(ByteOrder.BIG_ENDIAN);
+            for (int i = 0; i < nLat; ++i) {
+                data.clear();
+                for (int j = 0; j < nLon; ++j) {
+                    data.putDouble(undulations.get(i * nLon + j));
+                }
+                data.flip();
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            }
+        }
+    }
+
+    /** Get the number of latitude nodes.
+     * @return number of latitude nodes (including both poles)
+     */
+    public int getLatitudeNodes() {
+        return nLat;
+    }
+
+    /** Get the number of longitude nodes.
+     * @return number of longitude nodes
+     */
+    public int getLongitudeNodes() {
+        return nLon;
+    }
+
+    /** Get the estimate of the grid-induced error.
+     * @param interpolation interpolation method
+     * @return maximum interpolation error observed at cells centers when the grid was computed (m)
+     */
+    public double getErrorEstimate(final Interpolation interpolation) {
+        return interpolation == Interpolation.BILINEAR ? bilinearError : bicubicError;
+    }
+
+    /** Get the undulation of the geoid.
+     * @param geodeticLatitude geodetic latitude in radians
+     * @param longitude longitude in radians
+     * @param interpolation interpolation method
+     * @return the undulation in m, positive means the geoid is higher than the ellipsoid
+     * @see Geoid#getUndulation(double, double, AbsoluteDate)
+     */
+    public double getUndulation(final double geodeticLatitude, final double longitude,
+                                final Interpolation interpolation) {
+
+        // latitude cell
+        final double sLat = (geodeticLatitude + 0.5 * FastMath.PI) / latitudeStep;
+        final int    iLat = FastMath.max(0, FastMath.min(nLat - 2, (int) FastMath.floor(sLat)));
+        final double u    = sLat - iLat;
+
+        // longitude cell (periodic)
+        final double sLon = (MathUtils.normalizeAngle(longitude, FastMath.PI) + FastMath.PI) / longitudeStep;
+        final int    iLon = FastMath.max(0, (int) FastMath.floor(sLon));
+        final double v    = sLon - iLon;
+
+        if (interpolation == Interpolation.BILINEAR) {
+            return (1 - u) * ((1 - v) * node(iLat,     iLon) + v * node(iLat,     iLon + 1)) +
+                   u       * ((1 - v) * node(iLat + 1, iLon) + v * node(iLat + 1, iLon + 1));
+        } else {
+            final double r0 = cubic(node(iLat - 1, iLon - 1), node(iLat - 1, iLon), node(iLat - 1, iLon + 1), node(iLat - 1, iLon + 2), v);
+            final double r1 = cubic(node(iLat,     iLon - 1), node(iLat,     iLon), node(iLat,     iLon + 1), node(iLat,     iLon + 2), v);
+            final double r2 = cubic(node(iLat + 1, iLon - 1), node(iLat + 1, iLon), node(iLat + 1, iLon + 1), node(iLat + 1, iLon + 2), v);
+            final double r3 = cubic(node(iLat + 2, iLon - 1), node(iLat + 2, iLon), node(iLat + 2, iLon + 1), node(iLat + 2, iLon + 2), v);
+            return cubic(r0, r1, r2, r3, u);
+        }
+
+    }
+
+    /** Get the undulation at a node.
+     * <p>
+     * Longitude indices wrap around, latitude indices beyond the poles are
+     * reflected to the opposite meridian.
+     * </p>
+     * @param i latitude index (may be out of [0, nLat-1] by at most one node)
+     * @param j longitude index (may be out of [0, nLon-1])
+     * @return undulation at node
+     */
+    private double node(final int i, final int j) {
+        int ii = i;
+        int jj = j;
+        if (ii < 0) {
+            ii = -ii;
+            jj += nLon / 2;
+        } else if (ii >= nLat) {
+            ii = 2 * (nLat - 1) - ii;
+            jj += nLon / 2;
+        }
+        jj = ((jj % nLon) + nLon) % nLon;
+        return undulations.get(ii * nLon + jj);
+    }
+
+    /** Cubic convolution interpolation (Catmull-Rom spline).
+     * @param p0 value at node -1
+     * @param p1 value at node 0
+     * @param p2 value at node 1
+     * @param p3 value at node 2
+     * @param t normalized abscissa between node 0 and node 1
+     * @return interpolated value
+     */
+    private static double cubic(final double p0, final double p1, final double p2, final double p3, final double t) {
+        return p1 + 0.5 * t * (p2 - p0 + t * (2 * p0 - 5 * p1 + 4 * p2 - p3 + t * (3 * (p1 - p2) + p3 - p0)));
+    }
+
+}
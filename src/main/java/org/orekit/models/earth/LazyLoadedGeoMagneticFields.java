@@ -17,6 +17,8 @@
 package org.orekit.models.earth;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -37,12 +39,21 @@ import org.orekit.models.earth.GeoMagneticFieldFactory.FieldModel;
  */
 public class LazyLoadedGeoMagneticFields implements GeoMagneticFields {
 
+    /** Maximum number of time-transformed models kept for each model type. */
+    private static final int MAX_TRANSFORMED = 16;
+
     /** Loaded IGRF models. */
     private NavigableMap<Integer, GeoMagneticField> igrfModels = null;
 
     /** Loaded WMM models. */
     private NavigableMap<Integer, GeoMagneticField> wmmModels = null;
 
+    /** Time-transformed IGRF models, indexed by decimal year. */
+    private final Map<Double, GeoMagneticField> igrfTransformed = createTransformedCache();
+
+    /** Time-transformed WMM models, indexed by decimal year. */
+    private final Map<Double, GeoMagneticField> wmmTransformed = createTransformedCache();
+
     /** Provides access to auxiliary data files. */
     private final DataProvidersManager dataProvidersManager;
 
@@ -74,7 +85,7 @@ public class LazyLoadedGeoMagneticFields implements GeoMagneticFields {
             if (igrfModels == null) {
                 igrfModels = loadModels("^IGRF\\.COF$");
             }
-            return getModel(FieldModel.IGRF, igrfModels, year);
+            return igrfTransformed.computeIfAbsent(year, y -> getModel(FieldModel.IGRF, igrfModels, y));
         }
     }
 
@@ -84,10 +95,33 @@ public class LazyLoadedGeoMagneticFields implements GeoMagneticFields {
             if (wmmModels == null) {
                 wmmModels = loadModels("^WMM\\.COF$");
             }
-            return getModel(FieldModel.WMM, wmmModels, year);
+            return wmmTransformed.computeIfAbsent(year, y -> getModel(FieldModel.WMM, wmmModels, y));
         }
     }
 
+    /** Create a bounded cache for time-transformed models.
+     * <p>
+     * Time-transforming a model allocates and computes new coefficients arrays,
+     * so models are cached per decimal year. The least recently used models
+     * are evicted first.
+     * </p>
+     * @return empty cache
+     */
+    private static Map<Double, GeoMagneticField> createTransformedCache() {
+        return new LinkedHashMap<Double, GeoMagneticField>(MAX_TRANSFORMED, 0.75f, true) {
+
+            /** Serializable UID. */
+            private static final long serialVersionUID = 20210608L;
+
+            /** {@inheritDoc} */
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Double, GeoMagneticField> eldest) {
+                return size() > MAX_TRANSFORMED;
+            }
+
+        };
+    }
+
     /** Loads the geomagnetic model files from the given filename. The loaded
      * models are inserted in a {@link NavigableMap} with their epoch as key in order
      * to retrieve them in a sorted manner.
@@ -233,6 +233,12 @@ public class NRLMSISE00 implements Atmosphere {
     /** Mix altitude (km). */
     private static final double ZMIX = 62.5;
 
+    /** Thermal diffusion coefficients for species. */
+    private static final double[] ALPHA = {-0.38, 0.0, 0.0, 0.0, 0.17, 0.0, -0.38, 0.0, 0.0};
+
+    /** Altitude limits for net density computation for species. */
+    private static final double[] ALTL  = {200.0, 300.0, 160.0, 250.0, 240.0, 450.0, 320.0, 450.0};
+
     /** NRLMSISE-00 data: temperature pt[150]. */
     private static final double[] PT = {
         9.86573e-01, 1.62228e-02, 1.55270e-02, -1.04323e-01, -3.75801e-03,
@@ -1221,6 +1227,26 @@ public class NRLMSISE00 implements Atmosphere {
 
     }
 
+    /** Create an evaluator reusing its internal workspace between calls.
+     * <p>
+     * The regular {@link #getDensity(AbsoluteDate, Vector3D, Frame) getDensity} method
+     * allocates all its intermediate arrays at each call, so it can safely be used from
+     * several threads. The evaluator returned by this method allocates them only once
+     * and also caches the date-dependent data (day of year, seconds in day and solar
+     * activity) between successive calls at the same date, which is the typical use
+     * when several positions are evaluated at once. The results are exactly the same
+     * as the ones of the regular method.
+     * </p>
+     * <p>
+     * The evaluator is <em>not</em> thread-safe, each thread must use its own instance.
+     * </p>
+     * @return a new evaluator, confined to the calling thread
+     * @since 11.0
+     */
+    public Evaluator createEvaluator() {
+        return new Evaluator();
+    }
+
     /** Get local solar time.
      * @param date current date
      * @param position current position in frame
@@ -1256,6 +1282,114 @@ public class NRLMSISE00 implements Atmosphere {
 
     }
 
+    /** Thread-confined evaluator reusing its workspace between calls.
+     * @see NRLMSISE00#createEvaluator()
+     * @since 11.0
+     */
+    public class Evaluator implements Atmosphere {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20210604L;
+
+        /** Reusable workspace. */
+        private transient Output output;
+
+        /** Date of the cached date-dependent data. */
+        private transient AbsoluteDate cachedDate;
+
+        /** Cached day of year. */
+        private transient int cachedDoy;
+
+        /** Cached seconds in day. */
+        private transient double cachedSec;
+
+        /** Cached 81 day average of F10.7 flux. */
+        private transient double cachedF107a;
+
+        /** Cached daily F10.7 flux for previous day. */
+        private transient double cachedF107;
+
+        /** Cached ap indices. */
+        private transient double[] cachedAp;
+
+        /** Simple constructor.
+         * <p>
+         * Instances are created by {@link NRLMSISE00#createEvaluator()}.
+         * </p>
+         */
+        private Evaluator() {
+            // nothing to do, workspace is allocated at first use
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Frame getFrame() {
+            return NRLMSISE00.this.getFrame();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getDensity(final AbsoluteDate date,
+                                 final Vector3D position,
+                                 final Frame frame) {
+
+            if (output == null) {
+                output   = new Output();
+                cachedAp = new double[7];
+            }
+
+            if (!date.equals(cachedDate)) {
+
+                // check if data are available :
+                if ((date.compareTo(inputParams.getMaxDate()) > 0) ||
+                    (date.compareTo(inputParams.getMinDate()) < 0)) {
+                    throw new OrekitException(OrekitMessages.NO_SOLAR_ACTIVITY_AT_DATE,
+                                              date, inputParams.getMinDate(), inputParams.getMaxDate());
+                }
+
+                // compute day number in current year and the seconds within the day
+                final DateTimeComponents dtc = date.getComponents(ut);
+                cachedDoy = dtc.getDate().getDayOfYear();
+                cachedSec = dtc.getTime().getSecondsInLocalDay();
+
+                // get solar activity data
+                cachedF107a = inputParams.getAverageFlux(date);
+                cachedF107  = inputParams.getDailyFlux(date);
+                final double[] ap = inputParams.getAp(date);
+                System.arraycopy(ap, 0, cachedAp, 0, FastMath.min(ap.length, cachedAp.length));
+
+                cachedDate = date;
+
+            }
+
+            // compute geodetic position (km and °)
+            final GeodeticPoint inBody = earth.transform(position, frame, date);
+            final double alt = inBody.getAltitude() / 1000.;
+            final double lon = FastMath.toDegrees(inBody.getLongitude());
+            final double lat = FastMath.toDegrees(inBody.getLatitude());
+
+            // compute local solar time
+            final double lst = localSolarTime(date, position, frame);
+
+            // compute, reusing the workspace
+            output.setUp(cachedDoy, cachedSec, lat, lon, lst, cachedF107a, cachedF107, cachedAp);
+            output.gtd7d(alt);
+
+            // return the local density
+            return output.getDensity(TOTAL_MASS);
+
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public <T extends RealFieldElement<T>> T getDensity(final FieldAbsoluteDate<T> date,
+                                                            final FieldVector3D<T> position,
+                                                            final Frame frame) {
+            return NRLMSISE00.this.getDensity(date, position, frame);
+        }
+
+    }
+
     /**
      * This class is a placeholder for the computed densities and temperatures.
      * <p>
@@ -1293,25 +1427,25 @@ public class NRLMSISE00 implements Atmosphere {
     private class Output {
 
         /** Day of year (from 1 to 365 or 366). */
-        private final int doy;
+        private int doy;
 
         /** Seconds in day (UT scale). */
-        private final double sec;
+        private double sec;
 
         /** Geodetic latitude (°). */
-        private final double lat;
+        private double lat;
 
         /** Geodetic longitude (°). */
-        private final double lon;
+        private double lon;
 
         /** Local apparent solar time (hours). */
-        private final double hl;
+        private double hl;
 
         /** 81 day average of F10.7 flux (centered on day). */
-        private final double f107a;
+        private double f107a;
 
         /** Daily F10.7 flux for previous day. */
-        private final double f107;
+        private double f107;
 
         /** Array containing:
         *  <ul>
@@ -1326,10 +1460,10 @@ public class NRLMSISE00 implements Atmosphere {
         private final double[] ap;
 
         /** Gravity at latitude (cm/s2). */
-        private final double glat;
+        private double glat;
 
         /** Effective Earth radius at latitude (km). */
-        private final double rlat;
+        private double rlat;
 
         /** N2 mixed density at alt. */
         private double dm28;
@@ -1338,17 +1472,17 @@ public class NRLMSISE00 implements Atmosphere {
         private final double[][] plg;
 
         /** Cosinus of local solar time. */
-        private final double ctloc;
+        private double ctloc;
         /** Sinus of local solar time. */
-        private final double stloc;
+        private double stloc;
         /** Square of ctloc. */
-        private final double c2tloc;
+        private double c2tloc;
         /** Square of stloc. */
-        private final double s2tloc;
+        private double s2tloc;
         /** Cube of ctloc. */
-        private final double c3tloc;
+        private double c3tloc;
         /** Cube of stloc. */
-        private final double s3tloc;
+        private double s3tloc;
 
         /** Magnetic activity based on daily ap. */
         private double apdf;
@@ -1380,6 +1514,53 @@ public class NRLMSISE00 implements Atmosphere {
         /** Temperatures. */
         private final double[] temperatures;
 
+        /** Work array for G(L) function with upper thermosphere parameters. */
+        private final double[] tGlobe7;
+
+        /** Work array for G(L) function with lower atmosphere parameters. */
+        private final double[] tGlob7s;
+
+        /** Spline work arrays for ZN1 scale (abscissas, ordinates, second derivatives, decomposition). */
+        private final double[][] spline1;
+
+        /** Spline work arrays for ZN2 scale (abscissas, ordinates, second derivatives, decomposition). */
+        private final double[][] spline2;
+
+        /** Spline work arrays for ZN3 scale (abscissas, ordinates, second derivatives, decomposition). */
+        private final double[][] spline3;
+
+        /** Simple constructor.
+         * <p>
+         * This constructor only allocates the work arrays, {@link #setUp(int, double,
+         * double, double, double, double, double, double[]) setUp} must be called
+         * before any computation. The instance can then be reused for several
+         * computations, without any further allocation.
+         * </p>
+         */
+        Output() {
+
+            this.ap        = new double[7];
+
+            this.plg       = new double[4][8];
+
+            this.meso_tn1  = new double[ZN1.length];
+            this.meso_tn2  = new double[ZN2.length];
+            this.meso_tn3  = new double[ZN3.length];
+            this.meso_tgn1 = new double[2];
+            this.meso_tgn2 = new double[2];
+            this.meso_tgn3 = new double[2];
+
+            densities       = new double[9];
+            temperatures    = new double[2];
+
+            tGlobe7 = new double[14];
+            tGlob7s = new double[14];
+            spline1 = new double[4][ZN1.length];
+            spline2 = new double[4][ZN2.length];
+            spline3 = new double[4][ZN3.length];
+
+        }
+
         /** Simple constructor.
          *  @param doy day of year (from 1 to 365 or 366)
          *  @param sec seconds in day (UT scale)
@@ -1402,6 +1583,24 @@ public class NRLMSISE00 implements Atmosphere {
         Output(final int doy, final double sec,
                final double lat, final double lon, final double hl,
                final double f107a, final double f107, final double[] ap) {
+            this();
+            setUp(doy, sec, lat, lon, hl, f107a, f107, ap);
+        }
+
+        /** Set up the instance for a new computation.
+         *  @param doy day of year (from 1 to 365 or 366)
+         *  @param sec seconds in day (UT scale)
+         *  @param lat geodetic latitude (°)
+         *  @param lon geodetic longitude (°)
+         *  @param hl local apparent solar time (hours)
+         *  @param f107a 81 day average of F10.7 flux (centered on day)
+         *  @param f107 daily F10.7 flux for previous day
+         *  @param apIndices array containing the 7 ap indices
+         *  (see {@link #Output(int, double, double, double, double, double, double, double[])})
+         */
+        void setUp(final int doy, final double sec,
+                   final double lat, final double lon, final double hl,
+                   final double f107a, final double f107, final double[] apIndices) {
 
             this.doy   = doy;
             this.sec   = sec;
@@ -1410,19 +1609,20 @@ public class NRLMSISE00 implements Atmosphere {
             this.hl    = hl;
             this.f107a = f107a;
             this.f107  = f107;
-            this.ap    = ap.clone();
-
-            this.plg       = new double[4][8];
-
-            this.meso_tn1  = new double[ZN1.length];
-            this.meso_tn2  = new double[ZN2.length];
-            this.meso_tn3  = new double[ZN3.length];
-            this.meso_tgn1 = new double[2];
-            this.meso_tgn2 = new double[2];
-            this.meso_tgn3 = new double[2];
-
-            densities       = new double[9];
-            temperatures    = new double[2];
+            System.arraycopy(apIndices, 0, ap, 0, FastMath.min(ap.length, apIndices.length));
+
+            // reset the results of previous computations
+            dm28 = 0;
+            apdf = 0;
+            apt  = 0;
+            Arrays.fill(meso_tn1,  0.0);
+            Arrays.fill(meso_tn2,  0.0);
+            Arrays.fill(meso_tn3,  0.0);
+            Arrays.fill(meso_tgn1, 0.0);
+            Arrays.fill(meso_tgn2, 0.0);
+            Arrays.fill(meso_tgn3, 0.0);
+            Arrays.fill(densities,    0.0);
+            Arrays.fill(temperatures, 0.0);
 
             // Calculates latitude variable gravity and effective radius
             final double xlat = (sw[2] == 0) ? LAT_REF : lat;
@@ -1514,9 +1714,9 @@ public class NRLMSISE00 implements Atmosphere {
         void gts7(final double alt) {
 
             // Thermal diffusion coefficients for species
-            final double[] alpha = {-0.38, 0.0, 0.0, 0.0, 0.17, 0.0, -0.38, 0.0, 0.0};
+            final double[] alpha = ALPHA;
             // Altitude limits for net density computation for species
-            final double[] altl  = {200.0, 300.0, 160.0, 250.0, 240.0, 450.0, 320.0, 450.0};
+            final double[] altl  = ALTL;
             // N2 mixed density
             final double xmm = PDM[2][4];
 
@@ -1988,7 +2188,8 @@ public class NRLMSISE00 implements Atmosphere {
          */
         private double globe7(final double[] p) {
 
-            final double[] t = new double[14];
+            final double[] t = tGlobe7;
+            Arrays.fill(t, 0.0);
             final double cd32 = FastMath.cos(DAY_TO_RAD * (doy - p[31]));
             final double cd18 = FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[17]));
             final double cd14 = FastMath.cos(DAY_TO_RAD * (doy - p[13]));
@@ -2137,7 +2338,8 @@ public class NRLMSISE00 implements Atmosphere {
          */
         private double glob7s(final double[] p) {
 
-            final double[] t = new double[14];
+            final double[] t = tGlob7s;
+            Arrays.fill(t, 0.0);
             final double cd32 = FastMath.cos(DAY_TO_RAD * (doy - p[31]));
             final double cd18 = FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[17]));
             final double cd14 = FastMath.cos(DAY_TO_RAD * (doy - p[13]));
@@ -2405,16 +2607,20 @@ public class NRLMSISE00 implements Atmosphere {
          * @param y array of ordinates in ascending order by x
          * @param yp1 derivative at x[0] (2nd derivatives null if > 1E30)
          * @param ypn derivative at x[n-1] (2nd derivatives null if > 1E30)
-         * @return array of second derivatives
+         * @param y2 placeholder for the array of second derivatives
+         * @param u work array
+         * @return array of second derivatives (i.e. y2)
          */
-        private double[] spline(final double[] x, final double[] y, final double yp1, final double ypn) {
+        private double[] spline(final double[] x, final double[] y, final double yp1, final double ypn,
+                                final double[] y2, final double[] u) {
             final int n = x.length;
-            final double[] y2 = new double[n];
-            final double[] u  = new double[n];
 
             if (yp1 < 1e+30) {
                 y2[0] = -0.5;
                 u[0]  = (3.0 / (x[1] - x[0])) * ((y[1] - y[0]) / (x[1] - x[0]) - yp1);
+            } else {
+                y2[0] = 0.0;
+                u[0]  = 0.0;
             }
             for (int i = 1; i < n - 1; i++) {
                 final double sig = (x[i] - x[i - 1]) / (x[i + 1] - x[i - 1]);
@@ -2461,8 +2667,8 @@ public class NRLMSISE00 implements Atmosphere {
             double zgdif = zeta(z2, z1);
 
             /* set up spline nodes */
-            double[] xs = new double[mn];
-            double[] ys = new double[mn];
+            double[] xs = spline2[0];
+            double[] ys = spline2[1];
             for (int k = 0; k < mn; k++) {
                 xs[k] = zeta(ZN2[k], z1) / zgdif;
                 ys[k] = 1.0 / meso_tn2[k];
@@ -2472,7 +2678,7 @@ public class NRLMSISE00 implements Atmosphere {
             double yd2 = -meso_tgn2[1] / (t2 * t2) * zgdif * qSM * qSM;
 
             /* calculate spline coefficients */
-            double[] y2out = spline(xs, ys, yd1, yd2);
+            double[] y2out = spline(xs, ys, yd1, yd2, spline2[2], spline2[3]);
             double x = zg / zgdif;
             double y = splint(xs, ys, y2out, x);
 
@@ -2507,8 +2713,8 @@ public class NRLMSISE00 implements Atmosphere {
             zgdif = zeta(z2, z1);
 
             /* set up spline nodes */
-            xs = new double[mn];
-            ys = new double[mn];
+            xs = spline3[0];
+            ys = spline3[1];
             for (int k = 0; k < mn; k++) {
                 xs[k] = zeta(ZN3[k], z1) / zgdif;
                 ys[k] = 1.0 / meso_tn3[k];
@@ -2518,7 +2724,7 @@ public class NRLMSISE00 implements Atmosphere {
             yd2 = -meso_tgn3[1] / (t2 * t2) * zgdif * qTS * qTS;
 
             /* calculate spline coefficients */
-            y2out = spline(xs, ys, yd1, yd2);
+            y2out = spline(xs, ys, yd1, yd2, spline3[2], spline3[3]);
             x = zg / zgdif;
             y = splint(xs, ys, y2out, x);
 
@@ -2567,10 +2773,10 @@ public class NRLMSISE00 implements Atmosphere {
             double tz = tt;
 
             final int mn = ZN1.length;
-            final double[] xs = new double[mn];
-            final double[] ys = new double[mn];
+            final double[] xs = spline1[0];
+            final double[] ys = spline1[1];
             double x = 0.;
-            double[] y2out =  new double[mn];
+            double[] y2out = spline1[2];
             double zgdif = 0.;
             if (alt < ZN1[0]) {
                 /* calculate temperature below ZA
@@ -2596,7 +2802,7 @@ public class NRLMSISE00 implements Atmosphere {
                 final double yd1 = -meso_tgn1[0] / (t1 * t1) * zgdif;
                 final double yd2 = -meso_tgn1[1] / (t2 * t2) * zgdif * q * q;
                 /* calculate spline coefficients */
-                y2out = spline(xs, ys, yd1, yd2);
+                y2out = spline(xs, ys, yd1, yd2, spline1[2], spline1[3]);
                 x = zg / zgdif;
                 final double y = splint(xs, ys, y2out, x);
                 /* temperature at altitude */
@@ -2916,9 +3122,9 @@ public class NRLMSISE00 implements Atmosphere {
         void gts7(final T alt) {
 
             // Thermal diffusion coefficients for species
-            final double[] alpha = {-0.38, 0.0, 0.0, 0.0, 0.17, 0.0, -0.38, 0.0, 0.0};
+            final double[] alpha = ALPHA;
             // Altitude limits for net density computation for species
-            final double[] altl  = {200.0, 300.0, 160.0, 250.0, 240.0, 450.0, 320.0, 450.0};
+            final double[] altl  = ALTL;
             // N2 mixed density
             final double xmm = PDM[2][4];
 
@@ -0,0 +1,620 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.atmosphere;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.bodies.BodyShape;
+import org.orekit.bodies.FieldGeodeticPoint;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.utils.PVCoordinatesProvider;
+
+/** Atmosphere model answering density queries by interpolation in tables built from another model.
+ * <p>
+ * Elaborate models like {@link NRLMSISE00} or {@link DTM2000} are expensive to evaluate.
+ * This class wraps such a model and replaces most of its evaluations by interpolations
+ * in a table of the logarithm of density. The table covers altitude, local solar
+ * angle (i.e. longitude difference with respect to the Sun, in the body frame) and
+ * latitude. It is built lazily for each time slot (typically one day, to match the
+ * daily space weather inputs), using the wrapped model at the middle of the slot.
+ * Only a few slots are kept in memory, they are shared between all threads using
+ * the instance. Tables are built without locking, so threads requesting the same slot
+ * simultaneously may all build it, only the first one being kept.
+ * </p>
+ * <p>
+ * Each table is refined until the interpolation error with respect to the wrapped model,
+ * checked at the middle of all grid edges, is below the relative tolerance. Only the grid
+ * intervals where the tolerance is not fulfilled are split, the already computed samples
+ * being reused. The tolerance is therefore an estimated bound, not a guaranteed one: the
+ * error is not checked inside the grid cells, and it is checked only at the middle of the
+ * slot. If this would require too many grid points, the slot is not tabulated and the
+ * wrapped model is used directly. Queries outside of the tabulated altitude range are also delegated
+ * to the wrapped model. The variations of the wrapped model within a slot which do not
+ * come from the motion of the Sun (for example 3-hourly geomagnetic activity) are not
+ * represented, the slot duration should be selected accordingly.
+ * </p>
+ * <p>
+ * The wrapped model must be thread-safe if the instance is used by several threads.
+ * </p>
+ * @since 11.0
+ */
+public class TabulatedAtmosphere implements Atmosphere {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20211018L;
+
+    /** Initial altitude step (m). */
+    private static final double INITIAL_ALTITUDE_STEP = 10000.0;
+
+    /** Initial number of local solar angle samples. */
+    private static final int INITIAL_ANGLE_SAMPLES = 24;
+
+    /** Initial number of latitude samples (10° step). */
+    private static final int INITIAL_LATITUDE_SAMPLES = 19;
+
+    /** Maximum number of grid points in one table. */
+    private static final int MAX_GRID_POINTS = 4000000;
+
+    /** Wrapped model. */
+    private final Atmosphere model;
+
+    /** Body shape. */
+    private final BodyShape shape;
+
+    /** Sun position provider. */
+    private final PVCoordinatesProvider sun;
+
+    /** Minimum tabulated altitude (m). */
+    private final double minAltitude;
+
+    /** Maximum tabulated altitude (m). */
+    private final double maxAltitude;
+
+    /** Duration of the time slots (s). */
+    private final double slotDuration;
+
+    /** Relative tolerance on density. */
+    private final double tolerance;
+
+    /** Maximum number of slots kept in memory. */
+    private final int maxSlots;
+
+    /** Tables for the time slots, null tables correspond to non-tabulated slots. */
+    private final ConcurrentMap<Long, Slot> slots;
+
+    /** Simple constructor.
+     * @param model wrapped model
+     * @param shape body shape, its frame must be the frame of the wrapped model
+     * @param sun Sun position provider
+     * @param minAltitude minimum tabulated altitude (m)
+     * @param maxAltitude maximum tabulated altitude (m)
+     * @param slotDuration duration of the time slots (s), slots are aligned on
+     * {@link AbsoluteDate#ARBITRARY_EPOCH}
+     * @param tolerance relative tolerance on density (estimated, see class documentation)
+     * @param maxSlots maximum number of slots kept in memory
+     */
+    public TabulatedAtmosphere(final Atmosphere model, final BodyShape shape, final PVCoordinatesProvider sun,
+                               final double minAltitude, final double maxAltitude,
+                               final double slotDuration, final double tolerance, final int maxSlots) {
+        this.model        = model;
+        this.shape        = shape;
+        this.sun          = sun;
+        this.minAltitude  = minAltitude;
+        this.maxAltitude  = maxAltitude;
+        this.slotDuration = slotDuration;
+        this.tolerance    = tolerance;
+        this.maxSlots     = FastMath.max(1, maxSlots);
+        this.slots        = new ConcurrentHashMap<>();
+    }
+
+    /** Get the wrapped model.
+     * @return wrapped model
+     */
+    public Atmosphere getModel() {
+        return model;
+    }
+
+    /** Get the relative tolerance on density.
+     * @return relative tolerance on density
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frame getFrame() {
+        return model.getFrame();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getDensity(final AbsoluteDate date, final Vector3D position, final Frame frame) {
+
+        final GeodeticPoint gp = shape.transform(position, frame, date);
+        if (gp.getAltitude() < minAltitude || gp.getAltitude() > maxAltitude) {
+            return model.getDensity(date, position, frame);
+        }
+
+        final Table table = getSlot(date).table;
+        if (table == null) {
+            return model.getDensity(date, position, frame);
+        }
+
+        final double angle = MathUtils.normalizeAngle(gp.getLongitude() - getSunLongitude(date), 0.0);
+        return FastMath.exp(table.interpolate(gp.getAltitude(), angle, gp.getLatitude()));
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> T getDensity(final FieldAbsoluteDate<T> date,
+                                                        final FieldVector3D<T> position,
+                                                        final Frame frame) {
+
+        final FieldGeodeticPoint<T> gp = shape.transform(position, frame, date);
+        final double altitude = gp.getAltitude().getReal();
+        if (altitude < minAltitude || altitude > maxAltitude) {
+            return model.getDensity(date, position, frame);
+        }
+
+        final AbsoluteDate dateR = date.toAbsoluteDate();
+        final Table table = getSlot(dateR).table;
+        if (table == null) {
+            return model.getDensity(date, position, frame);
+        }
+
+        final double sunLongitude = getSunLongitude(dateR);
+        final T      rawAngle     = gp.getLongitude().subtract(sunLongitude);
+        final T      angle        = rawAngle.add(MathUtils.normalizeAngle(rawAngle.getReal(), 0.0) - rawAngle.getReal());
+        return table.interpolate(gp.getAltitude(), angle, gp.getLatitude()).exp();
+
+    }
+
+    /** Get the longitude of the Sun in body frame.
+     * @param date date
+     * @return longitude of the Sun
+     */
+    private double getSunLongitude(final AbsoluteDate date) {
+        final Vector3D sunInBody = sun.getPVCoordinates(date, shape.getBodyFrame()).getPosition();
+        return FastMath.atan2(sunInBody.getY(), sunInBody.getX());
+    }
+
+    /** Get the slot containing a date, building its table if needed.
+     * @param date date
+     * @return slot containing the date
+     */
+    private Slot getSlot(final AbsoluteDate date) {
+
+        final long index = (long) FastMath.floor(date.durationFrom(AbsoluteDate.ARBITRARY_EPOCH) / slotDuration);
+
+        // fast path for already built slots
+        final Slot existing = slots.get(index);
+        if (existing != null) {
+            return existing;
+        }
+
+        // build the table without holding any lock, if another thread
+        // published the same slot in the meantime, we use its table
+        final Slot built     = buildSlot(index);
+        final Slot published = slots.putIfAbsent(index, built);
+        final Slot slot      = (published == null) ? built : published;
+
+        // evict the slots farthest from the current one
+        while (slots.size() > maxSlots) {
+            long farthest = index;
+            for (final Long key : slots.keySet()) {
+                if (FastMath.abs(key - index) > FastMath.abs(farthest - index)) {
+                    farthest = key;
+                }
+            }
+            if (farthest == index) {
+                break;
+            }
+            slots.remove(farthest);
+        }
+
+        return slot;
+
+    }
+
+    /** Build the table for one slot.
+     * @param index slot index
+     * @return slot
+     */
+    private Slot buildSlot(final long index) {
+
+        final AbsoluteDate reference    = AbsoluteDate.ARBITRARY_EPOCH.shiftedBy((index + 0.5) * slotDuration);
+        final double       sunLongitude = getSunLongitude(reference);
+
+        // initial regular grid
+        final int nAlt = FastMath.max(2, (int) FastMath.ceil((maxAltitude - minAltitude) / INITIAL_ALTITUDE_STEP) + 1);
+        Table table = new Table(regularNodes(minAltitude, (maxAltitude - minAltitude) / (nAlt - 1), nAlt),
+                                regularNodes(-FastMath.PI, MathUtils.TWO_PI / INITIAL_ANGLE_SAMPLES, INITIAL_ANGLE_SAMPLES),
+                                regularNodes(-0.5 * FastMath.PI, FastMath.PI / (INITIAL_LATITUDE_SAMPLES - 1),
+                                             INITIAL_LATITUDE_SAMPLES));
+        fill(table, null, null, null, null, reference, sunLongitude);
+
+        while (true) {
+
+            // find the grid intervals where the interpolation error is too large
+            final boolean[] splitAlt = new boolean[table.alt.length - 1];
+            final boolean[] splitAng = new boolean[table.ang.length];
+            final boolean[] splitLat = new boolean[table.lat.length - 1];
+            if (!checkTable(table, reference, sunLongitude, splitAlt, splitAng, splitLat)) {
+                return new Slot(table);
+            }
+
+            // split only the failing intervals, reusing the already computed samples
+            final int[]    oldAlt = new int[table.alt.length + count(splitAlt)];
+            final int[]    oldAng = new int[table.ang.length + count(splitAng)];
+            final int[]    oldLat = new int[table.lat.length + count(splitLat)];
+            if ((long) oldAlt.length * oldAng.length * oldLat.length > MAX_GRID_POINTS) {
+                // tolerance cannot be met with a reasonable table size, the wrapped model will be used
+                return new Slot(null);
+            }
+            final Table refined = new Table(split(table.alt, 0.0, splitAlt, oldAlt),
+                                            split(table.ang, MathUtils.TWO_PI, splitAng, oldAng),
+                                            split(table.lat, 0.0, splitLat, oldLat));
+            fill(refined, table, oldAlt, oldAng, oldLat, reference, sunLongitude);
+            table = refined;
+
+        }
+
+    }
+
+    /** Fill a table, reusing the samples of a coarser table.
+     * @param table table to fill
+     * @param coarse coarser table (null if there are no samples to reuse)
+     * @param oldAlt index of each altitude node in the coarser table (-1 for new nodes)
+     * @param oldAng index of each local solar angle node in the coarser table (-1 for new nodes)
+     * @param oldLat index of each latitude node in the coarser table (-1 for new nodes)
+     * @param reference reference date of the slot
+     * @param sunLongitude longitude of the Sun at reference date
+     */
+    private void fill(final Table table, final Table coarse,
+                      final int[] oldAlt, final int[] oldAng, final int[] oldLat,
+                      final AbsoluteDate reference, final double sunLongitude) {
+        for (int i = 0; i < table.alt.length; ++i) {
+            for (int j = 0; j < table.ang.length; ++j) {
+                for (int k = 0; k < table.lat.length; ++k) {
+                    if (coarse != null && oldAlt[i] >= 0 && oldAng[j] >= 0 && oldLat[k] >= 0) {
+                        table.set(i, j, k, coarse.get(oldAlt[i], oldAng[j], oldLat[k]));
+                    } else {
+                        table.set(i, j, k,
+                                  FastMath.log(modelDensity(reference, sunLongitude,
+                                                            table.alt[i], table.ang[j], table.lat[k])));
+                    }
+                }
+            }
+        }
+    }
+
+    /** Check the interpolation error of a table.
+     * <p>
+     * The error is checked at the middle of all the grid edges, each axis being
+     * allowed one third of the tolerance. Failing edges flag the interval along
+     * their own axis, intervals already flagged are not checked again.
+     * </p>
+     * @param table table to check
+     * @param reference reference date of the slot
+     * @param sunLongitude longitude of the Sun at reference date
+     * @param splitAlt placeholder for the flags of the altitude intervals to split
+     * @param splitAng placeholder for the flags of the local solar angle intervals to split
+     * @param splitLat placeholder for the flags of the latitude intervals to split
+     * @return true if some intervals must be split
+     */
+    private boolean checkTable(final Table table, final AbsoluteDate reference, final double sunLongitude,
+                               final boolean[] splitAlt, final boolean[] splitAng, final boolean[] splitLat) {
+
+        final double axisTolerance = tolerance / 3;
+        boolean refine = false;
+
+        // edges along altitude axis
+        for (int i = 0; i < splitAlt.length; ++i) {
+            for (int j = 0; j < table.ang.length && !splitAlt[i]; ++j) {
+                for (int k = 0; k < table.lat.length && !splitAlt[i]; ++k) {
+                    splitAlt[i] = fails(table, reference, sunLongitude,
+                                        middle(table.alt, i, 0.0), table.ang[j], table.lat[k], axisTolerance);
+                }
+            }
+            refine |= splitAlt[i];
+        }
+
+        // edges along local solar angle axis
+        for (int j = 0; j < splitAng.length; ++j) {
+            for (int i = 0; i < table.alt.length && !splitAng[j]; ++i) {
+                for (int k = 0; k < table.lat.length && !splitAng[j]; ++k) {
+                    splitAng[j] = fails(table, reference, sunLongitude,
+                                        table.alt[i], middle(table.ang, j, MathUtils.TWO_PI), table.lat[k], axisTolerance);
+                }
+            }
+            refine |= splitAng[j];
+        }
+
+        // edges along latitude axis
+        for (int k = 0; k < splitLat.length; ++k) {
+            for (int i = 0; i < table.alt.length && !splitLat[k]; ++i) {
+                for (int j = 0; j < table.ang.length && !splitLat[k]; ++j) {
+                    splitLat[k] = fails(table, reference, sunLongitude,
+                                        table.alt[i], table.ang[j], middle(table.lat, k, 0.0), axisTolerance);
+                }
+            }
+            refine |= splitLat[k];
+        }
+
+        return refine;
+
+    }
+
+    /** Check if the interpolation error at one point exceeds tolerance.
+     * @param table table to check
+     * @param reference reference date of the slot
+     * @param sunLongitude longitude of the Sun at reference date
+     * @param altitude altitude (m)
+     * @param angle local solar angle
+     * @param latitude latitude
+     * @param pointTolerance relative tolerance at this point
+     * @return true if the tolerance is not fulfilled
+     */
+    private boolean fails(final Table table, final AbsoluteDate reference, final double sunLongitude,
+                          final double altitude, final double angle, final double latitude,
+                          final double pointTolerance) {
+        final double expected = modelDensity(reference, sunLongitude, altitude, angle, latitude);
+        final double actual   = FastMath.exp(table.interpolate(altitude,
+                                                               MathUtils.normalizeAngle(angle, 0.0),
+                                                               latitude));
+        return FastMath.abs(actual - expected) > pointTolerance * expected;
+    }
+
+    /** Evaluate the wrapped model.
+     * @param date date
+     * @param sunLongitude longitude of the Sun at date
+     * @param altitude altitude (m)
+     * @param angle local solar angle
+     * @param latitude latitude
+     * @return density (kg/m³)
+     */
+    private double modelDensity(final AbsoluteDate date, final double sunLongitude,
+                                final double altitude, final double angle, final double latitude) {
+        final GeodeticPoint gp = new GeodeticPoint(latitude, sunLongitude + angle, altitude);
+        return model.getDensity(date, shape.transform(gp), shape.getBodyFrame());
+    }
+
+    /** Build regularly spaced nodes.
+     * @param min first node
+     * @param step step between nodes
+     * @param n number of nodes
+     * @return nodes
+     */
+    private static double[] regularNodes(final double min, final double step, final int n) {
+        final double[] nodes = new double[n];
+        for (int i = 0; i < n; ++i) {
+            nodes[i] = min + i * step;
+        }
+        return nodes;
+    }
+
+    /** Get the upper boundary of an interval.
+     * @param nodes interval boundaries
+     * @param index index of the interval
+     * @param period period of the axis (0 for non-periodic axes)
+     * @return upper boundary of the interval
+     */
+    private static double upper(final double[] nodes, final int index, final double period) {
+        return index + 1 < nodes.length ? nodes[index + 1] : nodes[0] + period;
+    }
+
+    /** Get the middle of an interval.
+     * @param nodes interval boundaries
+     * @param index index of the interval
+     * @param period period of the axis (0 for non-periodic axes)
+     * @return middle of the interval
+     */
+    private static double middle(final double[] nodes, final int index, final double period) {
+        return 0.5 * (nodes[index] + upper(nodes, index, period));
+    }
+
+    /** Count the intervals to split.
+     * @param split flags for the intervals to split
+     * @return number of intervals to split
+     */
+    private static int count(final boolean[] split) {
+        int n = 0;
+        for (final boolean s : split) {
+            if (s) {
+                ++n;
+            }
+        }
+        return n;
+    }
+
+    /** Split intervals.
+     * @param nodes intervals boundaries
+     * @param period period of the axis (0 for non-periodic axes)
+     * @param split flags for the intervals to split
+     * @param old placeholder for the index of each new node in the old nodes array (-1 for new nodes)
+     * @return new nodes
+     */
+    private static double[] split(final double[] nodes, final double period, final boolean[] split, final int[] old) {
+        final double[] refined = new double[old.length];
+        int n = 0;
+        for (int i = 0; i < nodes.length; ++i) {
+            old[n]       = i;
+            refined[n++] = nodes[i];
+            if (i < split.length && split[i]) {
+                old[n]       = -1;
+                refined[n++] = middle(nodes, i, period);
+            }
+        }
+        return refined;
+    }
+
+    /** Time slot. */
+    private static class Slot implements Serializable {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20211018L;
+
+        /** Table of the slot (null if the slot is not tabulated). */
+        private final Table table;
+
+        /** Simple constructor.
+         * @param table table of the slot (null if the slot is not tabulated)
+         */
+        Slot(final Table table) {
+            this.table = table;
+        }
+
+    }
+
+    /** Table of the logarithm of density on a rectilinear grid. */
+    private static class Table implements Serializable {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20211018L;
+
+        /** Altitude nodes. */
+        private final double[] alt;
+
+        /** Local solar angle nodes, in [-π, +π) (the axis is periodic). */
+        private final double[] ang;
+
+        /** Latitude nodes. */
+        private final double[] lat;
+
+        /** Logarithm of density, flattened with latitude as the fastest varying index. */
+        private final double[] logDensity;
+
+        /** Simple constructor.
+         * @param alt altitude nodes
+         * @param ang local solar angle nodes, in [-π, +π)
+         * @param lat latitude nodes
+         */
+        Table(final double[] alt, final double[] ang, final double[] lat) {
+            this.alt        = alt;
+            this.ang        = ang;
+            this.lat        = lat;
+            this.logDensity = new double[alt.length * ang.length * lat.length];
+        }
+
+        /** Set a sample.
+         * @param i altitude index
+         * @param j angle index
+         * @param k latitude index
+         * @param value logarithm of density
+         */
+        void set(final int i, final int j, final int k, final double value) {
+            logDensity[(i * ang.length + j) * lat.length + k] = value;
+        }
+
+        /** Get a sample.
+         * @param i altitude index
+         * @param j angle index (periodic)
+         * @param k latitude index
+         * @return logarithm of density
+         */
+        private double get(final int i, final int j, final int k) {
+            return logDensity[(i * ang.length + (j % ang.length)) * lat.length + k];
+        }
+
+        /** Get the cell index along a bounded axis.
+         * @param nodes nodes along the axis
+         * @param x coordinate
+         * @return cell index
+         */
+        private static int boundedIndex(final double[] nodes, final double x) {
+            final int k = Arrays.binarySearch(nodes, x);
+            final int i = k >= 0 ? k : -k - 2;
+            return FastMath.max(0, FastMath.min(nodes.length - 2, i));
+        }
+
+        /** Get the cell index along the periodic axis.
+         * @param x coordinate, normalized in [-π, +π)
+         * @return cell index
+         */
+        private int periodicIndex(final double x) {
+            final int k = Arrays.binarySearch(ang, x);
+            final int j = k >= 0 ? k : -k - 2;
+            return FastMath.max(0, FastMath.min(ang.length - 1, j));
+        }
+
+        /** Interpolate logarithm of density.
+         * @param altitude altitude
+         * @param angle local solar angle, normalized in [-π, +π)
+         * @param latitude latitude
+         * @return interpolated logarithm of density
+         */
+        double interpolate(final double altitude, final double angle, final double latitude) {
+
+            final int    i = boundedIndex(alt, altitude);
+            final int    j = periodicIndex(angle);
+            final int    k = boundedIndex(lat, latitude);
+            final double u = (altitude - alt[i]) / (alt[i + 1] - alt[i]);
+            final double v = (angle    - ang[j]) / (upper(ang, j, MathUtils.TWO_PI) - ang[j]);
+            final double w = (latitude - lat[k]) / (lat[k + 1] - lat[k]);
+
+            final double c00 = (1 - w) * get(i,     j,     k) + w * get(i,     j,     k + 1);
+            final double c01 = (1 - w) * get(i,     j + 1, k) + w * get(i,     j + 1, k + 1);
+            final double c10 = (1 - w) * get(i + 1, j,     k) + w * get(i + 1, j,     k + 1);
+            final double c11 = (1 - w) * get(i + 1, j + 1, k) + w * get(i + 1, j + 1, k + 1);
+            final double c0  = (1 - v) * c00 + v * c01;
+            final double c1  = (1 - v) * c10 + v * c11;
+            return (1 - u) * c0 + u * c1;
+
+        }
+
+        /** Interpolate logarithm of density.
+         * @param <T> type of the field elements
+         * @param altitude altitude
+         * @param angle local solar angle, normalized in [-π, +π)
+         * @param latitude latitude
+         * @return interpolated logarithm of density
+         */
+        <T extends RealFieldElement<T>> T interpolate(final T altitude, final T angle, final T latitude) {
+
+            final int i = boundedIndex(alt, altitude.getReal());
+            final int j = periodicIndex(angle.getReal());
+            final int k = boundedIndex(lat, latitude.getReal());
+            final T   u = altitude.subtract(alt[i]).divide(alt[i + 1] - alt[i]);
+            final T   v = angle.subtract(ang[j]).divide(upper(ang, j, MathUtils.TWO_PI) - ang[j]);
+            final T   w = latitude.subtract(lat[k]).divide(lat[k + 1] - lat[k]);
+
+            final T c00 = w.negate().add(1).multiply(get(i,     j,     k)).add(w.multiply(get(i,     j,     k + 1)));
+            final T c01 = w.negate().add(1).multiply(get(i,     j + 1, k)).add(w.multiply(get(i,     j + 1, k + 1)));
+            final T c10 = w.negate().add(1).multiply(get(i + 1, j,     k)).add(w.multiply(get(i + 1, j,     k + 1)));
+            final T c11 = w.negate().add(1).multiply(get(i + 1, j + 1, k)).add(w.multiply(get(i + 1, j + 1, k + 1)));
+            final T c0  = v.negate().add(1).multiply(c00).add(v.multiply(c01));
+            final T c1  = v.negate().add(1).multiply(c10).add(v.multiply(c11));
+            return u.negate().add(1).multiply(c0).add(u.multiply(c1));
+
+        }
+
+    }
+
+}
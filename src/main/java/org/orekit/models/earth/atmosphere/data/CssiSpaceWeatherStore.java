@@ -0,0 +1,425 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.atmosphere.data;
+
+import java.util.Arrays;
+import java.util.SortedSet;
+
+import org.hipparchus.util.FastMath;
+import org.orekit.annotation.DefaultDataContext;
+import org.orekit.data.DataContext;
+import org.orekit.data.DataProvidersManager;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.models.earth.atmosphere.DTM2000InputParameters;
+import org.orekit.models.earth.atmosphere.NRLMSISE00InputParameters;
+import org.orekit.models.earth.atmosphere.data.CssiSpaceWeatherDataLoader.LineParameters;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeStamped;
+import org.orekit.utils.Constants;
+
+/**
+ * Immutable indexed store for CSSI space weather data.
+ * <p>
+ * This class provides the same data as {@link CssiSpaceWeatherData}, with the same
+ * interpolation and fallback rules between observed, daily predicted and monthly
+ * predicted data, but it is designed for intensive use by atmosphere models:
+ * </p>
+ * <ul>
+ *   <li>the CSSI columns are stored in primitive arrays,</li>
+ *   <li>entries are indexed by day number, so finding the entry for a date
+ *       is a direct array access instead of a search,</li>
+ *   <li>the three-hourly Ap indices and their 24 hours running averages used
+ *       by {@link #getAp(AbsoluteDate) NRLMSISE00 Ap history} are precomputed
+ *       for all observed and daily predicted data,</li>
+ *   <li>instances are never modified after construction, so they can be shared
+ *       between threads and propagators without synchronization.</li>
+ * </ul>
+ * <p>
+ * When a date falls exactly at a daily entry boundary, the entry starting at this
+ * date is used.
+ * </p>
+ *
+ * @see CssiSpaceWeatherData
+ * @since 11.0
+ */
+public class CssiSpaceWeatherStore implements DTM2000InputParameters, NRLMSISE00InputParameters {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20210607L;
+
+    /** Number of three-hourly values per day. */
+    private static final int SLOTS = 8;
+
+    /** Duration of a three-hourly slot (s). */
+    private static final double SLOT_DURATION = 3.0 * 3600.0;
+
+    /** Index of the first slot for which the whole Ap history is available. */
+    private static final int FIRST_COMPLETE_SLOT = 19;
+
+    /** UTC time scale. */
+    private final TimeScale utc;
+
+    /** First available date. */
+    private final AbsoluteDate firstDate;
+
+    /** Last available date. */
+    private final AbsoluteDate lastDate;
+
+    /** Offset of last observed entry with respect to first date (s). */
+    private final double lastObservedOffset;
+
+    /** Offset of last daily predicted entry with respect to first date (s). */
+    private final double lastDailyPredictedOffset;
+
+    /** Offsets of entries with respect to first date (s). */
+    private final double[] offsets;
+
+    /** Day numbers of entries (UTC days since first date). */
+    private final int[] days;
+
+    /** Index of the latest entry starting at or before each day. */
+    private final int[] dayToEntry;
+
+    /** Three-hourly Kp indices (8 per entry). */
+    private final double[] threeHourlyKp;
+
+    /** Daily average of Kp indices. */
+    private final double[] kpAverage;
+
+    /** Three-hourly Ap indices (8 per entry). */
+    private final double[] threeHourlyAp;
+
+    /** Daily average of Ap indices. */
+    private final double[] apAverage;
+
+    /** F10.7 flux (adjusted). */
+    private final double[] f107Adj;
+
+    /** Centered 81-day arithmetic average of F10.7 (adjusted). */
+    private final double[] ctr81Adj;
+
+    /** Three-hourly Ap for each slot, up to the last daily predicted day. */
+    private final double[] slotAp;
+
+    /** 24 hours running average of Ap ending at each slot, up to the last daily predicted day. */
+    private final double[] slotAverageAp;
+
+    /**
+     * Simple constructor. This constructor uses the default data context.
+     *
+     * @param supportedNames regular expression for supported AGI/CSSI space weather files names
+     * @see CssiSpaceWeatherData#DEFAULT_SUPPORTED_NAMES
+     */
+    @DefaultDataContext
+    public CssiSpaceWeatherStore(final String supportedNames) {
+        this(supportedNames, DataContext.getDefault().getDataProvidersManager(),
+             DataContext.getDefault().getTimeScales().getUTC());
+    }
+
+    /**
+     * Constructor that allows specifying the source of the CSSI space weather file.
+     *
+     * @param supportedNames       regular expression for supported AGI/CSSI space weather files names
+     * @param dataProvidersManager provides access to auxiliary data files.
+     * @param utc                  UTC time scale.
+     */
+    public CssiSpaceWeatherStore(final String supportedNames,
+                                 final DataProvidersManager dataProvidersManager,
+                                 final TimeScale utc) {
+
+        this.utc = utc;
+        final CssiSpaceWeatherDataLoader loader = new CssiSpaceWeatherDataLoader(utc);
+        final SortedSet<TimeStamped> set = loader.getDataSet();
+        if (!dataProvidersManager.feed(supportedNames, loader) || set.size() < 2) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_FIND_FILE, supportedNames);
+        }
+
+        firstDate = loader.getMinDate();
+        lastDate  = loader.getMaxDate();
+        final AbsoluteDate lastObserved       = loader.getLastObservedDate() == null ?
+                                                lastDate : loader.getLastObservedDate();
+        final AbsoluteDate lastDailyPredicted = loader.getLastDailyPredictedDate() == null ?
+                                                lastDate : loader.getLastDailyPredictedDate();
+        lastObservedOffset       = lastObserved.durationFrom(firstDate);
+        lastDailyPredictedOffset = lastDailyPredicted.durationFrom(firstDate);
+
+        // store columns in primitive arrays
+        final int n = set.size();
+        offsets       = new double[n];
+        days          = new int[n];
+        threeHourlyKp = new double[SLOTS * n];
+        kpAverage     = new double[n];
+        threeHourlyAp = new double[SLOTS * n];
+        apAverage     = new double[n];
+        f107Adj       = new double[n];
+        ctr81Adj      = new double[n];
+        int i = 0;
+        for (final TimeStamped timeStamped : set) {
+            final LineParameters parameters = (LineParameters) timeStamped;
+            offsets[i] = parameters.getDate().durationFrom(firstDate);
+            days[i]    = (int) FastMath.rint(parameters.getDate().offsetFrom(firstDate, utc) / Constants.JULIAN_DAY);
+            for (int s = 0; s < SLOTS; ++s) {
+                threeHourlyKp[SLOTS * i + s] = parameters.getThreeHourlyKp(s);
+                threeHourlyAp[SLOTS * i + s] = parameters.getThreeHourlyAp(s);
+            }
+            kpAverage[i] = parameters.getKpSum() / 8;
+            apAverage[i] = parameters.getApAvg();
+            f107Adj[i]   = parameters.getF107Adj();
+            ctr81Adj[i]  = parameters.getCtr81Adj();
+            ++i;
+        }
+
+        // index entries by day number
+        dayToEntry = new int[days[n - 1] + 1];
+        for (int k = 0; k < n; ++k) {
+            final int end = (k + 1 < n) ? days[k + 1] : dayToEntry.length;
+            Arrays.fill(dayToEntry, days[k], end, k);
+        }
+
+        // precompute the three-hourly Ap and their running averages
+        final int lastObservedDay       = dayNumber(lastObserved.offsetFrom(firstDate, utc));
+        final int lastDailyPredictedDay = dayNumber(lastDailyPredicted.offsetFrom(firstDate, utc));
+        slotAp        = new double[SLOTS * (lastDailyPredictedDay + 1)];
+        slotAverageAp = new double[slotAp.length];
+        for (int day = 0; day <= lastDailyPredictedDay; ++day) {
+            final int entry = dayToEntry[day];
+            for (int s = 0; s < SLOTS; ++s) {
+                slotAp[SLOTS * day + s] = (day <= lastObservedDay) ?
+                                          threeHourlyAp[SLOTS * entry + s] :
+                                          apAverage[entry];
+            }
+        }
+        Arrays.fill(slotAverageAp, Double.NaN);
+        for (int k = SLOTS - 1; k < slotAp.length; ++k) {
+            double apSum = 0.0;
+            for (int j = 0; j < SLOTS; ++j) {
+                apSum += slotAp[k - j];
+            }
+            slotAverageAp[k] = apSum / 8;
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getMinDate() {
+        return firstDate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getMaxDate() {
+        return lastDate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getInstantFlux(final AbsoluteDate date) {
+        final double t = date.durationFrom(firstDate);
+        return interpolate(previousEntry(date, t), t, f107Adj);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getMeanFlux(final AbsoluteDate date) {
+        return getAverageFlux(date);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getThreeHourlyKP(final AbsoluteDate date) {
+        final double t = date.durationFrom(firstDate);
+        if (t <= lastObservedOffset) {
+            final int entry = previousEntry(date, t);
+            return threeHourlyKp[SLOTS * entry + slotInDay(date, entry)];
+        } else {
+            // only predictions are available, there are no three-hourly data
+            return get24HoursKp(date);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double get24HoursKp(final AbsoluteDate date) {
+        return dailyValue(date, kpAverage);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getDailyFlux(final AbsoluteDate date) {
+        // getting the value for the previous day
+        return dailyValue(date.shiftedBy(-Constants.JULIAN_DAY), f107Adj);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getAverageFlux(final AbsoluteDate date) {
+        return dailyValue(date, ctr81Adj);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] getAp(final AbsoluteDate date) {
+
+        final double t = date.durationFrom(firstDate);
+        final int entry = previousEntry(date, t);
+        final double[] apArray = new double[7];
+
+        if (t <= lastDailyPredictedOffset) {
+            // the whole history is available in the precomputed arrays
+            final int k = SLOTS * days[entry] + slotInDay(date, entry);
+            if (k < FIRST_COMPLETE_SLOT) {
+                // Ap indices up to 57 hours before date are needed
+                throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE,
+                                          date, firstDate, lastDate);
+            }
+            apArray[0] = apAverage[entry];
+            apArray[1] = slotAp[k];
+            apArray[2] = slotAp[k - 1];
+            apArray[3] = slotAp[k - 2];
+            apArray[4] = slotAp[k - 3];
+            apArray[5] = slotAverageAp[k - 4];
+            apArray[6] = slotAverageAp[k - 12];
+        } else {
+            // monthly predictions, the history may span several regimes
+            apArray[0] = dailyValue(date, apAverage);
+            apArray[1] = getThreeHourlyAp(date);
+            apArray[2] = getThreeHourlyAp(date.shiftedBy(-3.0 * 3600.0));
+            apArray[3] = getThreeHourlyAp(date.shiftedBy(-6.0 * 3600.0));
+            apArray[4] = getThreeHourlyAp(date.shiftedBy(-9.0 * 3600.0));
+            apArray[5] = get24HoursAverageAp(date.shiftedBy(-12.0 * 3600.0));
+            apArray[6] = get24HoursAverageAp(date.shiftedBy(-36.0 * 3600.0));
+        }
+
+        return apArray;
+
+    }
+
+    /**
+     * Gets the value of the three-hourly Ap index for the given date.
+     *
+     * @param date the current date
+     * @return the current three-hourly Ap index
+     */
+    private double getThreeHourlyAp(final AbsoluteDate date) {
+        final double t = date.durationFrom(firstDate);
+        if (t < lastObservedOffset + Constants.JULIAN_DAY) {
+            // if observation data is available, it contains three-hourly data
+            final int entry = previousEntry(date, t);
+            return threeHourlyAp[SLOTS * entry + slotInDay(date, entry)];
+        } else {
+            // only predictions are available, there are no three-hourly data
+            return dailyValue(date, apAverage);
+        }
+    }
+
+    /**
+     * Gets the running average of the 8 three-hourly Ap indices prior to current time.
+     *
+     * @param date the current date
+     * @return the 24 hours running average of the Ap index
+     */
+    private double get24HoursAverageAp(final AbsoluteDate date) {
+        if (date.durationFrom(firstDate) <= lastDailyPredictedOffset) {
+            // computing running mean
+            double apSum = 0.0;
+            for (int i = 0; i < SLOTS; i++) {
+                apSum += getThreeHourlyAp(date.shiftedBy(-SLOT_DURATION * i));
+            }
+            return apSum / 8;
+        } else {
+            // only monthly predictions are available
+            return dailyValue(date, apAverage);
+        }
+    }
+
+    /**
+     * Get a daily value, interpolating between monthly predictions if needed.
+     *
+     * @param date the current date
+     * @param values values column
+     * @return value at date
+     */
+    private double dailyValue(final AbsoluteDate date, final double[] values) {
+        final double t     = date.durationFrom(firstDate);
+        final int    entry = previousEntry(date, t);
+        if (t <= lastDailyPredictedOffset) {
+            // daily data is available
+            return values[entry];
+        } else {
+            // only monthly data is available, better interpolate between two months
+            return interpolate(entry, t, values);
+        }
+    }
+
+    /**
+     * Find the entry preceding a date.
+     *
+     * @param date date to bracket
+     * @param t offset of the date with respect to first date (s)
+     * @return index i such that entries i and i+1 bracket the date
+     */
+    private int previousEntry(final AbsoluteDate date, final double t) {
+        if (t < 0 || t > offsets[offsets.length - 1]) {
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, date, firstDate, lastDate);
+        }
+        final int day = FastMath.min(dayNumber(date.offsetFrom(firstDate, utc)), dayToEntry.length - 1);
+        return FastMath.min(dayToEntry[FastMath.max(0, day)], offsets.length - 2);
+    }
+
+    /**
+     * Get the index of the three-hourly slot within an entry day.
+     *
+     * @param date the current date
+     * @param entry index of the entry
+     * @return index of the three-hourly slot [0-7]
+     */
+    private int slotInDay(final AbsoluteDate date, final int entry) {
+        final double secondsInDay = date.offsetFrom(firstDate, utc) - days[entry] * Constants.JULIAN_DAY;
+        // seconds in day can reach 86400 at midnight due to floating point precision
+        // or during a leap second because it is computed in UTC view
+        return FastMath.max(0, FastMath.min(SLOTS - 1, (int) (secondsInDay / SLOT_DURATION)));
+    }
+
+    /**
+     * Performs a linear interpolation between two entries.
+     *
+     * @param entry index of the previous entry
+     * @param t offset of the date with respect to first date (s)
+     * @param values values column
+     * @return the value interpolated for the current date
+     */
+    private double interpolate(final int entry, final double t, final double[] values) {
+        final double dt             = offsets[entry + 1] - offsets[entry];
+        final double previousWeight = (offsets[entry + 1] - t) / dt;
+        final double nextWeight     = (t - offsets[entry]) / dt;
+        return values[entry] * previousWeight + values[entry + 1] * nextWeight;
+    }
+
+    /**
+     * Get the day number corresponding to an offset in UTC view.
+     *
+     * @param utcOffset offset with respect to first date, in UTC view (s)
+     * @return day number
+     */
+    private static int dayNumber(final double utcOffset) {
+        return (int) FastMath.floor(utcOffset / Constants.JULIAN_DAY);
+    }
+
+}
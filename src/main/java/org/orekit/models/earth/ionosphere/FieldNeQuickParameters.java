@@ -295,7 +295,8 @@ class FieldNeQuickParameters <T extends RealFieldElement<T>> {
         int l = lF - 2;
         if (l < 0) {
             l += 36;
-        } else if (l > 33) {
+        }
+        if (l > 33) {
             l -= 36;
         }
 
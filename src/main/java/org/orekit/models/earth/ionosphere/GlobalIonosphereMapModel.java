@@ -25,14 +25,11 @@ import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.regex.Pattern;
 
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
-import org.hipparchus.analysis.interpolation.BilinearInterpolatingFunction;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.FastMath;
@@ -50,9 +47,7 @@ import org.orekit.frames.TopocentricFrame;
 import org.orekit.propagation.FieldSpacecraftState;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.time.AbsoluteDate;
-import org.orekit.time.DateTimeComponents;
 import org.orekit.time.FieldAbsoluteDate;
-import org.orekit.time.TimeComponents;
 import org.orekit.time.TimeScale;
 import org.orekit.utils.ParameterDriver;
 
@@ -75,9 +70,14 @@ import org.orekit.utils.ParameterDriver;
  * Values are given on a global 2.5° x 5.0° (latitude x longitude) grid.
  * <p>
  * A bilinear interpolation is performed the case of the user initialize the latitude and the
- * longitude with values that are not contained in the stream.
+ * longitude with values that are not contained in the stream. The complete grids are kept in
+ * memory, so several stations can share the same model instance without reloading the file.
  * </p><p>
- * A temporal interpolation is also performed to compute the VTEC at the desired date.
+ * A temporal interpolation is also performed to compute the VTEC at the desired date. As maps are
+ * regularly spaced, the two surrounding maps are found directly from the date. Files containing
+ * only one map carry no temporal information, this map is then used without temporal interpolation,
+ * only for dates that are within the file interval of the map epoch (i.e. only at map epoch if the
+ * interval is zero).
  * </p><p>
  * IONEX files are obtained from
  * <a href="ftp://cddis.nasa.gov/gnss/products/ionex/"> The Crustal Dynamics Data Information System</a>.
@@ -132,15 +132,6 @@ public class GlobalIonosphereMapModel extends AbstractSelfFeedingLoader
     /** Pattern for delimiting regular expressions. */
     private static final Pattern SEPARATOR = Pattern.compile("\\s+");
 
-    /** Threshold for latitude and longitude difference. */
-    private static final double THRESHOLD = 0.001;
-
-    /** Geodetic site latitude, radians.*/
-    private double latitude;
-
-    /** Geodetic site longitude, radians.*/
-    private double longitude;
-
     /** Mean earth radius [m]. */
     private double r0;
 
@@ -162,8 +153,32 @@ public class GlobalIonosphereMapModel extends AbstractSelfFeedingLoader
     /** Epoch of the last TEC map as read in the header of the IONEX file. */
     private AbsoluteDate endDate;
 
-    /** Map of interpolated TEC at a specific date. */
-    private Map<AbsoluteDate, Double> tecMap;
+    /** Latitude of the first grid row [rad]. */
+    private double latitude0;
+
+    /** Latitude step between grid rows [rad]. */
+    private double latitudeStep;
+
+    /** Number of grid rows. */
+    private int nbLatitudes;
+
+    /** Longitude of the first grid column [rad]. */
+    private double longitude0;
+
+    /** Longitude step between grid columns [rad]. */
+    private double longitudeStep;
+
+    /** Number of grid columns. */
+    private int nbLongitudes;
+
+    /** TEC grids [TECUnits], indexed by map number, then by latitude row and longitude column. */
+    private double[][] tecGrids;
+
+    /** Number of TEC maps actually read. */
+    private int nbRead;
+
+    /** Last time bracket used. */
+    private transient TimeBracket lastBracket;
 
     /** UTC time scale. */
     private final TimeScale utc;
@@ -198,9 +213,8 @@ public class GlobalIonosphereMapModel extends AbstractSelfFeedingLoader
                                     final DataProvidersManager dataProvidersManager,
                                     final TimeScale utc) {
         super(supportedNames, dataProvidersManager);
-        this.latitude       = Double.NaN;
-        this.longitude      = Double.NaN;
-        this.tecMap         = new HashMap<>();
+        this.tecGrids    = null;
+        this.lastBracket = null;
         this.utc = utc;
     }
 
@@ -259,6 +273,70 @@ public class GlobalIonosphereMapModel extends AbstractSelfFeedingLoader
 
     }
 
+    /**
+     * Calculates the ionospheric path delays for several signal paths from
+     * a ground station at the same date.
+     * <p>
+     * The TEC is computed only once, and only the mapping function
+     * is evaluated for each path.
+     * </p>
+     * @param date current date
+     * @param geo geodetic point of receiver/station
+     * @param elevations elevations of the satellites in radians
+     * @param frequency frequency of the signal in Hz
+     * @return the path delays due to the ionosphere in m, in the same order as the elevations
+     * @see #pathDelay(AbsoluteDate, GeodeticPoint, double, double)
+     * @since 11.0
+     */
+    public double[] pathDelay(final AbsoluteDate date, final GeodeticPoint geo,
+                              final double[] elevations, final double frequency) {
+        // TEC in TECUnits
+        final double tec = getTEC(date, geo);
+        // Delay factor
+        final double alpha = 40.3e16 / (frequency * frequency);
+        final double[] delays = new double[elevations.length];
+        for (int i = 0; i < elevations.length; ++i) {
+            delays[i] = alpha * (mapping ? tec : tec * mappingFunction(elevations[i]));
+        }
+        return delays;
+    }
+
+    /**
+     * Calculates the ionospheric path delays for the signals from several
+     * satellites to one ground station.
+     * <p>
+     * Satellites below the horizon get a zero delay, as in
+     * {@link #pathDelay(SpacecraftState, TopocentricFrame, double, double[])}.
+     * When states share the same date (typically all satellites visible at one epoch),
+     * the TEC is computed only once.
+     * </p>
+     * @param states spacecraft states
+     * @param baseFrame base frame associated with the station
+     * @param frequency frequency of the signal in Hz
+     * @return the path delays due to the ionosphere in m, in the same order as the states
+     * @since 11.0
+     */
+    public double[] pathDelay(final List<SpacecraftState> states, final TopocentricFrame baseFrame,
+                              final double frequency) {
+        final GeodeticPoint geo    = baseFrame.getPoint();
+        final double        alpha  = 40.3e16 / (frequency * frequency);
+        final double[]      delays = new double[states.size()];
+        AbsoluteDate previous = null;
+        double       tec      = Double.NaN;
+        for (int i = 0; i < delays.length; ++i) {
+            final SpacecraftState state     = states.get(i);
+            final double          elevation = state.getPVCoordinates(baseFrame).getPosition().getDelta();
+            if (elevation > 0.0) {
+                if (previous == null || !previous.equals(state.getDate())) {
+                    previous = state.getDate();
+                    tec      = getTEC(previous, geo);
+                }
+                delays[i] = alpha * (mapping ? tec : tec * mappingFunction(elevation));
+            }
+        }
+        return delays;
+    }
+
     /**
      * Calculates the ionospheric path delay for the signal path from a ground
      * station to a satellite.
@@ -325,27 +403,17 @@ public class GlobalIonosphereMapModel extends AbstractSelfFeedingLoader
     public double getTEC(final AbsoluteDate date, final GeodeticPoint recPoint) {
 
         // Load TEC data only if needed
-        loadsIfNeeded(recPoint);
+        loadsIfNeeded();
 
-        // Check if the date is out of range
-        checkDate(date);
-
-        // Date and Time components
-        final DateTimeComponents dateTime = date.getComponents(utc);
-        // Find the two closest dates of the current date
-        final double secInDay   = dateTime.getTime().getSecondsInLocalDay();
-        final double ratio      = FastMath.floor(secInDay / dt) * dt;
-        final AbsoluteDate tI   = new AbsoluteDate(dateTime.getDate(),
-                                                   new TimeComponents(ratio),
-                                                   utc);
-        final AbsoluteDate tIp1 = tI.shiftedBy(dt);
+        // Find the two closest maps of the current date
+        final TimeBracket bracket = getBracket(date);
 
         // Get the TEC values at the two closest dates
-        final double tecI   = tecMap.get(tI);
-        final double tecIp1 = tecMap.get(tIp1);
+        final double tecI   = spatialInterpolation(bracket.index,    recPoint);
+        final double tecIp1 = spatialInterpolation(bracket.indexIp1, recPoint);
 
         // Perform temporal interpolation (Ref, Eq. 2)
-        final double tec = (tIp1.durationFrom(date) / dt) * tecI + (date.durationFrom(tI) / dt) * tecIp1;
+        final double tec = bracket.weightI * tecI + bracket.weightIp1 * tecIp1;
         return tec;
     }
 
@@ -360,27 +428,23 @@ public class GlobalIonosphereMapModel extends AbstractSelfFeedingLoader
     public <T extends RealFieldElement<T>> T getTEC(final FieldAbsoluteDate<T> date, final GeodeticPoint recPoint) {
 
         // Load TEC data only if needed
-        loadsIfNeeded(recPoint);
-
-        // Check if the date is out of range
-        checkDate(date.toAbsoluteDate());
+        loadsIfNeeded();
 
         // Field
         final Field<T> field = date.getField();
 
-        // Date and Time components
-        final DateTimeComponents dateTime = date.getComponents(utc);
-        // Find the two closest dates of the current date
-        final double secInDay           = dateTime.getTime().getSecondsInLocalDay();
-        final double ratio              = FastMath.floor(secInDay / dt) * dt;
-        final FieldAbsoluteDate<T> tI   = new FieldAbsoluteDate<>(field, dateTime.getDate(),
-                                                                  new TimeComponents(ratio),
-                                                                  utc);
+        // Find the two closest maps of the current date
+        final TimeBracket bracket = getBracket(date.toAbsoluteDate());
+        if (nbMaps == 1) {
+            // single map, no temporal interpolation
+            return field.getZero().add(spatialInterpolation(bracket.index, recPoint));
+        }
+        final FieldAbsoluteDate<T> tI   = new FieldAbsoluteDate<>(field, startDate.shiftedBy(bracket.index * dt));
         final FieldAbsoluteDate<T> tIp1 = tI.shiftedBy(dt);
 
         // Get the TEC values at the two closest dates
-        final double tecI   = tecMap.get(tI.toAbsoluteDate());
-        final double tecIp1 = tecMap.get(tIp1.toAbsoluteDate());
+        final double tecI   = spatialInterpolation(bracket.index,    recPoint);
+        final double tecIp1 = spatialInterpolation(bracket.indexIp1, recPoint);
 
         // Perform temporal interpolation (Ref, Eq. 2)
         final T tec = tIp1.durationFrom(date).divide(dt).multiply(tecI).add(date.durationFrom(tI).divide(dt).multiply(tecIp1));
@@ -427,19 +491,14 @@ public class GlobalIonosphereMapModel extends AbstractSelfFeedingLoader
 
     /**
      * Lazy loading of TEC data.
-     * @param recPoint geodetic point of receiver/station
+     * <p>
+     * The complete TEC grids are stored, so the file is read only once
+     * regardless of the stations considered.
+     * </p>
      */
-    private void loadsIfNeeded(final GeodeticPoint recPoint) {
-
-        // Current latitude and longitude of the geodetic point
-        final double lat = recPoint.getLatitude();
-        final double lon = MathUtils.normalizeAngle(recPoint.getLongitude(), 0.0);
+    private void loadsIfNeeded() {
 
-        // Read the file only if the TEC map is empty or if the geodetic point displacement is
-        // greater than 0.001 radians (in latitude or longitude)
-        if (tecMap.isEmpty() || FastMath.abs(lat - latitude) > THRESHOLD ||  FastMath.abs(lon - longitude) > THRESHOLD) {
-            this.latitude  = lat;
-            this.longitude = lon;
+        if (tecGrids == null) {
 
             // Read file
             final Parser parser = new Parser();
@@ -455,32 +514,117 @@ public class GlobalIonosphereMapModel extends AbstractSelfFeedingLoader
             this.h          = top.getHIon();
             this.mapping    = top.isMappingFunction();
 
-            // TEC map
+            // Grid geometry
+            final double[] latitudes  = parser.getLatitudes();
+            final double[] longitudes = parser.getLongitudes();
+            this.latitude0     = latitudes[0];
+            this.latitudeStep  = latitudes[1] - latitudes[0];
+            this.nbLatitudes   = latitudes.length;
+            this.longitude0    = longitudes[0];
+            this.longitudeStep = longitudes[1] - longitudes[0];
+            this.nbLongitudes  = longitudes.length;
+
+            // TEC grids, indexed by map number
+            final double[][] grids = new double[nbMaps][];
+            int read = 0;
             for (TECMap map : parser.getTECMaps()) {
-                tecMap.put(map.getDate(), map.getTEC());
+                final long index = nbMaps == 1 ? 0 : FastMath.round(map.getDate().durationFrom(startDate) / dt);
+                if (index >= 0 && index < nbMaps && grids[(int) index] == null) {
+                    grids[(int) index] = map.getTEC();
+                }
+                ++read;
             }
+            this.nbRead      = read;
+            this.tecGrids    = grids;
+            this.lastBracket = null;
+
         }
         checkSize();
     }
 
     /**
-     * Check if the current date is between the startDate and
-     * the endDate of the IONEX file.
+     * Get the time bracket of TEC maps surrounding a date.
      * @param date current date
+     * @return time bracket
      */
-    private void checkDate(final AbsoluteDate date) {
+    private TimeBracket getBracket(final AbsoluteDate date) {
+
+        final TimeBracket last = lastBracket;
+        if (last != null && last.date.equals(date)) {
+            // the same date is used for several stations and satellites
+            return last;
+        }
+
+        if (nbMaps == 1) {
+            // single map, used without temporal interpolation for dates
+            // within one interval of its epoch (the interval may be zero)
+            if (tecGrids[0] == null || FastMath.abs(date.durationFrom(startDate)) > dt) {
+                throw new OrekitException(OrekitMessages.NO_TEC_DATA_IN_FILE_FOR_DATE,
+                                          getSupportedNames(), date);
+            }
+            final TimeBracket bracket = new TimeBracket(date, 0, 0, 1.0, 0.0);
+            lastBracket = bracket;
+            return bracket;
+        }
+
+        // Check if the date is out of range
         if (startDate.durationFrom(date) > 0 || date.durationFrom(endDate) > 0) {
             throw new OrekitException(OrekitMessages.NO_TEC_DATA_IN_FILE_FOR_DATE,
                     getSupportedNames(), date);
         }
+
+        // Direct index computation, as maps are regularly spaced
+        final double offset = date.durationFrom(startDate);
+        final int    index  = FastMath.max(0, FastMath.min(nbMaps - 2, (int) FastMath.floor(offset / dt)));
+        if (tecGrids[index] == null || tecGrids[index + 1] == null) {
+            throw new OrekitException(OrekitMessages.NO_TEC_DATA_IN_FILE_FOR_DATE,
+                                      getSupportedNames(), date);
+        }
+        final double      ratio   = (offset - index * dt) / dt;
+        final TimeBracket bracket = new TimeBracket(date, index, index + 1, 1.0 - ratio, ratio);
+        lastBracket = bracket;
+        return bracket;
+
+    }
+
+    /**
+     * Perform bilinear interpolation in one TEC grid.
+     * <p>
+     * Points beyond the extreme latitudes of the grid use the values of the
+     * closest row.
+     * </p>
+     * @param index map index
+     * @param recPoint geodetic point of receiver/station
+     * @return interpolated TEC
+     */
+    private double spatialInterpolation(final int index, final GeodeticPoint recPoint) {
+
+        final double[] grid = tecGrids[index];
+
+        // latitude cell
+        final double a = (recPoint.getLatitude() - latitude0) / latitudeStep;
+        final int    i = FastMath.max(0, FastMath.min(nbLatitudes - 2, (int) FastMath.floor(a)));
+        final double u = FastMath.max(0.0, FastMath.min(1.0, a - i));
+
+        // longitude cell
+        final double lon = MathUtils.normalizeAngle(recPoint.getLongitude(), 0.0);
+        final double b   = (lon - longitude0) / longitudeStep;
+        final int    j   = FastMath.max(0, FastMath.min(nbLongitudes - 2, (int) FastMath.floor(b)));
+        final double v   = FastMath.max(0.0, FastMath.min(1.0, b - j));
+
+        final int k00 = i * nbLongitudes + j;
+        final int k10 = k00 + nbLongitudes;
+        return (1 - u) * ((1 - v) * grid[k00] + v * grid[k00 + 1]) +
+               u       * ((1 - v) * grid[k10] + v * grid[k10 + 1]);
+
     }
 
     /**
      * Check if the number of parsed TEC maps is consistent with the header specification.
      */
     private void checkSize() {
-        if (tecMap.size() != nbMaps) {
-            throw new OrekitException(OrekitMessages.INCONSISTENT_NUMBER_OF_TEC_MAPS_IN_FILE, tecMap.size(), nbMaps);
+        if (nbRead != nbMaps) {
+            throw new OrekitException(OrekitMessages.INCONSISTENT_NUMBER_OF_TEC_MAPS_IN_FILE, nbRead, nbMaps);
         }
     }
 
@@ -510,6 +654,12 @@ public class GlobalIonosphereMapModel extends AbstractSelfFeedingLoader
         /** Header of the IONEX file. */
         private IONEXHeader header;
 
+        /** Grid latitudes [rad]. */
+        private double[] gridLatitudes;
+
+        /** Grid longitudes [rad]. */
+        private double[] gridLongitudes;
+
         /** List of TEC Maps. */
         private List<TECMap> maps;
 
@@ -595,12 +745,14 @@ public class GlobalIonosphereMapModel extends AbstractSelfFeedingLoader
                                 // At the end of the header, we build the IONEXHeader object
                                 header = new IONEXHeader(firstEpoch, lastEpoch, interval, nbOfMaps,
                                                          baseRadius, hIon, mappingF);
+                                gridLatitudes  = latitudes;
+                                gridLongitudes = longitudes;
                                 break;
                             case "START OF TEC MAP" :
                                 inTEC = true;
                                 break;
                             case END :
-                                final double tec = interpolateTEC(values, exponent, latitudes, longitudes);
+                                final double[] tec = buildGrid(values, exponent, latitudes, longitudes);
                                 final TECMap map = new TECMap(epoch, tec);
                                 maps.add(map);
                                 // Reset parameters
@@ -667,6 +819,22 @@ public class GlobalIonosphereMapModel extends AbstractSelfFeedingLoader
             return maps;
         }
 
+        /**
+         * Get the grid latitudes, in increasing order.
+         * @return grid latitudes in radians
+         */
+        public double[] getLatitudes() {
+            return gridLatitudes;
+        }
+
+        /**
+         * Get the grid longitudes, in increasing order.
+         * @return grid longitudes in radians
+         */
+        public double[] getLongitudes() {
+            return gridLongitudes;
+        }
+
         /** Extract a string from a line.
          * @param line to parse
          * @param start start index of the string
@@ -728,57 +896,51 @@ public class GlobalIonosphereMapModel extends AbstractSelfFeedingLoader
             return coordinate;
         }
 
-        /** Interpolate the TEC in latitude and longitude.
+        /** Build the TEC grid.
          * @param exponent exponent defining the unit of the values listed in the data blocks
          * @param values TEC values
          * @param latitudes array containing the different latitudes in radians
          * @param longitudes array containing the different latitudes in radians
-         * @return the interpolated TEC in TECUnits
+         * @return the TEC grid in TECUnits, with increasing latitudes rows and longitudes columns
          */
-        private double interpolateTEC(final ArrayList<Double> values, final double exponent,
-                                      final double[] latitudes, final double[] longitudes) {
+        private double[] buildGrid(final ArrayList<Double> values, final double exponent,
+                                   final double[] latitudes, final double[] longitudes) {
             // Array dimensions
             final int dimLat = latitudes.length;
             final int dimLon = longitudes.length;
 
-            // Build the array of TEC data
-            final double[][] fvalTEC = new double[dimLat][dimLon];
+            // Build the array of TEC data (rows are stored by decreasing latitude in the file)
+            final double   scale = FastMath.pow(10.0, exponent);
+            final double[] grid  = new double[dimLat * dimLon];
             int index = dimLon * dimLat;
             for (int x = 0; x < dimLat; x++) {
                 for (int y = dimLon - 1; y >= 0; y--) {
                     index = index - 1;
-                    fvalTEC[x][y] = values.get(index);
+                    grid[x * dimLon + y] = values.get(index) * scale;
                 }
             }
 
-            // Build Bilinear Interpolation function
-            final BilinearInterpolatingFunction functionTEC = new BilinearInterpolatingFunction(latitudes, longitudes, fvalTEC);
-            final double tec = functionTEC.value(latitude, longitude) * FastMath.pow(10.0, exponent);
-            return tec;
+            return grid;
         }
     }
 
     /**
      * Container for IONEX data.
-     * <p>
-     * The TEC contained in the map is previously interpolated
-     * according to the latitude and the longitude given by the user.
-     * </p>
      */
     private static class TECMap {
 
         /** Date of the TEC Map. */
         private AbsoluteDate date;
 
-        /** Interpolated TEC [TECUnits]. */
-        private double tec;
+        /** TEC grid [TECUnits]. */
+        private double[] tec;
 
         /**
          * Constructor.
          * @param date date of the TEC map
-         * @param tec interpolated tec
+         * @param tec TEC grid
          */
-        TECMap(final AbsoluteDate date, final double tec) {
+        TECMap(final AbsoluteDate date, final double[] tec) {
             this.date = date;
             this.tec  = tec;
         }
@@ -792,15 +954,52 @@ public class GlobalIonosphereMapModel extends AbstractSelfFeedingLoader
         }
 
         /**
-         * Get the value of the interpolated TEC.
-         * @return the TEC in TECUnits
+         * Get the TEC grid.
+         * @return the TEC grid in TECUnits
          */
-        public double getTEC() {
+        public double[] getTEC() {
             return tec;
         }
 
     }
 
+    /** Container for time bracket of TEC maps. */
+    private static class TimeBracket {
+
+        /** Date for which the bracket was computed. */
+        private final AbsoluteDate date;
+
+        /** Index of the first map. */
+        private final int index;
+
+        /** Index of the second map (same as first map if there is only one map). */
+        private final int indexIp1;
+
+        /** Weight of the first map. */
+        private final double weightI;
+
+        /** Weight of the second map. */
+        private final double weightIp1;
+
+        /**
+         * Constructor.
+         * @param date date for which the bracket was computed
+         * @param index index of the first map
+         * @param indexIp1 index of the second map
+         * @param weightI weight of the first map
+         * @param weightIp1 weight of the second map
+         */
+        TimeBracket(final AbsoluteDate date, final int index, final int indexIp1,
+                    final double weightI, final double weightIp1) {
+            this.date      = date;
+            this.index     = index;
+            this.indexIp1  = indexIp1;
+            this.weightI   = weightI;
+            this.weightIp1 = weightIp1;
+        }
+
+    }
+
     /** Container for IONEX header. */
     private static class IONEXHeader {
 
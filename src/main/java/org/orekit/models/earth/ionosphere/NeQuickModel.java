@@ -27,6 +27,7 @@ import java.util.regex.Pattern;
 
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.FieldSinCos;
 import org.hipparchus.util.MathArrays;
@@ -37,6 +38,7 @@ import org.orekit.bodies.FieldGeodeticPoint;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.data.DataContext;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.TopocentricFrame;
 import org.orekit.propagation.FieldSpacecraftState;
@@ -45,7 +47,9 @@ import org.orekit.time.AbsoluteDate;
 import org.orekit.time.DateComponents;
 import org.orekit.time.DateTimeComponents;
 import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeComponents;
 import org.orekit.time.TimeScale;
+import org.orekit.utils.Constants;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.TimeStampedFieldPVCoordinates;
 import org.orekit.utils.TimeStampedPVCoordinates;
@@ -80,6 +84,15 @@ public class NeQuickModel implements IonosphericModel {
     /** Factor for the electron density computation. */
     private static final double DENSITY_FACTOR = 1.0e11;
 
+    /** Number of months. */
+    private static final int MONTHS = 12;
+
+    /** F2 coefficients shared between all instances, indexed by month. */
+    private static final double[][][][] CCIR_F2 = new double[MONTHS][][][];
+
+    /** Fm3 coefficients shared between all instances, indexed by month. */
+    private static final double[][][][] CCIR_FM3 = new double[MONTHS][][][];
+
     /** Factor for the path delay computation. */
     private static final double DELAY_FACTOR = 40.3e16;
 
@@ -101,6 +114,15 @@ public class NeQuickModel implements IonosphericModel {
     /** UTC time scale. */
     private final TimeScale utc;
 
+    /** Angular step of the profile parameters grid (0 if grid is not used). */
+    private final double angularStep;
+
+    /** Time step of the profile parameters grid. */
+    private final double timeStep;
+
+    /** Current profile parameters grid. */
+    private transient NeQuickParametersGrid grid;
+
     /**
      * Build a new instance.
      *
@@ -122,6 +144,47 @@ public class NeQuickModel implements IonosphericModel {
      */
     public NeQuickModel(final double[] alpha,
                         final TimeScale utc) {
+        this(alpha, utc, 0.0, 0.0);
+    }
+
+    /**
+     * Build a new instance using a grid of profile parameters.
+     * <p>
+     * Computing the profile parameters (foF2, hmF2, layers thicknesses...)
+     * from CCIR and MODIP maps is the most expensive part of STEC integration,
+     * and it is normally performed at each integration point. With this
+     * constructor, the parameters are rather computed lazily on a latitude/longitude
+     * grid evaluated at the middle of time buckets, and bilinearly interpolated
+     * at integration points. The grid is shared by all the rays computed during
+     * the same time bucket. This trades accuracy for speed; angular steps of a
+     * few degrees and time steps of a few minutes are sensible choices.
+     * </p>
+     * <p>
+     * The grid is used only by the {@code double}-based methods, the field-based
+     * methods still compute the parameters at each integration point.
+     * </p>
+     * @param alpha effective ionisation level coefficients
+     * @param utc UTC time scale.
+     * @param angularStep maximum angular step between grid nodes (rad),
+     * if 0 no grid is used and parameters are computed at each integration point
+     * @param timeStep duration of time buckets (s), ignored if {@code angularStep} is 0
+     * @since 11.0
+     */
+    public NeQuickModel(final double[] alpha,
+                        final TimeScale utc,
+                        final double angularStep,
+                        final double timeStep) {
+        if (angularStep < 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     angularStep, 0.0);
+        }
+        if (angularStep > 0 && timeStep <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     timeStep, 0.0);
+        }
+        this.angularStep = angularStep;
+        this.timeStep    = timeStep;
+        this.grid        = null;
         // F2 layer values
         this.month = 0;
         this.f2    = null;
@@ -314,11 +377,13 @@ public class NeQuickModel implements IonosphericModel {
         final double[] longitudeS = seg.getLongitudes();
 
         // Compute electron density
+        final NeQuickParametersGrid parametersGrid = getGrid(dateTime);
         double density = 0.0;
         for (int i = 0; i < heightS.length; i++) {
-            final NeQuickParameters parameters = new NeQuickParameters(dateTime, f2, fm3,
-                                                                       latitudeS[i], longitudeS[i],
-                                                                       alpha, stModip);
+            final NeQuickParameters parameters =
+                            parametersGrid == null ?
+                            new NeQuickParameters(dateTime, f2, fm3, latitudeS[i], longitudeS[i], alpha, stModip) :
+                            parametersGrid.getParameters(latitudeS[i], longitudeS[i]);
             density += electronDensity(heightS[i], parameters);
         }
 
@@ -619,16 +684,53 @@ public class NeQuickModel implements IonosphericModel {
         if (currentMonth != month || f2 == null || fm3 == null) {
             this.month = currentMonth;
 
-            // Read file
-            final CCIRLoader loader = new CCIRLoader();
-            loader.loadCCIRCoefficients(date);
+            synchronized (CCIR_F2) {
+                if (CCIR_F2[currentMonth - 1] == null) {
+                    // Read file, only once for all instances
+                    final CCIRLoader loader = new CCIRLoader();
+                    loader.loadCCIRCoefficients(date);
+                    CCIR_F2[currentMonth - 1]  = loader.getF2();
+                    CCIR_FM3[currentMonth - 1] = loader.getFm3();
+                }
+
+                // Update arrays
+                this.f2  = CCIR_F2[currentMonth - 1];
+                this.fm3 = CCIR_FM3[currentMonth - 1];
+            }
+
+            // the profile parameters grid depends on the coefficients
+            this.grid = null;
 
-            // Update arrays
-            this.f2 = loader.getF2();
-            this.fm3 = loader.getFm3();
         }
     }
 
+    /**
+     * Get the profile parameters grid for the current time bucket.
+     * @param dateTime current date and time components
+     * @return profile parameters grid, or null if grid is not used
+     */
+    private NeQuickParametersGrid getGrid(final DateTimeComponents dateTime) {
+
+        if (angularStep == 0) {
+            // no grid is used
+            return null;
+        }
+
+        // middle of the time bucket
+        final double bucketStart = timeStep * FastMath.floor(dateTime.getTime().getSecondsInUTCDay() / timeStep);
+        final double middle      = FastMath.min(bucketStart + 0.5 * timeStep,
+                                                FastMath.nextDown(Constants.JULIAN_DAY));
+        if (grid == null ||
+            !grid.getDateTime().getDate().equals(dateTime.getDate()) ||
+            grid.getDateTime().getTime().getSecondsInUTCDay() != middle) {
+            grid = new NeQuickParametersGrid(new DateTimeComponents(dateTime.getDate(), new TimeComponents(middle)),
+                                             f2, fm3, alpha, stModip, angularStep);
+        }
+
+        return grid;
+
+    }
+
     /**
      * A clipped exponential function.
      * <p>
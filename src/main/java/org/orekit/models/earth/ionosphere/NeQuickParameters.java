@@ -165,6 +165,38 @@ class NeQuickParameters {
         this.h0 = computeH0(date.getMonth(), azr);
     }
 
+    /**
+     * Build a new instance from already computed parameters.
+     * @param nmF2 F2 layer maximum density
+     * @param hmF2 F2 layer maximum density height [km]
+     * @param hmF1 F1 layer maximum density height [km]
+     * @param hmE E layer maximum density height [km]
+     * @param b2Bot F2 layer bottom thickness parameter [km]
+     * @param b1Top F1 layer top thickness parameter [km]
+     * @param b1Bot F1 layer bottom thickness parameter [km]
+     * @param beTop E layer top thickness parameter [km]
+     * @param beBot E layer bottom thickness parameter [km]
+     * @param h0 topside thickness parameter [km]
+     * @param amplitudes layer amplitudes
+     * @since 11.0
+     */
+    NeQuickParameters(final double nmF2, final double hmF2, final double hmF1, final double hmE,
+                      final double b2Bot, final double b1Top, final double b1Bot,
+                      final double beTop, final double beBot, final double h0,
+                      final double[] amplitudes) {
+        this.nmF2       = nmF2;
+        this.hmF2       = hmF2;
+        this.hmF1       = hmF1;
+        this.hmE        = hmE;
+        this.b2Bot      = b2Bot;
+        this.b1Top      = b1Top;
+        this.b1Bot      = b1Bot;
+        this.beTop      = beTop;
+        this.beBot      = beBot;
+        this.h0         = h0;
+        this.amplitudes = amplitudes.clone();
+    }
+
     /**
      * Get the F2 layer maximum density.
      * @return nmF2
@@ -285,7 +317,8 @@ class NeQuickParameters {
         int l = lF - 2;
         if (l < 0) {
             l += 36;
-        } else if (l > 33) {
+        }
+        if (l > 33) {
             l -= 36;
         }
 
@@ -0,0 +1,172 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.ionosphere;
+
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.time.DateTimeComponents;
+
+/**
+ * Latitude/longitude grid of NeQuick profile parameters for one epoch.
+ * <p>
+ * The parameters at grid nodes are computed lazily, the first time a cell
+ * containing an integration point is used. Parameters at arbitrary points
+ * are bilinearly interpolated from the four surrounding nodes.
+ * </p>
+ * @since 11.0
+ */
+class NeQuickParametersGrid {
+
+    /** Number of interpolated parameters (10 scalars and 3 amplitudes). */
+    private static final int NB_PARAMETERS = 13;
+
+    /** Latitude limit for nodes (avoids singularities in MODIP computation at poles). */
+    private static final double LATITUDE_LIMIT = FastMath.toRadians(89.999);
+
+    /** Epoch of the grid. */
+    private final DateTimeComponents dateTime;
+
+    /** F2 coefficients used by the F2 layer. */
+    private final double[][][] f2;
+
+    /** Fm3 coefficients used by the F2 layer. */
+    private final double[][][] fm3;
+
+    /** Effective ionisation level coefficients. */
+    private final double[] alpha;
+
+    /** MODIP grid. */
+    private final double[][] stModip;
+
+    /** Number of latitude nodes. */
+    private final int nbLat;
+
+    /** Number of longitude nodes. */
+    private final int nbLon;
+
+    /** Latitude step. */
+    private final double latStep;
+
+    /** Longitude step. */
+    private final double lonStep;
+
+    /** Parameters at nodes (null for nodes not computed yet). */
+    private final double[][] nodes;
+
+    /**
+     * Build a new instance.
+     * @param dateTime epoch of the grid
+     * @param f2 F2 coefficients used by the F2 layer
+     * @param fm3 Fm3 coefficients used by the F2 layer
+     * @param alpha effective ionisation level coefficients
+     * @param stModip modip grid
+     * @param angularStep maximum angular step between nodes (rad)
+     */
+    NeQuickParametersGrid(final DateTimeComponents dateTime,
+                          final double[][][] f2, final double[][][] fm3,
+                          final double[] alpha, final double[][] stModip,
+                          final double angularStep) {
+        this.dateTime = dateTime;
+        this.f2       = f2;
+        this.fm3      = fm3;
+        this.alpha    = alpha;
+        this.stModip  = stModip;
+        this.nbLat    = (int) FastMath.ceil(FastMath.PI / angularStep) + 1;
+        this.nbLon    = (int) FastMath.ceil(MathUtils.TWO_PI / angularStep);
+        this.latStep  = FastMath.PI / (nbLat - 1);
+        this.lonStep  = MathUtils.TWO_PI / nbLon;
+        this.nodes    = new double[nbLat * nbLon][];
+    }
+
+    /**
+     * Get the epoch of the grid.
+     * @return epoch of the grid
+     */
+    public DateTimeComponents getDateTime() {
+        return dateTime;
+    }
+
+    /**
+     * Get interpolated parameters.
+     * @param latitude latitude of the point, in radians
+     * @param longitude longitude of the point, in radians
+     * @return interpolated parameters
+     */
+    public NeQuickParameters getParameters(final double latitude, final double longitude) {
+
+        // latitude cell
+        final double a = (latitude + (0.5 * FastMath.PI)) / latStep;
+        final int    i = FastMath.max(0, FastMath.min(nbLat - 2, (int) FastMath.floor(a)));
+        final double u = a - i;
+
+        // longitude cell, with wrapping
+        final double b  = (MathUtils.normalizeAngle(longitude, 0.0) + FastMath.PI) / lonStep;
+        final int    j0 = FastMath.max(0, FastMath.min(nbLon - 1, (int) FastMath.floor(b)));
+        final int    j1 = (j0 + 1) % nbLon;
+        final double v  = b - j0;
+
+        final double[] p00 = getNode(i,     j0);
+        final double[] p01 = getNode(i,     j1);
+        final double[] p10 = getNode(i + 1, j0);
+        final double[] p11 = getNode(i + 1, j1);
+
+        // bilinear interpolation
+        final double w00 = (1 - u) * (1 - v);
+        final double w01 = (1 - u) * v;
+        final double w10 = u * (1 - v);
+        final double w11 = u * v;
+        final double[] p = new double[NB_PARAMETERS];
+        for (int k = 0; k < NB_PARAMETERS; ++k) {
+            p[k] = w00 * p00[k] + w01 * p01[k] + w10 * p10[k] + w11 * p11[k];
+        }
+
+        return new NeQuickParameters(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7], p[8], p[9],
+                                     new double[] {
+                                         p[10], p[11], p[12]
+                                     });
+
+    }
+
+    /**
+     * Get the parameters at one node, computing them if needed.
+     * @param i latitude index
+     * @param j longitude index
+     * @return parameters at node
+     */
+    private double[] getNode(final int i, final int j) {
+        final int index = i * nbLon + j;
+        double[] node = nodes[index];
+        if (node == null) {
+            final double latitude  = FastMath.max(-LATITUDE_LIMIT,
+                                                  FastMath.min(LATITUDE_LIMIT, i * latStep - (0.5 * FastMath.PI)));
+            final double longitude = j * lonStep - FastMath.PI;
+            final NeQuickParameters parameters = new NeQuickParameters(dateTime, f2, fm3,
+                                                                       latitude, longitude,
+                                                                       alpha, stModip);
+            final double[] amplitudes = parameters.getLayerAmplitudes();
+            node = new double[] {
+                parameters.getNmF2(), parameters.getHmF2(), parameters.getHmF1(), parameters.getHmE(),
+                parameters.getB2Bot(), parameters.getB1Top(), parameters.getB1Bot(),
+                parameters.getBETop(), parameters.getBEBot(), parameters.getH0(),
+                amplitudes[0], amplitudes[1], amplitudes[2]
+            };
+            nodes[index] = node;
+        }
+        return node;
+    }
+
+}
@@ -20,11 +20,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.geometry.partitioning.BSPTree;
@@ -60,6 +63,14 @@ import org.orekit.errors.OrekitInternalError;
  * that the tesselation will always be distorted, and distortion increases as
  * the size of the zone to be tessellated increases.
  * </p>
+ * <p>
+ * The most computation intensive part of tessellation is checking which candidate
+ * tiles really cover the zone of interest. These checks can be performed concurrently
+ * by {@link #setPool(ForkJoinPool) setting a fork/join pool}. The tiles generated
+ * are the same and in the same order as in sequential mode. Zones that change slightly
+ * can be {@link #retessellate(SphericalPolygonsSet, List, double, double, double, double,
+ * boolean, boolean) retessellated} incrementally.
+ * </p>
  * @author Luc Maisonobe
  * @since 7.1
  */
@@ -74,6 +85,9 @@ public class EllipsoidTessellator {
     /** Underlying ellipsoid. */
     private final OneAxisEllipsoid ellipsoid;
 
+    /** Pool used for concurrent tiles checks (null for sequential checks). */
+    private ForkJoinPool pool;
+
     /** Simple constructor.
      * <p>
      * The {@code quantization} parameter is used internally to adjust points positioning.
@@ -103,6 +117,29 @@ public class EllipsoidTessellator {
         this.ellipsoid    = ellipsoid;
         this.aiming       = aiming;
         this.quantization = quantization;
+        this.pool         = null;
+    }
+
+    /** Set the pool used for checking candidate tiles concurrently.
+     * <p>
+     * When a pool is set, the {@link #toGeodetic(S2Point)} method may be called
+     * from the pool threads, so it must be thread-safe if it is overridden.
+     * </p>
+     * @param pool pool to use (null for sequential checks)
+     * @see #getPool()
+     * @since 11.0
+     */
+    public void setPool(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /** Get the pool used for checking candidate tiles concurrently.
+     * @return pool used (null for sequential checks)
+     * @see #setPool(ForkJoinPool)
+     * @since 11.0
+     */
+    public ForkJoinPool getPool() {
+        return pool;
     }
 
     /** Tessellate a zone of interest into tiles.
@@ -150,7 +187,7 @@ public class EllipsoidTessellator {
      * same {@code fullLength} and they will be balanced around zone of interest
      * @return a list of lists of tiles covering the zone of interest,
      * each sub-list corresponding to a part not connected to the other
-     * parts (for example for islands)
+     * parts (for example for islands), in the order the parts were meshed
      */
     public List<List<Tile>> tessellate(final SphericalPolygonsSet zone,
                                        final double fullWidth, final double fullLength,
@@ -159,7 +196,7 @@ public class EllipsoidTessellator {
 
         final double                  splitWidth  = (fullWidth  - widthOverlap)  / quantization;
         final double                  splitLength = (fullLength - lengthOverlap) / quantization;
-        final Map<Mesh, List<Tile>>   map         = new IdentityHashMap<Mesh, List<Tile>>();
+        final Map<Mesh, List<Tile>>   map         = new LinkedHashMap<Mesh, List<Tile>>();
         final RegionFactory<Sphere2D> factory     = new RegionFactory<Sphere2D>();
         SphericalPolygonsSet          remaining   = (SphericalPolygonsSet) zone.copySelf();
         S2Point                       inside      = getInsidePoint(remaining);
@@ -215,6 +252,142 @@ public class EllipsoidTessellator {
 
     }
 
+    /** Update the tessellation of a zone of interest that changed slightly.
+     * <p>
+     * Tiles from the previous tessellation that still cover part of the new zone
+     * are kept unchanged, tiles that do not cover it anymore are dropped, and only
+     * the part of the new zone that is not covered by the kept tiles is tessellated.
+     * When the zone changes slightly, this is much faster than a complete tessellation
+     * and unaffected tiles are preserved. As the new tiles are not aligned with the
+     * kept ones, they may however overlap them near the junction.
+     * </p>
+     * <p>
+     * The tiles parameters should be the ones used for the previous tessellation.
+     * If there are gaps between tiles (i.e. negative overlaps), the kept tiles are
+     * extended by the gap size when computing the uncovered part of the zone, so
+     * the gaps are not tessellated again (the extension is larger than strictly
+     * needed in order to avoid leaving slivers due to the tiles approximate shape).
+     * </p>
+     * @param zone new zone of interest to tessellate
+     * @param previous previous tessellation
+     * @param fullWidth full tiles width as a distance on surface, including overlap (in meters)
+     * @param fullLength full tiles length as a distance on surface, including overlap (in meters)
+     * @param widthOverlap overlap between adjacent tiles (in meters), if negative the tiles
+     * will have a gap between each other instead of an overlap
+     * @param lengthOverlap overlap between adjacent tiles (in meters), if negative the tiles
+     * will have a gap between each other instead of an overlap
+     * @param truncateLastWidth if true, the first tiles strip will be started as close as
+     * possible to the zone of interest, and the last tiles strip will have its width reduced
+     * to also remain close to the zone of interest; if false all tiles strip will have the
+     * same {@code fullWidth} and they will be balanced around zone of interest
+     * @param truncateLastLength if true, the first tile in each strip will be started as close as
+     * possible to the zone of interest, and the last tile in each strip will have its length reduced
+     * to also remain close to the zone of interest; if false all tiles in each strip will have the
+     * same {@code fullLength} and they will be balanced around zone of interest
+     * @return a list of lists of tiles covering the zone of interest, the lists of kept
+     * tiles coming first in the same order as in the previous tessellation (lists that became
+     * empty are removed), followed by the lists of new tiles
+     * @see #tessellate(SphericalPolygonsSet, double, double, double, double, boolean, boolean)
+     * @since 11.0
+     */
+    public List<List<Tile>> retessellate(final SphericalPolygonsSet zone, final List<List<Tile>> previous,
+                                         final double fullWidth, final double fullLength,
+                                         final double widthOverlap, final double lengthOverlap,
+                                         final boolean truncateLastWidth, final boolean truncateLastLength) {
+
+        // flatten the previous tiles
+        final List<Tile> flat = new ArrayList<Tile>();
+        for (final List<Tile> list : previous) {
+            flat.addAll(list);
+        }
+
+        // check which tiles still cover part of the zone
+        final SphericalPolygonsSet[] footprints = new SphericalPolygonsSet[flat.size()];
+        if (pool == null) {
+            for (int i = 0; i < footprints.length; ++i) {
+                footprints[i] = keptFootprint(flat.get(i), zone, widthOverlap, lengthOverlap);
+            }
+        } else {
+            pool.submit(() -> IntStream.range(0, footprints.length).parallel().forEach(i -> {
+                footprints[i] = keptFootprint(flat.get(i), zone, widthOverlap, lengthOverlap);
+            })).join();
+        }
+
+        // gather the kept tiles and remove their footprints from the zone
+        final RegionFactory<Sphere2D> factory    = new RegionFactory<Sphere2D>();
+        final List<List<Tile>>        tilesLists = new ArrayList<List<Tile>>();
+        SphericalPolygonsSet          remaining  = (SphericalPolygonsSet) zone.copySelf();
+        int index = 0;
+        for (final List<Tile> list : previous) {
+            final List<Tile> kept = new ArrayList<Tile>(list.size());
+            for (int i = 0; i < list.size(); ++i) {
+                final SphericalPolygonsSet footprint = footprints[index++];
+                if (footprint != null) {
+                    kept.add(list.get(i));
+                    remaining = (SphericalPolygonsSet) factory.difference(remaining, footprint);
+                }
+            }
+            if (!kept.isEmpty()) {
+                tilesLists.add(kept);
+            }
+        }
+
+        // tessellate the part of the zone that is not covered anymore
+        tilesLists.addAll(tessellate(remaining, fullWidth, fullLength, widthOverlap, lengthOverlap,
+                                     truncateLastWidth, truncateLastLength));
+
+        return tilesLists;
+
+    }
+
+    /** Get the footprint of a previous tile if it still covers part of a zone.
+     * @param tile previous tile
+     * @param zone zone of interest (it is not modified, a private copy is used for set operations)
+     * @param widthOverlap overlap between adjacent tiles
+     * @param lengthOverlap overlap between adjacent tiles
+     * @return footprint of the tile, extended by the gaps between tiles,
+     * or null if the tile does not cover any part of the zone
+     */
+    private SphericalPolygonsSet keptFootprint(final Tile tile, final SphericalPolygonsSet zone,
+                                               final double widthOverlap, final double lengthOverlap) {
+
+        final GeodeticPoint[] vertices = tile.getVertices();
+        final SphericalPolygonsSet quadrilateral =
+                new SphericalPolygonsSet(zone.getTolerance(),
+                                         toS2Point(vertices[0]), toS2Point(vertices[1]),
+                                         toS2Point(vertices[2]), toS2Point(vertices[3]));
+        if (new RegionFactory<Sphere2D>().intersection(zone.copySelf(), quadrilateral.copySelf()).isEmpty()) {
+            // the tile does not cover the zone anymore
+            return null;
+        }
+
+        if (widthOverlap >= 0 && lengthOverlap >= 0) {
+            // tiles are adjacent, the footprint is the tile itself
+            return quadrilateral;
+        }
+
+        // extend the tile by the gaps, using its interpolation parameters
+        final double radius = ellipsoid.getEquatorialRadius();
+        final double length = radius * Vector3D.angle(vertices[0].getZenith(), vertices[1].getZenith());
+        final double width  = radius * Vector3D.angle(vertices[1].getZenith(), vertices[2].getZenith());
+        final double du     = lengthOverlap < 0 ? -lengthOverlap / length : 0.0;
+        final double dv     = widthOverlap  < 0 ? -widthOverlap  / width  : 0.0;
+        return new SphericalPolygonsSet(zone.getTolerance(),
+                                        toS2Point(tile.getInterpolatedPoint(-du,     -dv)),
+                                        toS2Point(tile.getInterpolatedPoint(1 + du,  -dv)),
+                                        toS2Point(tile.getInterpolatedPoint(1 + du,  1 + dv)),
+                                        toS2Point(tile.getInterpolatedPoint(-du,     1 + dv)));
+
+    }
+
+    /** Convert a geodetic point to a point on the unit 2-sphere.
+     * @param point geodetic point
+     * @return point on the unit 2-sphere
+     */
+    private S2Point toS2Point(final GeodeticPoint point) {
+        return new S2Point(point.getLongitude(), 0.5 * FastMath.PI - point.getLatitude());
+    }
+
     /** Sample a zone of interest into a grid sample of {@link GeodeticPoint geodetic points}.
      * <p>
      * The created points will be entirely within the zone of interest.
@@ -370,8 +543,9 @@ public class EllipsoidTessellator {
                                     final double lengthOverlap, final double widthOverlap,
                                     final boolean truncateLastWidth, final boolean truncateLastLength) {
 
-        final List<Tile>      tiles = new ArrayList<Tile>();
-        final List<RangePair> rangePairs = new ArrayList<RangePair>();
+        // first pass: identify candidate tiles, creating the mesh nodes at their vertices
+        // this pass is sequential as it modifies the mesh
+        final List<Candidate> candidates = new ArrayList<Candidate>();
 
         final int minAcross = mesh.getMinAcrossIndex();
         final int maxAcross = mesh.getMaxAcrossIndex();
@@ -385,35 +559,34 @@ public class EllipsoidTessellator {
             }
 
             for (Range alongPair : nodesIndices(minAlong, maxAlong, truncateLastLength)) {
+                candidates.add(new Candidate(new RangePair(acrossPair, alongPair),
+                                             mesh.addNode(alongPair.lower, acrossPair.lower),
+                                             mesh.addNode(alongPair.upper, acrossPair.lower),
+                                             mesh.addNode(alongPair.upper, acrossPair.upper),
+                                             mesh.addNode(alongPair.lower, acrossPair.upper)));
+            }
+        }
 
-                // get the base vertex nodes
-                final Mesh.Node node0 = mesh.addNode(alongPair.lower, acrossPair.lower);
-                final Mesh.Node node1 = mesh.addNode(alongPair.upper, acrossPair.lower);
-                final Mesh.Node node2 = mesh.addNode(alongPair.upper, acrossPair.upper);
-                final Mesh.Node node3 = mesh.addNode(alongPair.lower, acrossPair.upper);
-
-                // apply tile overlap
-                final S2Point s2p0 = node0.move(new Vector3D(-0.5 * lengthOverlap, node0.getAlong(),
-                                                             -0.5 * widthOverlap,  node0.getAcross()));
-                final S2Point s2p1 = node1.move(new Vector3D(+0.5 * lengthOverlap, node1.getAlong(),
-                                                             -0.5 * widthOverlap,  node1.getAcross()));
-                final S2Point s2p2 = node2.move(new Vector3D(+0.5 * lengthOverlap, node2.getAlong(),
-                                                             +0.5 * widthOverlap,  node2.getAcross()));
-                final S2Point s2p3 = node3.move(new Vector3D(-0.5 * lengthOverlap, node2.getAlong(),
-                                                             +0.5 * widthOverlap,  node2.getAcross()));
-
-                // create a quadrilateral region corresponding to the candidate tile
-                final SphericalPolygonsSet quadrilateral =
-                        new SphericalPolygonsSet(zone.getTolerance(), s2p0, s2p1, s2p2, s2p3);
-
-                if (!new RegionFactory<Sphere2D>().intersection(zone.copySelf(), quadrilateral).isEmpty()) {
-
-                    // the tile does cover part of the zone, it contributes to the tessellation
-                    tiles.add(new Tile(toGeodetic(s2p0), toGeodetic(s2p1), toGeodetic(s2p2), toGeodetic(s2p3)));
-                    rangePairs.add(new RangePair(acrossPair, alongPair));
-
-                }
+        // second pass: check which candidate tiles cover part of the zone
+        // this pass only reads the mesh, so it can be performed concurrently
+        final Tile[] candidateTiles = new Tile[candidates.size()];
+        if (pool == null) {
+            for (int i = 0; i < candidateTiles.length; ++i) {
+                candidateTiles[i] = buildTile(candidates.get(i), zone, lengthOverlap, widthOverlap);
+            }
+        } else {
+            pool.submit(() -> IntStream.range(0, candidateTiles.length).parallel().forEach(i -> {
+                candidateTiles[i] = buildTile(candidates.get(i), zone, lengthOverlap, widthOverlap);
+            })).join();
+        }
 
+        // third pass: gather the tiles in the same order as the candidates
+        final List<Tile>      tiles      = new ArrayList<Tile>();
+        final List<RangePair> rangePairs = new ArrayList<RangePair>();
+        for (int i = 0; i < candidateTiles.length; ++i) {
+            if (candidateTiles[i] != null) {
+                tiles.add(candidateTiles[i]);
+                rangePairs.add(candidates.get(i).rangePair);
             }
         }
 
@@ -436,6 +609,47 @@ public class EllipsoidTessellator {
 
     }
 
+    /** Build the tile corresponding to a candidate.
+     * @param candidate candidate tile, with its vertices nodes
+     * @param zone zone of interest (it is not modified, a private copy is used for set operations)
+     * @param lengthOverlap overlap between adjacent tiles
+     * @param widthOverlap overlap between adjacent tiles
+     * @return tile, or null if the candidate does not cover any part of the zone
+     */
+    private Tile buildTile(final Candidate candidate, final SphericalPolygonsSet zone,
+                           final double lengthOverlap, final double widthOverlap) {
+
+        final Mesh.Node node0 = candidate.node0;
+        final Mesh.Node node1 = candidate.node1;
+        final Mesh.Node node2 = candidate.node2;
+        final Mesh.Node node3 = candidate.node3;
+
+        // apply tile overlap
+        final S2Point s2p0 = node0.move(new Vector3D(-0.5 * lengthOverlap, node0.getAlong(),
+                                                     -0.5 * widthOverlap,  node0.getAcross()));
+        final S2Point s2p1 = node1.move(new Vector3D(+0.5 * lengthOverlap, node1.getAlong(),
+                                                     -0.5 * widthOverlap,  node1.getAcross()));
+        final S2Point s2p2 = node2.move(new Vector3D(+0.5 * lengthOverlap, node2.getAlong(),
+                                                     +0.5 * widthOverlap,  node2.getAcross()));
+        final S2Point s2p3 = node3.move(new Vector3D(-0.5 * lengthOverlap, node2.getAlong(),
+                                                     +0.5 * widthOverlap,  node2.getAcross()));
+
+        // create a quadrilateral region corresponding to the candidate tile
+        final SphericalPolygonsSet quadrilateral =
+                new SphericalPolygonsSet(zone.getTolerance(), s2p0, s2p1, s2p2, s2p3);
+
+        // set operations modify their arguments, so the zone is copied here,
+        // within the (possibly concurrent) check, copying only reads the shared zone
+        if (new RegionFactory<Sphere2D>().intersection(zone.copySelf(), quadrilateral).isEmpty()) {
+            // the tile does not cover any part of the zone
+            return null;
+        }
+
+        // the tile does cover part of the zone, it contributes to the tessellation
+        return new Tile(toGeodetic(s2p0), toGeodetic(s2p1), toGeodetic(s2p2), toGeodetic(s2p3));
+
+    }
+
     /** Extract a sample of points from a mesh.
      * @param mesh mesh from which grid should be extracted
      * @param zone zone covered by the mesh
@@ -863,4 +1077,41 @@ public class EllipsoidTessellator {
 
     }
 
+    /** Local class for a candidate tile. */
+    private static class Candidate {
+
+        /** Ranges of indices of the tile. */
+        private final RangePair rangePair;
+
+        /** Node at lower along and lower across indices. */
+        private final Mesh.Node node0;
+
+        /** Node at upper along and lower across indices. */
+        private final Mesh.Node node1;
+
+        /** Node at upper along and upper across indices. */
+        private final Mesh.Node node2;
+
+        /** Node at lower along and upper across indices. */
+        private final Mesh.Node node3;
+
+        /** Simple constructor.
+         * @param rangePair ranges of indices of the tile
+         * @param node0 node at lower along and lower across indices
+         * @param node1 node at upper along and lower across indices
+         * @param node2 node at upper along and upper across indices
+         * @param node3 node at lower along and upper across indices
+         */
+        Candidate(final RangePair rangePair,
+                  final Mesh.Node node0, final Mesh.Node node1,
+                  final Mesh.Node node2, final Mesh.Node node3) {
+            this.rangePair = rangePair;
+            this.node0     = node0;
+            this.node1     = node1;
+            this.node2     = node2;
+            this.node3     = node3;
+        }
+
+    }
+
 }
@@ -0,0 +1,177 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.troposphere;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.analysis.differentiation.Gradient;
+import org.orekit.bodies.FieldGeodeticPoint;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+
+/** Memoizing wrapper for tropospheric mapping functions.
+ * <p>
+ * This wrapper caches the hydrostatic and wet mapping factors computed by an
+ * underlying mapping function per station and time bucket, on a regular elevation
+ * grid evaluated at the middle of the time bucket, and interpolates in elevation.
+ * Site-dependent and date-dependent terms of the underlying function (for example
+ * spherical harmonics expansions in {@link GlobalMappingFunctionModel} or
+ * {@link ViennaThreeModel}) are therefore computed only once per grid node.
+ * </p>
+ * <p>
+ * Elevations lower than two elevation steps are not cached and are delegated
+ * to the underlying function.
+ * </p>
+ * <p>
+ * The field-based method is also cached when called with {@link Gradient} elements,
+ * provided the station location and the date do not carry derivatives. In this case,
+ * the derivatives of the mapping factors are rebuilt by chaining the derivative of
+ * the interpolation with respect to elevation with the derivatives of elevation.
+ * Other field elements are delegated to the underlying function.
+ * </p>
+ * <p>
+ * This class is thread-safe if the underlying function is thread-safe.
+ * </p>
+ * @see CachedTroposphericModel
+ * @since 11.0
+ */
+public class CachedMappingFunction implements MappingFunction {
+
+    /** Empty parameters array. */
+    private static final double[] NO_PARAMETERS = new double[0];
+
+    /** Underlying mapping function. */
+    private final MappingFunction function;
+
+    /** Cache for mapping factors. */
+    private final ElevationCache cache;
+
+    /** Simple constructor.
+     * @param function underlying mapping function
+     * @param elevationStep maximum elevation step between grid nodes (rad)
+     * @param timeBucket duration of time buckets (s)
+     * @param maxEntries maximum number of (station, time bucket) entries kept
+     */
+    public CachedMappingFunction(final MappingFunction function,
+                                 final double elevationStep, final double timeBucket,
+                                 final int maxEntries) {
+        this.function = function;
+        this.cache    = new ElevationCache(elevationStep, timeBucket, maxEntries, 2);
+    }
+
+    /** Get the underlying mapping function.
+     * @return underlying mapping function
+     */
+    public MappingFunction getFunction() {
+        return function;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] mappingFactors(final double elevation, final GeodeticPoint point,
+                                   final AbsoluteDate date) {
+        return cache.value(elevation, point, NO_PARAMETERS, date,
+            (e, p, params, d) -> function.mappingFactors(e, p, d));
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends RealFieldElement<T>> T[] mappingFactors(final T elevation, final FieldGeodeticPoint<T> point,
+                                                              final FieldAbsoluteDate<T> date) {
+        if (elevation instanceof Gradient) {
+            return (T[]) mappingFactors((Gradient) elevation, (FieldGeodeticPoint<Gradient>) point,
+                                        (FieldAbsoluteDate<Gradient>) date);
+        }
+        return function.mappingFactors(elevation, point, date);
+    }
+
+    /** This method allows the computation of the hydrostatic and
+     * wet mapping functions and their derivatives.
+     * @param elevation the elevation of the satellite, in radians
+     * @param point station location
+     * @param date current date
+     * @return a two components array containing the hydrostatic and wet mapping functions
+     */
+    private Gradient[] mappingFactors(final Gradient elevation, final FieldGeodeticPoint<Gradient> point,
+                                      final FieldAbsoluteDate<Gradient> date) {
+
+        if (!ElevationCache.isConstant(point, date)) {
+            // derivatives with respect to location or date cannot be cached
+            return function.mappingFactors(elevation, point, date);
+        }
+
+        final GeodeticPoint gp = new GeodeticPoint(point.getLatitude().getValue(),
+                                                   point.getLongitude().getValue(),
+                                                   point.getAltitude().getValue());
+        final double[][] interpolated = cache.valueAndDerivative(elevation.getValue(), gp, NO_PARAMETERS,
+                                                                 date.toAbsoluteDate(),
+                                                                 (e, p, params, d) -> function.mappingFactors(e, p, d));
+        if (interpolated == null) {
+            // out of cached range
+            return function.mappingFactors(elevation, point, date);
+        }
+
+        // chain the derivatives with respect to elevation
+        final Gradient[] factors = new Gradient[interpolated[0].length];
+        for (int i = 0; i < factors.length; ++i) {
+            final double[] gradient = elevation.getGradient();
+            for (int j = 0; j < gradient.length; ++j) {
+                gradient[j] *= interpolated[1][i];
+            }
+            factors[i] = new Gradient(interpolated[0][i], gradient);
+        }
+
+        return factors;
+
+    }
+
+    /** Get the number of cache hits.
+     * @return number of cache hits
+     */
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    /** Get the number of cache misses.
+     * <p>
+     * Misses include the evaluations that triggered computation of at least
+     * one grid node and the evaluations at low elevation, which are not cached.
+     * </p>
+     * @return number of cache misses
+     */
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    /** Get the cache hit rate.
+     * @return ratio of cache hits with respect to total number of evaluations
+     * (0 if no evaluations have been performed)
+     */
+    public double getHitRate() {
+        final long hits  = cache.getHits();
+        final long total = hits + cache.getMisses();
+        return total == 0 ? 0.0 : ((double) hits) / total;
+    }
+
+    /** Clear the cache and reset statistics.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+}
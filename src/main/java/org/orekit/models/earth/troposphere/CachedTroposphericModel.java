@@ -0,0 +1,234 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.troposphere;
+
+import java.util.List;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.analysis.differentiation.Gradient;
+import org.hipparchus.analysis.differentiation.GradientField;
+import org.orekit.bodies.FieldGeodeticPoint;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.utils.ParameterDriver;
+
+/** Memoizing wrapper for tropospheric models.
+ * <p>
+ * Many measurements share the same station and almost the same date, with
+ * slowly changing elevation. This wrapper caches the path delays computed by
+ * an underlying model per station, parameters values and time bucket, on a
+ * regular elevation grid evaluated at the middle of the time bucket, and
+ * interpolates in elevation. Site-dependent and date-dependent terms of the
+ * underlying model are therefore computed only once per grid node.
+ * </p>
+ * <p>
+ * The accuracy depends on the elevation step and on the duration of time
+ * buckets, which must be small with respect to the time scales of the model
+ * (meteorological data or coefficients grids are typically given every few
+ * hours). Elevations lower than two elevation steps are not cached and are
+ * delegated to the underlying model.
+ * </p>
+ * <p>
+ * The field-based method is also cached when called with {@link Gradient} elements,
+ * as done by measurements modifiers, provided the station location and the date do
+ * not carry derivatives. In this case, the derivatives of the path delay with respect
+ * to the model parameters are stored alongside its value at each grid node, and the
+ * derivatives of the result are rebuilt by chaining the derivative of the interpolation
+ * with respect to elevation with the derivatives of elevation. Other field elements
+ * are delegated to the underlying model.
+ * </p>
+ * <p>
+ * This class is thread-safe if the underlying model is thread-safe.
+ * </p>
+ * @see CachedMappingFunction
+ * @since 11.0
+ */
+public class CachedTroposphericModel implements DiscreteTroposphericModel {
+
+    /** Underlying model. */
+    private final DiscreteTroposphericModel model;
+
+    /** Cache for path delays. */
+    private final ElevationCache cache;
+
+    /** Cache for path delays and their derivatives with respect to parameters. */
+    private final ElevationCache gradientCache;
+
+    /** Simple constructor.
+     * @param model underlying model
+     * @param elevationStep maximum elevation step between grid nodes (rad)
+     * @param timeBucket duration of time buckets (s)
+     * @param maxEntries maximum number of (station, time bucket) entries kept
+     */
+    public CachedTroposphericModel(final DiscreteTroposphericModel model,
+                                   final double elevationStep, final double timeBucket,
+                                   final int maxEntries) {
+        this.model         = model;
+        this.cache         = new ElevationCache(elevationStep, timeBucket, maxEntries, 1);
+        this.gradientCache = new ElevationCache(elevationStep, timeBucket, maxEntries,
+                                                1 + model.getParametersDrivers().size());
+    }
+
+    /** Get the underlying model.
+     * @return underlying model
+     */
+    public DiscreteTroposphericModel getModel() {
+        return model;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double pathDelay(final double elevation, final GeodeticPoint point,
+                            final double[] parameters, final AbsoluteDate date) {
+        return cache.value(elevation, point, parameters, date,
+            (e, p, params, d) -> new double[] {
+                model.pathDelay(e, p, params, d)
+            })[0];
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends RealFieldElement<T>> T pathDelay(final T elevation, final FieldGeodeticPoint<T> point,
+                                                       final T[] parameters, final FieldAbsoluteDate<T> date) {
+        if (elevation instanceof Gradient) {
+            final Gradient[] gParameters = new Gradient[parameters.length];
+            for (int i = 0; i < parameters.length; ++i) {
+                gParameters[i] = (Gradient) parameters[i];
+            }
+            return (T) pathDelay((Gradient) elevation, (FieldGeodeticPoint<Gradient>) point,
+                                 gParameters, (FieldAbsoluteDate<Gradient>) date);
+        }
+        return model.pathDelay(elevation, point, parameters, date);
+    }
+
+    /** Calculates the tropospheric path delay and its derivatives for the signal path.
+     * @param elevation the elevation of the satellite, in radians
+     * @param point station location
+     * @param parameters tropospheric model parameters
+     * @param date current date
+     * @return the path delay due to the troposphere in m
+     */
+    private Gradient pathDelay(final Gradient elevation, final FieldGeodeticPoint<Gradient> point,
+                               final Gradient[] parameters, final FieldAbsoluteDate<Gradient> date) {
+
+        if (!ElevationCache.isConstant(point, date)) {
+            // derivatives with respect to location or date cannot be cached
+            return model.pathDelay(elevation, point, parameters, date);
+        }
+
+        // values and derivatives with respect to parameters
+        final double[] values = new double[parameters.length];
+        for (int i = 0; i < parameters.length; ++i) {
+            values[i] = parameters[i].getValue();
+        }
+        final GeodeticPoint gp = new GeodeticPoint(point.getLatitude().getValue(),
+                                                   point.getLongitude().getValue(),
+                                                   point.getAltitude().getValue());
+        final double[][] interpolated = gradientCache.valueAndDerivative(elevation.getValue(), gp, values,
+                                                                         date.toAbsoluteDate(),
+                                                                         this::delayAndDerivatives);
+        if (interpolated == null) {
+            // out of cached range
+            return model.pathDelay(elevation, point, parameters, date);
+        }
+
+        // chain the derivatives with respect to elevation and parameters
+        final double[] gradient = elevation.getGradient();
+        for (int j = 0; j < gradient.length; ++j) {
+            gradient[j] *= interpolated[1][0];
+        }
+        for (int i = 0; i < parameters.length; ++i) {
+            final double[] pGradient = parameters[i].getGradient();
+            for (int j = 0; j < gradient.length; ++j) {
+                gradient[j] += interpolated[0][i + 1] * pGradient[j];
+            }
+        }
+
+        return new Gradient(interpolated[0][0], gradient);
+
+    }
+
+    /** Evaluate the path delay and its derivatives with respect to parameters.
+     * @param elevation the elevation of the satellite, in radians
+     * @param point station location
+     * @param parameters tropospheric model parameters
+     * @param date current date
+     * @return path delay followed by its derivatives with respect to parameters
+     */
+    private double[] delayAndDerivatives(final double elevation, final GeodeticPoint point,
+                                         final double[] parameters, final AbsoluteDate date) {
+        final int           n           = parameters.length;
+        final GradientField field       = GradientField.getField(n);
+        final Gradient[]    gParameters = new Gradient[n];
+        for (int i = 0; i < n; ++i) {
+            gParameters[i] = Gradient.variable(n, i, parameters[i]);
+        }
+        final Gradient delay = model.pathDelay(Gradient.constant(n, elevation),
+                                               new FieldGeodeticPoint<>(Gradient.constant(n, point.getLatitude()),
+                                                                        Gradient.constant(n, point.getLongitude()),
+                                                                        Gradient.constant(n, point.getAltitude())),
+                                               gParameters, new FieldAbsoluteDate<>(field, date));
+        final double[] result = new double[n + 1];
+        result[0] = delay.getValue();
+        System.arraycopy(delay.getGradient(), 0, result, 1, n);
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<ParameterDriver> getParametersDrivers() {
+        return model.getParametersDrivers();
+    }
+
+    /** Get the number of cache hits.
+     * @return number of cache hits
+     */
+    public long getHits() {
+        return cache.getHits() + gradientCache.getHits();
+    }
+
+    /** Get the number of cache misses.
+     * <p>
+     * Misses include the evaluations that triggered computation of at least
+     * one grid node and the evaluations at low elevation, which are not cached.
+     * </p>
+     * @return number of cache misses
+     */
+    public long getMisses() {
+        return cache.getMisses() + gradientCache.getMisses();
+    }
+
+    /** Get the cache hit rate.
+     * @return ratio of cache hits with respect to total number of evaluations
+     * (0 if no evaluations have been performed)
+     */
+    public double getHitRate() {
+        final long hits  = getHits();
+        final long total = hits + getMisses();
+        return total == 0 ? 0.0 : ((double) hits) / total;
+    }
+
+    /** Clear the cache and reset statistics.
+     */
+    public void clearCache() {
+        cache.clear();
+        gradientCache.clear();
+    }
+
+}
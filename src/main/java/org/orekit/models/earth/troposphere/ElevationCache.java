@@ -0,0 +1,424 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.troposphere;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.hipparchus.analysis.differentiation.Gradient;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.bodies.FieldGeodeticPoint;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+
+/** Cache for elevation-dependent tropospheric quantities.
+ * <p>
+ * Entries are indexed by station location, model parameters and time bucket.
+ * Each entry holds values lazily evaluated on a regular elevation grid, at the
+ * middle date of the time bucket. Values at arbitrary elevations are interpolated
+ * using a cubic Lagrange polynomial applied to the values multiplied by the sine
+ * of elevation, which is a smooth function for all usual mapping functions. The
+ * symmetry of the geometry with respect to zenith is used for the nodes beyond
+ * π/2. Elevations lower than two grid steps are not cached. The derivatives
+ * of the interpolated values with respect to elevation are also available,
+ * so callers can rebuild derivatives with respect to upstream variables.
+ * </p>
+ * <p>
+ * This class is thread-safe. The lock is held only to look up entries,
+ * grid nodes are evaluated outside of it and published atomically, so
+ * concurrent threads computing missing nodes do not wait for each other.
+ * If two threads need the same missing node at the same time, both evaluate
+ * it and the first published value is kept.
+ * </p>
+ * @since 11.0
+ */
+class ElevationCache {
+
+    /** Evaluator for the cached quantity. */
+    interface Evaluator {
+
+        /** Evaluate the quantity.
+         * @param elevation the elevation of the satellite, in radians
+         * @param point station location
+         * @param parameters model parameters
+         * @param date current date
+         * @return quantity components
+         */
+        double[] value(double elevation, GeodeticPoint point, double[] parameters, AbsoluteDate date);
+
+    }
+
+    /** Number of nodes between zenith and horizon. */
+    private final int nbNodes;
+
+    /** Elevation step. */
+    private final double elevationStep;
+
+    /** Duration of time buckets. */
+    private final double timeBucket;
+
+    /** Number of components of the cached quantity. */
+    private final int dimension;
+
+    /** Cached entries, in access order. */
+    private final Map<Key, Entry> entries;
+
+    /** Number of cache hits. */
+    private final AtomicLong hits;
+
+    /** Number of cache misses. */
+    private final AtomicLong misses;
+
+    /** Simple constructor.
+     * @param elevationStep maximum elevation step between grid nodes (rad)
+     * @param timeBucket duration of time buckets (s)
+     * @param maxEntries maximum number of (station, time bucket) entries kept
+     * @param dimension number of components of the cached quantity
+     */
+    ElevationCache(final double elevationStep, final double timeBucket,
+                   final int maxEntries, final int dimension) {
+        if (elevationStep <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     elevationStep, 0.0);
+        }
+        if (timeBucket <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     timeBucket, 0.0);
+        }
+        if (maxEntries <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     maxEntries, 0);
+        }
+        this.nbNodes       = (int) FastMath.ceil((0.5 * FastMath.PI) / elevationStep);
+        this.elevationStep = (0.5 * FastMath.PI) / nbNodes;
+        this.timeBucket    = timeBucket;
+        this.dimension     = dimension;
+        this.hits          = new AtomicLong();
+        this.misses        = new AtomicLong();
+        this.entries       = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+
+            /** Serializable UID. */
+            private static final long serialVersionUID = 20210610L;
+
+            /** {@inheritDoc} */
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+
+        };
+    }
+
+    /** Get the value of the cached quantity.
+     * @param elevation the elevation of the satellite, in radians
+     * @param point station location
+     * @param parameters model parameters
+     * @param date current date
+     * @param evaluator evaluator for the quantity
+     * @return quantity components
+     */
+    public double[] value(final double elevation, final GeodeticPoint point,
+                          final double[] parameters, final AbsoluteDate date,
+                          final Evaluator evaluator) {
+        final double[][] interpolated = interpolate(elevation, point, parameters, date, evaluator, false);
+        return interpolated == null ? evaluator.value(elevation, point, parameters, date) : interpolated[0];
+    }
+
+    /** Get the value of the cached quantity and its derivatives with respect to elevation.
+     * @param elevation the elevation of the satellite, in radians
+     * @param point station location
+     * @param parameters model parameters
+     * @param date current date
+     * @param evaluator evaluator for the quantity
+     * @return quantity components (first row) and their derivatives with respect
+     * to elevation (second row), or null if elevation is out of cached range
+     */
+    public double[][] valueAndDerivative(final double elevation, final GeodeticPoint point,
+                                         final double[] parameters, final AbsoluteDate date,
+                                         final Evaluator evaluator) {
+        return interpolate(elevation, point, parameters, date, evaluator, true);
+    }
+
+    /** Interpolate the cached quantity.
+     * @param elevation the elevation of the satellite, in radians
+     * @param point station location
+     * @param parameters model parameters
+     * @param date current date
+     * @param evaluator evaluator for the quantity
+     * @param withDerivative if true, the derivatives with respect to elevation are computed
+     * @return quantity components (first row) and, if requested, their derivatives with
+     * respect to elevation (second row), or null if elevation is out of cached range
+     */
+    private double[][] interpolate(final double elevation, final GeodeticPoint point,
+                                   final double[] parameters, final AbsoluteDate date,
+                                   final Evaluator evaluator, final boolean withDerivative) {
+
+        if (!(elevation >= 2 * elevationStep && elevation <= (0.5 * FastMath.PI))) {
+            // out of cached range, the quantity must be evaluated directly
+            misses.incrementAndGet();
+            return null;
+        }
+
+        // interpolation stencil
+        final int    k = FastMath.min((int) FastMath.floor(elevation / elevationStep), nbNodes - 1);
+        final double t = elevation / elevationStep - k;
+
+        // look up entry, holding the lock only for the access-ordered map
+        final long bucket = (long) FastMath.floor(date.durationFrom(AbsoluteDate.ARBITRARY_EPOCH) / timeBucket);
+        final Key  key    = new Key(point, parameters, bucket);
+        final Entry entry;
+        synchronized (this) {
+            Entry existing = entries.get(key);
+            if (existing == null) {
+                existing = new Entry(point, parameters,
+                                     AbsoluteDate.ARBITRARY_EPOCH.shiftedBy((bucket + 0.5) * timeBucket));
+                entries.put(key, existing);
+            }
+            entry = existing;
+        }
+
+        // get nodes, evaluating the missing ones without holding the lock
+        final boolean  hit = entry.hasNodes(k - 1, k + 2);
+        final double[] g0 = entry.getNode(k - 1, evaluator);
+        final double[] g1 = entry.getNode(k,     evaluator);
+        final double[] g2 = entry.getNode(k + 1, evaluator);
+        final double[] g3 = entry.getNode(k + 2, evaluator);
+        if (hit) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+
+        // cubic Lagrange interpolation on regular grid
+        final double tm1 = t - 1;
+        final double tm2 = t - 2;
+        final double tp1 = t + 1;
+        final double w0  = -t   * tm1 * tm2 / 6;
+        final double w1  =  tp1 * tm1 * tm2 / 2;
+        final double w2  = -tp1 * t   * tm2 / 2;
+        final double w3  =  tp1 * t   * tm1 / 6;
+        final double sin = FastMath.sin(elevation);
+        final double[] value = new double[dimension];
+        for (int i = 0; i < dimension; ++i) {
+            value[i] = (w0 * g0[i] + w1 * g1[i] + w2 * g2[i] + w3 * g3[i]) / sin;
+        }
+        if (!withDerivative) {
+            return new double[][] {
+                value
+            };
+        }
+
+        // derivatives of the interpolated values with respect to elevation
+        final double   t2  = t * t;
+        final double   d0  = -(3 * t2 - 6 * t + 2) / 6;
+        final double   d1  =  (3 * t2 - 4 * t - 1) / 2;
+        final double   d2  = -(3 * t2 - 2 * t - 2) / 2;
+        final double   d3  =  (3 * t2 - 1)         / 6;
+        final double   cos = FastMath.cos(elevation);
+        final double[] derivative = new double[dimension];
+        for (int i = 0; i < dimension; ++i) {
+            final double dPdE = (d0 * g0[i] + d1 * g1[i] + d2 * g2[i] + d3 * g3[i]) / elevationStep;
+            derivative[i] = (dPdE - value[i] * cos) / sin;
+        }
+        return new double[][] {
+            value, derivative
+        };
+
+    }
+
+    /** Check if a station location and a date do not depend on any variable.
+     * @param point station location
+     * @param date current date
+     * @return true if all derivatives of the location and date are zero
+     */
+    static boolean isConstant(final FieldGeodeticPoint<Gradient> point, final FieldAbsoluteDate<Gradient> date) {
+        return isConstant(point.getLatitude()) && isConstant(point.getLongitude()) &&
+               isConstant(point.getAltitude()) && isConstant(date.durationFrom(date.toAbsoluteDate()));
+    }
+
+    /** Check if a gradient has only zero derivatives.
+     * @param gradient gradient to check
+     * @return true if all derivatives are zero
+     */
+    private static boolean isConstant(final Gradient gradient) {
+        for (final double d : gradient.getGradient()) {
+            if (d != 0.0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /** Get the number of cache hits.
+     * @return number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** Get the number of cache misses.
+     * <p>
+     * Misses include the evaluations that triggered computation of
+     * at least one grid node and the evaluations out of cached range.
+     * </p>
+     * @return number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** Clear the cache and reset statistics.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /** Key for cache entries. */
+    private static class Key {
+
+        /** Station latitude. */
+        private final double latitude;
+
+        /** Station longitude. */
+        private final double longitude;
+
+        /** Station altitude. */
+        private final double altitude;
+
+        /** Model parameters. */
+        private final double[] parameters;
+
+        /** Time bucket index. */
+        private final long bucket;
+
+        /** Simple constructor.
+         * @param point station location
+         * @param parameters model parameters
+         * @param bucket time bucket index
+         */
+        Key(final GeodeticPoint point, final double[] parameters, final long bucket) {
+            this.latitude   = point.getLatitude();
+            this.longitude  = point.getLongitude();
+            this.altitude   = point.getAltitude();
+            this.parameters = parameters.clone();
+            this.bucket     = bucket;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object object) {
+            if (object == this) {
+                return true;
+            }
+            if (object instanceof Key) {
+                final Key other = (Key) object;
+                return Double.compare(latitude,  other.latitude)  == 0 &&
+                       Double.compare(longitude, other.longitude) == 0 &&
+                       Double.compare(altitude,  other.altitude)  == 0 &&
+                       bucket == other.bucket &&
+                       Arrays.equals(parameters, other.parameters);
+            }
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return 0x5b1f3d27 ^
+                   (Double.hashCode(latitude) * 31 + Double.hashCode(longitude)) * 31 +
+                   Double.hashCode(altitude) * 17 + Long.hashCode(bucket) * 7 +
+                   Arrays.hashCode(parameters);
+        }
+
+    }
+
+    /** Cache entry for one station and time bucket. */
+    private class Entry {
+
+        /** Station location. */
+        private final GeodeticPoint point;
+
+        /** Model parameters. */
+        private final double[] parameters;
+
+        /** Reference date of the time bucket. */
+        private final AbsoluteDate date;
+
+        /** Node values multiplied by sine of elevation (null for nodes not computed yet). */
+        private final AtomicReferenceArray<double[]> nodes;
+
+        /** Simple constructor.
+         * @param point station location
+         * @param parameters model parameters
+         * @param date reference date of the time bucket
+         */
+        Entry(final GeodeticPoint point, final double[] parameters, final AbsoluteDate date) {
+            this.point      = point;
+            this.parameters = parameters.clone();
+            this.date       = date;
+            this.nodes      = new AtomicReferenceArray<>(nbNodes + 1);
+        }
+
+        /** Check if a range of nodes are all available.
+         * @param first index of the first node (may be beyond zenith)
+         * @param last index of the last node (may be beyond zenith)
+         * @return true if all nodes in the range have already been computed
+         */
+        boolean hasNodes(final int first, final int last) {
+            for (int index = first; index <= last; ++index) {
+                if (nodes.get(index > nbNodes ? 2 * nbNodes - index : index) == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** Get a node value, computing it if needed.
+         * @param index node index (may be beyond zenith)
+         * @param evaluator evaluator for the quantity
+         * @return node value multiplied by sine of elevation
+         */
+        double[] getNode(final int index, final Evaluator evaluator) {
+            // use symmetry with respect to zenith
+            final int i = index > nbNodes ? 2 * nbNodes - index : index;
+            final double[] existing = nodes.get(i);
+            if (existing != null) {
+                return existing;
+            }
+
+            // evaluate the node, then publish it unless another thread was faster
+            final double   e     = i * elevationStep;
+            final double   sin   = FastMath.sin(e);
+            final double[] value = evaluator.value(e, point, parameters, date).clone();
+            for (int j = 0; j < value.length; ++j) {
+                value[j] *= sin;
+            }
+            return nodes.compareAndSet(i, null, value) ? value : nodes.get(i);
+        }
+
+    }
+
+}
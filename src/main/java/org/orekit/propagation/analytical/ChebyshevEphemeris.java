@@ -0,0 +1,316 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.attitudes.AttitudeProvider;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Compact ephemeris based on piecewise Chebyshev polynomials.
+ * <p>
+ * Instances of this class are built by {@link ChebyshevEphemerisCompressor}.
+ * Each segment holds the Chebyshev coefficients of the three position
+ * components, velocity and acceleration are derived from the polynomials
+ * as in JPL ephemerides. Segments are
+ * found in constant time: the ephemeris range is split in cells of equal
+ * duration, and each cell contains only a few segments.
+ * </p>
+ * <p>
+ * Memory use depends only on the number of segments and on the polynomials
+ * degree, it does not depend on the number of states in the original ephemeris.
+ * </p>
+ * @see ChebyshevEphemerisCompressor
+ * @since 11.0
+ */
+public class ChebyshevEphemeris extends AbstractAnalyticalPropagator implements BoundedPropagator {
+
+    /** First date in range. */
+    private final AbsoluteDate minDate;
+
+    /** Last date in range. */
+    private final AbsoluteDate maxDate;
+
+    /** Duration of the range. */
+    private final double span;
+
+    /** Reference frame. */
+    private final Frame frame;
+
+    /** Gravitational parameter. */
+    private final double mu;
+
+    /** Spacecraft mass. */
+    private final double mass;
+
+    /** Number of coefficients for each component. */
+    private final int nbCoeffs;
+
+    /** Duration of the lookup cells. */
+    private final double cellDuration;
+
+    /** Index of the first segment in each lookup cell (with an extra element at the end). */
+    private final int[] firstSegment;
+
+    /** Segments start, as offsets from {@link #minDate}. */
+    private final double[] starts;
+
+    /** Segments durations. */
+    private final double[] durations;
+
+    /** Coefficients, segment by segment, with X, Y and Z coefficients in sequence. */
+    private final double[] coefficients;
+
+    /** Simple constructor.
+     * @param attitudeProvider attitude provider
+     * @param minDate first date in range
+     * @param maxDate last date in range
+     * @param frame reference frame
+     * @param mu gravitational parameter
+     * @param mass spacecraft mass
+     * @param nbCoeffs number of coefficients for each component
+     * @param cellDuration duration of the lookup cells
+     * @param firstSegment index of the first segment in each lookup cell
+     * (with an extra element at the end)
+     * @param starts segments start, as offsets from {@code minDate}
+     * @param durations segments durations
+     * @param coefficients coefficients, segment by segment, with X, Y and Z coefficients in sequence
+     */
+    ChebyshevEphemeris(final AttitudeProvider attitudeProvider,
+                       final AbsoluteDate minDate, final AbsoluteDate maxDate,
+                       final Frame frame, final double mu, final double mass,
+                       final int nbCoeffs, final double cellDuration, final int[] firstSegment,
+                       final double[] starts, final double[] durations, final double[] coefficients) {
+        super(attitudeProvider);
+        this.minDate      = minDate;
+        this.maxDate      = maxDate;
+        this.span         = maxDate.durationFrom(minDate);
+        this.frame        = frame;
+        this.mu           = mu;
+        this.mass         = mass;
+        this.nbCoeffs     = nbCoeffs;
+        this.cellDuration = cellDuration;
+        this.firstSegment = firstSegment;
+        this.starts       = starts;
+        this.durations    = durations;
+        this.coefficients = coefficients;
+        // set the initial state so getFrame() works
+        final Orbit initial = propagateOrbit(minDate);
+        super.resetInitialState(new SpacecraftState(initial,
+                                                    attitudeProvider.getAttitude(initial, minDate, frame),
+                                                    mass));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getMinDate() {
+        return minDate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getMaxDate() {
+        return maxDate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frame getFrame() {
+        return frame;
+    }
+
+    /** Get the number of segments.
+     * @return number of segments
+     */
+    public int getNbSegments() {
+        return starts.length;
+    }
+
+    /** Get the degree of the polynomials.
+     * @return degree of the polynomials
+     */
+    public int getDegree() {
+        return nbCoeffs - 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeStampedPVCoordinates getPVCoordinates(final AbsoluteDate date, final Frame f) {
+        final TimeStampedPVCoordinates pv = evaluate(date);
+        return f == frame ? pv : frame.getTransformTo(f, date).transformPVCoordinates(pv);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Orbit propagateOrbit(final AbsoluteDate date) {
+        return new CartesianOrbit(evaluate(date), frame, mu);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected double getMass(final AbsoluteDate date) {
+        return mass;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SpacecraftState getInitialState() {
+        return basicPropagate(getMinDate());
+    }
+
+    /** Try (and fail) to reset the initial state.
+     * <p>
+     * This method always throws an exception, as ephemerides cannot be reset.
+     * </p>
+     * @param state new initial state to consider
+     */
+    @Override
+    public void resetInitialState(final SpacecraftState state) {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void resetIntermediateState(final SpacecraftState state, final boolean forward) {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+    /** Evaluate the polynomials.
+     * @param date evaluation date
+     * @return position-velocity-acceleration in ephemeris frame
+     */
+    private TimeStampedPVCoordinates evaluate(final AbsoluteDate date) {
+
+        final double dt = date.durationFrom(minDate);
+        if (!(dt >= 0 && dt <= span)) {
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE,
+                                      date, minDate, maxDate);
+        }
+
+        // find segment: first the cell in constant time, then the segment in the cell
+        final int cell = FastMath.min(firstSegment.length - 2, (int) FastMath.floor(dt / cellDuration));
+        int s = firstSegment[cell];
+        while (s + 1 < firstSegment[cell + 1] && starts[s + 1] <= dt) {
+            ++s;
+        }
+
+        final double duration = durations[s];
+        final double[] pva = new double[9];
+        evaluate(coefficients, 3 * nbCoeffs * s, nbCoeffs,
+                 (2 * (dt - starts[s]) - duration) / duration, pva);
+        final double vScale = 2 / duration;
+        final double aScale = vScale * vScale;
+        return new TimeStampedPVCoordinates(date,
+                                            new Vector3D(pva[0], pva[1], pva[2]),
+                                            new Vector3D(pva[3] * vScale, pva[4] * vScale, pva[5] * vScale),
+                                            new Vector3D(pva[6] * aScale, pva[7] * aScale, pva[8] * aScale));
+
+    }
+
+    /** Evaluate Chebyshev polynomials and their derivatives.
+     * @param coefficients coefficients array
+     * @param base index of the first X coefficient of the segment
+     * @param nbCoeffs number of coefficients for each component
+     * @param t normalized date, in [-1; 1]
+     * @param pva placeholder for the 9 components of position, first and second
+     * derivatives with respect to normalized date
+     */
+    static void evaluate(final double[] coefficients, final int base, final int nbCoeffs,
+                         final double t, final double[] pva) {
+
+        final int    yBase = base + nbCoeffs;
+        final int    zBase = yBase + nbCoeffs;
+        final double twoT  = 2 * t;
+
+        // initialize Chebyshev polynomials recursion
+        double pKm1 = 1;
+        double pK   = t;
+        double xP   = coefficients[base];
+        double yP   = coefficients[yBase];
+        double zP   = coefficients[zBase];
+
+        // initialize Chebyshev polynomials derivatives recursion
+        double qKm1 = 0;
+        double qK   = 1;
+        double xV   = 0;
+        double yV   = 0;
+        double zV   = 0;
+
+        // initialize Chebyshev polynomials second derivatives recursion
+        double rKm1 = 0;
+        double rK   = 0;
+        double xA   = 0;
+        double yA   = 0;
+        double zA   = 0;
+
+        // combine polynomials by applying coefficients
+        for (int k = 1; k < nbCoeffs; ++k) {
+
+            final double cx = coefficients[base + k];
+            final double cy = coefficients[yBase + k];
+            final double cz = coefficients[zBase + k];
+
+            xP += cx * pK;
+            yP += cy * pK;
+            zP += cz * pK;
+
+            xV += cx * qK;
+            yV += cy * qK;
+            zV += cz * qK;
+
+            xA += cx * rK;
+            yA += cy * rK;
+            zA += cz * rK;
+
+            // compute next Chebyshev polynomial value
+            final double pKm2 = pKm1;
+            pKm1 = pK;
+            pK   = twoT * pKm1 - pKm2;
+
+            // compute next Chebyshev polynomial derivative
+            final double qKm2 = qKm1;
+            qKm1 = qK;
+            qK   = twoT * qKm1 + 2 * pKm1 - qKm2;
+
+            // compute next Chebyshev polynomial second derivative
+            final double rKm2 = rKm1;
+            rKm1 = rK;
+            rK   = twoT * rKm1 + 4 * qKm1 - rKm2;
+
+        }
+
+        pva[0] = xP;
+        pva[1] = yP;
+        pva[2] = zP;
+        pva[3] = xV;
+        pva[4] = yV;
+        pva[5] = zV;
+        pva[6] = xA;
+        pva[7] = yA;
+        pva[8] = zA;
+
+    }
+
+}
@@ -0,0 +1,342 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.attitudes.AttitudeProvider;
+import org.orekit.attitudes.InertialProvider;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Compressor building {@link ChebyshevEphemeris compact ephemerides} from any bounded propagator.
+ * <p>
+ * The range of the source propagator (which may be for example an {@link Ephemeris}
+ * or an {@link org.orekit.propagation.integration.IntegratedEphemeris IntegratedEphemeris})
+ * is first split into segments of maximum duration. On each segment, the position
+ * is interpolated by Chebyshev polynomials at Chebyshev nodes, and the polynomials
+ * and their derivatives are checked against the source propagator at intermediate
+ * points. Segments that do not meet the position and velocity tolerances are split
+ * in two halves and fitted again.
+ * </p>
+ * <p>
+ * Segments are never split below the minimum duration. If the source propagator
+ * has discontinuities (for example at impulse maneuvers), tolerances may therefore
+ * not be met near the discontinuities.
+ * </p>
+ * <p>
+ * Only position and velocity are compressed. The mass of the compact ephemeris
+ * is frozen to the mass of the source propagator initial state, and additional
+ * states are not preserved. Sources with varying mass (for example with thrust
+ * maneuvers) or with additional states should therefore not be compressed if
+ * these data are needed downstream.
+ * </p>
+ * <p>
+ * The source propagator is always sampled sequentially, as propagators are not
+ * thread-safe, but segments can be fitted and checked in parallel.
+ * </p>
+ * @see ChebyshevEphemeris
+ * @since 11.0
+ */
+public class ChebyshevEphemerisCompressor {
+
+    /** Tolerance on position. */
+    private final double positionTolerance;
+
+    /** Tolerance on velocity. */
+    private final double velocityTolerance;
+
+    /** Number of coefficients for each component. */
+    private final int nbCoeffs;
+
+    /** Maximum segment duration. */
+    private final double maxSegmentDuration;
+
+    /** Minimum segment duration. */
+    private final double minSegmentDuration;
+
+    /** Normalized dates of interpolation nodes, in increasing order. */
+    private final double[] nodes;
+
+    /** Normalized dates of check points, in increasing order. */
+    private final double[] checks;
+
+    /** Matrix transforming values at nodes into Chebyshev coefficients. */
+    private final double[][] fitMatrix;
+
+    /** Simple constructor.
+     * @param positionTolerance tolerance on position (m)
+     * @param velocityTolerance tolerance on velocity (m/s)
+     * @param degree degree of the Chebyshev polynomials
+     * @param maxSegmentDuration maximum segment duration (s)
+     * @param minSegmentDuration minimum segment duration (s)
+     */
+    public ChebyshevEphemerisCompressor(final double positionTolerance, final double velocityTolerance,
+                                        final int degree,
+                                        final double maxSegmentDuration, final double minSegmentDuration) {
+
+        if (positionTolerance <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     positionTolerance, 0);
+        }
+        if (velocityTolerance <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     velocityTolerance, 0);
+        }
+        if (degree < 2) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, degree, 2);
+        }
+        if (minSegmentDuration <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     minSegmentDuration, 0);
+        }
+        if (maxSegmentDuration < minSegmentDuration) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     maxSegmentDuration, minSegmentDuration);
+        }
+
+        this.positionTolerance  = positionTolerance;
+        this.velocityTolerance  = velocityTolerance;
+        this.nbCoeffs           = degree + 1;
+        this.maxSegmentDuration = maxSegmentDuration;
+        this.minSegmentDuration = minSegmentDuration;
+
+        // Chebyshev nodes of the first kind, and extrema of Chebyshev polynomials as check points
+        this.nodes     = new double[nbCoeffs];
+        this.checks    = new double[nbCoeffs + 1];
+        this.fitMatrix = new double[nbCoeffs][nbCoeffs];
+        for (int j = 0; j < nbCoeffs; ++j) {
+            final double theta = FastMath.PI * (nbCoeffs - j - 0.5) / nbCoeffs;
+            nodes[j] = FastMath.cos(theta);
+            for (int k = 0; k < nbCoeffs; ++k) {
+                fitMatrix[k][j] = (k == 0 ? 1.0 : 2.0) * FastMath.cos(k * theta) / nbCoeffs;
+            }
+        }
+        for (int j = 0; j <= nbCoeffs; ++j) {
+            checks[j] = FastMath.cos(FastMath.PI * (nbCoeffs - j) / nbCoeffs);
+        }
+
+    }
+
+    /** Compress an ephemeris.
+     * @param propagator source propagator
+     * @return compact ephemeris
+     */
+    public ChebyshevEphemeris compress(final BoundedPropagator propagator) {
+        return compress(propagator,
+            segments -> segments.stream().map(this::fit).collect(Collectors.toList()));
+    }
+
+    /** Compress an ephemeris, fitting segments in parallel.
+     * @param propagator source propagator
+     * @param pool thread pool in which segments are fitted
+     * @return compact ephemeris
+     */
+    public ChebyshevEphemeris compress(final BoundedPropagator propagator, final ForkJoinPool pool) {
+        return compress(propagator,
+            segments -> pool.submit(() -> segments.parallelStream().map(this::fit).collect(Collectors.toList())).join());
+    }
+
+    /** Compress an ephemeris.
+     * @param propagator source propagator
+     * @param fitter fitter for a list of segments
+     * @return compact ephemeris
+     */
+    private ChebyshevEphemeris compress(final BoundedPropagator propagator,
+                                        final UnaryOperator<List<Segment>> fitter) {
+
+        final AbsoluteDate minDate = propagator.getMinDate();
+        final AbsoluteDate maxDate = propagator.getMaxDate();
+        final double       span    = maxDate.durationFrom(minDate);
+        if (span <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     span, 0);
+        }
+        final Frame frame = propagator.getFrame();
+
+        // initial split in cells of equal duration
+        final int    nbCells      = (int) FastMath.ceil(span / maxSegmentDuration);
+        final double cellDuration = span / nbCells;
+        List<Segment> pending = new ArrayList<>(nbCells);
+        for (int i = 0; i < nbCells; ++i) {
+            pending.add(new Segment(i, i * cellDuration, cellDuration));
+        }
+
+        final List<Segment> accepted = new ArrayList<>();
+        while (!pending.isEmpty()) {
+
+            // sample source propagator, sequentially as propagators are not thread-safe
+            for (final Segment segment : pending) {
+                segment.sample(propagator, frame, minDate);
+            }
+
+            // fit polynomials, possibly in parallel
+            final List<Segment> fitted = fitter.apply(pending);
+
+            // split segments that are not accurate enough
+            pending = new ArrayList<>();
+            for (final Segment segment : fitted) {
+                if (segment.accurate || segment.duration < 2 * minSegmentDuration) {
+                    accepted.add(segment);
+                } else {
+                    final double half = 0.5 * segment.duration;
+                    pending.add(new Segment(segment.cell, segment.start, half));
+                    pending.add(new Segment(segment.cell, segment.start + half, half));
+                }
+            }
+
+        }
+
+        // build the compact ephemeris
+        accepted.sort(Comparator.comparingDouble(s -> s.start));
+        final int      n            = accepted.size();
+        final int[]    firstSegment = new int[nbCells + 1];
+        final double[] starts       = new double[n];
+        final double[] durations    = new double[n];
+        final double[] coefficients = new double[3 * nbCoeffs * n];
+        for (int i = n - 1; i >= 0; --i) {
+            final Segment segment = accepted.get(i);
+            firstSegment[segment.cell] = i;
+            starts[i]    = segment.start;
+            durations[i] = segment.duration;
+            System.arraycopy(segment.coefficients, 0, coefficients, 3 * nbCoeffs * i, 3 * nbCoeffs);
+        }
+        firstSegment[nbCells] = n;
+
+        final SpacecraftState  initial          = propagator.getInitialState();
+        final AttitudeProvider attitudeProvider = propagator.getAttitudeProvider() == null ?
+                                                  new InertialProvider(frame) :
+                                                  propagator.getAttitudeProvider();
+        return new ChebyshevEphemeris(attitudeProvider, minDate, maxDate, frame,
+                                      initial.getMu(), initial.getMass(),
+                                      nbCoeffs, cellDuration, firstSegment,
+                                      starts, durations, coefficients);
+
+    }
+
+    /** Fit Chebyshev polynomials on one segment and check them.
+     * @param segment segment to fit (must already be sampled)
+     * @return fitted segment
+     */
+    private Segment fit(final Segment segment) {
+
+        // interpolation at Chebyshev nodes
+        segment.coefficients = new double[3 * nbCoeffs];
+        for (int c = 0; c < 3; ++c) {
+            for (int k = 0; k < nbCoeffs; ++k) {
+                double sum = 0;
+                for (int j = 0; j < nbCoeffs; ++j) {
+                    sum += fitMatrix[k][j] * segment.samples[6 * j + c];
+                }
+                segment.coefficients[c * nbCoeffs + k] = sum;
+            }
+        }
+
+        // check position and velocity at intermediate points
+        final double[] pva    = new double[9];
+        final double   vScale = 2 / segment.duration;
+        double maxDP = 0;
+        double maxDV = 0;
+        for (int j = 0; j < checks.length; ++j) {
+            ChebyshevEphemeris.evaluate(segment.coefficients, 0, nbCoeffs, checks[j], pva);
+            final int i = 6 * (nbCoeffs + j);
+            final double dx  = pva[0] - segment.samples[i];
+            final double dy  = pva[1] - segment.samples[i + 1];
+            final double dz  = pva[2] - segment.samples[i + 2];
+            final double dvx = pva[3] * vScale - segment.samples[i + 3];
+            final double dvy = pva[4] * vScale - segment.samples[i + 4];
+            final double dvz = pva[5] * vScale - segment.samples[i + 5];
+            maxDP = FastMath.max(maxDP, FastMath.sqrt(dx * dx + dy * dy + dz * dz));
+            maxDV = FastMath.max(maxDV, FastMath.sqrt(dvx * dvx + dvy * dvy + dvz * dvz));
+        }
+        segment.accurate = maxDP <= positionTolerance && maxDV <= velocityTolerance;
+
+        return segment;
+
+    }
+
+    /** Container for one segment during compression. */
+    private class Segment {
+
+        /** Index of the lookup cell containing the segment. */
+        private final int cell;
+
+        /** Start offset with respect to ephemeris start. */
+        private final double start;
+
+        /** Segment duration. */
+        private final double duration;
+
+        /** Position and velocity at nodes, followed by position and velocity at check points. */
+        private double[] samples;
+
+        /** Chebyshev coefficients. */
+        private double[] coefficients;
+
+        /** Indicator for segments meeting tolerances. */
+        private boolean accurate;
+
+        /** Simple constructor.
+         * @param cell index of the lookup cell containing the segment
+         * @param start start offset with respect to ephemeris start
+         * @param duration segment duration
+         */
+        Segment(final int cell, final double start, final double duration) {
+            this.cell     = cell;
+            this.start    = start;
+            this.duration = duration;
+        }
+
+        /** Sample the source propagator at nodes and check points.
+         * @param propagator source propagator
+         * @param frame frame in which positions are fitted
+         * @param minDate ephemeris start
+         */
+        void sample(final BoundedPropagator propagator, final Frame frame, final AbsoluteDate minDate) {
+            samples = new double[6 * (nodes.length + checks.length)];
+            int i = 0;
+            for (final double[] points : new double[][] { nodes, checks }) {
+                for (final double x : points) {
+                    final AbsoluteDate date = minDate.shiftedBy(start + 0.5 * (x + 1) * duration);
+                    final TimeStampedPVCoordinates pv =
+                                    propagator.getPVCoordinates(date.compareTo(propagator.getMaxDate()) > 0 ?
+                                                                propagator.getMaxDate() : date,
+                                                                frame);
+                    samples[i++] = pv.getPosition().getX();
+                    samples[i++] = pv.getPosition().getY();
+                    samples[i++] = pv.getPosition().getZ();
+                    samples[i++] = pv.getVelocity().getX();
+                    samples[i++] = pv.getVelocity().getY();
+                    samples[i++] = pv.getVelocity().getZ();
+                }
+            }
+        }
+
+    }
+
+}
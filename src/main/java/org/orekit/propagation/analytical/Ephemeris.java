@@ -19,16 +19,17 @@ package org.orekit.propagation.analytical;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.FastMath;
 import org.orekit.annotation.DefaultDataContext;
 import org.orekit.attitudes.Attitude;
 import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.data.DataContext;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
 import org.orekit.orbits.Orbit;
@@ -43,6 +44,13 @@ import org.orekit.utils.TimeStampedPVCoordinates;
 /** This class is designed to accept and handle tabulated orbital entries.
  * Tabulated entries are classified and then extrapolated in way to obtain
  * continuous output, with accuracy and computation methods configured by the user.
+ * <p>
+ * Neighbors selection for interpolation relies on {@link
+ * ImmutableTimeStampedCache#getNeighborsStart(AbsoluteDate)}. In addition to the full
+ * {@link SpacecraftState} interpolation performed by {@link #propagate(AbsoluteDate)},
+ * the {@link #getPosition(AbsoluteDate, double[])} method provides a lightweight
+ * allocation-free path for users who only need positions.
+ * </p>
  *
  * @author Fabien Maussion
  * @author V&eacute;ronique Pommier-Maurussane
@@ -76,6 +84,23 @@ public class Ephemeris extends AbstractAnalyticalPropagator implements BoundedPr
     /** Thread-safe cache. */
     private final transient ImmutableTimeStampedCache<SpacecraftState> cache;
 
+    /** Tabulated states, in chronological order. */
+    private final transient List<SpacecraftState> sample;
+
+    /** Number of points to use in interpolation. */
+    private final int interpolationPoints;
+
+    /** Cartesian coordinates of tabulated states in {@link #frame}.
+     * <p>
+     * Element {@code pva[k][i]} is component k of state i, components being
+     * the x, y, z coordinates of position, then velocity, then acceleration.
+     * </p>
+     */
+    private final double[][] pva;
+
+    /** Work arrays for position-only Hermite interpolation, one per thread. */
+    private final transient ThreadLocal<double[]> workspace;
+
     /** Constructor with tabulated states.
      * <p>
      * This constructor allows extrapolating outside of the states time span
@@ -141,10 +166,19 @@ public class Ephemeris extends AbstractAnalyticalPropagator implements BoundedPr
             throw new MathIllegalArgumentException(LocalizedCoreFormats.INSUFFICIENT_DIMENSION,
                                                    states.size(), interpolationPoints);
         }
+        if (interpolationPoints < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     interpolationPoints, 0);
+        }
 
-        final SpacecraftState s0 = states.get(0);
+        // set up cache
+        cache  = new ImmutableTimeStampedCache<SpacecraftState>(interpolationPoints, states);
+        sample = cache.getAll();
+        final int n = sample.size();
+
+        final SpacecraftState s0 = sample.get(0);
         minDate = s0.getDate();
-        maxDate = states.get(states.size() - 1).getDate();
+        maxDate = sample.get(n - 1).getDate();
         frame = s0.getFrame();
 
         final Set<String> names0 = s0.getAdditionalStates().keySet();
@@ -160,8 +194,22 @@ public class Ephemeris extends AbstractAnalyticalPropagator implements BoundedPr
         // user needs to explicitly set attitude provider if they want to use one
         setAttitudeProvider(null);
 
-        // set up cache
-        cache = new ImmutableTimeStampedCache<SpacecraftState>(interpolationPoints, states);
+        // set up primitive coordinates arrays
+        this.interpolationPoints = interpolationPoints;
+        pva = new double[9][n];
+        for (int i = 0; i < n; ++i) {
+            final TimeStampedPVCoordinates pv = sample.get(i).getPVCoordinates();
+            pva[0][i]  = pv.getPosition().getX();
+            pva[1][i]  = pv.getPosition().getY();
+            pva[2][i]  = pv.getPosition().getZ();
+            pva[3][i]  = pv.getVelocity().getX();
+            pva[4][i]  = pv.getVelocity().getY();
+            pva[5][i]  = pv.getVelocity().getZ();
+            pva[6][i]  = pv.getAcceleration().getX();
+            pva[7][i]  = pv.getAcceleration().getY();
+            pva[8][i]  = pv.getAcceleration().getZ();
+        }
+        workspace = ThreadLocal.withInitial(() -> new double[12 * interpolationPoints]);
 
         this.extrapolationThreshold = extrapolationThreshold;
     }
@@ -198,17 +246,8 @@ public class Ephemeris extends AbstractAnalyticalPropagator implements BoundedPr
     public SpacecraftState basicPropagate(final AbsoluteDate date) {
         final SpacecraftState evaluatedState;
 
-        final AbsoluteDate central;
-        if (date.compareTo(minDate) < 0 && FastMath.abs(date.durationFrom(minDate)) <= extrapolationThreshold) {
-            // avoid TimeStampedCacheException as we are still within the tolerance before minDate
-            central = minDate;
-        } else if (date.compareTo(maxDate) > 0 && FastMath.abs(date.durationFrom(maxDate)) <= extrapolationThreshold) {
-            // avoid TimeStampedCacheException as we are still within the tolerance after maxDate
-            central = maxDate;
-        } else {
-            central = date;
-        }
-        final List<SpacecraftState> neighbors = cache.getNeighbors(central).collect(Collectors.toList());
+        final int start = getNeighborsStart(date);
+        final List<SpacecraftState> neighbors = sample.subList(start, start + interpolationPoints);
         evaluatedState = neighbors.get(0).interpolate(date, neighbors);
 
         final AttitudeProvider attitudeProvider = getAttitudeProvider();
@@ -232,6 +271,136 @@ public class Ephemeris extends AbstractAnalyticalPropagator implements BoundedPr
         }
     }
 
+    /** Get the position at a specified date, in a specified frame.
+     * <p>
+     * This is a lightweight alternative to {@code getPVCoordinates(date, f).getPosition()},
+     * see {@link #getPosition(AbsoluteDate, double[])} for the interpolation method used.
+     * </p>
+     * @param date date at which position is requested
+     * @param f frame in which position is requested
+     * @return position in specified frame (m)
+     * @since 11.0
+     */
+    public Vector3D getPosition(final AbsoluteDate date, final Frame f) {
+        final double[] p = new double[3];
+        getPosition(date, p);
+        final Vector3D position = new Vector3D(p[0], p[1], p[2]);
+        return f == frame ? position : frame.getTransformTo(f, date).transformPosition(position);
+    }
+
+    /** Get the position at a specified date, in ephemeris frame.
+     * <p>
+     * Position is computed by Hermite interpolation of the Cartesian
+     * position, velocity and acceleration of the same tabulated states
+     * that are used by {@link #propagate(AbsoluteDate)}. For states built
+     * from {@link org.orekit.orbits.CartesianOrbit Cartesian orbits} or
+     * from absolute coordinates, the result is the same as the position
+     * of the propagated state, up to numerical noise. For states built
+     * from other orbit types, which are interpolated in their own orbital
+     * elements, both results differ by the interpolation error.
+     * </p>
+     * <p>
+     * Once the first call has been done in a thread, this method does not allocate
+     * any object, it is therefore suited to intensive use, for example
+     * in visibility or conjunction screening.
+     * </p>
+     * @param date date at which position is requested
+     * @param position placeholder where to put position in {@link #getFrame()
+     * ephemeris frame} (m), must have at least 3 elements
+     * @since 11.0
+     */
+    public void getPosition(final AbsoluteDate date, final double[] position) {
+        hermite(getNeighborsStart(date), date, workspace.get(), position);
+    }
+
+    /** Get the index of the first neighbor to use for interpolation.
+     * <p>
+     * Dates outside of the sample but within the extrapolation threshold
+     * use the same neighbors as the closest boundary.
+     * </p>
+     * @param date interpolation date
+     * @return index of the first of {@link #interpolationPoints} neighbors
+     */
+    private int getNeighborsStart(final AbsoluteDate date) {
+        final AbsoluteDate central;
+        if (date.compareTo(minDate) < 0 && FastMath.abs(date.durationFrom(minDate)) <= extrapolationThreshold) {
+            // avoid TimeStampedCacheException as we are still within the tolerance before minDate
+            central = minDate;
+        } else if (date.compareTo(maxDate) > 0 && FastMath.abs(date.durationFrom(maxDate)) <= extrapolationThreshold) {
+            // avoid TimeStampedCacheException as we are still within the tolerance after maxDate
+            central = maxDate;
+        } else {
+            central = date;
+        }
+        return cache.getNeighborsStart(central);
+    }
+
+    /** Interpolate position using Hermite interpolation on position, velocity and acceleration.
+     * <p>
+     * The Newton divided differences table is computed in place, using
+     * abscissae relative to interpolation date so the polynomial is
+     * evaluated at 0.
+     * </p>
+     * @param start index of the first neighbor
+     * @param date interpolation date
+     * @param work work array, with at least 12 times {@link #interpolationPoints} elements
+     * @param position placeholder where to put interpolated position
+     */
+    private void hermite(final int start, final AbsoluteDate date, final double[] work, final double[] position) {
+
+        // each neighbor provides a triple node (position, velocity, acceleration)
+        final int m  = 3 * interpolationPoints;
+        final int qx = m;
+        final int qy = 2 * m;
+        final int qz = 3 * m;
+
+        // abscissae and zeroth order divided differences
+        for (int j = 0; j < interpolationPoints; ++j) {
+            final double z = sample.get(start + j).getDate().durationFrom(date);
+            for (int r = 0; r < 3; ++r) {
+                final int k = 3 * j + r;
+                work[k]      = z;
+                work[qx + k] = pva[0][start + j];
+                work[qy + k] = pva[1][start + j];
+                work[qz + k] = pva[2][start + j];
+            }
+        }
+
+        // higher order divided differences, overwriting lower orders from the end
+        for (int order = 1; order < m; ++order) {
+            for (int k = m - 1; k >= order; --k) {
+                if (order < 3 && k % 3 >= order) {
+                    // repeated abscissa, divided difference is a scaled derivative
+                    final int    i     = start + k / 3;
+                    final int    c     = 3 * order;
+                    final double scale = order == 1 ? 1.0 : 0.5;
+                    work[qx + k] = scale * pva[c][i];
+                    work[qy + k] = scale * pva[c + 1][i];
+                    work[qz + k] = scale * pva[c + 2][i];
+                } else {
+                    final double inv = 1.0 / (work[k] - work[k - order]);
+                    work[qx + k] = (work[qx + k] - work[qx + k - 1]) * inv;
+                    work[qy + k] = (work[qy + k] - work[qy + k - 1]) * inv;
+                    work[qz + k] = (work[qz + k] - work[qz + k - 1]) * inv;
+                }
+            }
+        }
+
+        // evaluate Newton form at interpolation date, using Horner scheme
+        double x = work[qx + m - 1];
+        double y = work[qy + m - 1];
+        double z = work[qz + m - 1];
+        for (int k = m - 2; k >= 0; --k) {
+            x = work[qx + k] - work[k] * x;
+            y = work[qy + k] - work[k] * y;
+            z = work[qz + k] - work[k] * z;
+        }
+        position[0] = x;
+        position[1] = y;
+        position[2] = z;
+
+    }
+
     /** {@inheritDoc} */
     protected Orbit propagateOrbit(final AbsoluteDate date) {
         return basicPropagate(date).getOrbit();
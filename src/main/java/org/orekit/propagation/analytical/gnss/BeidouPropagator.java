@@ -21,6 +21,7 @@ import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.data.DataContext;
 import org.orekit.frames.Frame;
 import org.orekit.frames.Frames;
+import org.orekit.gnss.SatelliteSystem;
 import org.orekit.propagation.Propagator;
 import org.orekit.utils.IERSConventions;
 
@@ -35,14 +36,6 @@ import org.orekit.utils.IERSConventions;
  */
 public class BeidouPropagator extends AbstractGNSSPropagator {
 
-    // Constants
-    /** Value of the earth's rotation rate in rad/s. */
-    private static final double BEIDOU_AV = 7.2921150e-5;
-
-    /** Duration of the Beidou cycle in seconds. */
-    private static final double BEIDOU_CYCLE_DURATION = BeidouOrbitalElements.BEIDOU_WEEK_IN_SECONDS *
-                                                        BeidouOrbitalElements.BEIDOU_WEEK_NB;
-
     // Fields
     /** The Beidou orbital elements used. */
     private final BeidouOrbitalElements bdsOrbit;
@@ -184,7 +177,9 @@ public class BeidouPropagator extends AbstractGNSSPropagator {
     private BeidouPropagator(final Builder builder) {
         super(builder.orbit, builder.attitudeProvider,
               builder.eci, builder.ecef, builder.mass,
-              BEIDOU_AV, BEIDOU_CYCLE_DURATION, BeidouOrbitalElements.BEIDOU_MU);
+              GNSSModel.getAV(SatelliteSystem.BEIDOU),
+              GNSSModel.getCycleDuration(SatelliteSystem.BEIDOU),
+              BeidouOrbitalElements.BEIDOU_MU);
         // Stores the Beidou orbital elements
         this.bdsOrbit = builder.orbit;
     }
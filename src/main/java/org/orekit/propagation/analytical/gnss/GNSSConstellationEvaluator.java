@@ -0,0 +1,270 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.gnss;
+
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.SinCos;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.gnss.SatelliteSystem;
+import org.orekit.time.AbsoluteDate;
+
+/**
+ * Batch evaluator for the positions of a whole GNSS constellation.
+ * <p>
+ * This class implements the same algorithm as {@link AbstractGNSSPropagator#propagateInEcef(AbsoluteDate)},
+ * but it evaluates all satellites of a constellation at once, storing the
+ * orbital elements in primitive arrays and writing positions in caller-provided
+ * arrays, without building any intermediate object (no derivatives, no
+ * {@link org.orekit.propagation.SpacecraftState}, no frames transforms). It is
+ * intended for intensive computations like Dilution Of Precision maps, where
+ * only Earth-fixed positions are needed.
+ * </p>
+ * <p>
+ * Instances of this class are immutable and can be shared between threads.
+ * </p>
+ * @see org.orekit.gnss.DOPComputer#compute(AbsoluteDate, double[], double[], double[])
+ * @since 11.0
+ */
+public class GNSSConstellationEvaluator {
+
+    /** Satellite system. */
+    private final SatelliteSystem system;
+
+    /** Mean angular velocity of the Earth for the GNSS model. */
+    private final double av;
+
+    /** Duration of the GNSS cycle in seconds. */
+    private final double cycleDuration;
+
+    /** Reference dates of orbital elements. */
+    private final AbsoluteDate[] dates;
+
+    /** PRN numbers. */
+    private final int[] prn;
+
+    /** Reference times in week. */
+    private final double[] time;
+
+    /** Semi-major axes. */
+    private final double[] sma;
+
+    /** Mean motions. */
+    private final double[] meanMotion;
+
+    /** Eccentricities. */
+    private final double[] e;
+
+    /** Inclinations at reference time. */
+    private final double[] i0;
+
+    /** Rates of inclination angle. */
+    private final double[] iDot;
+
+    /** Longitudes of ascending node at weekly epoch. */
+    private final double[] omega0;
+
+    /** Rates of right ascension. */
+    private final double[] omegaDot;
+
+    /** Arguments of perigee. */
+    private final double[] pa;
+
+    /** Mean anomalies at reference time. */
+    private final double[] m0;
+
+    /** Amplitudes of the cosine harmonic correction term to the argument of latitude. */
+    private final double[] cuc;
+
+    /** Amplitudes of the sine harmonic correction term to the argument of latitude. */
+    private final double[] cus;
+
+    /** Amplitudes of the cosine harmonic correction term to the orbit radius. */
+    private final double[] crc;
+
+    /** Amplitudes of the sine harmonic correction term to the orbit radius. */
+    private final double[] crs;
+
+    /** Amplitudes of the cosine harmonic correction term to the angle of inclination. */
+    private final double[] cic;
+
+    /** Amplitudes of the sine harmonic correction term to the angle of inclination. */
+    private final double[] cis;
+
+    /**
+     * Build a new instance.
+     * @param system satellite system (must be one of {@link SatelliteSystem#GPS GPS},
+     * {@link SatelliteSystem#GALILEO GALILEO}, {@link SatelliteSystem#BEIDOU BEIDOU},
+     * {@link SatelliteSystem#QZSS QZSS} or {@link SatelliteSystem#IRNSS IRNSS})
+     * @param elements orbital elements of the satellites
+     */
+    public GNSSConstellationEvaluator(final SatelliteSystem system,
+                                      final List<? extends GNSSOrbitalElements> elements) {
+
+        this.system = system;
+        this.av            = GNSSModel.getAV(system);
+        this.cycleDuration = GNSSModel.getCycleDuration(system);
+
+        final int n = elements.size();
+        dates    = new AbsoluteDate[n];
+        prn      = new int[n];
+        time     = new double[n];
+        sma      = new double[n];
+        meanMotion = new double[n];
+        e        = new double[n];
+        i0       = new double[n];
+        iDot     = new double[n];
+        omega0   = new double[n];
+        omegaDot = new double[n];
+        pa       = new double[n];
+        m0       = new double[n];
+        cuc      = new double[n];
+        cus      = new double[n];
+        crc      = new double[n];
+        crs      = new double[n];
+        cic      = new double[n];
+        cis      = new double[n];
+        for (int k = 0; k < n; ++k) {
+            final GNSSOrbitalElements element = elements.get(k);
+            dates[k]      = element.getDate();
+            prn[k]        = element.getPRN();
+            time[k]       = element.getTime();
+            sma[k]        = element.getSma();
+            meanMotion[k] = element.getMeanMotion();
+            e[k]          = element.getE();
+            i0[k]         = element.getI0();
+            iDot[k]       = element.getIDot();
+            omega0[k]     = element.getOmega0();
+            omegaDot[k]   = element.getOmegaDot();
+            pa[k]         = element.getPa();
+            m0[k]         = element.getM0();
+            cuc[k]        = element.getCuc();
+            cus[k]        = element.getCus();
+            crc[k]        = element.getCrc();
+            crs[k]        = element.getCrs();
+            cic[k]        = element.getCic();
+            cis[k]        = element.getCis();
+        }
+
+    }
+
+    /**
+     * Get the satellite system.
+     * @return satellite system
+     */
+    public SatelliteSystem getSystem() {
+        return system;
+    }
+
+    /**
+     * Get the number of satellites.
+     * @return number of satellites
+     */
+    public int getSize() {
+        return prn.length;
+    }
+
+    /**
+     * Get the PRN number of one satellite.
+     * @param index satellite index
+     * @return PRN number of the satellite
+     */
+    public int getPRN(final int index) {
+        return prn[index];
+    }
+
+    /**
+     * Compute the Earth-fixed positions of all satellites at one date.
+     * @param date computation date
+     * @param x array where to put X coordinates, must have at least {@link #getSize()} elements
+     * @param y array where to put Y coordinates, must have at least {@link #getSize()} elements
+     * @param z array where to put Z coordinates, must have at least {@link #getSize()} elements
+     */
+    public void getPositions(final AbsoluteDate date, final double[] x, final double[] y, final double[] z) {
+        getPositions(date, x, y, z, 0);
+    }
+
+    /**
+     * Compute the Earth-fixed positions of all satellites at one date.
+     * <p>
+     * The offset allows to fill arrays shared by several constellations.
+     * </p>
+     * @param date computation date
+     * @param x array where to put X coordinates
+     * @param y array where to put Y coordinates
+     * @param z array where to put Z coordinates
+     * @param offset index in the arrays corresponding to the first satellite
+     */
+    public void getPositions(final AbsoluteDate date,
+                             final double[] x, final double[] y, final double[] z,
+                             final int offset) {
+
+        if (x.length < offset + prn.length || y.length < offset + prn.length || z.length < offset + prn.length) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     FastMath.min(x.length, FastMath.min(y.length, z.length)),
+                                                     offset + prn.length);
+        }
+
+        for (int k = 0; k < prn.length; ++k) {
+
+            // Duration from GNSS ephemeris Reference date, taking week roll over into account
+            double tk = date.durationFrom(dates[k]);
+            while (tk > 0.5 * cycleDuration) {
+                tk -= cycleDuration;
+            }
+            while (tk < -0.5 * cycleDuration) {
+                tk += cycleDuration;
+            }
+
+            // Mean anomaly
+            final double mk = tk * meanMotion[k] + m0[k];
+            // Eccentric Anomaly
+            final double ek = GNSSModel.getEccentricAnomaly(mk, e[k]);
+            // True Anomaly
+            final SinCos scE = FastMath.sinCos(ek);
+            final double vk  = FastMath.atan2(scE.sin() * FastMath.sqrt(1. - e[k] * e[k]), scE.cos() - e[k]);
+            // Argument of Latitude
+            final double phik  = vk + pa[k];
+            final SinCos sc2Phi = FastMath.sinCos(2 * phik);
+            // Corrections
+            final double dphik = sc2Phi.cos() * cuc[k] + sc2Phi.sin() * cus[k];
+            final double drk   = sc2Phi.cos() * crc[k] + sc2Phi.sin() * crs[k];
+            final double dik   = sc2Phi.cos() * cic[k] + sc2Phi.sin() * cis[k];
+            // Corrected argument of latitude, radius and inclination
+            final double uk = phik + dphik;
+            final double rk = (1 - e[k] * scE.cos()) * sma[k] + drk;
+            final double ik = tk * iDot[k] + i0[k] + dik;
+            final SinCos scI = FastMath.sinCos(ik);
+            // Positions in orbital plane
+            final SinCos scU = FastMath.sinCos(uk);
+            final double xk  = scU.cos() * rk;
+            final double yk  = scU.sin() * rk;
+            // Corrected longitude of ascending node
+            final double omk   = tk * (omegaDot[k] - av) + omega0[k] - av * time[k];
+            final SinCos scOm  = FastMath.sinCos(omk);
+            // Earth-fixed coordinates
+            x[offset + k] = xk * scOm.cos() - yk * scOm.sin() * scI.cos();
+            y[offset + k] = xk * scOm.sin() + yk * scOm.cos() * scI.cos();
+            z[offset + k] = yk * scI.sin();
+
+        }
+
+    }
+
+}
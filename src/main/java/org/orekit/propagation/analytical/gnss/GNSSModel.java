@@ -0,0 +1,191 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.gnss;
+
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.Precision;
+import org.hipparchus.util.SinCos;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.gnss.SatelliteSystem;
+
+/** Constants and Kepler equation solver shared by GNSS analytical models.
+ * <p>
+ * This class is used by both {@link AbstractGNSSPropagator} and
+ * {@link GNSSConstellationEvaluator}.
+ * </p>
+ * @since 11.0
+ */
+final class GNSSModel {
+
+    // Data used to solve Kepler's equation
+    /** First coefficient to compute Kepler equation solver starter. */
+    private static final double A;
+
+    /** Second coefficient to compute Kepler equation solver starter. */
+    private static final double B;
+
+    static {
+        final double k1 = 3 * FastMath.PI + 2;
+        final double k2 = FastMath.PI - 1;
+        final double k3 = 6 * FastMath.PI - 1;
+        A  = 3 * k2 * k2 / k1;
+        B  = k3 * k3 / (6 * k1);
+    }
+
+    /** WGS 84 value of the earth's rotation rate in rad/s. */
+    private static final double WGS84_AV = 7.2921151467e-5;
+
+    /** Value of the earth's rotation rate for Beidou in rad/s. */
+    private static final double BEIDOU_AV = 7.2921150e-5;
+
+    /** Private constructor for a utility class. */
+    private GNSSModel() {
+        // nothing to do
+    }
+
+    /** Get the mean angular velocity of the Earth used by a satellite system.
+     * @param system satellite system (must be one of {@link SatelliteSystem#GPS GPS},
+     * {@link SatelliteSystem#GALILEO GALILEO}, {@link SatelliteSystem#BEIDOU BEIDOU},
+     * {@link SatelliteSystem#QZSS QZSS} or {@link SatelliteSystem#IRNSS IRNSS})
+     * @return mean angular velocity of the Earth (rad/s)
+     */
+    static double getAV(final SatelliteSystem system) {
+        switch (system) {
+            case GPS :
+            case GALILEO :
+            case QZSS :
+            case IRNSS :
+                return WGS84_AV;
+            case BEIDOU :
+                return BEIDOU_AV;
+            default :
+                throw new OrekitIllegalArgumentException(OrekitMessages.INVALID_SATELLITE_SYSTEM, system);
+        }
+    }
+
+    /** Get the duration of the cycle of a satellite system.
+     * @param system satellite system (must be one of {@link SatelliteSystem#GPS GPS},
+     * {@link SatelliteSystem#GALILEO GALILEO}, {@link SatelliteSystem#BEIDOU BEIDOU},
+     * {@link SatelliteSystem#QZSS QZSS} or {@link SatelliteSystem#IRNSS IRNSS})
+     * @return duration of the cycle in seconds
+     */
+    static double getCycleDuration(final SatelliteSystem system) {
+        switch (system) {
+            case GPS :
+                return GPSOrbitalElements.GPS_WEEK_IN_SECONDS * GPSOrbitalElements.GPS_WEEK_NB;
+            case GALILEO :
+                return GalileoOrbitalElements.GALILEO_WEEK_IN_SECONDS * GalileoOrbitalElements.GALILEO_WEEK_NB;
+            case BEIDOU :
+                return BeidouOrbitalElements.BEIDOU_WEEK_IN_SECONDS * BeidouOrbitalElements.BEIDOU_WEEK_NB;
+            case QZSS :
+                return QZSSOrbitalElements.QZSS_WEEK_IN_SECONDS * QZSSOrbitalElements.QZSS_WEEK_NB;
+            case IRNSS :
+                return IRNSSOrbitalElements.IRNSS_WEEK_IN_SECONDS * IRNSSOrbitalElements.IRNSS_WEEK_NB;
+            default :
+                throw new OrekitIllegalArgumentException(OrekitMessages.INVALID_SATELLITE_SYSTEM, system);
+        }
+    }
+
+    /**
+     * Gets eccentric anomaly from mean anomaly.
+     * <p>The algorithm used to solve the Kepler equation has been published in:
+     * "Procedures for  solving Kepler's Equation", A. W. Odell and R. H. Gooding,
+     * Celestial Mechanics 38 (1986) 307-334</p>
+     * <p>It has been copied from the OREKIT library (KeplerianOrbit class).</p>
+     *
+     * @param mk the mean anomaly (rad)
+     * @param ecc eccentricity
+     * @return the eccentric anomaly (rad)
+     */
+    static double getEccentricAnomaly(final double mk, final double ecc) {
+
+        // reduce M to [-PI PI] interval
+        final double reducedM = MathUtils.normalizeAngle(mk, 0.0);
+
+        // compute start value according to A. W. Odell and R. H. Gooding S12 starter
+        double ek;
+        if (FastMath.abs(reducedM) < 1.0 / 6.0) {
+            if (FastMath.abs(reducedM) < Precision.SAFE_MIN) {
+                ek = reducedM;
+            } else {
+                ek = reducedM + ecc * (FastMath.cbrt(6 * reducedM) - reducedM);
+            }
+        } else {
+            if (reducedM < 0) {
+                final double w = FastMath.PI + reducedM;
+                ek = reducedM + ecc * (A * w / (B - w) - FastMath.PI - reducedM);
+            } else {
+                final double w = FastMath.PI - reducedM;
+                ek = reducedM + ecc * (FastMath.PI - A * w / (B - w) - reducedM);
+            }
+        }
+
+        final double e1 = 1 - ecc;
+        final boolean noCancellationRisk = (e1 + ek * ek / 6) >= 0.1;
+
+        // perform two iterations, each consisting of one Halley step and one Newton-Raphson step
+        for (int j = 0; j < 2; ++j) {
+            final double f;
+            double fd;
+            final SinCos sc   = FastMath.sinCos(ek);
+            final double fdd  = ecc * sc.sin();
+            final double fddd = ecc * sc.cos();
+            if (noCancellationRisk) {
+                f  = (ek - fdd) - reducedM;
+                fd = 1 - fddd;
+            } else {
+                f  = eMeSinE(ek, ecc) - reducedM;
+                final double s = FastMath.sin(0.5 * ek);
+                fd = e1 + 2 * ecc * s * s;
+            }
+            final double dee = f * fd / (0.5 * f * fdd - fd * fd);
+
+            // update eccentric anomaly, using expressions that limit underflow problems
+            final double w = fd + 0.5 * dee * (fdd + dee * fdd / 3);
+            fd += dee * (fdd + 0.5 * dee * fdd);
+            ek -= (f - dee * (fd - w)) / fd;
+        }
+
+        // expand the result back to original range
+        return ek + (mk - reducedM);
+
+    }
+
+    /**
+     * Accurate computation of E - e sin(E).
+     * @param ek eccentric anomaly
+     * @param ecc eccentricity
+     * @return E - e sin(E)
+     */
+    private static double eMeSinE(final double ek, final double ecc) {
+        double x = (1 - ecc) * FastMath.sin(ek);
+        final double mE2 = -ek * ek;
+        double term = ek;
+        double d    = 0;
+        // the inequality test below IS intentional and should NOT be replaced by a check with a small tolerance
+        for (double x0 = Double.NaN; !Double.valueOf(x).equals(Double.valueOf(x0));) {
+            d += 2;
+            term *= mE2 / (d * (d + 1));
+            x0 = x;
+            x = x - term;
+        }
+        return x;
+    }
+
+}
@@ -21,6 +21,7 @@ import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.data.DataContext;
 import org.orekit.frames.Frame;
 import org.orekit.frames.Frames;
+import org.orekit.gnss.SatelliteSystem;
 import org.orekit.propagation.Propagator;
 import org.orekit.utils.IERSConventions;
 
@@ -33,14 +34,6 @@ import org.orekit.utils.IERSConventions;
  */
 public class GPSPropagator extends AbstractGNSSPropagator {
 
-    // Constants
-    /** WGS 84 value of the earth's rotation rate in rad/s. */
-    private static final double GPS_AV = 7.2921151467e-5;
-
-    /** Duration of the GPS cycle in seconds. */
-    private static final double GPS_CYCLE_DURATION = GPSOrbitalElements.GPS_WEEK_IN_SECONDS *
-                                                     GPSOrbitalElements.GPS_WEEK_NB;
-
     // Fields
     /** The GPS orbital elements used. */
     private final GPSOrbitalElements gpsOrbit;
@@ -180,7 +173,9 @@ public class GPSPropagator extends AbstractGNSSPropagator {
     private GPSPropagator(final Builder builder) {
         super(builder.orbit, builder.attitudeProvider,
               builder.eci, builder.ecef, builder.mass,
-              GPS_AV, GPS_CYCLE_DURATION, GPSOrbitalElements.GPS_MU);
+              GNSSModel.getAV(SatelliteSystem.GPS),
+              GNSSModel.getCycleDuration(SatelliteSystem.GPS),
+              GPSOrbitalElements.GPS_MU);
         // Stores the GPS orbital elements
         this.gpsOrbit = builder.orbit;
     }
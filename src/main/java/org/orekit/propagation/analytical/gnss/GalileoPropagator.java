@@ -21,6 +21,7 @@ import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.data.DataContext;
 import org.orekit.frames.Frame;
 import org.orekit.frames.Frames;
+import org.orekit.gnss.SatelliteSystem;
 import org.orekit.propagation.Propagator;
 import org.orekit.utils.IERSConventions;
 
@@ -34,14 +35,6 @@ import org.orekit.utils.IERSConventions;
  */
 public class GalileoPropagator extends AbstractGNSSPropagator {
 
-    // Constants
-    /** Value of the earth's rotation rate in rad/s. */
-    private static final double GALILEO_AV = 7.2921151467e-5;
-
-    /** Duration of the Galileo cycle in seconds. */
-    private static final double GALILEO_CYCLE_DURATION = GalileoOrbitalElements.GALILEO_WEEK_IN_SECONDS *
-                                                         GalileoOrbitalElements.GALILEO_WEEK_NB;
-
     // Fields
     /** The Galileo orbital elements used. */
     private final GalileoOrbitalElements galileoOrbit;
@@ -181,7 +174,9 @@ public class GalileoPropagator extends AbstractGNSSPropagator {
     private GalileoPropagator(final Builder builder) {
         super(builder.orbit, builder.attitudeProvider,
               builder.eci, builder.ecef, builder.mass,
-              GALILEO_AV, GALILEO_CYCLE_DURATION, GalileoOrbitalElements.GALILEO_MU);
+              GNSSModel.getAV(SatelliteSystem.GALILEO),
+              GNSSModel.getCycleDuration(SatelliteSystem.GALILEO),
+              GalileoOrbitalElements.GALILEO_MU);
         // Stores the Galileo orbital elements
         this.galileoOrbit = builder.orbit;
     }
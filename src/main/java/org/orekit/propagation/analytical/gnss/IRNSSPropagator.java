@@ -20,6 +20,7 @@ import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.attitudes.InertialProvider;
 import org.orekit.frames.Frame;
 import org.orekit.frames.Frames;
+import org.orekit.gnss.SatelliteSystem;
 import org.orekit.utils.IERSConventions;
 
 /**
@@ -33,14 +34,6 @@ import org.orekit.utils.IERSConventions;
  */
 public class IRNSSPropagator extends AbstractGNSSPropagator {
 
-    // Constants
-    /** WGS 84 value of the earth's rotation rate in rad/s. */
-    private static final double IRNSS_AV = 7.2921151467e-5;
-
-    /** Duration of the IRNSS cycle in seconds. */
-    private static final double IRNSS_CYCLE_DURATION = IRNSSOrbitalElements.IRNSS_WEEK_IN_SECONDS *
-                                                       IRNSSOrbitalElements.IRNSS_WEEK_NB;
-
     // Fields
     /** The IRNSS orbital elements used. */
     private final IRNSSOrbitalElements irnssOrbit;
@@ -150,7 +143,9 @@ public class IRNSSPropagator extends AbstractGNSSPropagator {
     private IRNSSPropagator(final Builder builder) {
         super(builder.orbit, builder.attitudeProvider,
               builder.eci, builder.ecef, builder.mass,
-              IRNSS_AV, IRNSS_CYCLE_DURATION, IRNSSOrbitalElements.IRNSS_MU);
+              GNSSModel.getAV(SatelliteSystem.IRNSS),
+              GNSSModel.getCycleDuration(SatelliteSystem.IRNSS),
+              IRNSSOrbitalElements.IRNSS_MU);
         // Stores the IRNSS orbital elements
         this.irnssOrbit = builder.orbit;
     }
@@ -21,6 +21,7 @@ import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.data.DataContext;
 import org.orekit.frames.Frame;
 import org.orekit.frames.Frames;
+import org.orekit.gnss.SatelliteSystem;
 import org.orekit.propagation.Propagator;
 import org.orekit.utils.IERSConventions;
 
@@ -36,14 +37,6 @@ import org.orekit.utils.IERSConventions;
  */
 public class QZSSPropagator extends AbstractGNSSPropagator {
 
-    // Constants
-    /** WGS 84 value of the earth's rotation rate in rad/s. */
-    private static final double QZSS_AV = 7.2921151467e-5;
-
-    /** Duration of the QZSS cycle in seconds. */
-    private static final double QZSS_CYCLE_DURATION = QZSSOrbitalElements.QZSS_WEEK_IN_SECONDS *
-                                                      QZSSOrbitalElements.QZSS_WEEK_NB;
-
     // Fields
     /** The QZSS orbital elements used. */
     private final QZSSOrbitalElements qzssOrbit;
@@ -184,7 +177,9 @@ public class QZSSPropagator extends AbstractGNSSPropagator {
     private QZSSPropagator(final Builder builder) {
         super(builder.orbit, builder.attitudeProvider,
               builder.eci, builder.ecef, builder.mass,
-              QZSS_AV, QZSS_CYCLE_DURATION, QZSSOrbitalElements.QZSS_MU);
+              GNSSModel.getAV(SatelliteSystem.QZSS),
+              GNSSModel.getCycleDuration(SatelliteSystem.QZSS),
+              QZSSOrbitalElements.QZSS_MU);
         // Stores the QZSS orbital elements
         this.qzssOrbit = builder.orbit;
     }
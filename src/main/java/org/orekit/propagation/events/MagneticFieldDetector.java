@@ -48,6 +48,9 @@ public class MagneticFieldDetector extends AbstractDetector<MagneticFieldDetecto
     /** earth geomagnetic field. */
     private GeoMagneticField field;
 
+    /** Evaluator for the earth geomagnetic field. */
+    private GeoMagneticField.Evaluator evaluator;
+
     /** year of the current state. */
     private double currentYear;
 
@@ -193,6 +196,7 @@ public class MagneticFieldDetector extends AbstractDetector<MagneticFieldDetecto
         final TimeScale utc = dataContext.getTimeScales().getUTC();
         this.currentYear = s0.getDate().getComponents(utc).getDate().getYear();
         this.field = dataContext.getGeoMagneticFields().getField(type, currentYear);
+        this.evaluator = field.createEvaluator();
     }
 
     /** Compute the value of the detection function.
@@ -214,6 +218,7 @@ public class MagneticFieldDetector extends AbstractDetector<MagneticFieldDetecto
         if (s.getDate().getComponents(utc).getDate().getYear() != currentYear) {
             this.currentYear = s.getDate().getComponents(utc).getDate().getYear();
             this.field = dataContext.getGeoMagneticFields().getField(type, currentYear);
+            this.evaluator = field.createEvaluator();
         }
         final GeodeticPoint geoPoint = body.transform(s.getPVCoordinates().getPosition(), s.getFrame(), s.getDate());
         final double altitude;
@@ -223,7 +228,7 @@ public class MagneticFieldDetector extends AbstractDetector<MagneticFieldDetecto
         else {
             altitude = geoPoint.getAltitude();
         }
-        final double value = field.calculateField(geoPoint.getLatitude(), geoPoint.getLongitude(), altitude).getTotalIntensity();
+        final double value = evaluator.calculateField(geoPoint.getLatitude(), geoPoint.getLongitude(), altitude).getTotalIntensity();
         return value - limit;
     }
 
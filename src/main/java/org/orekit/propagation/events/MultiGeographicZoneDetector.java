@@ -0,0 +1,504 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hipparchus.geometry.enclosing.EnclosingBall;
+import org.hipparchus.geometry.spherical.twod.S2Point;
+import org.hipparchus.geometry.spherical.twod.Sphere2D;
+import org.hipparchus.geometry.spherical.twod.SphericalPolygonsSet;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.bodies.BodyShape;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.handlers.EventHandler;
+import org.orekit.propagation.events.handlers.StopOnIncreasing;
+
+/** Detector for entry/exit of many zones defined by geographic boundaries.
+ * <p>
+ * This detector is equivalent to a set of {@link GeographicZoneDetector} sharing
+ * the same body and margin, but it is intended for very large numbers of zones
+ * (typically thousands of customer targets). The zones enclosing caps are stored
+ * in a latitude/longitude cells index, so only the few zones close to the current
+ * point are evaluated at each call to {@link #g(SpacecraftState)}.
+ * </p>
+ * <p>
+ * The value of the detection function is the product of the signs of the signed
+ * distances to all zones boundaries (minus the margin), multiplied by the smallest
+ * absolute distance, capped at {@link #REACH}. It is therefore continuous and
+ * changes sign each time the point enters or exits one of the zones. It is positive
+ * if the point is inside an even number of zones (in particular if it is outside
+ * of all zones). As the sign of the function does not identify the zone crossed,
+ * event handlers should call {@link #identifyCrossing(SpacecraftState, boolean)}
+ * to know which zone was entered or exited. If two zones boundaries are crossed
+ * at the exact same time (for example with adjacent zones), the two sign changes
+ * cancel each other and no event is triggered.
+ * </p>
+ * @see GeographicZoneDetector
+ * @since 11.0
+ */
+public class MultiGeographicZoneDetector extends AbstractDetector<MultiGeographicZoneDetector> {
+
+    /** Angular distance beyond which zones are not considered (rad).
+     * <p>
+     * This is also the maximum absolute value of the detection function.
+     * </p>
+     */
+    public static final double REACH = 0.01;
+
+    /** Angular size of the index cells (rad). */
+    private static final double CELL_STEP = FastMath.toRadians(1.0);
+
+    /** Body on which the geographic zones are defined. */
+    private final BodyShape body;
+
+    /** Zones definitions. */
+    private final List<SphericalPolygonsSet> zones;
+
+    /** Spherical caps surrounding the zones. */
+    private final List<EnclosingBall<Sphere2D, S2Point>> caps;
+
+    /** Margin to apply to the zones. */
+    private final double margin;
+
+    /** Index of zones. */
+    private final ZonesIndex index;
+
+    /** Build a new detector.
+     * <p>The new instance uses default values for maximal checking interval
+     * ({@link #DEFAULT_MAXCHECK}) and convergence threshold ({@link
+     * #DEFAULT_THRESHOLD}).</p>
+     * @param body body on which the geographic zones are defined
+     * @param zones geographic zones to consider
+     * @param margin angular margin to apply to the zones
+     */
+    public MultiGeographicZoneDetector(final BodyShape body,
+                                       final List<SphericalPolygonsSet> zones, final double margin) {
+        this(DEFAULT_MAXCHECK, DEFAULT_THRESHOLD, body, zones, margin);
+    }
+
+    /** Build a detector.
+     * @param maxCheck maximal checking interval (s)
+     * @param threshold convergence threshold (s)
+     * @param body body on which the geographic zones are defined
+     * @param zones geographic zones to consider
+     * @param margin angular margin to apply to the zones
+     */
+    public MultiGeographicZoneDetector(final double maxCheck, final double threshold,
+                                       final BodyShape body,
+                                       final List<SphericalPolygonsSet> zones, final double margin) {
+        this(maxCheck, threshold, DEFAULT_MAX_ITER, new StopOnIncreasing<MultiGeographicZoneDetector>(),
+             body, Collections.unmodifiableList(new ArrayList<>(zones)), enclosingCaps(zones), margin);
+    }
+
+    /** Private constructor with full parameters.
+     * <p>
+     * This constructor is private as users are expected to use the builder
+     * API with the various {@code withXxx()} methods to set up the instance
+     * in a readable manner without using a huge amount of parameters.
+     * </p>
+     * @param maxCheck maximum checking interval (s)
+     * @param threshold convergence threshold (s)
+     * @param maxIter maximum number of iterations in the event time search
+     * @param handler event handler to call at event occurrences
+     * @param body body on which the geographic zones are defined
+     * @param zones geographic zones to consider
+     * @param caps spherical caps surrounding the zones
+     * @param margin angular margin to apply to the zones
+     */
+    private MultiGeographicZoneDetector(final double maxCheck, final double threshold,
+                                        final int maxIter, final EventHandler<? super MultiGeographicZoneDetector> handler,
+                                        final BodyShape body,
+                                        final List<SphericalPolygonsSet> zones,
+                                        final List<EnclosingBall<Sphere2D, S2Point>> caps,
+                                        final double margin) {
+        this(maxCheck, threshold, maxIter, handler, body, zones, caps, margin,
+             new ZonesIndex(caps, FastMath.abs(margin) + REACH));
+    }
+
+    /** Private constructor with full parameters, including index.
+     * @param maxCheck maximum checking interval (s)
+     * @param threshold convergence threshold (s)
+     * @param maxIter maximum number of iterations in the event time search
+     * @param handler event handler to call at event occurrences
+     * @param body body on which the geographic zones are defined
+     * @param zones geographic zones to consider
+     * @param caps spherical caps surrounding the zones
+     * @param margin angular margin to apply to the zones
+     * @param index index of zones
+     */
+    private MultiGeographicZoneDetector(final double maxCheck, final double threshold,
+                                        final int maxIter, final EventHandler<? super MultiGeographicZoneDetector> handler,
+                                        final BodyShape body,
+                                        final List<SphericalPolygonsSet> zones,
+                                        final List<EnclosingBall<Sphere2D, S2Point>> caps,
+                                        final double margin, final ZonesIndex index) {
+        super(maxCheck, threshold, maxIter, handler);
+        this.body   = body;
+        this.zones  = zones;
+        this.caps   = caps;
+        this.margin = margin;
+        this.index  = index;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected MultiGeographicZoneDetector create(final double newMaxCheck, final double newThreshold,
+                                                 final int newMaxIter,
+                                                 final EventHandler<? super MultiGeographicZoneDetector> newHandler) {
+        // the index does not depend on the changed settings, it is shared
+        return new MultiGeographicZoneDetector(newMaxCheck, newThreshold, newMaxIter, newHandler,
+                                               body, zones, caps, margin, index);
+    }
+
+    /**
+     * Setup the detector margin.
+     * @param newMargin angular margin to apply to the zones
+     * @return a new detector with updated configuration (the instance is not changed)
+     */
+    public MultiGeographicZoneDetector withMargin(final double newMargin) {
+        return new MultiGeographicZoneDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
+                                               body, zones, caps, newMargin);
+    }
+
+    /** Get the body on which the geographic zones are defined.
+     * @return body on which the geographic zones are defined
+     */
+    public BodyShape getBody() {
+        return body;
+    }
+
+    /** Get the geographic zones.
+     * @return the geographic zones (unmodifiable)
+     */
+    public List<SphericalPolygonsSet> getZones() {
+        return zones;
+    }
+
+    /** Get the angular margin to apply (radians).
+     * @return the angular margin to apply (radians)
+     */
+    public double getMargin() {
+        return margin;
+    }
+
+    /** Compute the value of the detection function.
+     * <p>
+     * The value is the product of the signs of all signed distances to zones
+     * boundaries (minus the margin), multiplied by the smallest absolute distance,
+     * capped at {@link #REACH}.
+     * </p>
+     * @param s the current state information: date, kinematics, attitude
+     * @return detection function value
+     */
+    public double g(final SpacecraftState s) {
+
+        final S2Point s2p = toS2Point(s);
+
+        double sign    = 1.0;
+        double closest = REACH;
+        for (final int i : index.getCandidates(s2p)) {
+            final double offset = offset(i, s2p);
+            if (offset < 0) {
+                sign = -sign;
+            }
+            closest = FastMath.min(closest, FastMath.abs(offset));
+        }
+
+        return sign * closest;
+
+    }
+
+    /** Identify the zone crossed at an event.
+     * <p>
+     * This method is intended to be called from event handlers, with the
+     * arguments provided to {@link EventHandler#eventOccurred(SpacecraftState,
+     * EventDetector, boolean) eventOccurred}.
+     * </p>
+     * @param s state at event time
+     * @param increasing if true, the value of the detection function increases
+     * at event time
+     * @return zone crossed at event time, or null if no zone is close to the point
+     */
+    public Crossing identifyCrossing(final SpacecraftState s, final boolean increasing) {
+
+        final S2Point s2p = toS2Point(s);
+
+        // the crossed zone is the one with the closest boundary
+        final int[]    candidates = index.getCandidates(s2p);
+        final double[] offsets    = new double[candidates.length];
+        int crossed = -1;
+        for (int k = 0; k < candidates.length; ++k) {
+            offsets[k] = offset(candidates[k], s2p);
+            if (crossed < 0 || FastMath.abs(offsets[k]) < FastMath.abs(offsets[crossed])) {
+                crossed = k;
+            }
+        }
+
+        if (crossed < 0) {
+            return null;
+        }
+
+        // product of the signs of the other zones offsets
+        double others = 1.0;
+        for (int k = 0; k < candidates.length; ++k) {
+            if (k != crossed && offsets[k] < 0) {
+                others = -others;
+            }
+        }
+
+        // near the crossed boundary, the detection function is others × offset,
+        // offset increases when the point exits the zone
+        final boolean entry = (others > 0) ? !increasing : increasing;
+        return new Crossing(candidates[crossed], entry);
+
+    }
+
+    /** Convert a state to a point on the unit 2-sphere.
+     * @param s state
+     * @return point on the unit 2-sphere
+     */
+    private S2Point toS2Point(final SpacecraftState s) {
+
+        // convert state to geodetic coordinates
+        final GeodeticPoint gp = body.transform(s.getPVCoordinates().getPosition(),
+                                                s.getFrame(), s.getDate());
+
+        // map the point to a sphere (geodetic coordinates have already taken care of ellipsoid flatness)
+        return new S2Point(gp.getLongitude(), 0.5 * FastMath.PI - gp.getLatitude());
+
+    }
+
+    /** Compute the signed distance to a zone boundary, minus the margin.
+     * @param i zone index
+     * @param s2p point on the unit 2-sphere
+     * @return signed distance to boundary minus the margin, possibly replaced by a
+     * crude positive lower bound greater than {@link #REACH} for far away zones
+     */
+    private double offset(final int i, final S2Point s2p) {
+
+        // for faster computation, we start using only the surrounding cap, to filter out
+        // far away points, which correspond to most candidates if the zones are small
+        final EnclosingBall<Sphere2D, S2Point> cap = caps.get(i);
+        final double crudeDistance = cap.getCenter().distance(s2p) - cap.getRadius();
+        if (crudeDistance - margin > FastMath.max(FastMath.abs(margin), REACH)) {
+            // we know we are strictly outside of the zone and far from its boundary
+            return crudeDistance - margin;
+        }
+
+        // we are close, we need to compute carefully the exact offset
+        return zones.get(i).projectToBoundary(s2p).getOffset() - margin;
+
+    }
+
+    /** Compute the enclosing caps of zones.
+     * @param zones zones
+     * @return enclosing caps (unmodifiable)
+     */
+    private static List<EnclosingBall<Sphere2D, S2Point>> enclosingCaps(final List<SphericalPolygonsSet> zones) {
+        final List<EnclosingBall<Sphere2D, S2Point>> caps = new ArrayList<>(zones.size());
+        for (final SphericalPolygonsSet zone : zones) {
+            caps.add(zone.getEnclosingCap());
+        }
+        return Collections.unmodifiableList(caps);
+    }
+
+    /** Container for the zone crossed at an event. */
+    public static class Crossing {
+
+        /** Index of the zone crossed. */
+        private final int zoneIndex;
+
+        /** Indicator for zone entry. */
+        private final boolean entry;
+
+        /** Simple constructor.
+         * @param zoneIndex index of the zone crossed
+         * @param entry true if the zone is entered, false if it is exited
+         */
+        Crossing(final int zoneIndex, final boolean entry) {
+            this.zoneIndex = zoneIndex;
+            this.entry     = entry;
+        }
+
+        /** Get the index of the zone crossed.
+         * @return index of the zone crossed, in the list of {@link
+         * MultiGeographicZoneDetector#getZones() zones}
+         */
+        public int getZoneIndex() {
+            return zoneIndex;
+        }
+
+        /** Check if the zone is entered.
+         * @return true if the zone is entered, false if it is exited
+         */
+        public boolean isEntry() {
+            return entry;
+        }
+
+    }
+
+    /** Index of zones in latitude/longitude cells.
+     * <p>
+     * Each cell lists the zones whose enclosing cap, extended by the margin and
+     * the reach, may intersect the cell. Zones that are not listed in the cell
+     * containing a point are therefore outside of the zone and farther than
+     * {@link #REACH} from its boundary (taking margin into account).
+     * </p>
+     */
+    private static class ZonesIndex {
+
+        /** Empty candidates list. */
+        private static final int[] NONE = new int[0];
+
+        /** Number of latitude rows. */
+        private final int nLat;
+
+        /** Number of longitude columns. */
+        private final int nLon;
+
+        /** Latitude step. */
+        private final double latStep;
+
+        /** Longitude step. */
+        private final double lonStep;
+
+        /** Candidates zones, per cell (latitude major). */
+        private final int[][] cells;
+
+        /** Simple constructor.
+         * @param caps zones enclosing caps
+         * @param extension extension to apply to the caps radii
+         */
+        ZonesIndex(final List<EnclosingBall<Sphere2D, S2Point>> caps, final double extension) {
+
+            this.nLat    = (int) FastMath.ceil(FastMath.PI / CELL_STEP);
+            this.nLon    = (int) FastMath.ceil(MathUtils.TWO_PI / CELL_STEP);
+            this.latStep = FastMath.PI / nLat;
+            this.lonStep = MathUtils.TWO_PI / nLon;
+
+            // cells centers and radii
+            final S2Point[] centers = new S2Point[nLat * nLon];
+            final double[]  radii   = new double[nLat];
+            for (int i = 0; i < nLat; ++i) {
+                final double lat0 = -0.5 * FastMath.PI + i * latStep;
+                final double latC = lat0 + 0.5 * latStep;
+                final S2Point center = new S2Point(0.5 * lonStep, 0.5 * FastMath.PI - latC);
+                // upper latitude is clamped as rounding may push it slightly beyond the pole
+                final double lat1 = FastMath.min(lat0 + latStep, 0.5 * FastMath.PI);
+                for (final double lat : new double[] { lat0, latC, lat1 }) {
+                    for (final double lon : new double[] { 0.0, 0.5 * lonStep, lonStep }) {
+                        radii[i] = FastMath.max(radii[i],
+                                                center.distance(new S2Point(lon, 0.5 * FastMath.PI - lat)));
+                    }
+                }
+                for (int j = 0; j < nLon; ++j) {
+                    centers[i * nLon + j] = new S2Point(-FastMath.PI + (j + 0.5) * lonStep,
+                                                        0.5 * FastMath.PI - latC);
+                }
+            }
+
+            // register each zone in the cells its extended cap may intersect
+            final List<List<Integer>> lists = new ArrayList<>(Collections.nCopies(nLat * nLon, (List<Integer>) null));
+            for (int k = 0; k < caps.size(); ++k) {
+
+                final S2Point capCenter = caps.get(k).getCenter();
+                final double  radius    = caps.get(k).getRadius() + extension;
+                final double  capLat    = 0.5 * FastMath.PI - capCenter.getPhi();
+
+                // latitude/longitude bounding box of the extended cap,
+                // enlarged so it contains all cells that may pass the final check
+                final double enlarged = radius + latStep;
+                final int minI = latitudeRow(capLat - enlarged);
+                final int maxI = latitudeRow(capLat + enlarged);
+                final double maxAbsLat = FastMath.max(FastMath.abs(-0.5 * FastMath.PI + minI * latStep),
+                                                      FastMath.abs(-0.5 * FastMath.PI + (maxI + 1) * latStep));
+                final double cos  = FastMath.cos(FastMath.min(maxAbsLat, 0.5 * FastMath.PI));
+                final double sinR = FastMath.sin(FastMath.min(enlarged, 0.5 * FastMath.PI));
+                final int    halfSpan;
+                if (enlarged >= 0.5 * FastMath.PI || sinR >= cos) {
+                    // the cap reaches a pole or is very large, it spans all longitudes
+                    halfSpan = nLon;
+                } else {
+                    halfSpan = 1 + (int) FastMath.ceil(FastMath.asin(sinR / cos) / lonStep);
+                }
+                final int centerJ = longitudeColumn(capCenter.getTheta());
+
+                for (int i = minI; i <= maxI; ++i) {
+                    final int jMin = halfSpan >= nLon / 2 ? 0        : centerJ - halfSpan;
+                    final int jMax = halfSpan >= nLon / 2 ? nLon - 1 : centerJ + halfSpan;
+                    for (int j = jMin; j <= jMax; ++j) {
+                        final int cell = i * nLon + ((j % nLon) + nLon) % nLon;
+                        if (centers[cell].distance(capCenter) <= radius + radii[i]) {
+                            if (lists.get(cell) == null) {
+                                lists.set(cell, new ArrayList<>());
+                            }
+                            lists.get(cell).add(k);
+                        }
+                    }
+                }
+
+            }
+
+            // compact storage
+            this.cells = new int[nLat * nLon][];
+            for (int cell = 0; cell < cells.length; ++cell) {
+                final List<Integer> list = lists.get(cell);
+                if (list == null) {
+                    cells[cell] = NONE;
+                } else {
+                    cells[cell] = new int[list.size()];
+                    for (int l = 0; l < cells[cell].length; ++l) {
+                        cells[cell][l] = list.get(l);
+                    }
+                }
+            }
+
+        }
+
+        /** Get the candidate zones for a point.
+         * @param s2p point on the unit 2-sphere
+         * @return indices of the zones that may be closer than {@link #REACH}
+         */
+        int[] getCandidates(final S2Point s2p) {
+            return cells[latitudeRow(0.5 * FastMath.PI - s2p.getPhi()) * nLon + longitudeColumn(s2p.getTheta())];
+        }
+
+        /** Get the latitude row containing a latitude.
+         * @param latitude latitude (rad)
+         * @return latitude row (clamped to valid rows)
+         */
+        private int latitudeRow(final double latitude) {
+            return FastMath.max(0, FastMath.min(nLat - 1, (int) FastMath.floor((latitude + 0.5 * FastMath.PI) / latStep)));
+        }
+
+        /** Get the longitude column containing a longitude.
+         * @param longitude longitude (rad)
+         * @return longitude column
+         */
+        private int longitudeColumn(final double longitude) {
+            final double normalized = MathUtils.normalizeAngle(longitude, 0.0) + FastMath.PI;
+            return FastMath.max(0, FastMath.min(nLon - 1, (int) FastMath.floor(normalized / lonStep)));
+        }
+
+    }
+
+}
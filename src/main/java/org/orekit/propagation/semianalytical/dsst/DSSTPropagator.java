@@ -25,6 +25,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import org.hipparchus.ode.ODEIntegrator;
 import org.hipparchus.ode.ODEStateAndDerivative;
@@ -160,6 +162,12 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
     /** Generator for the interpolation grid. */
     private InterpolationGrid interpolationgrid;
 
+    /** Cache for short periodic terms (may be null). */
+    private DSSTShortPeriodicsCache shortPeriodicsCache;
+
+    /** Pool for concurrent evaluation of force models contributions (may be null). */
+    private ForkJoinPool forceModelsPool;
+
     /** Create a new instance of DSSTPropagator.
      *  <p>
      *  After creation, there are no perturbing forces at all.
@@ -359,6 +367,67 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
         interpolationgrid = new MaxGapInterpolationGrid(maxGap);
     }
 
+    /** Set the cache for short periodic terms.
+     * <p>
+     * When a cache is set, osculating propagations starting in the neighborhood
+     * of a previous propagation stored in the cache reuse its short periodic
+     * terms instead of computing them again on the interpolation grid. Propagations
+     * that do not find a valid entry compute the short periodic terms as usual
+     * and store them in the cache at the end. The cache is ignored for mean
+     * elements propagations.
+     * </p>
+     * <p>
+     * By default, no cache is used.
+     * </p>
+     * @param cache cache for short periodic terms (null to disable caching)
+     * @see #getShortPeriodicsCache()
+     * @since 11.0
+     */
+    public void setShortPeriodicsCache(final DSSTShortPeriodicsCache cache) {
+        this.shortPeriodicsCache = cache;
+    }
+
+    /** Get the cache for short periodic terms.
+     * @return cache for short periodic terms (null if caching is disabled)
+     * @see #setShortPeriodicsCache(DSSTShortPeriodicsCache)
+     * @since 11.0
+     */
+    public DSSTShortPeriodicsCache getShortPeriodicsCache() {
+        return shortPeriodicsCache;
+    }
+
+    /** Set the pool used for concurrent evaluation of the force models contributions.
+     * <p>
+     * By default, the mean elements rates of the force models are computed
+     * sequentially in the propagation thread. When a pool is set, the
+     * contributions of the various force models are computed concurrently at
+     * each integration step and summed in force models order afterwards, so
+     * the result does not depend on the pool used. The force models must then
+     * not share any component that is not thread-safe.
+     * </p>
+     * <p>
+     * The quadrature nodes of numerically averaged contributions can also be
+     * evaluated concurrently, see {@link
+     * org.orekit.propagation.semianalytical.dsst.forces.AbstractGaussianContribution#setQuadraturePool(ForkJoinPool)
+     * AbstractGaussianContribution.setQuadraturePool}.
+     * </p>
+     * @param pool pool to use (null for sequential evaluation)
+     * @see #getForceModelsPool()
+     * @since 11.0
+     */
+    public void setForceModelsPool(final ForkJoinPool pool) {
+        this.forceModelsPool = pool;
+    }
+
+    /** Get the pool used for concurrent evaluation of the force models contributions.
+     * @return pool used (null for sequential evaluation)
+     * @see #setForceModelsPool(ForkJoinPool)
+     * @since 11.0
+     */
+    public ForkJoinPool getForceModelsPool() {
+        return forceModelsPool;
+    }
+
     /** Add a force model to the global perturbation model.
      *  <p>
      *  If this method is not called at all,
@@ -594,11 +663,23 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
         for (final DSSTForceModel force : forceModels) {
             shortPeriodTerms.addAll(force.initializeShortPeriodTerms(aux, type, force.getParameters()));
         }
-        mapper.setShortPeriodTerms(shortPeriodTerms);
+
+        // look for short periodic terms computed during a previous propagation
+        final List<ShortPeriodTerms> cached =
+                        (type == PropagationType.OSCULATING && shortPeriodicsCache != null) ?
+                        shortPeriodicsCache.lookup(initialState, forceModels, initialState.getDate(), tEnd) :
+                        null;
+
+        if (cached != null) {
+            // reuse the cached terms, there is no need to compute the coefficients
+            mapper.setShortPeriodTerms(cached);
+        } else {
+            mapper.setShortPeriodTerms(shortPeriodTerms);
+        }
 
         // if required, insert the special short periodics step handler
-        if (type == PropagationType.OSCULATING) {
-            final ShortPeriodicsHandler spHandler = new ShortPeriodicsHandler(forceModels);
+        if (type == PropagationType.OSCULATING && cached == null) {
+            final ShortPeriodicsHandler spHandler = new ShortPeriodicsHandler(forceModels, initialState);
             // Compute short periodic coefficients for this point
             for (DSSTForceModel forceModel : forceModels) {
                 forceModel.updateShortPeriodTerms(forceModel.getParameters(), initialState);
@@ -626,7 +707,9 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
             final List<ODEStepHandler> preserved = new ArrayList<ODEStepHandler>();
             final ODEIntegrator integrator = getIntegrator();
             for (final ODEStepHandler sp : integrator.getStepHandlers()) {
-                if (!(sp instanceof ShortPeriodicsHandler)) {
+                if (sp instanceof ShortPeriodicsHandler) {
+                    ((ShortPeriodicsHandler) sp).storeInCache();
+                } else {
                     preserved.add(sp);
                 }
             }
@@ -981,8 +1064,21 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
             final AuxiliaryElements auxiliaryElements = new AuxiliaryElements(state.getOrbit(), I);
 
             // compute the contributions of all perturbing forces
-            for (final DSSTForceModel forceModel : forceModels) {
-                final double[] daidt = elementRates(forceModel, state, auxiliaryElements, forceModel.getParameters());
+            final double[][] rates = new double[forceModels.size()][];
+            if (forceModelsPool == null || rates.length < 2) {
+                for (int k = 0; k < rates.length; k++) {
+                    final DSSTForceModel forceModel = forceModels.get(k);
+                    rates[k] = elementRates(forceModel, state, auxiliaryElements, forceModel.getParameters());
+                }
+            } else {
+                forceModelsPool.submit(() -> IntStream.range(0, rates.length).parallel().forEach(k -> {
+                    final DSSTForceModel forceModel = forceModels.get(k);
+                    rates[k] = elementRates(forceModel, state, auxiliaryElements, forceModel.getParameters());
+                })).join();
+            }
+
+            // sum the contributions, always in the same order
+            for (final double[] daidt : rates) {
                 for (int i = 0; i < daidt.length; i++) {
                     yDot[i] += daidt[i];
                 }
@@ -1072,17 +1168,50 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
         /** Force models used to compute short periodic terms. */
         private final List<DSSTForceModel> forceModels;
 
+        /** Initial mean state. */
+        private final SpacecraftState initialState;
+
+        /** Earliest time covered by the short periodic terms. */
+        private double tMin;
+
+        /** Latest time covered by the short periodic terms. */
+        private double tMax;
+
         /** Constructor.
          * @param forceModels force models
+         * @param initialState initial mean state
          */
-        ShortPeriodicsHandler(final List<DSSTForceModel> forceModels) {
-            this.forceModels = forceModels;
+        ShortPeriodicsHandler(final List<DSSTForceModel> forceModels, final SpacecraftState initialState) {
+            this.forceModels  = forceModels;
+            this.initialState = initialState;
+            this.tMin         = Double.NaN;
+            this.tMax         = Double.NaN;
+        }
+
+        /** Store the computed short periodic terms in the cache, if any. */
+        void storeInCache() {
+            if (shortPeriodicsCache != null && !Double.isNaN(tMin)) {
+                shortPeriodicsCache.store(initialState, forceModels,
+                                          mapper.mapDoubleToDate(tMin), mapper.mapDoubleToDate(tMax),
+                                          mapper.getShortPeriodTerms());
+            }
         }
 
         /** {@inheritDoc} */
         @Override
         public void handleStep(final ODEStateInterpolator interpolator, final boolean isLast) {
 
+            // update covered range
+            final double t0 = interpolator.getPreviousState().getTime();
+            final double t1 = interpolator.getCurrentState().getTime();
+            if (Double.isNaN(tMin)) {
+                tMin = FastMath.min(t0, t1);
+                tMax = FastMath.max(t0, t1);
+            } else {
+                tMin = FastMath.min(tMin, FastMath.min(t0, t1));
+                tMax = FastMath.max(tMax, FastMath.max(t0, t1));
+            }
+
             // Get the grid points to compute
             final double[] interpolationPoints =
                     interpolationgrid.getGridPoints(interpolator.getPreviousState().getTime(),
@@ -0,0 +1,288 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.semianalytical.dsst;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.orbits.EquinoctialOrbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTForceModel;
+import org.orekit.propagation.semianalytical.dsst.forces.ShortPeriodTerms;
+import org.orekit.time.AbsoluteDate;
+
+/** Cache for short periodic terms shared between several {@link DSSTPropagator DSST propagations}.
+ * <p>
+ * Computing the short periodic coefficients on the interpolation grid is the most
+ * expensive part of an osculating DSST propagation. When the same propagator
+ * configuration is used several times with slightly different initial mean states,
+ * as in orbit determination iterations or Monte-Carlo analyses, the coefficients
+ * computed during a reference run are an accurate approximation for the following
+ * runs. This cache stores the short periodic terms computed during osculating
+ * propagations and provides them back to later propagations that stay in the
+ * neighborhood of the reference.
+ * </p>
+ * <p>
+ * A cached entry is reused only if all the following validity checks are fulfilled:
+ * </p>
+ * <ul>
+ *   <li>the force models are the same instances, in the same order,</li>
+ *   <li>the force models parameters are within the relative tolerance of the reference ones,</li>
+ *   <li>the initial mean state has the same date, frame and central attraction coefficient
+ *       as the reference,</li>
+ *   <li>the initial mean equinoctial elements are in the neighborhood of the reference ones
+ *       (relative tolerance on semi-major axis, absolute tolerance on the other elements),</li>
+ *   <li>the propagation time range is covered by the reference propagation.</li>
+ * </ul>
+ * <p>
+ * The short periodic terms of the reference are used as is, the error introduced is
+ * therefore proportional to the distance between the current mean elements and the
+ * reference ones. The tolerance should be selected accordingly.
+ * </p>
+ * <p>
+ * The cache is intended to be shared by propagators configured identically (same
+ * interpolation grid, same force models). As the cached short periodic terms are
+ * not thread-safe, the cache must not be shared between propagators running in
+ * different threads.
+ * </p>
+ * @see DSSTPropagator#setShortPeriodicsCache(DSSTShortPeriodicsCache)
+ * @since 11.0
+ */
+public class DSSTShortPeriodicsCache {
+
+    /** Tolerance for reusing cached coefficients. */
+    private final double tolerance;
+
+    /** Maximum number of entries. */
+    private final int maxEntries;
+
+    /** Cached entries, most recently used first. */
+    private final LinkedList<Entry> entries;
+
+    /** Number of cache hits. */
+    private int hits;
+
+    /** Number of cache misses. */
+    private int misses;
+
+    /** Simple constructor.
+     * @param tolerance tolerance for reusing cached coefficients (dimensionless,
+     * relative for semi-major axis and force models parameters, absolute for
+     * the other equinoctial elements)
+     * @param maxEntries maximum number of entries (least recently used entries are evicted first)
+     */
+    public DSSTShortPeriodicsCache(final double tolerance, final int maxEntries) {
+        this.tolerance  = tolerance;
+        this.maxEntries = maxEntries;
+        this.entries    = new LinkedList<>();
+        this.hits       = 0;
+        this.misses     = 0;
+    }
+
+    /** Get the tolerance for reusing cached coefficients.
+     * @return tolerance for reusing cached coefficients
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /** Get the number of entries in the cache.
+     * @return number of entries in the cache
+     */
+    public int getEntries() {
+        return entries.size();
+    }
+
+    /** Get the number of cache hits.
+     * @return number of cache hits
+     */
+    public int getHits() {
+        return hits;
+    }
+
+    /** Get the number of cache misses.
+     * @return number of cache misses
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    /** Clear the cache and reset statistics. */
+    public void clear() {
+        entries.clear();
+        hits   = 0;
+        misses = 0;
+    }
+
+    /** Look for cached short periodic terms.
+     * @param meanState initial mean state
+     * @param forceModels force models
+     * @param start start of the propagation range
+     * @param end end of the propagation range
+     * @return cached short periodic terms, or null if no valid entry exists
+     */
+    List<ShortPeriodTerms> lookup(final SpacecraftState meanState, final List<DSSTForceModel> forceModels,
+                                  final AbsoluteDate start, final AbsoluteDate end) {
+
+        final EquinoctialOrbit orbit = (EquinoctialOrbit) OrbitType.EQUINOCTIAL.convertType(meanState.getOrbit());
+        for (final Iterator<Entry> iterator = entries.iterator(); iterator.hasNext();) {
+            final Entry entry = iterator.next();
+            if (entry.isValid(orbit, forceModels, start, end)) {
+                // move entry in front of the list
+                iterator.remove();
+                entries.addFirst(entry);
+                ++hits;
+                return entry.terms;
+            }
+        }
+
+        ++misses;
+        return null;
+
+    }
+
+    /** Store short periodic terms.
+     * @param meanState initial mean state
+     * @param forceModels force models
+     * @param start start of the propagation range covered by the terms
+     * @param end end of the propagation range covered by the terms
+     * @param terms short periodic terms
+     */
+    void store(final SpacecraftState meanState, final List<DSSTForceModel> forceModels,
+               final AbsoluteDate start, final AbsoluteDate end, final List<ShortPeriodTerms> terms) {
+        if (maxEntries < 1) {
+            return;
+        }
+        entries.addFirst(new Entry((EquinoctialOrbit) OrbitType.EQUINOCTIAL.convertType(meanState.getOrbit()),
+                                   forceModels, start, end, terms));
+        while (entries.size() > maxEntries) {
+            entries.removeLast();
+        }
+    }
+
+    /** Check if a value is within relative tolerance of a reference.
+     * @param value value to check
+     * @param reference reference value
+     * @return true if value is within relative tolerance
+     */
+    private boolean relativelyClose(final double value, final double reference) {
+        return FastMath.abs(value - reference) <= tolerance * FastMath.abs(reference);
+    }
+
+    /** Cache entry. */
+    private class Entry {
+
+        /** Reference initial mean orbit. */
+        private final EquinoctialOrbit reference;
+
+        /** Force models. */
+        private final List<DSSTForceModel> forceModels;
+
+        /** Force models parameters. */
+        private final List<double[]> parameters;
+
+        /** Earliest covered date. */
+        private final AbsoluteDate earliest;
+
+        /** Latest covered date. */
+        private final AbsoluteDate latest;
+
+        /** Short periodic terms. */
+        private final List<ShortPeriodTerms> terms;
+
+        /** Simple constructor.
+         * @param reference reference initial mean orbit
+         * @param forceModels force models
+         * @param start start of the propagation range covered by the terms
+         * @param end end of the propagation range covered by the terms
+         * @param terms short periodic terms
+         */
+        Entry(final EquinoctialOrbit reference, final List<DSSTForceModel> forceModels,
+              final AbsoluteDate start, final AbsoluteDate end, final List<ShortPeriodTerms> terms) {
+            this.reference   = reference;
+            this.forceModels = new ArrayList<>(forceModels);
+            this.parameters  = new ArrayList<>(forceModels.size());
+            for (final DSSTForceModel forceModel : forceModels) {
+                parameters.add(forceModel.getParameters());
+            }
+            this.earliest    = start.compareTo(end) <= 0 ? start : end;
+            this.latest      = start.compareTo(end) <= 0 ? end   : start;
+            this.terms       = terms;
+        }
+
+        /** Check if the entry can be used for a propagation.
+         * @param orbit initial mean orbit
+         * @param models force models
+         * @param start start of the propagation range
+         * @param end end of the propagation range
+         * @return true if the entry can be used
+         */
+        boolean isValid(final EquinoctialOrbit orbit, final List<DSSTForceModel> models,
+                        final AbsoluteDate start, final AbsoluteDate end) {
+
+            // force models
+            if (models.size() != forceModels.size()) {
+                return false;
+            }
+            for (int i = 0; i < forceModels.size(); ++i) {
+                if (models.get(i) != forceModels.get(i)) {
+                    return false;
+                }
+                final double[] current  = models.get(i).getParameters();
+                final double[] previous = parameters.get(i);
+                for (int j = 0; j < current.length; ++j) {
+                    if (!relativelyClose(current[j], previous[j])) {
+                        return false;
+                    }
+                }
+            }
+
+            // initial mean state
+            if (orbit.getFrame() != reference.getFrame() ||
+                orbit.getMu() != reference.getMu() ||
+                !orbit.getDate().equals(reference.getDate())) {
+                return false;
+            }
+            if (!relativelyClose(orbit.getA(), reference.getA()) ||
+                FastMath.abs(orbit.getEquinoctialEx() - reference.getEquinoctialEx()) > tolerance ||
+                FastMath.abs(orbit.getEquinoctialEy() - reference.getEquinoctialEy()) > tolerance ||
+                FastMath.abs(orbit.getHx() - reference.getHx()) > tolerance ||
+                FastMath.abs(orbit.getHy() - reference.getHy()) > tolerance) {
+                return false;
+            }
+            final double deltaL = MathUtils.normalizeAngle(orbit.getL(PositionAngle.MEAN) - reference.getL(PositionAngle.MEAN),
+                                                           0.0);
+            if (FastMath.abs(deltaL) > tolerance) {
+                return false;
+            }
+
+            // time range
+            final AbsoluteDate min = start.compareTo(end) <= 0 ? start : end;
+            final AbsoluteDate max = start.compareTo(end) <= 0 ? end   : start;
+            return min.compareTo(earliest) >= 0 && max.compareTo(latest) <= 0;
+
+        }
+
+    }
+
+}
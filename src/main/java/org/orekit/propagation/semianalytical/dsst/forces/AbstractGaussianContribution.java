@@ -23,6 +23,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
@@ -92,6 +94,12 @@ import org.orekit.utils.TimeSpanMap;
  * {@link #getLLimits(SpacecraftState, AuxiliaryElements)} and
  * {@link #getParametersDriversWithoutMu()}.
  * </p>
+ * <p>
+ * The evaluations of the contribution at the quadrature nodes are independent
+ * from each other. They can be performed concurrently by {@link
+ * #setQuadraturePool(ForkJoinPool) setting a fork/join pool}. The results are
+ * always summed in node order, so they do not depend on the pool used.
+ * </p>
  * @author Pascal Parraud
  * @author Bryan Cazabonne (field translation)
  */
@@ -143,6 +151,9 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
     /** Gauss integrator. */
     private GaussQuadrature integrator;
 
+    /** Pool for concurrent evaluation of quadrature nodes (null for sequential evaluation). */
+    private ForkJoinPool quadraturePool;
+
     /** Flag for Gauss order computation. */
     private boolean isDirty;
 
@@ -179,12 +190,46 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
         this.coefficientsKeyPrefix = coefficientsKeyPrefix;
         this.contribution = contribution;
         this.threshold = threshold;
-        this.integrator = new GaussQuadrature(GAUSS_ORDER[MAX_ORDER_RANK]);
+        this.quadraturePool = null;
+        this.integrator = createQuadrature(GAUSS_ORDER[MAX_ORDER_RANK]);
         this.isDirty = true;
 
         gaussianFieldSPCoefs = new HashMap<>();
     }
 
+    /** Set the pool used for concurrent evaluation of the quadrature nodes.
+     * <p>
+     * By default, the quadrature nodes are evaluated sequentially in the
+     * calling thread. When a pool is set, they are evaluated concurrently.
+     * This is worthwhile only when the contribution is expensive to evaluate,
+     * as atmospheric drag with an elaborate atmosphere model. The {@link
+     * ForceModel contribution} and the {@link #registerAttitudeProvider(AttitudeProvider)
+     * attitude provider} must then be thread-safe.
+     * </p>
+     * @param pool pool to use (null for sequential evaluation)
+     * @since 11.0
+     */
+    public void setQuadraturePool(final ForkJoinPool pool) {
+        this.quadraturePool = pool;
+        this.integrator     = createQuadrature(integrator.numberOfPoints);
+    }
+
+    /** Get the pool used for concurrent evaluation of the quadrature nodes.
+     * @return pool used (null for sequential evaluation)
+     * @since 11.0
+     */
+    public ForkJoinPool getQuadraturePool() {
+        return quadraturePool;
+    }
+
+    /** Create a Gauss quadrature.
+     * @param numberOfPoints order of the integration rule
+     * @return Gauss quadrature using the configured pool
+     */
+    private GaussQuadrature createQuadrature(final int numberOfPoints) {
+        return new GaussQuadrature(numberOfPoints, quadraturePool);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void init(final SpacecraftState initialState, final AbsoluteDate target) {
@@ -297,10 +342,10 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
             if (isDirty) {
                 boolean next = true;
                 for (int i = 0; i < MAX_ORDER_RANK && next; i++) {
-                    final double[] meanRates = getMeanElementRate(state, new GaussQuadrature(GAUSS_ORDER[i]), ll[0],
+                    final double[] meanRates = getMeanElementRate(state, createQuadrature(GAUSS_ORDER[i]), ll[0],
                             ll[1], context, parameters);
                     if (getRatesDiff(meanElementRate, meanRates, context) < threshold) {
-                        integrator = new GaussQuadrature(GAUSS_ORDER[i]);
+                        integrator = createQuadrature(GAUSS_ORDER[i]);
                         next = false;
                     }
                 }
@@ -328,10 +373,10 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
             if (isDirty) {
                 boolean next = true;
                 for (int i = 0; i < MAX_ORDER_RANK && next; i++) {
-                    final T[] meanRates = getMeanElementRate(state, new GaussQuadrature(GAUSS_ORDER[i]), ll[0], ll[1],
+                    final T[] meanRates = getMeanElementRate(state, createQuadrature(GAUSS_ORDER[i]), ll[0], ll[1],
                             context, parameters);
                     if (getRatesDiff(meanElementRate, meanRates, context).getReal() < threshold) {
-                        integrator = new GaussQuadrature(GAUSS_ORDER[i]);
+                        integrator = createQuadrature(GAUSS_ORDER[i]);
                         next = false;
                     }
                 }
@@ -1320,14 +1365,30 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
         /** Number of points. */
         private final int numberOfPoints;
 
+        /** Pool for concurrent evaluation of the nodes (null for sequential evaluation). */
+        private final ForkJoinPool pool;
+
         /**
          * Creates a Gauss integrator of the given order.
          *
          * @param numberOfPoints Order of the integration rule.
          */
         GaussQuadrature(final int numberOfPoints) {
+            this(numberOfPoints, null);
+        }
+
+        /**
+         * Creates a Gauss integrator of the given order.
+         *
+         * @param numberOfPoints Order of the integration rule.
+         * @param pool pool for concurrent evaluation of the nodes
+         * (null for sequential evaluation)
+         * @since 11.0
+         */
+        GaussQuadrature(final int numberOfPoints, final ForkJoinPool pool) {
 
             this.numberOfPoints = numberOfPoints;
+            this.pool           = pool;
 
             switch (numberOfPoints) {
                 case 12:
@@ -1463,9 +1524,21 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
          */
         private double[] basicIntegrate(final UnivariateVectorFunction f, final double[] points,
                 final double[] weights) {
-            double x = points[0];
+
+            // evaluate the function at all nodes
+            final double[][] values = new double[points.length][];
+            if (pool == null) {
+                for (int i = 0; i < points.length; i++) {
+                    values[i] = f.value(points[i]);
+                }
+            } else {
+                pool.submit(() -> IntStream.range(0, points.length).parallel().
+                                  forEach(i -> values[i] = f.value(points[i]))).join();
+            }
+
+            // sum the weighted values, always in the same order
             double w = weights[0];
-            double[] v = f.value(x);
+            double[] v = values[0];
             final double[] y = new double[v.length];
             for (int j = 0; j < v.length; j++) {
                 y[j] = w * v[j];
@@ -1474,9 +1547,8 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
             final double[] c = new double[v.length];
             final double[] s = t.clone();
             for (int i = 1; i < points.length; i++) {
-                x = points[i];
                 w = weights[i];
-                v = f.value(x);
+                v = values[i];
                 for (int j = 0; j < v.length; j++) {
                     y[j] = w * v[j] - c[j];
                     t[j] = s[j] + y[j];
@@ -1502,9 +1574,20 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
         private <T extends RealFieldElement<T>> T[] basicIntegrate(final RealFieldUnivariateVectorFunction<T> f,
                 final T[] points, final T[] weights, final Field<T> field) {
 
-            T x = points[0];
+            // evaluate the function at all nodes
+            final T[][] values = MathArrays.buildArray(field, points.length, -1);
+            if (pool == null) {
+                for (int i = 0; i < points.length; i++) {
+                    values[i] = f.value(points[i]);
+                }
+            } else {
+                pool.submit(() -> IntStream.range(0, points.length).parallel().
+                                  forEach(i -> values[i] = f.value(points[i]))).join();
+            }
+
+            // sum the weighted values, always in the same order
             T w = weights[0];
-            T[] v = f.value(x);
+            T[] v = values[0];
 
             final T[] y = MathArrays.buildArray(field, v.length);
             for (int j = 0; j < v.length; j++) {
@@ -1515,9 +1598,8 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
             ;
             final T[] s = t.clone();
             for (int i = 1; i < points.length; i++) {
-                x = points[i];
                 w = weights[i];
-                v = f.value(x);
+                v = values[i];
                 for (int j = 0; j < v.length; j++) {
                     y[j] = v[j].multiply(w).subtract(c[j]);
                     t[j] = y[j].add(s[j]);
@@ -20,16 +20,12 @@ import java.util.Arrays;
 
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
-import org.hipparchus.fraction.BigFraction;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathArrays;
 
 /** Compute the &Gamma;<sup>m</sup><sub>n,s</sub>(γ) function from equation 2.7.1-(13). */
 public class FieldGammaMnsFunction <T extends RealFieldElement<T>> {
 
-    /** Factorial ratios. */
-    private static double[] PRECOMPUTED_RATIOS;
-
     /** Field element. */
     private final Field<T> field;
 
@@ -56,7 +52,7 @@ public class FieldGammaMnsFunction <T extends RealFieldElement<T>> {
         final T zero = field.getZero();
         final int size = (nMax + 1) * (nMax + 2) * (4 * nMax + 3) / 6;
         this.values = MathArrays.buildArray(field, size);
-        this.ratios = getRatios(nMax, size);
+        this.ratios = GammaMnsFunction.getRatios(nMax, size);
         Arrays.fill(values, zero.add(Double.NaN));
         this.opIg   = gamma.multiply(I).add(1.);
         this.I      = I;
@@ -74,46 +70,6 @@ public class FieldGammaMnsFunction <T extends RealFieldElement<T>> {
                s + n;                          // index for m, n, s
     }
 
-    /** Get the ratios for the given size.
-     * @param nMax max value for n
-     * @param size ratio size array
-     * @return factorial ratios
-     */
-    private static double[] getRatios(final int nMax, final int size) {
-        synchronized (GammaMnsFunction.class) {
-            if (PRECOMPUTED_RATIOS == null || PRECOMPUTED_RATIOS.length < size) {
-                // we need to compute a larger reference array
-
-                final BigFraction[] bF = new BigFraction[size];
-                for (int n = 0; n <= nMax; ++n) {
-
-                    // populate ratios for s = 0
-                    bF[index(0, n, 0)] = BigFraction.ONE;
-                    for (int m = 1; m <= n; ++m) {
-                        bF[index(m, n, 0)] = bF[index(m - 1, n, 0)].multiply(n + m).divide(n - (m - 1));
-                    }
-
-                    // populate ratios for s != 0
-                    for (int absS = 1; absS <= n; ++absS) {
-                        for (int m = 0; m <= n; ++m) {
-                            bF[index(m, n, +absS)] = bF[index(m, n, absS - 1)].divide(n + absS).multiply(n - (absS - 1));
-                            bF[index(m, n, -absS)] = bF[index(m, n, absS)];
-                        }
-                    }
-
-                }
-
-                // convert to double
-                PRECOMPUTED_RATIOS = new double[size];
-                for (int i = 0; i < bF.length; ++i) {
-                    PRECOMPUTED_RATIOS[i] = bF[i].doubleValue();
-                }
-
-            }
-            return PRECOMPUTED_RATIOS;
-        }
-    }
-
     /** Get &Gamma; function value.
      *  @param m m
      *  @param n n
@@ -27,8 +27,8 @@ import org.hipparchus.util.FastMath;
  */
 public class GammaMnsFunction {
 
-    /** Factorial ratios. */
-    private static double[] PRECOMPUTED_RATIOS;
+    /** Factorial ratios (shared between all instances, replaced when larger arrays are needed). */
+    private static volatile double[] PRECOMPUTED_RATIOS = new double[0];
 
     /** Factorial ratios. */
     private final double[] ratios;
@@ -69,43 +69,56 @@ public class GammaMnsFunction {
     }
 
     /** Get the ratios for the given size.
+     * <p>
+     * The ratios are shared between all instances, including the field ones.
+     * When a larger array is needed, it is computed without locking and
+     * published through a volatile field.
+     * </p>
      * @param nMax max value for n
      * @param size ratio size array
      * @return factorial ratios
      */
-    private static double[] getRatios(final int nMax, final int size) {
-        synchronized (GammaMnsFunction.class) {
-            if (PRECOMPUTED_RATIOS == null || PRECOMPUTED_RATIOS.length < size) {
-                // we need to compute a larger reference array
-
-                final BigFraction[] bF = new BigFraction[size];
-                for (int n = 0; n <= nMax; ++n) {
-
-                    // populate ratios for s = 0
-                    bF[index(0, n, 0)] = BigFraction.ONE;
-                    for (int m = 1; m <= n; ++m) {
-                        bF[index(m, n, 0)] = bF[index(m - 1, n, 0)].multiply(n + m).divide(n - (m - 1));
-                    }
-
-                    // populate ratios for s != 0
-                    for (int absS = 1; absS <= n; ++absS) {
-                        for (int m = 0; m <= n; ++m) {
-                            bF[index(m, n, +absS)] = bF[index(m, n, absS - 1)].divide(n + absS).multiply(n - (absS - 1));
-                            bF[index(m, n, -absS)] = bF[index(m, n, absS)];
-                        }
-                    }
+    static double[] getRatios(final int nMax, final int size) {
 
-                }
+        // fast lock-free path, the published array is never modified
+        final double[] available = PRECOMPUTED_RATIOS;
+        if (available.length >= size) {
+            return available;
+        }
 
-                // convert to double
-                PRECOMPUTED_RATIOS = new double[size];
-                for (int i = 0; i < bF.length; ++i) {
-                    PRECOMPUTED_RATIOS[i] = bF[i].doubleValue();
-                }
+        // we need to compute a larger reference array
+        final BigFraction[] bF = new BigFraction[size];
+        for (int n = 0; n <= nMax; ++n) {
 
+            // populate ratios for s = 0
+            bF[index(0, n, 0)] = BigFraction.ONE;
+            for (int m = 1; m <= n; ++m) {
+                bF[index(m, n, 0)] = bF[index(m - 1, n, 0)].multiply(n + m).divide(n - (m - 1));
+            }
+
+            // populate ratios for s != 0
+            for (int absS = 1; absS <= n; ++absS) {
+                for (int m = 0; m <= n; ++m) {
+                    bF[index(m, n, +absS)] = bF[index(m, n, absS - 1)].divide(n + absS).multiply(n - (absS - 1));
+                    bF[index(m, n, -absS)] = bF[index(m, n, absS)];
+                }
             }
-            return PRECOMPUTED_RATIOS;
+
+        }
+
+        // convert to double
+        final double[] ratios = new double[size];
+        for (int i = 0; i < bF.length; ++i) {
+            ratios[i] = bF[i].doubleValue();
         }
+
+        // publish the complete array, unless another thread published a larger one meanwhile
+        // (the race is benign: any published array is complete and never modified afterwards)
+        if (PRECOMPUTED_RATIOS.length < size) {
+            PRECOMPUTED_RATIOS = ratios;
+        }
+        return ratios;
+
     }
 
     /** Get &Gamma; function value.
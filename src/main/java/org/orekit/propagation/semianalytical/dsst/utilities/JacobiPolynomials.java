@@ -16,10 +16,8 @@
  */
 package org.orekit.propagation.semianalytical.dsst.utilities;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
@@ -41,9 +39,15 @@ import org.hipparchus.analysis.polynomials.PolynomialsUtils;
  */
 public class JacobiPolynomials {
 
-    /** Storage map. */
-    private static final Map<JacobiKey, List<PolynomialFunction>> MAP =
-            new HashMap<JacobiPolynomials.JacobiKey, List<PolynomialFunction>>();
+    /** Storage map.
+     * <p>
+     * The stored arrays are never modified once published, they are replaced
+     * by larger ones when higher degrees are needed. Reading them is therefore
+     * lock-free.
+     * </p>
+     */
+    private static final ConcurrentMap<JacobiKey, PolynomialFunction[]> MAP =
+            new ConcurrentHashMap<JacobiPolynomials.JacobiKey, PolynomialFunction[]>();
 
     /** Private constructor as class is a utility. */
     private JacobiPolynomials() {
@@ -63,32 +67,8 @@ public class JacobiPolynomials {
     @Deprecated
     public static DerivativeStructure getValue(final int l, final int v, final int w, final DerivativeStructure gamma) {
 
-        final List<PolynomialFunction> polyList;
-        synchronized (MAP) {
-
-            final JacobiKey key = new JacobiKey(v, w);
-
-            // Check the existence of the corresponding key in the map.
-            if (!MAP.containsKey(key)) {
-                MAP.put(key, new ArrayList<PolynomialFunction>());
-            }
-
-            polyList = MAP.get(key);
-
-        }
-
-        final PolynomialFunction polynomial;
-        synchronized (polyList) {
-            // If the l-th degree polynomial has not been computed yet, the polynomials
-            // up to this degree are computed.
-            for (int degree = polyList.size(); degree <= l; degree++) {
-                polyList.add(degree, PolynomialsUtils.createJacobiPolynomial(degree, v, w));
-            }
-            polynomial = polyList.get(l);
-        }
-
         // compute value and derivative
-        return polynomial.value(gamma);
+        return getPolynomial(l, v, w).value(gamma);
 
     }
 
@@ -105,32 +85,8 @@ public class JacobiPolynomials {
      */
     public static Gradient getValue(final int l, final int v, final int w, final Gradient gamma) {
 
-        final List<PolynomialFunction> polyList;
-        synchronized (MAP) {
-
-            final JacobiKey key = new JacobiKey(v, w);
-
-            // Check the existence of the corresponding key in the map.
-            if (!MAP.containsKey(key)) {
-                MAP.put(key, new ArrayList<PolynomialFunction>());
-            }
-
-            polyList = MAP.get(key);
-
-        }
-
-        final PolynomialFunction polynomial;
-        synchronized (polyList) {
-            // If the l-th degree polynomial has not been computed yet, the polynomials
-            // up to this degree are computed.
-            for (int degree = polyList.size(); degree <= l; degree++) {
-                polyList.add(degree, PolynomialsUtils.createJacobiPolynomial(degree, v, w));
-            }
-            polynomial = polyList.get(l);
-        }
-
         // compute value and derivative
-        return polynomial.value(gamma);
+        return getPolynomial(l, v, w).value(gamma);
 
     }
 
@@ -150,32 +106,8 @@ public class JacobiPolynomials {
     public static <T extends RealFieldElement<T>> FieldDerivativeStructure<T> getValue(final int l, final int v, final int w,
                                                                                        final FieldDerivativeStructure<T> gamma) {
 
-        final List<PolynomialFunction> polyList;
-        synchronized (MAP) {
-
-            final JacobiKey key = new JacobiKey(v, w);
-
-            // Check the existence of the corresponding key in the map.
-            if (!MAP.containsKey(key)) {
-                MAP.put(key, new ArrayList<PolynomialFunction>());
-            }
-
-            polyList = MAP.get(key);
-
-        }
-
-        final PolynomialFunction polynomial;
-        synchronized (polyList) {
-            // If the l-th degree polynomial has not been computed yet, the polynomials
-            // up to this degree are computed.
-            for (int degree = polyList.size(); degree <= l; degree++) {
-                polyList.add(degree, PolynomialsUtils.createJacobiPolynomial(degree, v, w));
-            }
-            polynomial = polyList.get(l);
-        }
-
         // compute value and derivative
-        return polynomial.value(gamma);
+        return getPolynomial(l, v, w).value(gamma);
 
     }
 
@@ -194,32 +126,60 @@ public class JacobiPolynomials {
     public static <T extends RealFieldElement<T>> FieldGradient<T> getValue(final int l, final int v, final int w,
                                                                             final FieldGradient<T> gamma) {
 
-        final List<PolynomialFunction> polyList;
-        synchronized (MAP) {
+        // compute value and derivative
+        return getPolynomial(l, v, w).value(gamma);
 
-            final JacobiKey key = new JacobiKey(v, w);
+    }
 
-            // Check the existence of the corresponding key in the map.
-            if (!MAP.containsKey(key)) {
-                MAP.put(key, new ArrayList<PolynomialFunction>());
-            }
+    /** Get the Jacobi polynomial P<sub>l</sub><sup>v,w</sup>.
+     * <p>
+     * The polynomials are shared between all threads. When the stored table must
+     * be extended to higher degrees, the extended table is generated without
+     * locking and published atomically.
+     * </p>
+     * @param l degree of the polynomial
+     * @param v v value
+     * @param w w value
+     * @return Jacobi polynomial P<sub>l</sub><sup>v,w</sup>
+     * @since 11.0
+     */
+    public static PolynomialFunction getPolynomial(final int l, final int v, final int w) {
 
-            polyList = MAP.get(key);
+        final JacobiKey key = new JacobiKey(v, w);
 
+        // fast lock-free path, used once the table has been generated
+        final PolynomialFunction[] polynomials = MAP.get(key);
+        if (polynomials != null && polynomials.length > l) {
+            return polynomials[l];
         }
 
-        final PolynomialFunction polynomial;
-        synchronized (polyList) {
-            // If the l-th degree polynomial has not been computed yet, the polynomials
-            // up to this degree are computed.
-            for (int degree = polyList.size(); degree <= l; degree++) {
-                polyList.add(degree, PolynomialsUtils.createJacobiPolynomial(degree, v, w));
+        // the l-th degree polynomial has not been computed yet,
+        // the polynomials up to this degree are computed outside of any lock
+        PolynomialFunction[] previous = polynomials;
+        while (true) {
+            final int known = (previous == null) ? 0 : previous.length;
+            final PolynomialFunction[] extended = new PolynomialFunction[l + 1];
+            if (previous != null) {
+                System.arraycopy(previous, 0, extended, 0, known);
+            }
+            for (int degree = known; degree <= l; degree++) {
+                extended[degree] = PolynomialsUtils.createJacobiPolynomial(degree, v, w);
             }
-            polynomial = polyList.get(l);
-        }
 
-        // compute value and derivative
-        return polynomial.value(gamma);
+            // publish the extended table, unless another thread changed it meanwhile
+            final boolean published = (previous == null) ?
+                                      MAP.putIfAbsent(key, extended) == null :
+                                      MAP.replace(key, previous, extended);
+            if (published) {
+                return extended[l];
+            }
+
+            previous = MAP.get(key);
+            if (previous.length > l) {
+                // another thread has already extended the table
+                return previous[l];
+            }
+        }
 
     }
 
@@ -19,8 +19,9 @@ package org.orekit.propagation.semianalytical.dsst.utilities;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.hipparchus.analysis.polynomials.PolynomialFunction;
 import org.hipparchus.util.FastMath;
@@ -55,7 +56,7 @@ import org.hipparchus.util.FastMath;
 public class NewcombOperators {
 
     /** Storage map. */
-    private static final Map<NewKey, Double> MAP = new TreeMap<NewKey, Double>();
+    private static final ConcurrentMap<NewKey, Double> MAP = new ConcurrentHashMap<NewKey, Double>();
 
     /** Private constructor as class is a utility.
      */
@@ -75,10 +76,9 @@ public class NewcombOperators {
     public static double getValue(final int rho, final int sigma, final int n, final int s) {
 
         final NewKey key = new NewKey(n, s, rho, sigma);
-        synchronized (MAP) {
-            if (MAP.containsKey(key)) {
-                return MAP.get(key);
-            }
+        final Double cached = MAP.get(key);
+        if (cached != null) {
+            return cached;
         }
 
         // Get the Newcomb polynomials for the given rho and sigma
@@ -91,9 +91,7 @@ public class NewcombOperators {
             value += polynomial.value(s) * nPower;
             nPower = n * nPower;
         }
-        synchronized (MAP) {
-            MAP.put(key, value);
-        }
+        MAP.putIfAbsent(key, value);
 
         return value;
 
@@ -103,8 +101,8 @@ public class NewcombOperators {
     private static class PolynomialsGenerator {
 
         /** Polynomials storage. */
-        private static final SortedMap<Couple, List<PolynomialFunction>> POLYNOMIALS =
-                new TreeMap<Couple, List<PolynomialFunction>>();
+        private static final ConcurrentMap<Couple, List<PolynomialFunction>> POLYNOMIALS =
+                new ConcurrentHashMap<Couple, List<PolynomialFunction>>();
 
         /** Private constructor as class is a utility.
          */
@@ -123,60 +121,64 @@ public class NewcombOperators {
 
             final Couple couple = new Couple(rho, sigma);
 
-            synchronized (POLYNOMIALS) {
-
-                if (POLYNOMIALS.isEmpty()) {
-                    // Initialize lists
-                    final List<PolynomialFunction> l00 = new ArrayList<PolynomialFunction>();
-                    final List<PolynomialFunction> l01 = new ArrayList<PolynomialFunction>();
-                    final List<PolynomialFunction> l10 = new ArrayList<PolynomialFunction>();
-                    final List<PolynomialFunction> l11 = new ArrayList<PolynomialFunction>();
-
-                    // Y(rho = 0, sigma = 0) = 1
-                    l00.add(new PolynomialFunction(new double[] {
-                        1.
-                    }));
-                    // Y(rho = 0, sigma = 1) =  -s - n/2
-                    l01.add(new PolynomialFunction(new double[] {
-                        0, -1.
-                    }));
-                    l01.add(new PolynomialFunction(new double[] {
-                        -0.5
-                    }));
-                    // Y(rho = 1, sigma = 0) =  s - n/2
-                    l10.add(new PolynomialFunction(new double[] {
-                        0, 1.
-                    }));
-                    l10.add(new PolynomialFunction(new double[] {
-                        -0.5
-                    }));
-                    // Y(rho = 1, sigma = 1) = 3/2 - s² + 5n/4 + n²/4
-                    l11.add(new PolynomialFunction(new double[] {
-                        1.5, 0., -1.
-                    }));
-                    l11.add(new PolynomialFunction(new double[] {
-                        1.25
-                    }));
-                    l11.add(new PolynomialFunction(new double[] {
-                        0.25
-                    }));
-
-                    // Initialize polynomials
-                    POLYNOMIALS.put(new Couple(0, 0), l00);
-                    POLYNOMIALS.put(new Couple(0, 1), l01);
-                    POLYNOMIALS.put(new Couple(1, 0), l10);
-                    POLYNOMIALS.put(new Couple(1, 1), l11);
-
-                }
+            final List<PolynomialFunction> existing = POLYNOMIALS.get(couple);
+            if (existing != null) {
+                return existing;
+            }
 
-                // If order hasn't been computed yet, update the Newcomb polynomials
-                if (!POLYNOMIALS.containsKey(couple)) {
-                    PolynomialsGenerator.computeFor(rho, sigma);
-                }
+            // compute the polynomials without holding any lock,
+            // if another thread was faster, its polynomials are used
+            final List<PolynomialFunction> computed =
+                    (rho >= 0 && rho <= 1 && sigma >= 0 && sigma <= 1) ?
+                    initialPolynomials(rho, sigma) : computeFor(rho, sigma);
+            final List<PolynomialFunction> previous = POLYNOMIALS.putIfAbsent(couple, computed);
+            return (previous == null) ? computed : previous;
 
-                return POLYNOMIALS.get(couple);
+        }
 
+        /** Get the polynomials initializing the recurrence.
+         *  @param rho ρ value (0 or 1)
+         *  @param sigma σ value (0 or 1)
+         *  @return polynomials representing the Newcomb Operator for the (ρ,σ) couple
+         */
+        private static List<PolynomialFunction> initialPolynomials(final int rho, final int sigma) {
+
+            final List<PolynomialFunction> list = new ArrayList<PolynomialFunction>();
+            if (rho == 0 && sigma == 0) {
+                // Y(rho = 0, sigma = 0) = 1
+                list.add(new PolynomialFunction(new double[] {
+                    1.
+                }));
+            } else if (rho == 0) {
+                // Y(rho = 0, sigma = 1) =  -s - n/2
+                list.add(new PolynomialFunction(new double[] {
+                    0, -1.
+                }));
+                list.add(new PolynomialFunction(new double[] {
+                    -0.5
+                }));
+            } else if (sigma == 0) {
+                // Y(rho = 1, sigma = 0) =  s - n/2
+                list.add(new PolynomialFunction(new double[] {
+                    0, 1.
+                }));
+                list.add(new PolynomialFunction(new double[] {
+                    -0.5
+                }));
+            } else {
+                // Y(rho = 1, sigma = 1) = 3/2 - s² + 5n/4 + n²/4
+                list.add(new PolynomialFunction(new double[] {
+                    1.5, 0., -1.
+                }));
+                list.add(new PolynomialFunction(new double[] {
+                    1.25
+                }));
+                list.add(new PolynomialFunction(new double[] {
+                    0.25
+                }));
             }
+            return list;
+
         }
 
         /** Compute the Modified Newcomb Operators up to a given (ρ, σ) couple.
@@ -185,8 +187,9 @@ public class NewcombOperators {
          *  </p>
          *  @param rho ρ value to reach
          *  @param sigma σ value to reach
+         *  @return polynomials representing the Newcomb Operator for the (ρ,σ) couple
          */
-        private static void computeFor(final int rho, final int sigma) {
+        private static List<PolynomialFunction> computeFor(final int rho, final int sigma) {
 
             // Initialize result :
             List<PolynomialFunction> result = new ArrayList<PolynomialFunction>();
@@ -229,9 +232,8 @@ public class NewcombOperators {
                 result = sumPolynomialList(result, multiplyPolynomialList(poly, shiftList(list, -1)));
             }
 
-            // Save polynomials for current (rho, sigma) couple
-            final Couple couple = new Couple(rho, sigma);
-            POLYNOMIALS.put(couple, result);
+            return result;
+
         }
 
         /** Multiply two lists of polynomials defined as the internal representation of the Newcomb Operator.
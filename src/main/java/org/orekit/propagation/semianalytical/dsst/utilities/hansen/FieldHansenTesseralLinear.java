@@ -117,11 +117,18 @@ public class FieldHansenTesseralLinear <T extends RealFieldElement<T>> {
         hansenRoot = MathArrays.buildArray(field, numSlices, 4);
         hansenDerivRoot = MathArrays.buildArray(field, numSlices, 4);
         if (size > 0) {
-            mpvec = new PolynomialFunction[size][];
-            mpvecDeriv = new PolynomialFunction[size][];
-
-            // Prepare the database of the associated polynomials
-            generatePolynomials();
+            // Get the data base of associated polynomials, shared between all instances
+            final HansenPolynomialsRepository.Table table =
+                    HansenPolynomialsRepository.getTable(HansenPolynomialsRepository.Kind.TESSERAL, s, j, n0, nMax, () -> {
+                        // prepare structures for stored data
+                        mpvec      = new PolynomialFunction[size][];
+                        mpvecDeriv = new PolynomialFunction[size][];
+                        generatePolynomials();
+                        return new HansenPolynomialsRepository.Table(nMax, mpvec, mpvecDeriv);
+                    });
+            this.mpvec      = table.getMpvec();
+            this.mpvecDeriv = table.getMpvecDeriv();
+            this.offset     = table.getNMax() + 1;
         }
 
     }
@@ -91,10 +91,6 @@ public class FieldHansenThirdBodyLinear <T extends RealFieldElement<T>> {
         N0 = s;
         this.s = s;
 
-        // initialization of structures for stored data
-        mpvec = new PolynomialFunction[this.nMax + 1][];
-        mpvecDeriv = new PolynomialFunction[this.nMax + 1][];
-
         //Compute the fields that will be used to determine the initial values for the coefficients
         this.twosp1dfosp1f = (s % 2 == 0) ? 1.0 : -1.0;
         for (int i = s; i >= 1; i--) {
@@ -105,17 +101,22 @@ public class FieldHansenThirdBodyLinear <T extends RealFieldElement<T>> {
         this.twosp3 = 2 * s + 3;
         this.two2sp1dfosp2f = 2 * this.twosp1dfosp2f;
 
-        // initialization of structures for stored data
-        mpvec = new PolynomialFunction[this.nMax + 1][];
-        mpvecDeriv = new PolynomialFunction[this.nMax + 1][];
-
         this.numSlices  = FastMath.max(1, (nMax - s + SLICE - 2) / SLICE);
 
         hansenRoot      = MathArrays.buildArray(field, numSlices, 2);
         hansenDerivRoot = MathArrays.buildArray(field, numSlices, 2);
 
-        // Prepare the database of the associated polynomials
-        generatePolynomials();
+        // Get the data base of associated polynomials, shared between all instances
+        final HansenPolynomialsRepository.Table table =
+                HansenPolynomialsRepository.getTable(HansenPolynomialsRepository.Kind.THIRD_BODY, s, 0, 0, nMax, () -> {
+                    // prepare structures for stored data
+                    mpvec      = new PolynomialFunction[nMax + 1][];
+                    mpvecDeriv = new PolynomialFunction[nMax + 1][];
+                    generatePolynomials();
+                    return new HansenPolynomialsRepository.Table(nMax, mpvec, mpvecDeriv);
+                });
+        this.mpvec      = table.getMpvec();
+        this.mpvecDeriv = table.getMpvecDeriv();
 
     }
 
@@ -0,0 +1,216 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.semianalytical.dsst.utilities.hansen;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.hipparchus.analysis.polynomials.PolynomialFunction;
+
+/**
+ * Repository for the polynomials associated to Hansen coefficients linear recursions.
+ * <p>
+ * The polynomials generated by the linear transformations (see Petre's paper) depend
+ * only on integer indices, they are independent of the orbit and of the field used
+ * for computation. They are therefore generated once and shared between all instances
+ * of {@link HansenZonalLinear}, {@link HansenTesseralLinear}, {@link HansenThirdBodyLinear}
+ * and their field counterparts, whatever the thread using them.
+ * </p>
+ * <p>
+ * Tables are never modified once published, reading them is lock-free. When a table
+ * for a larger maximum degree is requested, a new table is generated and replaces
+ * the previous one; instances already using the smaller table are not affected.
+ * </p>
+ *
+ * @since 11.0
+ */
+final class HansenPolynomialsRepository {
+
+    /** Stored tables. */
+    private static final ConcurrentMap<Key, Table> TABLES = new ConcurrentHashMap<>();
+
+    /** Private constructor as class is a utility. */
+    private HansenPolynomialsRepository() {
+    }
+
+    /** Get a table of polynomials.
+     * <p>
+     * If no table covering the required maximum degree is available, it is generated
+     * by the given generator and stored for later use. Generation is performed
+     * without locking, so concurrent requests for the same key may generate the
+     * table several times, but only one table is published and shared.
+     * </p>
+     * @param kind kind of Hansen coefficients
+     * @param s s index
+     * @param j j index (0 if not relevant)
+     * @param n0 initial n index (0 if not relevant)
+     * @param nMax maximum (absolute) value of n required
+     * @param generator generator for the table, must create a table covering at least nMax
+     * @return a table covering at least nMax
+     */
+    static Table getTable(final Kind kind, final int s, final int j, final int n0,
+                          final int nMax, final Supplier<Table> generator) {
+
+        final Key key = new Key(kind, s, j, n0);
+
+        // fast lock-free path, used once the table has been generated
+        final Table table = TABLES.get(key);
+        if (table != null && table.getNMax() >= nMax) {
+            return table;
+        }
+
+        // generate a larger table outside of any lock
+        final Table generated = generator.get();
+
+        // publish the generated table, unless another thread changed it meanwhile
+        Table previous = table;
+        while (previous == null || previous.getNMax() < nMax) {
+            final boolean published = (previous == null) ?
+                                      TABLES.putIfAbsent(key, generated) == null :
+                                      TABLES.replace(key, previous, generated);
+            if (published) {
+                return generated;
+            }
+            previous = TABLES.get(key);
+        }
+
+        // another thread has already published a large enough table
+        return previous;
+
+    }
+
+    /** Kinds of Hansen coefficients. */
+    enum Kind {
+
+        /** Zonal coefficients K₀<sup>-n-1,s</sup>. */
+        ZONAL,
+
+        /** Tesseral coefficients K<sub>j</sub><sup>-n-1,s</sup>. */
+        TESSERAL,
+
+        /** Third body coefficients K₀<sup>n,s</sup>. */
+        THIRD_BODY;
+
+    }
+
+    /** Immutable table of polynomials. */
+    static class Table {
+
+        /** Maximum (absolute) value of n covered by the table. */
+        private final int nMax;
+
+        /** The first vector of polynomials associated to Hansen coefficients and derivatives. */
+        private final PolynomialFunction[][] mpvec;
+
+        /** The second vector of polynomials associated only to derivatives. */
+        private final PolynomialFunction[][] mpvecDeriv;
+
+        /** Simple constructor.
+         * @param nMax maximum (absolute) value of n covered by the table
+         * @param mpvec first vector of polynomials associated to Hansen coefficients and derivatives
+         * @param mpvecDeriv second vector of polynomials associated only to derivatives
+         */
+        Table(final int nMax, final PolynomialFunction[][] mpvec, final PolynomialFunction[][] mpvecDeriv) {
+            this.nMax       = nMax;
+            this.mpvec      = mpvec;
+            this.mpvecDeriv = mpvecDeriv;
+        }
+
+        /** Get the maximum (absolute) value of n covered by the table.
+         * @return maximum (absolute) value of n covered by the table
+         */
+        int getNMax() {
+            return nMax;
+        }
+
+        /** Get the first vector of polynomials.
+         * <p>
+         * The returned array is shared, it must not be modified.
+         * </p>
+         * @return first vector of polynomials associated to Hansen coefficients and derivatives
+         */
+        PolynomialFunction[][] getMpvec() {
+            return mpvec;
+        }
+
+        /** Get the second vector of polynomials.
+         * <p>
+         * The returned array is shared, it must not be modified.
+         * </p>
+         * @return second vector of polynomials associated only to derivatives
+         */
+        PolynomialFunction[][] getMpvecDeriv() {
+            return mpvecDeriv;
+        }
+
+    }
+
+    /** Key for the tables. */
+    private static class Key {
+
+        /** Kind of Hansen coefficients. */
+        private final Kind kind;
+
+        /** s index. */
+        private final int s;
+
+        /** j index. */
+        private final int j;
+
+        /** Initial n index. */
+        private final int n0;
+
+        /** Simple constructor.
+         * @param kind kind of Hansen coefficients
+         * @param s s index
+         * @param j j index
+         * @param n0 initial n index
+         */
+        Key(final Kind kind, final int s, final int j, final int n0) {
+            this.kind = kind;
+            this.s    = s;
+            this.j    = j;
+            this.n0   = n0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return ((kind.ordinal() * 31 + s) * 31 + j) * 31 + n0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object other) {
+
+            if (other == this) {
+                return true;
+            }
+
+            if (other instanceof Key) {
+                final Key key = (Key) other;
+                return kind == key.kind && s == key.s && j == key.j && n0 == key.n0;
+            }
+
+            return false;
+
+        }
+
+    }
+
+}
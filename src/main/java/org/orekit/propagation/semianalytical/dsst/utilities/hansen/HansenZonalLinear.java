@@ -99,17 +99,24 @@ public class HansenZonalLinear {
         this.twosp1 = this.twos + 1;
         this.twosp1otwots = (double) this.twosp1 / this.twots;
 
-        // prepare structures for stored data
         final int size = nMax - s - 1;
-        mpvec      = new PolynomialFunction[size][];
-        mpvecDeriv = new PolynomialFunction[size][];
 
         this.numSlices  = FastMath.max((int) FastMath.ceil(((double) size) / SLICE), 1);
         hansenRoot      = new double[numSlices][2];
         hansenDerivRoot = new double[numSlices][2];
 
-        // Prepare the data base of associated polynomials
-        generatePolynomials();
+        // Get the data base of associated polynomials, shared between all instances
+        final HansenPolynomialsRepository.Table table =
+                HansenPolynomialsRepository.getTable(HansenPolynomialsRepository.Kind.ZONAL, s, 0, 0, nMax, () -> {
+                    // prepare structures for stored data
+                    mpvec      = new PolynomialFunction[size][];
+                    mpvecDeriv = new PolynomialFunction[size][];
+                    generatePolynomials();
+                    return new HansenPolynomialsRepository.Table(nMax, mpvec, mpvecDeriv);
+                });
+        this.mpvec      = table.getMpvec();
+        this.mpvecDeriv = table.getMpvecDeriv();
+        this.offset     = table.getNMax() + 1;
 
     }
 
@@ -70,6 +70,23 @@ public class ElevationMask implements Serializable {
         return elevation;
     }
 
+    /** Get the minimum elevation over all azimuths.
+     * <p>
+     * As the mask is linearly interpolated, this is a lower bound of
+     * {@link #getElevation(double)} that can be used to reject
+     * directions without computing their azimuth.
+     * </p>
+     * @return minimum elevation angle (rad)
+     * @since 11.0
+     */
+    public double getMinElevation() {
+        double min = Double.POSITIVE_INFINITY;
+        for (final double[] azel : azelmask) {
+            min = FastMath.min(min, azel[1]);
+        }
+        return min;
+    }
+
     /** Checking and ordering the azimuth-elevation tabulation.
      * @param azimelev azimuth-elevation tabulation to be checked and ordered
      * @return ordered azimuth-elevation tabulation ordered
@@ -68,6 +68,11 @@ public class ImmutableTimeStampedCache<T extends TimeStamped>
      */
     private final int neighborsSize;
 
+    /**
+     * Mean step between data (s), used for first guess in indices search.
+     */
+    private final double step;
+
     /**
      * Create a new cache with the given neighbors size and data.
      *
@@ -83,6 +88,19 @@ public class ImmutableTimeStampedCache<T extends TimeStamped>
      */
     public ImmutableTimeStampedCache(final int neighborsSize,
                                      final Collection<? extends T> data) {
+        // sort and copy data first
+        this(neighborsSize, sortedCopy(data));
+    }
+
+    /**
+     * Create a new cache with the given neighbors size and sorted data.
+     *
+     * @param neighborsSize the size of the list returned from
+     *        {@link #getNeighbors(AbsoluteDate)}
+     * @param data the backing data for this cache, already sorted and
+     *        never modified afterwards
+     */
+    private ImmutableTimeStampedCache(final int neighborsSize, final List<T> data) {
         // parameter check
         if (neighborsSize > data.size()) {
             throw new OrekitIllegalArgumentException(OrekitMessages.NOT_ENOUGH_CACHED_NEIGHBORS,
@@ -95,9 +113,11 @@ public class ImmutableTimeStampedCache<T extends TimeStamped>
 
         // assign instance variables
         this.neighborsSize = neighborsSize;
-        // sort and copy data first
-        this.data = new ArrayList<T>(data);
-        Collections.sort(this.data, CMP);
+        this.data          = data;
+        final int last     = data.size() - 1;
+        this.step          = last > 0 ?
+                             data.get(last).getDate().durationFrom(data.get(0).getDate()) / last :
+                             0.0;
     }
 
     /**
@@ -106,10 +126,67 @@ public class ImmutableTimeStampedCache<T extends TimeStamped>
     private ImmutableTimeStampedCache() {
         this.data = null;
         this.neighborsSize = 0;
+        this.step = 0.0;
+    }
+
+    /**
+     * Create a new cache backed by an already sorted list, without copying it.
+     * <p>
+     * This is intended for large data sets that are already stored in an
+     * immutable random access list, for example a view over memory mapped
+     * records, where copying would load everything in memory. Contrary to
+     * the {@link #ImmutableTimeStampedCache(int, Collection) constructor},
+     * the list is neither copied nor sorted, so it is the responsibility of
+     * the caller to ensure it is in chronological order, it supports efficient
+     * random access and it is never modified.
+     * </p>
+     * @param <TS> the type of data
+     * @param neighborsSize the size of the list returned from
+     *        {@link #getNeighbors(AbsoluteDate)}. Must be less than or equal to
+     *        {@code data.size()}.
+     * @param data the backing data for this cache, in chronological order
+     * @return a new cache
+     * @since 11.0
+     */
+    public static <TS extends TimeStamped> ImmutableTimeStampedCache<TS> fromSortedList(final int neighborsSize,
+                                                                                        final List<TS> data) {
+        return new ImmutableTimeStampedCache<>(neighborsSize, data);
+    }
+
+    /**
+     * Create a sorted copy of data.
+     * @param <TS> the type of data
+     * @param data data to copy
+     * @return sorted copy
+     */
+    private static <TS extends TimeStamped> List<TS> sortedCopy(final Collection<? extends TS> data) {
+        final List<TS> copy = new ArrayList<TS>(data);
+        Collections.sort(copy, CMP);
+        return copy;
     }
 
     /** {@inheritDoc} */
     public Stream<T> getNeighbors(final AbsoluteDate central) {
+        // return list without copying
+        final int start = getNeighborsStart(central);
+        return this.data.subList(start, start + this.neighborsSize).stream();
+    }
+
+    /**
+     * Get the index of the first entry returned by {@link #getNeighbors(AbsoluteDate)}.
+     * <p>
+     * The index refers to the list returned by {@link #getAll()}. This allows
+     * users to access the neighbors without creating a stream, or to access
+     * data they have stored in parallel arrays.
+     * </p>
+     * @param central central date
+     * @return index of the first of {@link #getNeighborsSize()} entries surrounding
+     * the central date
+     * @throws TimeStampedCacheException if {@code central} is outside of the
+     * cached range
+     * @since 11.0
+     */
+    public int getNeighborsStart(final AbsoluteDate central) {
 
         // find central index
         final int i = findIndex(central);
@@ -124,13 +201,10 @@ public class ImmutableTimeStampedCache<T extends TimeStamped>
         }
 
         // force unbalanced range if necessary
-        int start = FastMath.max(0, i - (this.neighborsSize - 1) / 2);
-        final int end = FastMath.min(this.data.size(), start +
-                                                       this.neighborsSize);
-        start = end - this.neighborsSize;
-
-        // return list without copying
-        return this.data.subList(start, end).stream();
+        final int start = FastMath.max(0, i - (this.neighborsSize - 1) / 2);
+        final int end   = FastMath.min(this.data.size(), start +
+                                                         this.neighborsSize);
+        return end - this.neighborsSize;
     }
 
     /**
@@ -143,6 +217,22 @@ public class ImmutableTimeStampedCache<T extends TimeStamped>
      *         {@code t} is after the last entry.
      */
     private int findIndex(final AbsoluteDate t) {
+
+        // first guess, exact for regularly sampled data, checked using exact dates comparisons
+        final int last = this.data.size() - 1;
+        if (step > 0) {
+            final double offset = t.durationFrom(this.data.get(0).getDate());
+            if (offset >= 0 && offset <= step * (last + 1)) {
+                final int guess = FastMath.min(last, (int) FastMath.floor(offset / step));
+                final int cmp = this.data.get(guess).getDate().compareTo(t);
+                if (guess == last ?
+                    cmp == 0 :
+                    cmp <= 0 && this.data.get(guess + 1).getDate().compareTo(t) > 0) {
+                    return guess;
+                }
+            }
+        }
+
         // Guaranteed log(n) time
         int i = Collections.binarySearch(this.data, t, CMP);
         if (i == -this.data.size() - 1) {
@@ -198,6 +288,12 @@ public class ImmutableTimeStampedCache<T extends TimeStamped>
             throw new TimeStampedCacheException(OrekitMessages.NO_CACHED_ENTRIES);
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public int getNeighborsStart(final AbsoluteDate central) {
+            throw new TimeStampedCacheException(OrekitMessages.NO_CACHED_ENTRIES);
+        }
+
         /** {@inheritDoc} */
         @Override
         public int getNeighborsSize() {
@@ -34,6 +34,8 @@ import org.junit.Test;
 import org.orekit.Utils;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.errors.TimeStampedCacheException;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.orbits.CircularOrbit;
@@ -151,6 +153,68 @@ public class TabulatedProviderTest {
         checkField(Decimal64Field.getInstance(), provider, circOrbit, circOrbit.getDate(), circOrbit.getFrame());
     }
 
+    @Test
+    public void testQuaternionWithoutRate() {
+        checkQuaternion(AngularDerivativesFilter.USE_R, 1.1e-7);
+    }
+
+    @Test
+    public void testQuaternionWithRate() {
+        checkQuaternion(AngularDerivativesFilter.USE_RR, 7.5e-12);
+    }
+
+    @Test
+    public void testQuaternionsBatch() {
+        AttitudeProvider   referenceProvider = new NadirPointing(circOrbit.getFrame(), earthShape);
+        List<TimeStampedAngularCoordinates> sample = createSample(10.0, referenceProvider);
+        TabulatedProvider  provider          = new TabulatedProvider(circOrbit.getFrame(), sample, 8,
+                                                                     AngularDerivativesFilter.USE_RR);
+        final AbsoluteDate[] dates = new AbsoluteDate[100];
+        for (int i = 0; i < dates.length; ++i) {
+            dates[i] = sample.get(0).getDate().shiftedBy(7.3 * i);
+        }
+        final double[] batch  = new double[4 * dates.length];
+        final double[] single = new double[4];
+        provider.getQuaternions(dates, batch);
+        for (int i = 0; i < dates.length; ++i) {
+            provider.getQuaternion(dates[i], single);
+            for (int k = 0; k < 4; ++k) {
+                Assert.assertEquals(single[k], batch[4 * i + k], 1.0e-15);
+            }
+        }
+
+        try {
+            provider.getQuaternion(sample.get(0).getDate().shiftedBy(-0.001), single);
+            Assert.fail("an exception should have been thrown");
+        } catch (TimeStampedCacheException tsce) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE, tsce.getSpecifier());
+        }
+        try {
+            provider.getQuaternion(sample.get(sample.size() - 1).getDate().shiftedBy(0.001), single);
+            Assert.fail("an exception should have been thrown");
+        } catch (TimeStampedCacheException tsce) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER, tsce.getSpecifier());
+        }
+    }
+
+    private void checkQuaternion(final AngularDerivativesFilter filter, final double tolerance) {
+        double             samplingRate      = 10.0;
+        AttitudeProvider   referenceProvider = new NadirPointing(circOrbit.getFrame(), earthShape);
+        List<TimeStampedAngularCoordinates> sample = createSample(samplingRate, referenceProvider);
+        final AbsoluteDate start             = sample.get(0).getDate();
+        final AbsoluteDate end               = sample.get(sample.size() - 1).getDate();
+        TabulatedProvider  provider          = new TabulatedProvider(circOrbit.getFrame(), sample, 8, filter);
+        final double[] q = new double[4];
+        double maxError = 0;
+        for (AbsoluteDate date = start; date.compareTo(end) <= 0; date = date.shiftedBy(0.37)) {
+            provider.getQuaternion(date, q);
+            final Rotation fast      = new Rotation(q[0], q[1], q[2], q[3], false);
+            final Rotation reference = referenceProvider.getAttitude(circOrbit, date, circOrbit.getFrame()).getRotation();
+            maxError = FastMath.max(maxError, Rotation.distance(fast, reference));
+        }
+        Assert.assertEquals(0.0, maxError, tolerance);
+    }
+
     private List<TimeStampedAngularCoordinates> createSample(double samplingRate, AttitudeProvider referenceProvider) {
 
         // reference propagator, using a yaw compensation law
@@ -24,6 +24,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.DoubleStream;
 import java.util.stream.Stream;
 
@@ -37,7 +38,10 @@ import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Line;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.geometry.euclidean.twod.Vector2D;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.random.RandomGenerator;
 import org.hipparchus.random.SobolSequenceGenerator;
+import org.hipparchus.random.Well19937a;
 import org.hipparchus.util.Decimal64;
 import org.hipparchus.util.Decimal64Field;
 import org.hipparchus.util.FastMath;
@@ -47,6 +51,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.orekit.Utils;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.orbits.CircularOrbit;
@@ -872,6 +877,89 @@ public class OneAxisEllipsoidTest {
 
     }
 
+    @Test
+    public void testBatchConversions() {
+        final OneAxisEllipsoid model =
+                new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        final int n = 10000;
+        final RandomGenerator random = new Well19937a(0x7d1b3a9e50c2f486l);
+        final double[] x = new double[n];
+        final double[] y = new double[n];
+        final double[] z = new double[n];
+        for (int i = 0; i < n; ++i) {
+            // include points near poles, near equator and inside the ellipsoid
+            final double radius = 1.0e5 + 5.0e7 * random.nextDouble();
+            final double phi    = (i % 3 == 0) ? 1.0e-6 * (random.nextDouble() - 0.5) : FastMath.PI * random.nextDouble();
+            final double theta  = 2 * FastMath.PI * random.nextDouble();
+            x[i] = radius * FastMath.sin(phi) * FastMath.cos(theta);
+            y[i] = radius * FastMath.sin(phi) * FastMath.sin(theta);
+            z[i] = radius * FastMath.cos(phi);
+        }
+
+        // sequential conversion gives exactly the same results as point conversion
+        final double[] lat = new double[n];
+        final double[] lon = new double[n];
+        final double[] alt = new double[n];
+        model.toGeodetic(x, y, z, lat, lon, alt);
+        for (int i = 0; i < n; ++i) {
+            final GeodeticPoint gp = model.transform(new Vector3D(x[i], y[i], z[i]), model.getBodyFrame(), null);
+            Assert.assertEquals(gp.getLatitude(),  lat[i], 0.0);
+            Assert.assertEquals(gp.getLongitude(), lon[i], 0.0);
+            Assert.assertEquals(gp.getAltitude(),  alt[i], 0.0);
+        }
+
+        // concurrent conversion gives exactly the same results as sequential conversion
+        final double[] pLat = new double[n];
+        final double[] pLon = new double[n];
+        final double[] pAlt = new double[n];
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            model.toGeodetic(x, y, z, pLat, pLon, pAlt, pool);
+            Assert.assertArrayEquals(lat, pLat, 0.0);
+            Assert.assertArrayEquals(lon, pLon, 0.0);
+            Assert.assertArrayEquals(alt, pAlt, 0.0);
+
+            // round trip
+            final double[] x2 = new double[n];
+            final double[] y2 = new double[n];
+            final double[] z2 = new double[n];
+            model.toCartesian(lat, lon, alt, x2, y2, z2, pool);
+            final double[] x3 = new double[n];
+            final double[] y3 = new double[n];
+            final double[] z3 = new double[n];
+            model.toCartesian(lat, lon, alt, x3, y3, z3);
+            Assert.assertArrayEquals(x3, x2, 0.0);
+            Assert.assertArrayEquals(y3, y2, 0.0);
+            Assert.assertArrayEquals(z3, z2, 0.0);
+            for (int i = 0; i < n; ++i) {
+                final double scale = FastMath.max(1.0, FastMath.abs(alt[i]));
+                Assert.assertEquals(x[i], x2[i], 1.0e-8 * scale);
+                Assert.assertEquals(y[i], y2[i], 1.0e-8 * scale);
+                Assert.assertEquals(z[i], z2[i], 1.0e-8 * scale);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBatchDimensionMismatch() {
+        final OneAxisEllipsoid model =
+                new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        try {
+            model.toCartesian(new double[3], new double[3], new double[3], new double[3], new double[2], new double[3]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+            Assert.assertEquals(2, ((Integer) oiae.getParts()[0]).intValue());
+            Assert.assertEquals(3, ((Integer) oiae.getParts()[1]).intValue());
+        }
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
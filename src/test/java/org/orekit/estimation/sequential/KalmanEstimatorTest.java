@@ -23,12 +23,14 @@ import java.util.Comparator;
 import java.util.List;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
 import org.junit.Assert;
 import org.junit.Test;
 import org.orekit.attitudes.LofOffset;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.estimation.Context;
 import org.orekit.estimation.EstimationTestUtils;
@@ -37,6 +39,7 @@ import org.orekit.estimation.measurements.AngularRaDecMeasurementCreator;
 import org.orekit.estimation.measurements.InterSatellitesRangeMeasurementCreator;
 import org.orekit.estimation.measurements.ObservableSatellite;
 import org.orekit.estimation.measurements.ObservedMeasurement;
+import org.orekit.estimation.measurements.PV;
 import org.orekit.estimation.measurements.PVMeasurementCreator;
 import org.orekit.estimation.measurements.Position;
 import org.orekit.estimation.measurements.Range;
@@ -223,6 +226,209 @@ public class KalmanEstimatorTest {
                                            expectedSigmasVel, sigmaVelEps);
     }
 
+    /**
+     * Perfect range measurements with a biased start
+     * Keplerian formalism, U-D factorized filter
+     */
+    @Test
+    public void testKeplerianRangeUDFactorization() {
+
+        // Create context
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        // Create initial orbit and propagator builder
+        final OrbitType     orbitType     = OrbitType.KEPLERIAN;
+        final PositionAngle positionAngle = PositionAngle.TRUE;
+        final boolean       perfectStart  = true;
+        final double        minStep       = 1.e-6;
+        final double        maxStep       = 60.;
+        final double        dP            = 1.;
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(orbitType, positionAngle, perfectStart,
+                                              minStep, maxStep, dP);
+
+        // Create perfect range measurements
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context),
+                                                               1.0, 4.0, 60.0);
+
+        // Reference propagator for estimation performances
+        final NumericalPropagator referencePropagator = propagatorBuilder.
+                        buildPropagator(propagatorBuilder.getSelectedNormalizedParameters());
+        
+        // Reference position/velocity at last measurement date
+        final Orbit refOrbit = referencePropagator.
+                        propagate(measurements.get(measurements.size()-1).getDate()).getOrbit();
+        
+        // Change semi-major axis of 1.2m as in the batch test
+        ParameterDriver aDriver = propagatorBuilder.getOrbitalParametersDrivers().getDrivers().get(0);
+        aDriver.setValue(aDriver.getValue() + 1.2);
+        aDriver.setReferenceDate(AbsoluteDate.GALILEO_EPOCH);
+
+        // Cartesian covariance matrix initialization
+        // 100m on position / 1e-2m/s on velocity 
+        final RealMatrix cartesianP = MatrixUtils.createRealDiagonalMatrix(new double [] {
+            100., 100., 100., 1e-2, 1e-2, 1e-2
+        });
+        
+        // Jacobian of the orbital parameters w/r to Cartesian
+        final Orbit initialOrbit = orbitType.convertType(context.initialOrbit);
+        final double[][] dYdC = new double[6][6];
+        initialOrbit.getJacobianWrtCartesian(PositionAngle.TRUE, dYdC);
+        final RealMatrix Jac = MatrixUtils.createRealMatrix(dYdC);
+        
+        // Keplerian initial covariance matrix
+        final RealMatrix initialP = Jac.multiply(cartesianP.multiply(Jac.transpose()));
+
+        // Process noise matrix is set to 0 here
+        RealMatrix Q = MatrixUtils.createRealMatrix(6, 6);
+        
+        // Build the Kalman filter
+        final KalmanEstimator kalman = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(propagatorBuilder, new ConstantProcessNoise(initialP, Q)).
+                        udFactorization(true).
+                        build();
+        
+        // Filter the measurements and check the results
+        final double   expectedDeltaPos  = 0.;
+        final double   posEps            = 1.77e-4;
+        final double   expectedDeltaVel  = 0.;
+        final double   velEps            = 7.93e-8;
+        final double[] expectedSigmasPos = {0.742488, 0.281914, 0.563213};
+        final double   sigmaPosEps       = 1e-6;
+        final double[] expectedSigmasVel = {2.206636e-4, 1.306656e-4, 1.293981e-4};
+        final double   sigmaVelEps       = 1e-10;
+        EstimationTestUtils.checkKalmanFit(context, kalman, measurements,
+                                           refOrbit, positionAngle,
+                                           expectedDeltaPos, posEps,
+                                           expectedDeltaVel, velEps,
+                                           expectedSigmasPos, sigmaPosEps,
+                                           expectedSigmasVel, sigmaVelEps);
+    }
+
+    /**
+     * Perfect simultaneous PV and position measurements with a biased start,
+     * processed one epoch at a time
+     * Keplerian formalism
+     */
+    @Test
+    public void testKeplerianPVByEpoch() {
+
+        // Create context
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        // Create initial orbit and propagator builder
+        final OrbitType     orbitType     = OrbitType.KEPLERIAN;
+        final PositionAngle positionAngle = PositionAngle.TRUE;
+        final boolean       perfectStart  = true;
+        final double        minStep       = 1.e-6;
+        final double        maxStep       = 60.;
+        final double        dP            = 1.;
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(orbitType, positionAngle, perfectStart,
+                                              minStep, maxStep, dP);
+
+        // Create perfect PV and position measurements, sharing the same dates
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> measurements = new ArrayList<>();
+        for (final ObservedMeasurement<?> measurement :
+             EstimationTestUtils.createMeasurements(propagator, new PVMeasurementCreator(), 0.0, 3.0, 300.0)) {
+            final PV pv = (PV) measurement;
+            measurements.add(pv);
+            measurements.add(new Position(pv.getDate(), pv.getPosition(), 1.0, 1.0, pv.getSatellites().get(0)));
+        }
+        final long nbEpochs = measurements.stream().map(m -> m.getDate()).distinct().count();
+        Assert.assertEquals(measurements.size(), 2 * nbEpochs);
+
+        // Reference propagator for estimation performances
+        final NumericalPropagator referencePropagator = propagatorBuilder.
+                        buildPropagator(propagatorBuilder.getSelectedNormalizedParameters());
+
+        // Reference position at last measurement date
+        final Orbit refOrbit = referencePropagator.
+                        propagate(measurements.get(measurements.size()-1).getDate()).getOrbit();
+
+        // Change semi-major axis of 1.2m
+        ParameterDriver aDriver = propagatorBuilder.getOrbitalParametersDrivers().getDrivers().get(0);
+        aDriver.setValue(aDriver.getValue() + 1.2);
+        aDriver.setReferenceDate(AbsoluteDate.GALILEO_EPOCH);
+
+        // Cartesian covariance matrix initialization
+        // 100m on position / 1e-2m/s on velocity
+        final RealMatrix cartesianP = MatrixUtils.createRealDiagonalMatrix(new double [] {
+            100., 100., 100., 1e-2, 1e-2, 1e-2
+        });
+
+        // Jacobian of the orbital parameters w/r to Cartesian
+        final Orbit initialOrbit = orbitType.convertType(context.initialOrbit);
+        final double[][] dYdC = new double[6][6];
+        initialOrbit.getJacobianWrtCartesian(PositionAngle.TRUE, dYdC);
+        final RealMatrix Jac = MatrixUtils.createRealMatrix(dYdC);
+
+        // Keplerian initial covariance matrix
+        final RealMatrix initialP = Jac.multiply(cartesianP.multiply(Jac.transpose()));
+
+        // Process noise matrix is set to 0 here
+        RealMatrix Q = MatrixUtils.createRealMatrix(6, 6);
+
+        // Build the Kalman filter
+        final KalmanEstimator kalman = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(propagatorBuilder, new ConstantProcessNoise(initialP, Q)).
+                        build();
+
+        // Filter the measurements, one filter step per epoch
+        final Propagator[] estimated = kalman.processMeasurementsByEpoch(measurements.stream());
+        Assert.assertEquals(nbEpochs, kalman.getCurrentMeasurementNumber());
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(refOrbit.getPVCoordinates().getPosition(),
+                                              estimated[0].getInitialState().getPVCoordinates().getPosition()),
+                            1.0e-3);
+
+    }
+
+    @Test
+    public void testEmptyEpoch() {
+        final KalmanEstimator kalman = createPVEstimator();
+        try {
+            kalman.estimationStep(new ArrayList<>());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.INSUFFICIENT_DIMENSION, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testInconsistentEpoch() {
+        final KalmanEstimator kalman = createPVEstimator();
+        final ObservableSatellite satellite = new ObservableSatellite(0);
+        final List<ObservedMeasurement<?>> group = new ArrayList<>();
+        group.add(new Position(AbsoluteDate.GALILEO_EPOCH, Vector3D.PLUS_I, 1.0, 1.0, satellite));
+        group.add(new Position(AbsoluteDate.GALILEO_EPOCH.shiftedBy(1.0), Vector3D.PLUS_J, 1.0, 1.0, satellite));
+        try {
+            kalman.estimationStep(group);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, oiae.getSpecifier());
+            Assert.assertEquals(1.0, ((Double) oiae.getParts()[0]).doubleValue(), 1.0e-15);
+        }
+    }
+
+    private KalmanEstimator createPVEstimator() {
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.e-6, 60., 1.);
+        final RealMatrix initialP = MatrixUtils.createRealIdentityMatrix(6);
+        return new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(propagatorBuilder,
+                                                    new ConstantProcessNoise(initialP, MatrixUtils.createRealMatrix(6, 6))).
+                        build();
+    }
+
     /**
      * Perfect range measurements with a biased start and an on-board antenna range offset
      * Keplerian formalism 
@@ -0,0 +1,247 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.sequential;
+
+import org.hipparchus.filtering.kalman.KalmanFilter;
+import org.hipparchus.filtering.kalman.Measurement;
+import org.hipparchus.filtering.kalman.ProcessEstimate;
+import org.hipparchus.filtering.kalman.extended.ExtendedKalmanFilter;
+import org.hipparchus.filtering.kalman.extended.NonLinearEvolution;
+import org.hipparchus.filtering.kalman.extended.NonLinearProcess;
+import org.hipparchus.linear.CholeskyDecomposer;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UDKalmanFilterTest {
+
+    @Test
+    public void testScalarMeasurements() {
+        doTestAgainstExtended(Kind.SCALAR, 1.0e-10);
+    }
+
+    @Test
+    public void testCorrelatedMeasurements() {
+        doTestAgainstExtended(Kind.CORRELATED, 1.0e-10);
+    }
+
+    @Test
+    public void testDenseJacobian() {
+        // all state components contribute to all measurement components,
+        // so off-diagonal U terms are involved in the innovation covariance
+        doTestAgainstExtended(Kind.DENSE, 1.0e-10);
+    }
+
+    @Test
+    public void testRejectedMeasurement() {
+        final ProcessEstimate initial = new ProcessEstimate(0.0,
+                                                            MatrixUtils.createRealVector(new double[] { 1.0, 0.5, 0.0 }),
+                                                            MatrixUtils.createRealDiagonalMatrix(new double[] { 4.0, 1.0, 0.25 }));
+        final LinearProcess process = new LinearProcess(true);
+        final UDKalmanFilter<SimpleMeasurement> filter = new UDKalmanFilter<>(process, initial);
+        final ProcessEstimate corrected = filter.estimationStep(process.createMeasurement(1.0, 3.0));
+        Assert.assertNull(corrected.getKalmanGain());
+        Assert.assertNotNull(corrected.getInnovationCovariance());
+        final ProcessEstimate predicted = filter.getPredicted();
+        Assert.assertEquals(0.0,
+                            corrected.getState().subtract(predicted.getState()).getNorm(),
+                            1.0e-15);
+        Assert.assertEquals(0.0,
+                            corrected.getCovariance().subtract(predicted.getCovariance()).getNorm(),
+                            1.0e-15);
+    }
+
+    @Test
+    public void testEstimateKeptAcrossSteps() {
+        final ProcessEstimate initial = new ProcessEstimate(0.0,
+                                                            MatrixUtils.createRealVector(new double[] { 1.0, 0.5, 0.0 }),
+                                                            MatrixUtils.createRealDiagonalMatrix(new double[] { 4.0, 1.0, 0.25 }));
+        final LinearProcess process = new LinearProcess(false);
+        final KalmanFilter<SimpleMeasurement> reference =
+                        new ExtendedKalmanFilter<>(new CholeskyDecomposer(1.0e-12, 1.0e-15), process, initial);
+        final UDKalmanFilter<SimpleMeasurement> ud = new UDKalmanFilter<>(process, initial);
+
+        // covariance of the first estimate is requested only after the second step
+        final ProcessEstimate expected = reference.estimationStep(process.createMeasurement(1.0, 2.5));
+        final ProcessEstimate actual   = ud.estimationStep(process.createMeasurement(1.0, 2.5));
+        ud.estimationStep(process.createMeasurement(2.0, 3.5));
+        Assert.assertNotSame(actual, ud.getCorrected());
+        Assert.assertEquals(0.0,
+                            expected.getCovariance().subtract(actual.getCovariance()).getNorm(),
+                            1.0e-10 * expected.getCovariance().getNorm());
+        Assert.assertSame(actual.getCovariance(), actual.getCovariance());
+    }
+
+    private void doTestAgainstExtended(final Kind kind, final double tolerance) {
+
+        final ProcessEstimate initial = new ProcessEstimate(0.0,
+                                                            MatrixUtils.createRealVector(new double[] { 1.0, 0.5, 0.0 }),
+                                                            MatrixUtils.createRealDiagonalMatrix(new double[] { 4.0, 1.0, 0.25 }));
+
+        final LinearProcess process = new LinearProcess(false);
+        final KalmanFilter<SimpleMeasurement> reference =
+                        new ExtendedKalmanFilter<>(new CholeskyDecomposer(1.0e-12, 1.0e-15), process, initial);
+        final UDKalmanFilter<SimpleMeasurement> ud = new UDKalmanFilter<>(process, initial);
+
+        final RandomGenerator random = new Well19937a(0x2cdd9b9b3a6b7e41l);
+        for (int i = 1; i <= 50; ++i) {
+            final SimpleMeasurement measurement;
+            switch (kind) {
+                case SCALAR :
+                    measurement = process.createMeasurement(i, 2.0 * i + random.nextGaussian());
+                    break;
+                case CORRELATED :
+                    measurement = process.createCorrelatedMeasurement(i, random.nextGaussian(), random.nextGaussian());
+                    break;
+                default :
+                    measurement = process.createDenseMeasurement(i, random.nextGaussian(),
+                                                                 random.nextGaussian(), random.nextGaussian());
+            }
+            final ProcessEstimate expected = reference.estimationStep(measurement);
+            final ProcessEstimate actual   = ud.estimationStep(measurement);
+            Assert.assertEquals(expected.getTime(), actual.getTime(), 1.0e-15);
+            Assert.assertEquals(0.0,
+                                expected.getState().subtract(actual.getState()).getNorm(),
+                                tolerance * expected.getState().getNorm());
+            Assert.assertEquals(0.0,
+                                expected.getCovariance().subtract(actual.getCovariance()).getNorm(),
+                                tolerance * expected.getCovariance().getNorm());
+            Assert.assertEquals(0.0,
+                                expected.getInnovationCovariance().subtract(actual.getInnovationCovariance()).getNorm(),
+                                tolerance * expected.getInnovationCovariance().getNorm());
+            Assert.assertEquals(0.0,
+                                reference.getPredicted().getCovariance().subtract(ud.getPredicted().getCovariance()).getNorm(),
+                                tolerance * reference.getPredicted().getCovariance().getNorm());
+            Assert.assertNull(actual.getKalmanGain());
+        }
+
+    }
+
+    /** Kind of measurements. */
+    private enum Kind { SCALAR, CORRELATED, DENSE }
+
+    /** Constant acceleration linear process. */
+    private static class LinearProcess implements NonLinearProcess<SimpleMeasurement> {
+
+        private final boolean rejectAll;
+
+        LinearProcess(final boolean rejectAll) {
+            this.rejectAll = rejectAll;
+        }
+
+        SimpleMeasurement createMeasurement(final double t, final double value) {
+            return new SimpleMeasurement(t, MatrixUtils.createRealVector(new double[] { value }),
+                                         MatrixUtils.createRealMatrix(new double[][] { { 0.25 } }),
+                                         MatrixUtils.createRealMatrix(new double[][] { { 1.0, 0.0, 0.0 } }));
+        }
+
+        SimpleMeasurement createCorrelatedMeasurement(final double t, final double noise1, final double noise2) {
+            final double x = 1.0 + 0.5 * t;
+            return new SimpleMeasurement(t, MatrixUtils.createRealVector(new double[] { x + noise1, 0.5 + 0.1 * noise2 }),
+                                         MatrixUtils.createRealMatrix(new double[][] { { 0.25, 0.01 }, { 0.01, 0.04 } }),
+                                         MatrixUtils.createRealMatrix(new double[][] { { 1.0, 0.0, 0.0 }, { 0.0, 1.0, 0.0 } }));
+        }
+
+        SimpleMeasurement createDenseMeasurement(final double t,
+                                                 final double noise1, final double noise2, final double noise3) {
+            final RealMatrix h = MatrixUtils.createRealMatrix(new double[][] {
+                {  1.0, 0.5,  0.2 },
+                {  0.3, 1.0, -0.4 },
+                { -0.2, 0.6,  1.0 }
+            });
+            final RealVector truth = MatrixUtils.createRealVector(new double[] { 1.0 + 0.5 * t, 0.5, 0.0 });
+            final RealVector noise = MatrixUtils.createRealVector(new double[] { 0.5 * noise1, 0.2 * noise2, 0.1 * noise3 });
+            return new SimpleMeasurement(t, h.operate(truth).add(noise),
+                                         MatrixUtils.createRealMatrix(new double[][] {
+                                             { 0.25,  0.01, 0.0   },
+                                             { 0.01,  0.04, 0.002 },
+                                             { 0.0,   0.002, 0.01 }
+                                         }),
+                                         h);
+        }
+
+        @Override
+        public NonLinearEvolution getEvolution(final double previousTime, final RealVector previousState,
+                                               final SimpleMeasurement measurement) {
+            final double dt = measurement.getTime() - previousTime;
+            final RealMatrix stm = MatrixUtils.createRealMatrix(new double[][] {
+                { 1.0, dt,  0.5 * dt * dt },
+                { 0.0, 1.0, dt },
+                { 0.0, 0.0, 1.0 }
+            });
+            final RealMatrix noise = MatrixUtils.createRealMatrix(new double[][] {
+                { 1.0e-4, 2.0e-5, 0.0    },
+                { 2.0e-5, 1.0e-4, 1.0e-6 },
+                { 0.0,    1.0e-6, 1.0e-6 }
+            });
+            return new NonLinearEvolution(measurement.getTime(), stm.operate(previousState),
+                                          stm, noise, measurement.getJacobian());
+        }
+
+        @Override
+        public RealVector getInnovation(final SimpleMeasurement measurement, final NonLinearEvolution evolution,
+                                        final RealMatrix innovationCovarianceMatrix) {
+            if (rejectAll) {
+                return null;
+            }
+            return measurement.getValue().subtract(measurement.getJacobian().operate(evolution.getCurrentState()));
+        }
+
+    }
+
+    /** Linear measurement. */
+    private static class SimpleMeasurement implements Measurement {
+
+        private final double time;
+        private final RealVector value;
+        private final RealMatrix covariance;
+        private final RealMatrix jacobian;
+
+        SimpleMeasurement(final double time, final RealVector value,
+                          final RealMatrix covariance, final RealMatrix jacobian) {
+            this.time       = time;
+            this.value      = value;
+            this.covariance = covariance;
+            this.jacobian   = jacobian;
+        }
+
+        @Override
+        public double getTime() {
+            return time;
+        }
+
+        @Override
+        public RealVector getValue() {
+            return value;
+        }
+
+        @Override
+        public RealMatrix getCovariance() {
+            return covariance;
+        }
+
+        RealMatrix getJacobian() {
+            return jacobian;
+        }
+
+    }
+
+}
@@ -0,0 +1,113 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+public class BufferedChannelWriterTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final File file = tempFolder.newFile("round-trip.txt");
+        final StringBuilder expected = new StringBuilder();
+        try (BufferedChannelWriter writer = new BufferedChannelWriter(open(file), StandardCharsets.UTF_8, 7)) {
+            for (int i = 0; i < 1000; ++i) {
+                final StringBuilder sb = new StringBuilder();
+                sb.append("line ").append(i).append(" \u00e9\u03c0\u2609 ").append('\n');
+                writer.append(sb);
+                writer.write("abc", 1, 2);
+                writer.write(new char[] { 'x', 'y', 'z' }, 0, 3);
+                writer.write('!');
+                writer.append(new StringBuffer("#"));
+                expected.append(sb).append("bcxyz!#");
+            }
+        }
+        Assert.assertEquals(expected.toString(),
+                            new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testStreamingOem() throws IOException {
+        final TimeScale utc = TimeScalesFactory.getUTC();
+        final Map<Keyword, String> metadata = new HashMap<>();
+        metadata.put(Keyword.OBJECT_NAME, "object");
+        metadata.put(Keyword.OBJECT_ID, "1999-123A");
+        metadata.put(Keyword.CENTER_NAME, "EARTH");
+        metadata.put(Keyword.REF_FRAME, "EME2000");
+        final StringBuilder expected = new StringBuilder();
+        final File file = tempFolder.newFile("streaming.oem");
+        try (BufferedChannelWriter writer = new BufferedChannelWriter(open(file))) {
+            final StreamingOemWriter.Segment segment =
+                            new StreamingOemWriter(writer, utc, metadata).newSegment(FramesFactory.getEME2000(), metadata);
+            final AbsoluteDate t0 = new AbsoluteDate(2015, 6, 30, 23, 0, 0.0, utc);
+            for (int i = 0; i < 10000; ++i) {
+                final double dt = 0.37 * i;
+                final TimeStampedPVCoordinates pv =
+                                new TimeStampedPVCoordinates(t0.shiftedBy(dt),
+                                                             new Vector3D(7.0e6 * FastMath.cos(dt), 7.0e6 * FastMath.sin(dt), 1.0e3 * dt),
+                                                             new Vector3D(-7.5e3 * FastMath.sin(dt), 7.5e3 * FastMath.cos(dt), 1.0));
+                segment.writeEphemerisLine(pv);
+                // reference output uses the general purpose formatting methods
+                expected.append(StreamingOemWriter.dateToString(pv.getDate().getComponents(utc)));
+                for (final double x : pv.getPosition().toArray()) {
+                    expected.append(String.format(Locale.US, " % .3f", x * 1.0e-3));
+                }
+                for (final double v : pv.getVelocity().toArray()) {
+                    expected.append(String.format(Locale.US, " % .5f", v * 1.0e-3));
+                }
+                expected.append('\n');
+            }
+        }
+        Assert.assertEquals(expected.toString(),
+                            new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    private FileChannel open(final File file) throws IOException {
+        return FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+}
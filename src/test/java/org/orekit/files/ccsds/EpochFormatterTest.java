@@ -0,0 +1,96 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+
+public class EpochFormatterTest {
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+    @Test
+    public void testRegularSampling() {
+        final TimeScale utc = TimeScalesFactory.getUTC();
+        final EpochFormatter formatter = new EpochFormatter(utc);
+        AbsoluteDate date = new AbsoluteDate(2020, 2, 28, 23, 0, 0.0, utc);
+        for (int i = 0; i < 50000; ++i) {
+            check(formatter, date, utc);
+            date = date.shiftedBy(7.125);
+        }
+    }
+
+    @Test
+    public void testRandomSteps() {
+        for (final TimeScale timeScale : new TimeScale[] {
+            TimeScalesFactory.getUTC(), TimeScalesFactory.getTAI(),
+            TimeScalesFactory.getTT(), TimeScalesFactory.getGPS()
+        }) {
+            final Random random = new Random(0x1a5e4f23c8d07b91l);
+            final EpochFormatter formatter = new EpochFormatter(timeScale);
+            AbsoluteDate date = new AbsoluteDate(2015, 6, 30, 22, 0, 0.0, TimeScalesFactory.getUTC());
+            for (int i = 0; i < 20000; ++i) {
+                check(formatter, date, timeScale);
+                date = date.shiftedBy(random.nextDouble());
+            }
+        }
+    }
+
+    @Test
+    public void testLeapSecond() {
+        final TimeScale utc = TimeScalesFactory.getUTC();
+        final EpochFormatter formatter = new EpochFormatter(utc);
+        final AbsoluteDate leap = new AbsoluteDate(2015, 6, 30, 23, 59, 59.0, utc);
+        for (double dt = -2.0; dt < 3.0; dt += 0.0625) {
+            check(formatter, leap.shiftedBy(dt), utc);
+        }
+        Assert.assertEquals("2015-06-30T23:59:60.5", format(formatter, leap.shiftedBy(1.5)));
+    }
+
+    @Test
+    public void testNonChronological() {
+        final TimeScale utc = TimeScalesFactory.getUTC();
+        final EpochFormatter formatter = new EpochFormatter(utc);
+        final AbsoluteDate t0 = new AbsoluteDate(2021, 3, 4, 5, 6, 7.25, utc);
+        Assert.assertEquals("2021-03-04T05:06:07.25",        format(formatter, t0));
+        Assert.assertEquals("2021-03-03T05:06:07.25",        format(formatter, t0.shiftedBy(-86400.0)));
+        Assert.assertEquals("1969-07-20T20:17:40.0",         format(formatter, new AbsoluteDate(1969, 7, 20, 20, 17, 40.0, utc)));
+        Assert.assertEquals("2021-03-04T05:06:07.250000001", format(formatter, t0.shiftedBy(1.0e-9)));
+    }
+
+    private void check(final EpochFormatter formatter, final AbsoluteDate date, final TimeScale timeScale) {
+        Assert.assertEquals(StreamingOemWriter.dateToString(date.getComponents(timeScale)),
+                            format(formatter, date));
+    }
+
+    private String format(final EpochFormatter formatter, final AbsoluteDate date) {
+        final StringBuilder sb = new StringBuilder();
+        formatter.format(sb, date);
+        return sb.toString();
+    }
+
+}
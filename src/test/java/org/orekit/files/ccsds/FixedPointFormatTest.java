@@ -0,0 +1,79 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FixedPointFormatTest {
+
+    @Test
+    public void testDefaultFormats() {
+        checkRandom(StreamingOemWriter.DEFAULT_POSITION_FORMAT, 1.0e5);
+        checkRandom(StreamingOemWriter.DEFAULT_VELOCITY_FORMAT, 10.0);
+        checkRandom(StreamingAemWriter.DEFAULT_ATTITUDE_FORMAT, 360.0);
+    }
+
+    @Test
+    public void testFlagsAndWidth() {
+        for (final String format : new String[] {
+            "%f", "%.0f", "%.1f", "%12.4f", "%-12.4f", "%+.6f", "%012.3f", "%+015.9f", "% -14.2f", "%.15f"
+        }) {
+            checkRandom(format, 1.0e4);
+        }
+    }
+
+    @Test
+    public void testSpecialValues() {
+        for (final String format : new String[] { "% .3f", "%+08.2f", "%-10.1f", "%.0f" }) {
+            for (final double value : new double[] {
+                0.0, -0.0, 0.5, -0.5, 1.5, 2.5, 0.125, -0.125, 0.0005, -0.0005, 9.9995, 99.5,
+                1.0e-20, -1.0e-20, 1.0e20, -1.0e20, Double.MAX_VALUE, Double.MIN_VALUE,
+                Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+            }) {
+                check(format, value);
+            }
+        }
+    }
+
+    @Test
+    public void testUnsupportedFormats() {
+        // these formats are delegated to String.format
+        check("%e", 1234.5678);
+        check("%,.2f", 1234567.891);
+        check("%(.3f", -12.5);
+        check("%s", 3.25);
+        check("value = %.3f km", 42.123456);
+    }
+
+    private void checkRandom(final String format, final double scale) {
+        final Random random = new Random(0x5f3a07c2d1e9b46bl);
+        for (int i = 0; i < 100000; ++i) {
+            check(format, scale * (2 * random.nextDouble() - 1));
+        }
+    }
+
+    private void check(final String format, final double value) {
+        final StringBuilder sb = new StringBuilder("#");
+        new FixedPointFormat(format).format(sb, value);
+        Assert.assertEquals("#" + String.format(Locale.US, format, value), sb.toString());
+    }
+
+}
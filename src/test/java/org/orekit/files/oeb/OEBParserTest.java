@@ -0,0 +1,243 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.oeb;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.errors.TimeStampedCacheException;
+import org.orekit.files.ccsds.OEMFile;
+import org.orekit.files.ccsds.OEMParser;
+import org.orekit.files.general.EphemerisFile.EphemerisSegment;
+import org.orekit.files.general.EphemerisFile.SatelliteEphemeris;
+import org.orekit.files.general.OrekitEphemerisFile;
+import org.orekit.files.oeb.OEBFile.OEBSatelliteEphemeris;
+import org.orekit.files.oeb.OEBFile.OEBSegment;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+public class OEBParserTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+    @Test
+    public void testOEMRoundTrip() throws IOException {
+        final InputStream inEntry = getClass().getResourceAsStream("/ccsds/OEMExample5.txt");
+        final OEMFile oemFile = new OEMParser().
+                                withMu(CelestialBodyFactory.getEarth().getGM()).
+                                withConventions(IERSConventions.IERS_2010).
+                                parse(inEntry, "OEMExample5.txt");
+
+        final File file = tempFolder.newFile("OEMExample5.oeb");
+        new OEBWriter().write(file.getAbsolutePath(), oemFile);
+        final OEBFile oebFile = new OEBParser().parse(file.getAbsolutePath());
+
+        Assert.assertEquals(oemFile.getSatellites().size(), oebFile.getSatellites().size());
+        for (final SatelliteEphemeris oemSatellite : oemFile.getSatellites().values()) {
+            final OEBSatelliteEphemeris oebSatellite = oebFile.getSatellites().get(oemSatellite.getId());
+            Assert.assertEquals(oemSatellite.getId(), oebSatellite.getId());
+            Assert.assertEquals(oemSatellite.getMu(), oebSatellite.getMu(), 1.0e-15);
+            Assert.assertEquals(0.0, oebSatellite.getStart().durationFrom(oemSatellite.getStart()), 1.0e-15);
+            Assert.assertEquals(0.0, oebSatellite.getStop().durationFrom(oemSatellite.getStop()), 1.0e-12);
+            Assert.assertEquals(oemSatellite.getSegments().size(), oebSatellite.getSegments().size());
+            for (int i = 0; i < oemSatellite.getSegments().size(); ++i) {
+                final EphemerisSegment oemSegment = oemSatellite.getSegments().get(i);
+                final OEBSegment       oebSegment = oebSatellite.getSegments().get(i);
+                Assert.assertEquals(oemSegment.getFrameCenterString(), oebSegment.getFrameCenterString());
+                Assert.assertSame(oemSegment.getFrame(), oebSegment.getFrame());
+                Assert.assertEquals("GCRF", oebSegment.getFrameString());
+                Assert.assertSame(oemSegment.getTimeScale(), oebSegment.getTimeScale());
+                Assert.assertEquals("UTC", oebSegment.getTimeScaleString());
+                Assert.assertEquals(oemSegment.getInterpolationSamples(), oebSegment.getInterpolationSamples());
+                Assert.assertEquals(oemSegment.getAvailableDerivatives(), oebSegment.getAvailableDerivatives());
+                Assert.assertEquals(0.0, oebSegment.getStart().durationFrom(oemSegment.getStart()), 1.0e-12);
+                Assert.assertEquals(0.0, oebSegment.getStop().durationFrom(oemSegment.getStop()), 1.0e-12);
+                final List<? extends TimeStampedPVCoordinates> expected = oemSegment.getCoordinates();
+                final List<TimeStampedPVCoordinates> actual = oebSegment.getCoordinates();
+                Assert.assertEquals(expected.size(), actual.size());
+                Assert.assertEquals(expected.size(), oebSegment.getSize());
+                for (int j = 0; j < expected.size(); ++j) {
+                    checkPV(expected.get(j), actual.get(j), 1.0e-12, 0.0);
+                }
+            }
+        }
+
+    }
+
+    @Test
+    public void testPropagator() throws IOException {
+        final OrekitEphemerisFile ephemerisFile = createEphemeris(60.0, 0.0, 8);
+        final File file = tempFolder.newFile("regular.oeb");
+        new OEBWriter().write(file.toPath(), ephemerisFile);
+        final OEBFile oebFile = new OEBParser().parse(file.toPath());
+        checkPropagators(ephemerisFile.getSatellites().get("SAT").getPropagator(),
+                         oebFile.getSatellites().get("SAT").getPropagator());
+    }
+
+    @Test
+    public void testIrregularSampling() throws IOException {
+        final OrekitEphemerisFile ephemerisFile = createEphemeris(60.0, 0.45, 5);
+        final File file = tempFolder.newFile("irregular.oeb");
+        new OEBWriter().write(file.toPath(), ephemerisFile);
+        final OEBFile oebFile = new OEBParser().parse(file.toPath());
+        checkPropagators(ephemerisFile.getSatellites().get("SAT").getPropagator(),
+                         oebFile.getSatellites().get("SAT").getPropagator());
+    }
+
+    @Test
+    public void testOutOfRange() throws IOException {
+        final OrekitEphemerisFile ephemerisFile = createEphemeris(60.0, 0.0, 8);
+        final File file = tempFolder.newFile("range.oeb");
+        new OEBWriter().write(file.toPath(), ephemerisFile);
+        final BoundedPropagator propagator =
+                        new OEBParser().parse(file.toPath()).getSatellites().get("SAT").getPropagator();
+        try {
+            propagator.getPVCoordinates(propagator.getMinDate().shiftedBy(-1.0), FramesFactory.getGCRF());
+            Assert.fail("an exception should have been thrown");
+        } catch (TimeStampedCacheException tsce) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE, tsce.getSpecifier());
+        }
+        try {
+            propagator.getPVCoordinates(propagator.getMaxDate().shiftedBy(1.0), FramesFactory.getGCRF());
+            Assert.fail("an exception should have been thrown");
+        } catch (TimeStampedCacheException tsce) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER, tsce.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testNotOEB() throws IOException {
+        final File file = tempFolder.newFile("not-oeb.oeb");
+        Files.write(file.toPath(), "CCSDS_OEM_VERS = 2.0\nCREATION_DATE = 1996-11-04T17:22:31\n".getBytes("UTF-8"));
+        try {
+            new OEBParser().parse(file.toPath());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNSUPPORTED_FILE_FORMAT, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testTruncated() throws IOException {
+        final OrekitEphemerisFile ephemerisFile = createEphemeris(60.0, 0.0, 8);
+        final File file = tempFolder.newFile("truncated.oeb");
+        new OEBWriter().write(file.toPath(), ephemerisFile);
+        final byte[] bytes = Files.readAllBytes(file.toPath());
+        final byte[] truncated = new byte[bytes.length - 8];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        Files.write(file.toPath(), truncated);
+        try {
+            new OEBParser().parse(file.toPath());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNSUPPORTED_FILE_FORMAT, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testUnknownFrame() throws IOException {
+        final OrekitEphemerisFile ephemerisFile = createEphemeris(60.0, 0.0, 8);
+        final File file = tempFolder.newFile("frame.oeb");
+        new OEBWriter().write(file.toPath(), ephemerisFile);
+        try {
+            new OEBParser(name -> null, TimeScalesFactory.getTimeScales()).parse(file.toPath());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.VALUE_NOT_FOUND, oe.getSpecifier());
+            Assert.assertEquals("GCRF", oe.getParts()[0]);
+        }
+    }
+
+    private OrekitEphemerisFile createEphemeris(final double step, final double jitter, final int samples) {
+        final AbsoluteDate t0 = new AbsoluteDate(2021, 3, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        final KeplerianPropagator propagator =
+                        new KeplerianPropagator(new KeplerianOrbit(7.0e6, 0.01, 0.9, 1.0, 2.0, 3.0,
+                                                                   PositionAngle.MEAN, FramesFactory.getGCRF(),
+                                                                   t0, Constants.EIGEN5C_EARTH_MU));
+        final Random random = new Random(0x8ea1cf2e4c8f7d16l);
+        final List<SpacecraftState> states = new ArrayList<>();
+        for (int i = 0; i < 2000; ++i) {
+            final double dt = step * (i + (i == 0 ? 0.0 : jitter * (2 * random.nextDouble() - 1)));
+            states.add(propagator.propagate(t0.shiftedBy(dt)));
+        }
+        final OrekitEphemerisFile ephemerisFile = new OrekitEphemerisFile();
+        ephemerisFile.addSatellite("SAT").addNewSegment(states, samples);
+        return ephemerisFile;
+    }
+
+    private void checkPropagators(final BoundedPropagator expected, final BoundedPropagator actual) {
+        Assert.assertEquals(0.0, actual.getMinDate().durationFrom(expected.getMinDate()), 1.0e-15);
+        Assert.assertEquals(0.0, actual.getMaxDate().durationFrom(expected.getMaxDate()), 1.0e-12);
+        final double span = expected.getMaxDate().durationFrom(expected.getMinDate());
+        for (double dt = 0; dt <= span; dt += 17.3) {
+            final AbsoluteDate date = expected.getMinDate().shiftedBy(dt);
+            checkPV(expected.getPVCoordinates(date, FramesFactory.getEME2000()),
+                    actual.getPVCoordinates(date, FramesFactory.getEME2000()),
+                    1.0e-6, 1.0e-9);
+        }
+        final SpacecraftState s0 = expected.propagate(expected.getMinDate().shiftedBy(1000.0));
+        final SpacecraftState s1 = actual.propagate(actual.getMinDate().shiftedBy(1000.0));
+        Assert.assertEquals(0.0, Vector3D.distance(s0.getPVCoordinates().getPosition(),
+                                                   s1.getPVCoordinates().getPosition()),
+                            1.0e-6);
+    }
+
+    private void checkPV(final TimeStampedPVCoordinates expected, final TimeStampedPVCoordinates actual,
+                         final double dateTolerance, final double relativeTolerance) {
+        Assert.assertEquals(0.0, actual.getDate().durationFrom(expected.getDate()), dateTolerance);
+        final PVCoordinates delta = new PVCoordinates(expected, actual);
+        Assert.assertEquals(0.0, delta.getPosition().getNorm(),
+                            relativeTolerance * expected.getPosition().getNorm());
+        Assert.assertEquals(0.0, delta.getVelocity().getNorm(),
+                            relativeTolerance * expected.getVelocity().getNorm());
+        Assert.assertEquals(0.0, delta.getAcceleration().getNorm(),
+                            FastMath.max(1.0e-15, relativeTolerance * expected.getAcceleration().getNorm()));
+    }
+
+}
@@ -16,7 +16,10 @@
  */
 package org.orekit.geometry.fov;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import org.hipparchus.geometry.euclidean.threed.RotationOrder;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -217,6 +220,82 @@ public class PolygonalFieldOfViewTest {
         Assert.assertEquals(0, footprint.size());
     }
 
+    @Test
+    public void testBatchFootprints() {
+        PolygonalFieldOfView fov = new PolygonalFieldOfView(Vector3D.PLUS_K,
+                                                            DefiningConeType.INSIDE_CONE_TOUCHING_POLYGON_AT_EDGES_MIDDLE,
+                                                            Vector3D.PLUS_I,
+                                                            FastMath.toRadians(10.0), 5, 0.0);
+        Propagator propagator = new KeplerianPropagator(orbit);
+        propagator.setAttitudeProvider(new NadirPointing(orbit.getFrame(), earth));
+        final List<Transform> transforms = new ArrayList<>();
+        for (double dt = 0; dt < 3000.0; dt += 300.0) {
+            SpacecraftState state = propagator.propagate(orbit.getDate().shiftedBy(dt));
+            Transform inertToBody = state.getFrame().getTransformTo(earth.getBodyFrame(), state.getDate());
+            transforms.add(new Transform(state.getDate(), state.toTransform().getInverse(), inertToBody));
+        }
+
+        final double step = FastMath.toRadians(0.1);
+        final List<List<List<GeodeticPoint>>> batch =
+                        fov.getFootprints(transforms, earth, step, 0.0, ForkJoinPool.commonPool());
+        final List<List<List<GeodeticPoint>>> streamed =
+                        fov.getFootprints(transforms.stream(), earth, step, 0.0).collect(Collectors.toList());
+        Assert.assertEquals(transforms.size(), batch.size());
+        Assert.assertEquals(transforms.size(), streamed.size());
+        for (int i = 0; i < transforms.size(); ++i) {
+            final List<List<GeodeticPoint>> single = fov.getFootprint(transforms.get(i), earth, step);
+            checkSameFootprint(single, batch.get(i));
+            checkSameFootprint(single, streamed.get(i));
+        }
+    }
+
+    @Test
+    public void testAdaptiveFootprint() {
+        PolygonalFieldOfView fov = new PolygonalFieldOfView(Vector3D.PLUS_K,
+                                                            DefiningConeType.INSIDE_CONE_TOUCHING_POLYGON_AT_EDGES_MIDDLE,
+                                                            Vector3D.PLUS_I,
+                                                            FastMath.toRadians(10.0), 6, 0.0);
+        Propagator propagator = new KeplerianPropagator(orbit);
+        propagator.setAttitudeProvider(new NadirPointing(orbit.getFrame(), earth));
+        SpacecraftState state = propagator.propagate(orbit.getDate().shiftedBy(1000.0));
+        Transform inertToBody = state.getFrame().getTransformTo(earth.getBodyFrame(), state.getDate());
+        Transform fovToBody   = new Transform(state.getDate(),
+                                              state.toTransform().getInverse(),
+                                              inertToBody);
+        final double step = FastMath.toRadians(0.01);
+        final List<List<GeodeticPoint>> full     = fov.getFootprint(fovToBody, earth, step);
+        final List<List<GeodeticPoint>> adaptive = fov.getFootprint(fovToBody, earth, step, 10.0);
+        Assert.assertEquals(1, full.size());
+        Assert.assertEquals(1, adaptive.size());
+        Assert.assertTrue(adaptive.get(0).size() >= 6);
+        Assert.assertTrue(adaptive.get(0).size() < full.get(0).size() / 10);
+
+        // all adaptive points belong to the full footprint
+        for (final GeodeticPoint gp : adaptive.get(0)) {
+            double minDist = Double.POSITIVE_INFINITY;
+            for (final GeodeticPoint ref : full.get(0)) {
+                minDist = FastMath.min(minDist, Vector3D.distance(earth.transform(gp), earth.transform(ref)));
+            }
+            Assert.assertEquals(0.0, minDist, 1.0e-6);
+        }
+
+        // zero tolerance is the same as regular footprint
+        checkSameFootprint(full, fov.getFootprint(fovToBody, earth, step, 0.0));
+    }
+
+    private void checkSameFootprint(final List<List<GeodeticPoint>> expected,
+                                    final List<List<GeodeticPoint>> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            Assert.assertEquals(expected.get(i).size(), actual.get(i).size());
+            for (int j = 0; j < expected.get(i).size(); ++j) {
+                Assert.assertEquals(expected.get(i).get(j).getLatitude(),  actual.get(i).get(j).getLatitude(),  0.0);
+                Assert.assertEquals(expected.get(i).get(j).getLongitude(), actual.get(i).get(j).getLongitude(), 0.0);
+                Assert.assertEquals(expected.get(i).get(j).getAltitude(),  actual.get(i).get(j).getAltitude(),  0.0);
+            }
+        }
+    }
+
     private void doTest(final PolygonalFieldOfView fov, final AttitudeProvider attitude, final int expectedPoints,
                         final double expectedMinElevation, final double expectedMaxElevation,
                         final double expectedMinDist, final double expectedMaxDist) {
@@ -0,0 +1,220 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.FramesFactory;
+import org.orekit.gnss.clock.ClockDataStore;
+import org.orekit.gnss.clock.ClockDataStore.ClockSeries;
+import org.orekit.gnss.clock.ClockFile;
+import org.orekit.gnss.clock.ClockFile.ClockDataType;
+import org.orekit.gnss.clock.ClockFileParser;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateTimeComponents;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+public class ClockDataStoreTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private TimeScale gps;
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        gps = TimeScalesFactory.getGPS();
+    }
+
+    @Test
+    public void testFromParsedFile() throws URISyntaxException, IOException {
+        final String ex = "/gnss/clock/igr21101_truncated_300.clk";
+        final ClockFile file = new ClockFileParser().parse(Paths.get(getClass().getResource(ex).toURI()).toString());
+        final ClockDataStore store = ClockDataStore.create(file, ClockDataType.AS);
+        Assert.assertEquals(ClockDataType.AS, store.getDataType());
+        Assert.assertEquals(4, store.getNames().size());
+        for (final String name : store.getNames()) {
+            final ClockSeries series = store.getSeries(name);
+            final ClockFile.ClockDataLine line = file.getClockData().get(name).get(0);
+            Assert.assertEquals(name, series.getName());
+            Assert.assertEquals(0.0, series.getEpoch(0).durationFrom(line.getEpoch()), 1.0e-12);
+            Assert.assertEquals(line.getClockBias(),      series.getClockBias(0),      0.0);
+            Assert.assertEquals(line.getClockBiasSigma(), series.getClockBiasSigma(0), 0.0);
+            Assert.assertEquals(line.getClockBias(),      series.getClockBias(line.getEpoch()), 0.0);
+        }
+        Assert.assertNull(store.getSeries("G32"));
+    }
+
+    @Test
+    public void testRegularInterpolation() {
+        final ClockDataStore store = ClockDataStore.create(createFile(), ClockDataType.AS);
+        final ClockSeries series = store.getSeries("G01");
+        Assert.assertTrue(series.isRegular());
+        Assert.assertEquals(2880, series.getSize());
+        checkInterpolation(series);
+    }
+
+    @Test
+    public void testIrregularInterpolation() {
+        final ClockDataStore store = ClockDataStore.create(createFile(), ClockDataType.AS);
+        final ClockSeries series = store.getSeries("G02");
+        Assert.assertFalse(series.isRegular());
+        // one duplicated epoch has been removed
+        Assert.assertEquals(1000, series.getSize());
+        for (int i = 1; i < series.getSize(); ++i) {
+            Assert.assertTrue(series.getEpoch(i).durationFrom(series.getEpoch(i - 1)) > 0);
+        }
+        checkInterpolation(series);
+    }
+
+    @Test
+    public void testReceiversIgnored() {
+        final ClockDataStore store = ClockDataStore.create(createFile(), ClockDataType.AR);
+        Assert.assertEquals(1, store.getNames().size());
+        Assert.assertEquals("ABMF", store.getNames().get(0));
+        Assert.assertEquals(1, store.getSeries("ABMF").getSize());
+    }
+
+    @Test
+    public void testOutOfRange() {
+        final ClockSeries series = ClockDataStore.create(createFile(), ClockDataType.AS).getSeries("G01");
+        try {
+            series.getClockBias(series.getMaxDate().shiftedBy(1.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testMemoryMapped() throws IOException {
+        final ClockDataStore store = ClockDataStore.create(createFile(), ClockDataType.AS);
+        final Path path = tempFolder.newFile("clocks.bin").toPath();
+        store.write(path);
+        Assert.assertEquals(8 * 7 * (2880 + 1000), Files.size(path), 200);
+
+        final ClockDataStore mapped = ClockDataStore.map(path);
+        Assert.assertEquals(ClockDataType.AS, mapped.getDataType());
+        Assert.assertEquals(0.0, mapped.getReferenceDate().durationFrom(store.getReferenceDate()), 1.0e-15);
+        Assert.assertEquals(store.getNames(), mapped.getNames());
+        for (final String name : store.getNames()) {
+            final ClockSeries original = store.getSeries(name);
+            final ClockSeries copy     = mapped.getSeries(name);
+            Assert.assertEquals(original.getSize(),    copy.getSize());
+            Assert.assertEquals(original.isRegular(),  copy.isRegular());
+            for (int i = 0; i < original.getSize(); ++i) {
+                Assert.assertEquals(0.0, copy.getEpoch(i).durationFrom(original.getEpoch(i)), 1.0e-15);
+                Assert.assertEquals(original.getClockBias(i),              copy.getClockBias(i),              0.0);
+                Assert.assertEquals(original.getClockBiasSigma(i),         copy.getClockBiasSigma(i),         0.0);
+                Assert.assertEquals(original.getClockRate(i),              copy.getClockRate(i),              0.0);
+                Assert.assertEquals(original.getClockRateSigma(i),         copy.getClockRateSigma(i),         0.0);
+                Assert.assertEquals(original.getClockAcceleration(i),      copy.getClockAcceleration(i),      0.0);
+                Assert.assertEquals(original.getClockAccelerationSigma(i), copy.getClockAccelerationSigma(i), 0.0);
+            }
+            checkInterpolation(copy);
+        }
+    }
+
+    @Test
+    public void testEmptyStore() throws IOException {
+        final ClockDataStore store = ClockDataStore.create(createFile(), ClockDataType.DR);
+        Assert.assertTrue(store.getNames().isEmpty());
+        Assert.assertEquals(AbsoluteDate.ARBITRARY_EPOCH, store.getReferenceDate());
+        final Path path = tempFolder.newFile("empty.bin").toPath();
+        store.write(path);
+        final ClockDataStore mapped = ClockDataStore.map(path);
+        Assert.assertEquals(ClockDataType.DR, mapped.getDataType());
+        Assert.assertTrue(mapped.getNames().isEmpty());
+        Assert.assertEquals(0.0, mapped.getReferenceDate().durationFrom(AbsoluteDate.ARBITRARY_EPOCH), 0.0);
+    }
+
+    @Test
+    public void testNotAStore() throws IOException {
+        final Path path = tempFolder.newFile("not-a-store.bin").toPath();
+        Files.write(path, new byte[64]);
+        try {
+            ClockDataStore.map(path);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNSUPPORTED_FILE_FORMAT, oe.getSpecifier());
+        }
+    }
+
+    private void checkInterpolation(final ClockSeries series) {
+        for (int i = 0; i < series.getSize() - 1; ++i) {
+            final AbsoluteDate t0 = series.getEpoch(i);
+            final double       dt = series.getEpoch(i + 1).durationFrom(t0);
+            Assert.assertEquals(series.getClockBias(i), series.getClockBias(t0), 1.0e-20);
+            for (final double ratio : new double[] { 0.25, 0.5, 0.75 }) {
+                final double expected = series.getClockBias(i) +
+                                        ratio * (series.getClockBias(i + 1) - series.getClockBias(i));
+                Assert.assertEquals(expected, series.getClockBias(t0.shiftedBy(ratio * dt)), 1.0e-18);
+            }
+        }
+        Assert.assertEquals(series.getClockBias(series.getSize() - 1), series.getClockBias(series.getMaxDate()), 1.0e-20);
+    }
+
+    private ClockFile createFile() {
+        final ClockFile file = new ClockFile(name -> FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        file.setTimeScale(gps);
+        final AbsoluteDate start = new AbsoluteDate(2020, 6, 15, 0, 0, 0.0, gps);
+
+        // regular 30s sampling over one day, for one satellite, added in reverse order
+        for (int i = 2879; i >= 0; --i) {
+            addLine(file, ClockDataType.AS, "G01", start.shiftedBy(30.0 * i),
+                    1.0e-4 + 2.0e-12 * 30.0 * i + 1.0e-10 * FastMath.sin(0.001 * i));
+        }
+
+        // irregular sampling for another satellite, with one duplicated epoch
+        double t = 0;
+        for (int i = 0; i < 1000; ++i) {
+            t += 5.0 + (i % 7);
+            addLine(file, ClockDataType.AS, "G02", start.shiftedBy(t), -3.0e-5 + 1.0e-11 * FastMath.cos(0.01 * i));
+        }
+        addLine(file, ClockDataType.AS, "G02", start.shiftedBy(t), 0.0);
+
+        // one receiver line
+        addLine(file, ClockDataType.AR, "ABMF", start, -8.659731530403e-05);
+
+        return file;
+    }
+
+    private void addLine(final ClockFile file, final ClockDataType type, final String name,
+                         final AbsoluteDate date, final double bias) {
+        final DateTimeComponents components = date.getComponents(gps);
+        file.addClockData(name, file.new ClockDataLine(type, name,
+                                                       components.getDate(), components.getTime(),
+                                                       2, bias, 1.0e-12, 0.0, 0.0, 0.0, 0.0));
+    }
+
+}
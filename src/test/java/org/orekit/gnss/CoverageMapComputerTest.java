@@ -0,0 +1,267 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.FramesFactory;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.gnss.GNSSConstellationEvaluator;
+import org.orekit.propagation.analytical.gnss.GPSPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.ElevationMask;
+import org.orekit.utils.IERSConventions;
+
+public class CoverageMapComputerTest {
+
+    private OneAxisEllipsoid earth;
+    private List<GPSAlmanac> almanacs;
+    private AbsoluteDate     date;
+
+    @Before
+    public void setUp() {
+        // Sets the root of data to read
+        Utils.setDataRoot("gnss");
+        // Defines the Earth shape
+        earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        // Gets the GPS almanacs from the Yuma file
+        final YUMAParser reader = new YUMAParser(null);
+        reader.loadData();
+        almanacs = reader.getAlmanacs();
+        date     = new AbsoluteDate(2016, 3, 31, 0, 0, 0., TimeScalesFactory.getUTC());
+    }
+
+    @After
+    public void tearDown() {
+        earth    = null;
+        almanacs = null;
+        date     = null;
+    }
+
+    @Test
+    public void testSameAsDOPComputer() {
+        doTestSameAsDOPComputer(CoverageMapComputer.create(earth, getLocations()).withType(DOPType.GDOP),
+                                DOPComputer.DOP_MIN_ELEVATION, null);
+        doTestSameAsDOPComputer(CoverageMapComputer.create(earth, getLocations()).withMinElevation(FastMath.toRadians(10.)),
+                                FastMath.toRadians(10.), null);
+        doTestSameAsDOPComputer(CoverageMapComputer.create(earth, getLocations()).withElevationMask(getMask()).withType(DOPType.HDOP),
+                                DOPComputer.DOP_MIN_ELEVATION, getMask());
+    }
+
+    private void doTestSameAsDOPComputer(final CoverageMapComputer computer,
+                                         final double minElevation, final ElevationMask mask) {
+
+        final double step = 1800.0;
+        final AbsoluteDate end = date.shiftedBy(Constants.JULIAN_DAY);
+        final List<CoverageStatistics> statistics =
+                        computer.compute(date, end, step,
+                                         Collections.singletonList(new GNSSConstellationEvaluator(SatelliteSystem.GPS,
+                                                                                                  almanacs)));
+        Assert.assertEquals(computer.getLocations().size(), statistics.size());
+
+        final List<Propagator> propagators = getGpsPropagators();
+        for (int i = 0; i < statistics.size(); ++i) {
+            final GeodeticPoint location = computer.getLocations().get(i);
+            DOPComputer dopComputer = DOPComputer.create(earth, location);
+            dopComputer = (mask == null) ? dopComputer.withMinElevation(minElevation) : dopComputer.withElevationMask(mask);
+            int    minVisible = Integer.MAX_VALUE;
+            int    maxVisible = 0;
+            double sumVisible = 0;
+            int    available  = 0;
+            double minDOP     = Double.POSITIVE_INFINITY;
+            double maxDOP     = Double.NEGATIVE_INFINITY;
+            double sumDOP     = 0;
+            int    samples    = 0;
+            for (AbsoluteDate t = date; t.compareTo(end) <= 0; t = t.shiftedBy(step)) {
+                final DOP dop = dopComputer.compute(t, propagators);
+                minVisible  = FastMath.min(minVisible, dop.getGnssNb());
+                maxVisible  = FastMath.max(maxVisible, dop.getGnssNb());
+                sumVisible += dop.getGnssNb();
+                ++samples;
+                final double value = computer.getType().getValue(dop);
+                if (!Double.isNaN(value)) {
+                    ++available;
+                    minDOP  = FastMath.min(minDOP, value);
+                    maxDOP  = FastMath.max(maxDOP, value);
+                    sumDOP += value;
+                }
+            }
+
+            final CoverageStatistics s = statistics.get(i);
+            Assert.assertSame(location, s.getLocation());
+            Assert.assertEquals(computer.getType(), s.getType());
+            Assert.assertEquals(samples, s.getSamples());
+            Assert.assertEquals(minVisible, s.getMinVisible());
+            Assert.assertEquals(maxVisible, s.getMaxVisible());
+            Assert.assertEquals(sumVisible / samples, s.getMeanVisible(), 1.0e-12);
+            Assert.assertEquals(available, s.getAvailableSamples());
+            Assert.assertEquals(((double) available) / samples, s.getAvailability(), 1.0e-12);
+            if (available > 0) {
+                Assert.assertEquals(minDOP, s.getMinDOP(), 1.0e-8);
+                Assert.assertEquals(maxDOP, s.getMaxDOP(), 1.0e-8);
+                Assert.assertEquals(sumDOP / available, s.getMeanDOP(), 1.0e-8);
+                Assert.assertEquals(s.getMinDOP(), s.getPercentile(0), 1.0e-12);
+                Assert.assertEquals(s.getMaxDOP(), s.getPercentile(100), 1.0e-12);
+                Assert.assertTrue(s.getPercentile(50) >= s.getMinDOP());
+                Assert.assertTrue(s.getPercentile(50) <= s.getMaxDOP());
+            } else {
+                Assert.assertTrue(Double.isNaN(s.getMinDOP()));
+                Assert.assertTrue(Double.isNaN(s.getPercentile(50)));
+            }
+        }
+
+    }
+
+    @Test
+    public void testPercentiles() {
+        final CoverageMapComputer computer =
+                        CoverageMapComputer.create(earth, getLocations()).withHistogram(0.001, 10.0);
+        final List<CoverageStatistics> statistics =
+                        computer.compute(date, date.shiftedBy(Constants.JULIAN_DAY), 60.0,
+                                         Collections.singletonList(new GNSSConstellationEvaluator(SatelliteSystem.GPS,
+                                                                                                  almanacs)));
+        for (final CoverageStatistics s : statistics) {
+            Assert.assertEquals(1441, s.getSamples());
+            double previous = s.getPercentile(0);
+            for (double p = 1; p <= 100; p += 1) {
+                final double current = s.getPercentile(p);
+                Assert.assertTrue(current >= previous);
+                previous = current;
+            }
+        }
+
+        try {
+            statistics.get(0).getPercentile(100.5);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testParallel() throws InterruptedException {
+        final CoverageMapComputer computer = CoverageMapComputer.createGrid(earth,
+                                                                            FastMath.toRadians(15.0),
+                                                                            FastMath.toRadians(30.0));
+        Assert.assertEquals(13 * 12, computer.getLocations().size());
+        final List<GNSSConstellationEvaluator> constellations =
+                        Collections.singletonList(new GNSSConstellationEvaluator(SatelliteSystem.GPS, almanacs));
+        final AbsoluteDate end = date.shiftedBy(6 * 3600.0);
+        final List<CoverageStatistics> sequential = computer.compute(date, end, 300.0, constellations);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final List<CoverageStatistics> parallel = computer.compute(date, end, 300.0, constellations, pool);
+        pool.shutdown();
+        Assert.assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); ++i) {
+            Assert.assertSame(sequential.get(i).getLocation(), parallel.get(i).getLocation());
+            Assert.assertEquals(sequential.get(i).getMinVisible(),      parallel.get(i).getMinVisible());
+            Assert.assertEquals(sequential.get(i).getMaxVisible(),      parallel.get(i).getMaxVisible());
+            Assert.assertEquals(sequential.get(i).getAvailableSamples(), parallel.get(i).getAvailableSamples());
+            Assert.assertEquals(sequential.get(i).getMeanDOP(),         parallel.get(i).getMeanDOP(), 0.0);
+            Assert.assertEquals(sequential.get(i).getPercentile(95),    parallel.get(i).getPercentile(95), 0.0);
+        }
+    }
+
+    @Test
+    public void testFromSample() {
+        final List<List<GeodeticPoint>> sample = new ArrayList<>();
+        sample.add(getLocations().subList(0, 2));
+        sample.add(getLocations().subList(2, 4));
+        final CoverageMapComputer computer = CoverageMapComputer.createFromSample(earth, sample);
+        Assert.assertEquals(4, computer.getLocations().size());
+        Assert.assertEquals(getLocations().get(3), computer.getLocations().get(3));
+        Assert.assertSame(earth, computer.getShape());
+    }
+
+    @Test
+    public void testErrors() {
+        final CoverageMapComputer computer = CoverageMapComputer.create(earth, getLocations());
+        try {
+            computer.compute(date, date.shiftedBy(60.0), 0.0,
+                             Collections.singletonList(new GNSSConstellationEvaluator(SatelliteSystem.GPS, almanacs)));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+        try {
+            computer.compute(date, date.shiftedBy(60.0), 10.0,
+                             Collections.singletonList(new GNSSConstellationEvaluator(SatelliteSystem.GPS,
+                                                                                      almanacs.subList(0, 3))));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_ENOUGH_GNSS_FOR_DOP, oe.getSpecifier());
+        }
+        try {
+            computer.withHistogram(-1.0, 10.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+        try {
+            CoverageMapComputer.createGrid(earth, 0.0, 1.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+    }
+
+    private List<GeodeticPoint> getLocations() {
+        return Arrays.asList(new GeodeticPoint(FastMath.toRadians(43.6),  FastMath.toRadians(1.45),   0.),
+                             new GeodeticPoint(FastMath.toRadians(-33.9), FastMath.toRadians(151.2),  0.),
+                             new GeodeticPoint(FastMath.toRadians(78.2),  FastMath.toRadians(15.6),   0.),
+                             new GeodeticPoint(FastMath.toRadians(-89.0), FastMath.toRadians(-120.0), 0.));
+    }
+
+    private List<Propagator> getGpsPropagators() {
+        final List<Propagator> propagators = new ArrayList<Propagator>();
+        for (GPSAlmanac almanac: almanacs) {
+            propagators.add(new GPSPropagator.Builder(almanac).build());
+        }
+        return propagators;
+    }
+
+    private ElevationMask getMask() {
+        final double [][] mask = {
+            {FastMath.toRadians(0.),   FastMath.toRadians(5.00)},
+            {FastMath.toRadians(90.),  FastMath.toRadians(25.00)},
+            {FastMath.toRadians(180.), FastMath.toRadians(5.00)},
+            {FastMath.toRadians(270.), FastMath.toRadians(15.00)}
+        };
+        return new ElevationMask(mask);
+    }
+
+}
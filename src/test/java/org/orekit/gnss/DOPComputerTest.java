@@ -19,6 +19,7 @@ package org.orekit.gnss;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.util.FastMath;
 import org.junit.After;
 import org.junit.Assert;
@@ -28,8 +29,11 @@ import org.orekit.Utils;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.FramesFactory;
 import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.gnss.GNSSConstellationEvaluator;
 import org.orekit.propagation.analytical.gnss.GPSPropagator;
 import org.orekit.propagation.analytical.tle.TLE;
 import org.orekit.propagation.analytical.tle.TLEPropagator;
@@ -193,6 +197,63 @@ public class DOPComputerTest {
         Assert.assertEquals(1.00, dop.getVdop(), 0.01);
     }
 
+    @Test
+    public void testComputeFromPositions() {
+
+        // Gets the GPS almanacs from the Yuma file
+        final YUMAParser reader = new YUMAParser(null);
+        reader.loadData();
+        final List<GPSAlmanac> almanacs = reader.getAlmanacs();
+        final GNSSConstellationEvaluator evaluator = new GNSSConstellationEvaluator(SatelliteSystem.GPS, almanacs);
+        final double[] x = new double[evaluator.getSize()];
+        final double[] y = new double[evaluator.getSize()];
+        final double[] z = new double[evaluator.getSize()];
+
+        final DOPComputer[] computers = new DOPComputer[] {
+            DOPComputer.create(earth, location),
+            DOPComputer.create(earth, location).withMinElevation(FastMath.toRadians(10.)),
+            DOPComputer.create(earth, location).withElevationMask(getMask())
+        };
+        for (int h = 0; h < 24; h += 3) {
+            final AbsoluteDate date = new AbsoluteDate(2016, 3, 31, h, 0, 0., utc);
+            evaluator.getPositions(date, x, y, z);
+            for (final DOPComputer computer : computers) {
+                final DOP expected = computer.compute(date, getGpsPropagators());
+                final DOP dop      = computer.compute(date, x, y, z);
+                Assert.assertEquals(expected.getGnssNb(), dop.getGnssNb());
+                Assert.assertEquals(location, dop.getLocation());
+                Assert.assertEquals(date, dop.getDate());
+                if (expected.getGnssNb() > 3) {
+                    Assert.assertEquals(expected.getGdop(), dop.getGdop(), 1.0e-8);
+                    Assert.assertEquals(expected.getTdop(), dop.getTdop(), 1.0e-8);
+                    Assert.assertEquals(expected.getPdop(), dop.getPdop(), 1.0e-8);
+                    Assert.assertEquals(expected.getHdop(), dop.getHdop(), 1.0e-8);
+                    Assert.assertEquals(expected.getVdop(), dop.getVdop(), 1.0e-8);
+                } else {
+                    Assert.assertTrue(Double.isNaN(dop.getGdop()));
+                }
+            }
+        }
+
+        try {
+            computers[0].compute(new AbsoluteDate(2016, 3, 31, 0, 0, 0., utc),
+                                 new double[3], new double[3], new double[3]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_ENOUGH_GNSS_FOR_DOP, oe.getSpecifier());
+        }
+
+        try {
+            computers[0].compute(new AbsoluteDate(2016, 3, 31, 0, 0, 0., utc),
+                                 new double[5], new double[5], new double[4]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+            Assert.assertEquals(4, ((Integer) oiae.getParts()[0]).intValue());
+            Assert.assertEquals(5, ((Integer) oiae.getParts()[1]).intValue());
+        }
+    }
+
     @Test(expected=OrekitException.class)
     public void testNotEnoughSV() {
 
@@ -25,7 +25,10 @@ import java.io.InputStreamReader;
 import java.util.Collection;
 import java.util.StringTokenizer;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
 import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -33,6 +36,7 @@ import org.junit.Test;
 import org.orekit.Utils;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.forces.gravity.potential.EGMFormatReader;
 import org.orekit.forces.gravity.potential.GravityFieldFactory;
 import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
@@ -158,6 +162,96 @@ public class GeoMagneticFieldTest {
         Assert.assertEquals("" + (eClose.getHorizontalIntensity()- ePole.getHorizontalIntensity()), eClose.getHorizontalIntensity(), ePole.getHorizontalIntensity(), 3.0e-4);
     }
 
+    @Test
+    public void testEvaluator() {
+        final GeoMagneticField field = GeoMagneticFieldFactory.getIGRF(GeoMagneticField.getDecimalYear(1, 1, 2020));
+        final GeoMagneticField.Evaluator evaluator = field.createEvaluator();
+        Assert.assertSame(field, evaluator.getModel());
+
+        final RandomGenerator random = new Well19937a(0x3c8e5b7a1f2d4690l);
+        final int n = 200;
+        final double[] lat = new double[n];
+        final double[] lon = new double[n];
+        final double[] alt = new double[n];
+        for (int i = 0; i < n; ++i) {
+            lat[i] = FastMath.PI * (random.nextDouble() - 0.5);
+            lon[i] = 2 * FastMath.PI * (random.nextDouble() - 0.5);
+            alt[i] = 1000000.0 * random.nextDouble();
+        }
+        // include the special computation at pole
+        lat[0] = 0.5 * FastMath.PI;
+
+        final double[] north = new double[n];
+        final double[] east  = new double[n];
+        final double[] down  = new double[n];
+        evaluator.calculateField(lat, lon, alt, north, east, down);
+        for (int i = 0; i < n; ++i) {
+            final Vector3D reference = field.calculateField(lat[i], lon[i], alt[i]).getFieldVector();
+            Assert.assertEquals(0.0, Vector3D.distance(reference, evaluator.calculateField(lat[i], lon[i], alt[i]).getFieldVector()), 0.0);
+            Assert.assertEquals(reference.getX(), north[i], 0.0);
+            Assert.assertEquals(reference.getY(), east[i],  0.0);
+            Assert.assertEquals(reference.getZ(), down[i],  0.0);
+        }
+
+        try {
+            evaluator.calculateField(lat, lon, alt, north, east, new double[n - 1]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+
+    }
+
+    @Test
+    public void testGrid() {
+        final GeoMagneticField field = GeoMagneticFieldFactory.getIGRF(GeoMagneticField.getDecimalYear(1, 1, 2020));
+        final GeoMagneticFieldGrid grid = new GeoMagneticFieldGrid(field, 300000.0, 700000.0, 9, FastMath.toRadians(1.0));
+        Assert.assertSame(field, grid.getModel());
+        Assert.assertEquals(300000.0, grid.getMinAltitude(), 0.0);
+        Assert.assertEquals(700000.0, grid.getMaxAltitude(), 0.0);
+
+        final RandomGenerator random = new Well19937a(0x61d4f2a83b9c0e57l);
+        final int n = 1000;
+        final double[] lat = new double[n];
+        final double[] lon = new double[n];
+        final double[] alt = new double[n];
+        for (int i = 0; i < n; ++i) {
+            lat[i] = FastMath.toRadians(160.0 * (random.nextDouble() - 0.5));
+            lon[i] = 2 * FastMath.PI * (random.nextDouble() - 0.5);
+            alt[i] = 300000.0 + 400000.0 * random.nextDouble();
+        }
+        final double[] north = new double[n];
+        final double[] east  = new double[n];
+        final double[] down  = new double[n];
+        grid.calculateField(lat, lon, alt, north, east, down);
+
+        double maxError = 0;
+        for (int i = 0; i < n; ++i) {
+            final Vector3D reference = field.calculateField(lat[i], lon[i], alt[i]).getFieldVector();
+            final Vector3D single    = grid.calculateField(lat[i], lon[i], alt[i]).getFieldVector();
+            Assert.assertEquals(north[i], single.getX(), 0.0);
+            Assert.assertEquals(east[i],  single.getY(), 0.0);
+            Assert.assertEquals(down[i],  single.getZ(), 0.0);
+            maxError = FastMath.max(maxError, Vector3D.distance(reference, single) / reference.getNorm());
+        }
+        Assert.assertTrue(maxError < 2.0e-3);
+
+        // outside of grid, the model is used
+        final GeoMagneticElements outside = grid.calculateField(0.3, 1.2, 1000000.0);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(field.calculateField(0.3, 1.2, 1000000.0).getFieldVector(),
+                                              outside.getFieldVector()),
+                            0.0);
+    }
+
+    @Test
+    public void testTransformedModelsCached() {
+        final double decimalYear = GeoMagneticField.getDecimalYear(17, 3, 2016);
+        Assert.assertSame(GeoMagneticFieldFactory.getIGRF(decimalYear), GeoMagneticFieldFactory.getIGRF(decimalYear));
+        Assert.assertSame(GeoMagneticFieldFactory.getWMM(decimalYear),  GeoMagneticFieldFactory.getWMM(decimalYear));
+        Assert.assertNotSame(GeoMagneticFieldFactory.getIGRF(decimalYear), GeoMagneticFieldFactory.getIGRF(decimalYear + 0.1));
+    }
+
     @Test(expected=OrekitException.class)
     public void testTransformationOutsideValidityPeriod() {
         double decimalYear = GeoMagneticField.getDecimalYear(10, 1, 2020);
@@ -0,0 +1,156 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.forces.gravity.potential.EGMFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+
+public class GeoidGridTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final ReferenceEllipsoid WGS84 =
+                    new ReferenceEllipsoid(6378137.00, 1 / 298.257223563, FramesFactory.getGCRF(),
+                                           3.986004418e14, 7292115e-11);
+
+    private static NormalizedSphericalHarmonicsProvider potential;
+
+    private static Geoid geoid;
+
+    private static AbsoluteDate date;
+
+    private static GeoidGrid grid;
+
+    @BeforeClass
+    public static void setUpBefore() {
+        Utils.setDataRoot("geoid:regular-data");
+        GravityFieldFactory.clearPotentialCoefficientsReaders();
+        GravityFieldFactory.addPotentialCoefficientsReader(new EGMFormatReader("egm96", false));
+        potential = GravityFieldFactory.getConstantNormalizedProvider(36, 36);
+        geoid     = new Geoid(potential, WGS84);
+        date      = potential.getReferenceDate();
+        grid      = GeoidGrid.compute(geoid, date, FastMath.toRadians(1.0), ForkJoinPool.commonPool());
+    }
+
+    @Test
+    public void testSize() {
+        Assert.assertEquals(181, grid.getLatitudeNodes());
+        Assert.assertEquals(360, grid.getLongitudeNodes());
+    }
+
+    @Test
+    public void testNodes() {
+        for (final double[] node : new double[][] { { 0, 0 }, { 45, -120 }, { -30, 60 }, { 90, 0 }, { -90, 17 } }) {
+            final double lat = FastMath.toRadians(node[0]);
+            final double lon = FastMath.toRadians(node[1]);
+            final double ref = geoid.getUndulation(lat, lon, date);
+            Assert.assertEquals(ref, grid.getUndulation(lat, lon, GeoidGrid.Interpolation.BILINEAR), 1.0e-9);
+            Assert.assertEquals(ref, grid.getUndulation(lat, lon, GeoidGrid.Interpolation.BICUBIC),  1.0e-9);
+        }
+    }
+
+    @Test
+    public void testErrorEstimate() {
+        final double bilinear = grid.getErrorEstimate(GeoidGrid.Interpolation.BILINEAR);
+        final double bicubic  = grid.getErrorEstimate(GeoidGrid.Interpolation.BICUBIC);
+        Assert.assertTrue(bilinear > 0);
+        Assert.assertTrue(bicubic  > 0);
+        Assert.assertTrue(bicubic  < bilinear);
+
+        // random points, including longitudes outside of [-π, π]
+        final RandomGenerator random = new Well19937a(0x2c7e91b04d5a3f68l);
+        double maxBilinear = 0;
+        double maxBicubic  = 0;
+        for (int i = 0; i < 2000; ++i) {
+            final double lat = FastMath.PI * (random.nextDouble() - 0.5);
+            final double lon = 4 * FastMath.PI * (random.nextDouble() - 0.5);
+            final double ref = geoid.getUndulation(lat, lon, date);
+            maxBilinear = FastMath.max(maxBilinear,
+                                       FastMath.abs(grid.getUndulation(lat, lon, GeoidGrid.Interpolation.BILINEAR) - ref));
+            maxBicubic  = FastMath.max(maxBicubic,
+                                       FastMath.abs(grid.getUndulation(lat, lon, GeoidGrid.Interpolation.BICUBIC) - ref));
+        }
+        Assert.assertTrue(maxBilinear < 2.0 * bilinear);
+        Assert.assertTrue(maxBicubic  < 2.0 * bicubic);
+    }
+
+    @Test
+    public void testGeoidWithGrid() {
+        final Geoid gridded = new Geoid(potential, WGS84, grid, GeoidGrid.Interpolation.BICUBIC);
+        final double lat = FastMath.toRadians(28.3);
+        final double lon = FastMath.toRadians(92.7);
+        Assert.assertEquals(grid.getUndulation(lat, lon, GeoidGrid.Interpolation.BICUBIC),
+                            gridded.getUndulation(lat, lon, date.shiftedBy(1.0e6)),
+                            0.0);
+        Assert.assertEquals(geoid.getUndulation(lat, lon, date),
+                            gridded.getUndulation(lat, lon, date),
+                            grid.getErrorEstimate(GeoidGrid.Interpolation.BICUBIC));
+    }
+
+    @Test
+    public void testWriteRead() throws IOException {
+        final File file = tempFolder.newFile("geoid.bin");
+        grid.write(file.toPath());
+        final GeoidGrid read = GeoidGrid.read(file.toPath());
+        Assert.assertEquals(grid.getLatitudeNodes(),  read.getLatitudeNodes());
+        Assert.assertEquals(grid.getLongitudeNodes(), read.getLongitudeNodes());
+        for (final GeoidGrid.Interpolation interpolation : GeoidGrid.Interpolation.values()) {
+            Assert.assertEquals(grid.getErrorEstimate(interpolation), read.getErrorEstimate(interpolation), 0.0);
+            final RandomGenerator random = new Well19937a(0x6b0d3e5a8f417c92l);
+            for (int i = 0; i < 100; ++i) {
+                final double lat = FastMath.PI * (random.nextDouble() - 0.5);
+                final double lon = 2 * FastMath.PI * (random.nextDouble() - 0.5);
+                Assert.assertEquals(grid.getUndulation(lat, lon, interpolation),
+                                    read.getUndulation(lat, lon, interpolation),
+                                    0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testCorruptedFile() throws IOException {
+        final File file = tempFolder.newFile("corrupted.bin");
+        Files.write(file.toPath(), new byte[64]);
+        try {
+            GeoidGrid.read(file.toPath());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.CORRUPTED_FILE, oe.getSpecifier());
+        }
+    }
+
+}
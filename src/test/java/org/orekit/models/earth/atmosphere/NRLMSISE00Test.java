@@ -42,6 +42,7 @@ import org.orekit.bodies.CelestialBodyFactory;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.time.AbsoluteDate;
@@ -278,6 +279,51 @@ public class NRLMSISE00Test {
 
     }
 
+    @Test
+    public void testEvaluator() {
+        // Build the input params provider
+        final InputParams ip = new InputParams();
+        // Get Sun
+        final PVCoordinatesProvider sun = CelestialBodyFactory.getSun();
+        // Get Earth body shape
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING, itrf);
+        // Build the model and the evaluator
+        final NRLMSISE00 atm = new NRLMSISE00(ip, sun, earth);
+        final NRLMSISE00.Evaluator evaluator = atm.createEvaluator();
+        Assert.assertSame(atm.getFrame(), evaluator.getFrame());
+
+        final AbsoluteDate t0 = new AbsoluteDate(new DateComponents(2003, 172),
+                                                 new TimeComponents(29000.),
+                                                 TimeScalesFactory.getUT1(IERSConventions.IERS_2010, true));
+        final RandomGenerator random = new Well19937a(0x7b3e1f2d9c4a5e6fl);
+        for (int i = 0; i < 20; ++i) {
+            // several positions at the same date, to exercise the date-dependent cache
+            final AbsoluteDate date = t0.shiftedBy(3600.0 * i);
+            for (int j = 0; j < 10; ++j) {
+                // altitudes cover all branches: below mesosphere, mesosphere and thermosphere
+                final GeodeticPoint point = new GeodeticPoint(FastMath.PI * (random.nextDouble() - 0.5),
+                                                              2 * FastMath.PI * (random.nextDouble() - 0.5),
+                                                              1000.0 * (20.0 + 980.0 * random.nextDouble()));
+                final Vector3D pos = earth.transform(point);
+                Assert.assertEquals(atm.getDensity(date, pos, itrf),
+                                    evaluator.getDensity(date, pos, itrf),
+                                    0.0);
+            }
+        }
+
+        // out of range dates are still detected
+        try {
+            evaluator.getDensity(ip.getMaxDate().shiftedBy(Constants.JULIAN_DAY),
+                                 earth.transform(new GeodeticPoint(0.0, 0.0, 400000.0)), itrf);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NO_SOLAR_ACTIVITY_AT_DATE, oe.getSpecifier());
+        }
+
+    }
+
     @Test
     public void testDensityGradient() {
         // Build the input params provider
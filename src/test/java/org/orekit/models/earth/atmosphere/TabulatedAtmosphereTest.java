@@ -0,0 +1,125 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.atmosphere;
+
+import org.hipparchus.analysis.differentiation.DSFactory;
+import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateComponents;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeComponents;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinatesProvider;
+
+public class TabulatedAtmosphereTest {
+
+    private PVCoordinatesProvider sun;
+    private OneAxisEllipsoid earth;
+    private Frame earthFrame;
+    private AbsoluteDate date;
+
+    @Test
+    public void testToleranceFulfilled() {
+        final HarrisPriester       hp        = new HarrisPriester(sun, earth);
+        final TabulatedAtmosphere  tabulated = new TabulatedAtmosphere(hp, earth, sun, 120000.0, 900000.0,
+                                                                       Constants.JULIAN_DAY, 1.0e-2, 2);
+        Assert.assertSame(hp, tabulated.getModel());
+        Assert.assertSame(earthFrame, tabulated.getFrame());
+        Assert.assertEquals(1.0e-2, tabulated.getTolerance(), 0.0);
+
+        final RandomGenerator random = new Well19937a(0x4e1b5c9d3a8f2e17l);
+        double maxError = 0;
+        for (int i = 0; i < 2000; ++i) {
+            final AbsoluteDate   current = date.shiftedBy(random.nextDouble() * Constants.JULIAN_DAY);
+            final GeodeticPoint  gp      = new GeodeticPoint(FastMath.PI * (random.nextDouble() - 0.5),
+                                                             2 * FastMath.PI * (random.nextDouble() - 0.5),
+                                                             120000.0 + 780000.0 * random.nextDouble());
+            final Vector3D       p       = earth.transform(gp);
+            final double         ref     = hp.getDensity(current, p, earthFrame);
+            maxError = FastMath.max(maxError, FastMath.abs(tabulated.getDensity(current, p, earthFrame) - ref) / ref);
+        }
+        Assert.assertTrue(maxError < 1.0e-2);
+        Assert.assertTrue(maxError > 0.0);
+
+    }
+
+    @Test
+    public void testOutsideTabulatedRange() {
+        final HarrisPriester       hp        = new HarrisPriester(sun, earth);
+        final TabulatedAtmosphere  tabulated = new TabulatedAtmosphere(hp, earth, sun, 200000.0, 600000.0,
+                                                                       Constants.JULIAN_DAY, 1.0e-3, 2);
+        for (final double altitude : new double[] { 120000.0, 800000.0 }) {
+            final Vector3D p = earth.transform(new GeodeticPoint(0.3, 1.2, altitude));
+            Assert.assertEquals(hp.getDensity(date, p, earthFrame),
+                                tabulated.getDensity(date, p, earthFrame),
+                                0.0);
+        }
+    }
+
+    @Test
+    public void testField() {
+        final HarrisPriester       hp        = new HarrisPriester(sun, earth);
+        final TabulatedAtmosphere  tabulated = new TabulatedAtmosphere(hp, earth, sun, 120000.0, 900000.0,
+                                                                       Constants.JULIAN_DAY, 1.0e-2, 2);
+        final DSFactory factory = new DSFactory(3, 1);
+        final Vector3D  p       = earth.transform(new GeodeticPoint(0.3, 1.2, 420000.0));
+        final FieldVector3D<DerivativeStructure> fp =
+                        new FieldVector3D<>(factory.variable(0, p.getX()),
+                                            factory.variable(1, p.getY()),
+                                            factory.variable(2, p.getZ()));
+        final DerivativeStructure rho = tabulated.getDensity(new FieldAbsoluteDate<>(factory.getDerivativeField(), date),
+                                                             fp, earthFrame);
+        Assert.assertEquals(tabulated.getDensity(date, p, earthFrame), rho.getValue(), 1.0e-15 * rho.getValue());
+
+        // radial derivative is consistent with the wrapped model
+        final DerivativeStructure ref = hp.getDensity(new FieldAbsoluteDate<>(factory.getDerivativeField(), date),
+                                                      fp, earthFrame);
+        final Vector3D u = p.normalize();
+        final double tabulatedRadial = u.getX() * rho.getPartialDerivative(1, 0, 0) +
+                                       u.getY() * rho.getPartialDerivative(0, 1, 0) +
+                                       u.getZ() * rho.getPartialDerivative(0, 0, 1);
+        final double refRadial       = u.getX() * ref.getPartialDerivative(1, 0, 0) +
+                                       u.getY() * ref.getPartialDerivative(0, 1, 0) +
+                                       u.getZ() * ref.getPartialDerivative(0, 0, 1);
+        Assert.assertEquals(refRadial, tabulatedRadial, 0.05 * FastMath.abs(refRadial));
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        sun        = CelestialBodyFactory.getSun();
+        earthFrame = CelestialBodyFactory.getEarth().getBodyOrientedFrame();
+        earth      = new OneAxisEllipsoid(6378136.460, 1.0 / 298.257222101, earthFrame);
+        date       = new AbsoluteDate(new DateComponents(2003, 03, 21), new TimeComponents(0, 0, 0.),
+                                      TimeScalesFactory.getUTC());
+    }
+
+}
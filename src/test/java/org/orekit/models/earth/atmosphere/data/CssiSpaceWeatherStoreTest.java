@@ -0,0 +1,144 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.atmosphere.data;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+
+public class CssiSpaceWeatherStoreTest {
+
+    private TimeScale utc;
+
+    @Test
+    public void testRange() {
+        final CssiSpaceWeatherStore store = new CssiSpaceWeatherStore(CssiSpaceWeatherData.DEFAULT_SUPPORTED_NAMES);
+        Assert.assertEquals(new AbsoluteDate("1957-10-01", utc), store.getMinDate());
+        Assert.assertEquals(new AbsoluteDate("2044-06-01", utc), store.getMaxDate());
+    }
+
+    @Test
+    public void testConsistencyWholeRange() {
+        doTestConsistency(new AbsoluteDate(1957, 10, 4, 0, 0, 0.0, utc),
+                          new AbsoluteDate(2044, 5, 31, 0, 0, 0.0, utc),
+                          2000);
+    }
+
+    @Test
+    public void testConsistencyAroundPredictions() {
+        // covers the transitions between observed, daily predicted and monthly predicted data
+        doTestConsistency(new AbsoluteDate(2020, 2, 10, 0, 0, 0.0, utc),
+                          new AbsoluteDate(2020, 6, 10, 0, 0, 0.0, utc),
+                          2000);
+    }
+
+    @Test
+    public void testAp2003SolarStorm() {
+        final CssiSpaceWeatherStore store = new CssiSpaceWeatherStore(CssiSpaceWeatherData.DEFAULT_SUPPORTED_NAMES);
+        final AbsoluteDate date = new AbsoluteDate(2003, 10, 29, 23, 0, 0.0, utc);
+        final double[] ap = store.getAp(date);
+        Assert.assertEquals(204, ap[0], 1.0e-10);
+        Assert.assertEquals(300, ap[1], 1.0e-10);
+        Assert.assertEquals(300, ap[2], 1.0e-10);
+        Assert.assertEquals(179, ap[3], 1.0e-10);
+        Assert.assertEquals(179, ap[4], 1.0e-10);
+        Assert.assertEquals(583.0 / 10.0 / 8, store.get24HoursKp(date), 1.0e-10);
+    }
+
+    @Test
+    public void testDailyFluxAtMidnight() {
+        final CssiSpaceWeatherStore store = new CssiSpaceWeatherStore(CssiSpaceWeatherData.DEFAULT_SUPPORTED_NAMES);
+        final AbsoluteDate date = new AbsoluteDate(2000, 1, 1, 0, 0, 0.0, utc);
+        // the daily flux is supposed to be the one from 1999-12-31
+        Assert.assertEquals(125.8, store.getDailyFlux(date), 1.0e-10);
+        Assert.assertEquals(158.6, store.getAverageFlux(date), 1.0e-10);
+    }
+
+    @Test
+    public void testApHistoryNotAvailable() {
+        final CssiSpaceWeatherStore store = new CssiSpaceWeatherStore(CssiSpaceWeatherData.DEFAULT_SUPPORTED_NAMES);
+        try {
+            // Ap up to 57 hours prior to the date are needed
+            store.getAp(new AbsoluteDate(1957, 10, 3, 3, 14, 0.0, utc));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testOutOfRange() {
+        final CssiSpaceWeatherStore store = new CssiSpaceWeatherStore(CssiSpaceWeatherData.DEFAULT_SUPPORTED_NAMES);
+        try {
+            store.getInstantFlux(store.getMaxDate().shiftedBy(1.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, oe.getSpecifier());
+        }
+        try {
+            store.getThreeHourlyKP(store.getMinDate().shiftedBy(-1.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, oe.getSpecifier());
+        }
+    }
+
+    private void doTestConsistency(final AbsoluteDate start, final AbsoluteDate end, final int n) {
+
+        final CssiSpaceWeatherData  reference = new CssiSpaceWeatherData(CssiSpaceWeatherData.DEFAULT_SUPPORTED_NAMES);
+        final CssiSpaceWeatherStore store     = new CssiSpaceWeatherStore(CssiSpaceWeatherData.DEFAULT_SUPPORTED_NAMES);
+
+        final RandomGenerator random = new Well19937a(0x5f3a9e1c27b4d860l);
+        final double          span   = end.durationFrom(start);
+        for (int i = 0; i < n; ++i) {
+            final AbsoluteDate date = start.shiftedBy(random.nextDouble() * span);
+            checkClose(reference.getInstantFlux(date),    store.getInstantFlux(date));
+            checkClose(reference.getMeanFlux(date),       store.getMeanFlux(date));
+            checkClose(reference.getDailyFlux(date),      store.getDailyFlux(date));
+            checkClose(reference.getAverageFlux(date),    store.getAverageFlux(date));
+            checkClose(reference.getThreeHourlyKP(date),  store.getThreeHourlyKP(date));
+            checkClose(reference.get24HoursKp(date),      store.get24HoursKp(date));
+            final double[] refAp = reference.getAp(date);
+            final double[] ap    = store.getAp(date);
+            Assert.assertEquals(refAp.length, ap.length);
+            for (int k = 0; k < ap.length; ++k) {
+                checkClose(refAp[k], ap[k]);
+            }
+        }
+
+    }
+
+    private void checkClose(final double expected, final double actual) {
+        Assert.assertEquals(expected, actual, 1.0e-12 * FastMath.max(1.0, FastMath.abs(expected)));
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data:atmosphere");
+        utc = TimeScalesFactory.getUTC();
+    }
+
+}
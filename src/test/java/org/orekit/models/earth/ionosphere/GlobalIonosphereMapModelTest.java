@@ -21,6 +21,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
@@ -80,6 +82,33 @@ public class GlobalIonosphereMapModelTest {
         Assert.assertEquals(9.592, tec, epsilonDelay);
     }
 
+    @Test
+    public void testSingleMap() {
+        final GlobalIonosphereMapModel single = new GlobalIonosphereMapModel("single-map-gpsg0150.19i");
+        final GeodeticPoint point = new GeodeticPoint(FastMath.toRadians(30.0), FastMath.toRadians(-130.0), 0.0);
+        final AbsoluteDate  epoch = new AbsoluteDate(2019, 1, 15, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        final double        tec0  = model.getTEC(epoch, point);
+        Assert.assertEquals(tec0, single.getTEC(epoch, point), 1.0e-15);
+        Assert.assertEquals(tec0,
+                            single.getTEC(new FieldAbsoluteDate<>(Decimal64Field.getInstance(), epoch),
+                                          point).getReal(),
+                            1.0e-15);
+    }
+
+    @Test
+    public void testSingleMapOutOfRange() {
+        // the file interval is zero, so the only map is valid only at its epoch
+        final GlobalIonosphereMapModel single = new GlobalIonosphereMapModel("single-map-gpsg0150.19i");
+        final GeodeticPoint point = new GeodeticPoint(FastMath.toRadians(30.0), FastMath.toRadians(-130.0), 0.0);
+        final AbsoluteDate  date  = new AbsoluteDate(2019, 1, 15, 0, 0, 0.0, TimeScalesFactory.getUTC()).shiftedBy(600.0);
+        try {
+            single.getTEC(date, point);
+            Assert.fail("An exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NO_TEC_DATA_IN_FILE_FOR_DATE, oe.getSpecifier());
+        }
+    }
+
     @Test
     public void testFieldTEC() {
         doTestFieldTEC(Decimal64Field.getInstance());
@@ -119,6 +148,69 @@ public class GlobalIonosphereMapModelTest {
         Assert.assertEquals(1.557, delay.getReal(), epsilonDelay);
     }
 
+    @Test
+    public void testSeveralStations() {
+        final AbsoluteDate  date = new AbsoluteDate(2019, 1, 15, 3, 43, 12.0, TimeScalesFactory.getUTC());
+        final GeodeticPoint p1   = new GeodeticPoint(FastMath.toRadians(30.0), FastMath.toRadians(-130.0), 0.0);
+        final GeodeticPoint p2   = new GeodeticPoint(FastMath.toRadians(-12.0), FastMath.toRadians(47.0), 0.0);
+        final double tec1 = model.getTEC(date, p1);
+        final double tec2 = model.getTEC(date, p2);
+        Assert.assertEquals(9.592, tec1, epsilonDelay);
+        Assert.assertEquals(tec1, model.getTEC(date, p1), 0.0);
+        Assert.assertEquals(tec2, new GlobalIonosphereMapModel("gpsg0150.19i").getTEC(date, p2), 0.0);
+    }
+
+    @Test
+    public void testPolarStation() {
+        final AbsoluteDate date = new AbsoluteDate(2019, 1, 15, 3, 43, 12.0, TimeScalesFactory.getUTC());
+        final double longitude  = FastMath.toRadians(12.0);
+        Assert.assertEquals(model.getTEC(date, new GeodeticPoint(FastMath.toRadians(87.5), longitude, 0.0)),
+                            model.getTEC(date, new GeodeticPoint(FastMath.toRadians(89.0), longitude, 0.0)),
+                            1.0e-12);
+    }
+
+    @Test
+    public void testBatchDelays() {
+        final AbsoluteDate  date      = new AbsoluteDate(2019, 1, 15, 3, 43, 12.0, TimeScalesFactory.getUTC());
+        final GeodeticPoint point     = new GeodeticPoint(FastMath.toRadians(30.0), FastMath.toRadians(-130.0), 0.0);
+        final double        frequency = Frequency.G01.getMHzFrequency() * 1.0e6;
+
+        // elevations
+        final double[] elevations = new double[] {
+            FastMath.toRadians(5.0), FastMath.toRadians(27.0), FastMath.toRadians(64.0), 0.5 * FastMath.PI
+        };
+        final double[] delays = model.pathDelay(date, point, elevations, frequency);
+        Assert.assertEquals(elevations.length, delays.length);
+        for (int i = 0; i < elevations.length; ++i) {
+            Assert.assertEquals(model.pathDelay(date, point, elevations[i], frequency), delays[i], 1.0e-15);
+        }
+        Assert.assertEquals(1.557, delays[3], epsilonDelay);
+
+        // spacecraft states
+        final TopocentricFrame      topo   = new TopocentricFrame(earth, point, null);
+        final List<SpacecraftState> states = new ArrayList<>();
+        for (int plane = 0; plane < 6; ++plane) {
+            for (int slot = 0; slot < 4; ++slot) {
+                final Orbit orbit = new KeplerianOrbit(26560000.0, 0.0, 0.96, 0.0,
+                                                       plane * FastMath.PI / 3, slot * FastMath.PI / 2 + plane * 0.3,
+                                                       PositionAngle.MEAN, FramesFactory.getEME2000(),
+                                                       date, Constants.WGS84_EARTH_MU);
+                states.add(new SpacecraftState(orbit));
+            }
+        }
+        final double[] stateDelays = model.pathDelay(states, topo, frequency);
+        int visible = 0;
+        for (int i = 0; i < states.size(); ++i) {
+            final double expected = model.pathDelay(states.get(i), topo, frequency, model.getParameters());
+            Assert.assertEquals(expected, stateDelays[i], 1.0e-15);
+            if (expected > 0) {
+                ++visible;
+            }
+        }
+        Assert.assertTrue(visible > 0);
+        Assert.assertTrue(visible < states.size());
+    }
+
     @Test
     public void testParser() {
 
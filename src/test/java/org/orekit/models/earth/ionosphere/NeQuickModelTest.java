@@ -18,6 +18,7 @@ package org.orekit.models.earth.ionosphere;
 
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.Decimal64Field;
@@ -29,6 +30,7 @@ import org.orekit.Utils;
 import org.orekit.bodies.FieldGeodeticPoint;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.frames.FramesFactory;
 import org.orekit.frames.TopocentricFrame;
 import org.orekit.gnss.Frequency;
@@ -235,4 +237,54 @@ public class NeQuickModelTest {
         Assert.assertEquals(1.13, delay.getReal(), 0.01);
     }
 
+    @Test
+    public void testGridMediumSolarActivity() {
+
+        // Models
+        final NeQuickModel exact   = new NeQuickModel(medium);
+        final NeQuickModel gridded = new NeQuickModel(medium, TimeScalesFactory.getUTC(),
+                                                      FastMath.toRadians(1.0), 300.0);
+
+        // Geodetic points
+        final GeodeticPoint recP = new GeodeticPoint(FastMath.toRadians(-31.80), FastMath.toRadians(115.89), 12.78);
+        final GeodeticPoint satP = new GeodeticPoint(FastMath.toRadians(-14.31), FastMath.toRadians(124.09), 20100697.90);
+
+        // Dates sharing the same grid
+        for (double dt = 0; dt < 300.0; dt += 30.0) {
+            final AbsoluteDate date = new AbsoluteDate(2018, 4, 2, 16, 0, 0, TimeScalesFactory.getUTC()).shiftedBy(dt);
+            final double stec = exact.stec(date, recP, satP);
+            Assert.assertEquals(stec, gridded.stec(date, recP, satP), 0.02 * stec);
+        }
+
+    }
+
+    @Test
+    public void testGridWesternLongitudes() {
+
+        // Models
+        final NeQuickModel exact   = new NeQuickModel(medium);
+        final NeQuickModel gridded = new NeQuickModel(medium, TimeScalesFactory.getUTC(),
+                                                      FastMath.toRadians(2.0), 600.0);
+
+        // Geodetic points close to the -180° meridian
+        final GeodeticPoint recP = new GeodeticPoint(FastMath.toRadians(21.30), FastMath.toRadians(-177.37), 12.0);
+        final GeodeticPoint satP = new GeodeticPoint(FastMath.toRadians(35.70), FastMath.toRadians(-165.10), 20100697.90);
+
+        final AbsoluteDate date = new AbsoluteDate(2018, 4, 2, 9, 0, 0, TimeScalesFactory.getUTC());
+        final double stec = exact.stec(date, recP, satP);
+        Assert.assertTrue(stec > 0);
+        Assert.assertEquals(stec, gridded.stec(date, recP, satP), 0.02 * stec);
+
+    }
+
+    @Test
+    public void testWrongGridStep() {
+        try {
+            new NeQuickModel(medium, TimeScalesFactory.getUTC(), FastMath.toRadians(1.0), 0.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+    }
+
 }
@@ -18,6 +18,7 @@ package org.orekit.models.earth.tessellation;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.geometry.partitioning.Region.Location;
@@ -324,6 +325,104 @@ public class EllipsoidTessellatorTest {
 
     }
 
+    @Test
+    public void testParallelSameAsSequential() {
+        final EllipsoidTessellator tessellator =
+                new EllipsoidTessellator(ellipsoid, new AlongTrackAiming(ellipsoid, orbit, false), 4);
+        final List<List<Tile>> sequential = tessellator.tessellate(buildFrance(),
+                                                                   50000.0, 150000.0, 5000.0, 5000.0,
+                                                                   false, false);
+        Assert.assertNull(tessellator.getPool());
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            tessellator.setPool(pool);
+            Assert.assertSame(pool, tessellator.getPool());
+            final List<List<Tile>> parallel = tessellator.tessellate(buildFrance(),
+                                                                     50000.0, 150000.0, 5000.0, 5000.0,
+                                                                     false, false);
+            Assert.assertEquals(sequential.size(), parallel.size());
+            for (int i = 0; i < sequential.size(); ++i) {
+                Assert.assertEquals(sequential.get(i).size(), parallel.get(i).size());
+                for (int j = 0; j < sequential.get(i).size(); ++j) {
+                    final GeodeticPoint[] sv = sequential.get(i).get(j).getVertices();
+                    final GeodeticPoint[] pv = parallel.get(i).get(j).getVertices();
+                    for (int k = 0; k < sv.length; ++k) {
+                        Assert.assertEquals(sv[k].getLatitude(),  pv[k].getLatitude(),  0.0);
+                        Assert.assertEquals(sv[k].getLongitude(), pv[k].getLongitude(), 0.0);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testRetessellateUnchangedZone() {
+        final EllipsoidTessellator tessellator =
+                new EllipsoidTessellator(ellipsoid, new ConstantAzimuthAiming(ellipsoid, FastMath.toRadians(120)), 4);
+        final List<List<Tile>> tiles = tessellator.tessellate(buildFrance(),
+                                                              50000.0, 150000.0, -5000.0, -5000.0,
+                                                              false, false);
+        final List<List<Tile>> updated = tessellator.retessellate(buildFrance(), tiles,
+                                                                  50000.0, 150000.0, -5000.0, -5000.0,
+                                                                  false, false);
+        // nothing to add, all tiles are preserved
+        Assert.assertEquals(tiles.size(), updated.size());
+        for (int i = 0; i < tiles.size(); ++i) {
+            Assert.assertEquals(tiles.get(i), updated.get(i));
+        }
+    }
+
+    @Test
+    public void testRetessellateChangedZone() {
+        final EllipsoidTessellator tessellator =
+                new EllipsoidTessellator(ellipsoid, new ConstantAzimuthAiming(ellipsoid, FastMath.toRadians(120)), 4);
+        final SphericalPolygonsSet initial = buildSimpleZone(1.0e-10, new double[][] {
+            { 45.0, 2.0 }, { 45.0, 4.0 }, { 47.0, 4.0 }, { 47.0, 2.0 }
+        });
+        final SphericalPolygonsSet shifted = buildSimpleZone(1.0e-10, new double[][] {
+            { 45.0, 3.0 }, { 45.0, 5.0 }, { 47.0, 5.0 }, { 47.0, 3.0 }
+        });
+        final List<List<Tile>> tiles = tessellator.tessellate(initial,
+                                                              50000.0, 50000.0, 0.0, 0.0,
+                                                              false, false);
+        final List<List<Tile>> updated = tessellator.retessellate(shifted, tiles,
+                                                                  50000.0, 50000.0, 0.0, 0.0,
+                                                                  false, false);
+
+        // the tiles on the western part have been dropped
+        int keptCount = 0;
+        for (final Tile tile : updated.get(0)) {
+            Assert.assertTrue(tiles.get(0).contains(tile));
+            ++keptCount;
+        }
+        Assert.assertTrue(keptCount < tiles.get(0).size());
+
+        // the eastern part has been tessellated
+        Assert.assertTrue(updated.size() > 1);
+
+        // the new zone is completely covered
+        for (double lat = 45.0; lat <= 47.0; lat += 0.25) {
+            for (double lon = 3.0; lon <= 5.0; lon += 0.25) {
+                final S2Point point = toS2Point(new GeodeticPoint(FastMath.toRadians(lat), FastMath.toRadians(lon), 0.0));
+                boolean covered = false;
+                for (final List<Tile> list : updated) {
+                    for (final Tile tile : list) {
+                        final SphericalPolygonsSet quadrilateral =
+                                        new SphericalPolygonsSet(1.0e-10,
+                                                                 toS2Point(tile.getVertices()[0]),
+                                                                 toS2Point(tile.getVertices()[1]),
+                                                                 toS2Point(tile.getVertices()[2]),
+                                                                 toS2Point(tile.getVertices()[3]));
+                        covered |= quadrilateral.checkPoint(point) != Location.OUTSIDE;
+                    }
+                }
+                Assert.assertTrue(covered);
+            }
+        }
+    }
+
     private void checkTilesDontOverlap(final List<List<Tile>> tiles) {
         for (final List<Tile> list : tiles) {
             for (final Tile tile : list) {
@@ -0,0 +1,229 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.troposphere;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.analysis.differentiation.Gradient;
+import org.hipparchus.analysis.differentiation.GradientField;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.Decimal64;
+import org.hipparchus.util.Decimal64Field;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.FieldGeodeticPoint;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+
+public class CachedMappingFunctionTest {
+
+    private AbsoluteDate date;
+
+    private GeodeticPoint point;
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data:potential/shm-format");
+        date  = AbsoluteDate.createMJDDate(55055, 0, TimeScalesFactory.getUTC());
+        point = new GeodeticPoint(0.6708665767, -1.393397187, 844.715);
+    }
+
+    @Test
+    public void testAccuracy() {
+        final MappingFunction       reference = new GlobalMappingFunctionModel();
+        final CachedMappingFunction cached    = new CachedMappingFunction(reference,
+                                                                          FastMath.toRadians(0.25),
+                                                                          60.0, 10);
+        Assert.assertSame(reference, cached.getFunction());
+        for (double e = 5.0; e <= 90.0; e += 0.1) {
+            final double   elevation = FastMath.toRadians(e);
+            final double[] ref       = reference.mappingFactors(elevation, point, date);
+            final double[] factors   = cached.mappingFactors(elevation, point, date.shiftedBy(0.1 * e));
+            Assert.assertEquals(ref[0], factors[0], 1.0e-4 * ref[0]);
+            Assert.assertEquals(ref[1], factors[1], 1.0e-4 * ref[1]);
+        }
+    }
+
+    @Test
+    public void testLowElevationNotCached() {
+        final MappingFunction       reference = new GlobalMappingFunctionModel();
+        final CachedMappingFunction cached    = new CachedMappingFunction(reference,
+                                                                          FastMath.toRadians(1.0),
+                                                                          60.0, 10);
+        final double elevation = FastMath.toRadians(1.5);
+        final double[] ref     = reference.mappingFactors(elevation, point, date);
+        final double[] factors = cached.mappingFactors(elevation, point, date);
+        Assert.assertEquals(ref[0], factors[0], 0.0);
+        Assert.assertEquals(ref[1], factors[1], 0.0);
+        Assert.assertEquals(0, cached.getHits());
+        Assert.assertEquals(1, cached.getMisses());
+    }
+
+    @Test
+    public void testHitRate() {
+        final CachedMappingFunction cached = new CachedMappingFunction(new GlobalMappingFunctionModel(),
+                                                                       FastMath.toRadians(0.5),
+                                                                       60.0, 10);
+        Assert.assertEquals(0.0, cached.getHitRate(), 0.0);
+
+        // slowly rising satellite seen by one station
+        for (int i = 0; i < 1000; ++i) {
+            cached.mappingFactors(FastMath.toRadians(30.0 + 0.01 * i), point, date.shiftedBy(0.01 * i));
+        }
+        Assert.assertEquals(1000, cached.getHits() + cached.getMisses());
+        Assert.assertTrue(cached.getHitRate() > 0.9);
+
+        // another station
+        final GeodeticPoint other = new GeodeticPoint(point.getLatitude(), point.getLongitude() + 0.1,
+                                                      point.getAltitude());
+        final long misses = cached.getMisses();
+        cached.mappingFactors(FastMath.toRadians(30.0), other, date);
+        Assert.assertEquals(misses + 1, cached.getMisses());
+
+        cached.clearCache();
+        Assert.assertEquals(0, cached.getHits());
+        Assert.assertEquals(0, cached.getMisses());
+    }
+
+    @Test
+    public void testConcurrentEvaluations() throws Exception {
+
+        // the first evaluation in each thread waits for the other thread to be evaluating too,
+        // which would time out if evaluations were serialized by the cache lock
+        final MappingFunction reference = new GlobalMappingFunctionModel();
+        final CyclicBarrier   barrier   = new CyclicBarrier(2);
+        final AtomicInteger   calls     = new AtomicInteger();
+        final MappingFunction blocking  = new MappingFunction() {
+            @Override
+            public double[] mappingFactors(final double elevation, final GeodeticPoint p, final AbsoluteDate d) {
+                if (calls.getAndIncrement() < 2) {
+                    try {
+                        barrier.await(10, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return reference.mappingFactors(elevation, p, d);
+            }
+            @Override
+            public <T extends RealFieldElement<T>> T[] mappingFactors(final T elevation,
+                                                                      final FieldGeodeticPoint<T> p,
+                                                                      final FieldAbsoluteDate<T> d) {
+                return reference.mappingFactors(elevation, p, d);
+            }
+        };
+        final CachedMappingFunction cached = new CachedMappingFunction(blocking, FastMath.toRadians(0.5), 60.0, 10);
+
+        final GeodeticPoint other = new GeodeticPoint(point.getLatitude(), point.getLongitude() + 0.1,
+                                                      point.getAltitude());
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<double[]> f1 = executor.submit(() -> cached.mappingFactors(FastMath.toRadians(30.0), point, date));
+            final Future<double[]> f2 = executor.submit(() -> cached.mappingFactors(FastMath.toRadians(30.0), other, date));
+            final double[] ref = reference.mappingFactors(FastMath.toRadians(30.0), point, date);
+            Assert.assertEquals(ref[0], f1.get(20, TimeUnit.SECONDS)[0], 1.0e-4 * ref[0]);
+            Assert.assertEquals(ref[0], f2.get(20, TimeUnit.SECONDS)[0], 1.0e-4 * ref[0]);
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(2, cached.getMisses());
+
+    }
+
+    @Test
+    public void testFieldDelegation() {
+        final MappingFunction       reference = new GlobalMappingFunctionModel();
+        final CachedMappingFunction cached    = new CachedMappingFunction(reference,
+                                                                          FastMath.toRadians(0.5),
+                                                                          60.0, 10);
+        final Decimal64Field field = Decimal64Field.getInstance();
+        final Decimal64 elevation  = new Decimal64(FastMath.toRadians(12.0));
+        final FieldGeodeticPoint<Decimal64> fieldPoint =
+                        new FieldGeodeticPoint<>(new Decimal64(point.getLatitude()),
+                                                 new Decimal64(point.getLongitude()),
+                                                 new Decimal64(point.getAltitude()));
+        final FieldAbsoluteDate<Decimal64> fieldDate = new FieldAbsoluteDate<>(field, date);
+        final Decimal64[] ref     = reference.mappingFactors(elevation, fieldPoint, fieldDate);
+        final Decimal64[] factors = cached.mappingFactors(elevation, fieldPoint, fieldDate);
+        Assert.assertEquals(ref[0].getReal(), factors[0].getReal(), 0.0);
+        Assert.assertEquals(ref[1].getReal(), factors[1].getReal(), 0.0);
+        Assert.assertEquals(0, cached.getHits() + cached.getMisses());
+    }
+
+    @Test
+    public void testGradient() {
+        final MappingFunction       reference = new GlobalMappingFunctionModel();
+        final CachedMappingFunction cached    = new CachedMappingFunction(reference,
+                                                                          FastMath.toRadians(0.25),
+                                                                          60.0, 10);
+        final GradientField field = GradientField.getField(3);
+        final FieldGeodeticPoint<Gradient> fieldPoint =
+                        new FieldGeodeticPoint<>(Gradient.constant(3, point.getLatitude()),
+                                                 Gradient.constant(3, point.getLongitude()),
+                                                 Gradient.constant(3, point.getAltitude()));
+        final FieldAbsoluteDate<Gradient> fieldDate = new FieldAbsoluteDate<>(field, date);
+        for (double e = 5.0; e <= 90.0; e += 0.1) {
+            final Gradient   elevation = new Gradient(FastMath.toRadians(e), 1.0, 0.5, -2.0);
+            final Gradient[] ref       = reference.mappingFactors(elevation, fieldPoint, fieldDate);
+            final Gradient[] factors   = cached.mappingFactors(elevation, fieldPoint, fieldDate);
+            for (int i = 0; i < 2; ++i) {
+                Assert.assertEquals(ref[i].getValue(), factors[i].getValue(), 1.0e-4 * ref[i].getValue());
+                for (int j = 0; j < 3; ++j) {
+                    Assert.assertEquals(ref[i].getPartialDerivative(j), factors[i].getPartialDerivative(j),
+                                        1.0e-3 * FastMath.abs(ref[i].getPartialDerivative(0)) + 1.0e-8);
+                }
+            }
+        }
+        Assert.assertTrue(cached.getHitRate() > 0.5);
+
+        // derivatives with respect to station location are not cached
+        final long evaluations = cached.getHits() + cached.getMisses();
+        final FieldGeodeticPoint<Gradient> movingPoint =
+                        new FieldGeodeticPoint<>(Gradient.variable(3, 2, point.getLatitude()),
+                                                 Gradient.constant(3, point.getLongitude()),
+                                                 Gradient.constant(3, point.getAltitude()));
+        final Gradient   elevation = new Gradient(FastMath.toRadians(30.0), 1.0, 0.5, -2.0);
+        final Gradient[] ref       = reference.mappingFactors(elevation, movingPoint, fieldDate);
+        final Gradient[] factors   = cached.mappingFactors(elevation, movingPoint, fieldDate);
+        Assert.assertEquals(ref[0].getValue(), factors[0].getValue(), 0.0);
+        Assert.assertEquals(ref[0].getPartialDerivative(2), factors[0].getPartialDerivative(2), 0.0);
+        Assert.assertEquals(evaluations, cached.getHits() + cached.getMisses());
+    }
+
+    @Test
+    public void testWrongStep() {
+        try {
+            new CachedMappingFunction(new GlobalMappingFunctionModel(), 0.0, 60.0, 10);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+    }
+
+}
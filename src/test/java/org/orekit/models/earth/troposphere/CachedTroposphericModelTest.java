@@ -0,0 +1,109 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.troposphere;
+
+import org.hipparchus.analysis.differentiation.Gradient;
+import org.hipparchus.analysis.differentiation.GradientField;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.FieldGeodeticPoint;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+
+public class CachedTroposphericModelTest {
+
+    private AbsoluteDate date;
+
+    private GeodeticPoint point;
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data:atmosphere");
+        date  = new AbsoluteDate(2009, 8, 12, TimeScalesFactory.getUTC());
+        point = new GeodeticPoint(FastMath.toRadians(45.0), FastMath.toRadians(45.0), 350.0);
+    }
+
+    @Test
+    public void testAccuracy() {
+        final SaastamoinenModel       reference = SaastamoinenModel.getStandardModel();
+        final CachedTroposphericModel cached    = new CachedTroposphericModel(reference,
+                                                                              FastMath.toRadians(0.5),
+                                                                              300.0, 10);
+        Assert.assertSame(reference, cached.getModel());
+        Assert.assertEquals(reference.getParametersDrivers(), cached.getParametersDrivers());
+        final double[] parameters = reference.getParameters();
+        for (double e = 15.0; e <= 90.0; e += 0.1) {
+            final double elevation = FastMath.toRadians(e);
+            Assert.assertEquals(reference.pathDelay(elevation, point, parameters, date),
+                                cached.pathDelay(elevation, point, parameters, date.shiftedBy(e)),
+                                1.0e-3);
+        }
+        Assert.assertTrue(cached.getHitRate() > 0.5);
+    }
+
+    @Test
+    public void testParametersInKey() {
+        final CachedTroposphericModel cached =
+                        new CachedTroposphericModel(new EstimatedTroposphericModel(new GlobalMappingFunctionModel(),
+                                                                                   2.0),
+                                                    FastMath.toRadians(0.5), 300.0, 10);
+        final double elevation = FastMath.toRadians(40.0);
+        final double d1 = cached.pathDelay(elevation, point, new double[] { 2.0 }, date);
+        final double d2 = cached.pathDelay(elevation, point, new double[] { 2.5 }, date);
+        Assert.assertTrue(d2 > d1);
+        Assert.assertEquals(2, cached.getMisses());
+        Assert.assertEquals(d1, cached.pathDelay(elevation, point, new double[] { 2.0 }, date), 0.0);
+        Assert.assertEquals(1, cached.getHits());
+    }
+
+    @Test
+    public void testGradient() {
+        final EstimatedTroposphericModel reference =
+                        new EstimatedTroposphericModel(new GlobalMappingFunctionModel(), 2.0);
+        final CachedTroposphericModel    cached    = new CachedTroposphericModel(reference,
+                                                                                 FastMath.toRadians(0.25),
+                                                                                 300.0, 10);
+        final GradientField field = GradientField.getField(4);
+        final FieldGeodeticPoint<Gradient> fieldPoint =
+                        new FieldGeodeticPoint<>(Gradient.constant(4, point.getLatitude()),
+                                                 Gradient.constant(4, point.getLongitude()),
+                                                 Gradient.constant(4, point.getAltitude()));
+        final FieldAbsoluteDate<Gradient> fieldDate = new FieldAbsoluteDate<>(field, date);
+        final Gradient[] parameters = new Gradient[] {
+            Gradient.variable(4, 3, 2.0)
+        };
+        for (double e = 15.0; e <= 90.0; e += 0.1) {
+            final Gradient elevation = new Gradient(FastMath.toRadians(e), 1.0, 0.5, -2.0, 0.0);
+            final Gradient ref       = reference.pathDelay(elevation, fieldPoint, parameters, fieldDate);
+            final Gradient delay     = cached.pathDelay(elevation, fieldPoint, parameters, fieldDate);
+            Assert.assertEquals(ref.getValue(), delay.getValue(), 1.0e-4 * ref.getValue());
+            for (int j = 0; j < 3; ++j) {
+                Assert.assertEquals(ref.getPartialDerivative(j), delay.getPartialDerivative(j),
+                                    1.0e-3 * FastMath.abs(ref.getPartialDerivative(0)) + 1.0e-8);
+            }
+            Assert.assertEquals(ref.getPartialDerivative(3), delay.getPartialDerivative(3),
+                                1.0e-4 * ref.getPartialDerivative(3));
+        }
+        Assert.assertTrue(cached.getHitRate() > 0.5);
+    }
+
+}
@@ -0,0 +1,192 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinates;
+
+public class ChebyshevEphemerisCompressorTest {
+
+    private Orbit orbit;
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        orbit = new KeplerianOrbit(2.4e7, 0.7, 0.3, 1.0, 2.0, 3.0, PositionAngle.MEAN,
+                                   FramesFactory.getEME2000(),
+                                   new AbsoluteDate(2021, 4, 5, 6, 7, 8.0, TimeScalesFactory.getUTC()),
+                                   Constants.EIGEN5C_EARTH_MU);
+    }
+
+    @Test
+    public void testEphemeris() {
+        final KeplerianPropagator reference = new KeplerianPropagator(orbit);
+        final List<SpacecraftState> states = new ArrayList<>();
+        for (double dt = 0; dt <= 2 * Constants.JULIAN_DAY; dt += 30.0) {
+            states.add(reference.propagate(orbit.getDate().shiftedBy(dt)));
+        }
+        final Ephemeris ephemeris = new Ephemeris(states, 8);
+
+        final ChebyshevEphemeris compressed =
+                        new ChebyshevEphemerisCompressor(1.0e-3, 1.0e-6, 14, 7200.0, 10.0).compress(ephemeris);
+        Assert.assertEquals(0.0, compressed.getMinDate().durationFrom(ephemeris.getMinDate()), 1.0e-15);
+        Assert.assertEquals(0.0, compressed.getMaxDate().durationFrom(ephemeris.getMaxDate()), 1.0e-15);
+        Assert.assertSame(ephemeris.getFrame(), compressed.getFrame());
+        Assert.assertEquals(14, compressed.getDegree());
+
+        // segments are split near perigee only
+        Assert.assertTrue(compressed.getNbSegments() > 24);
+        Assert.assertTrue(compressed.getNbSegments() < states.size() / 20);
+
+        checkErrors(ephemeris, compressed, 2.0e-3, 2.0e-6);
+
+    }
+
+    @Test
+    public void testIntegratedEphemeris() {
+        final NumericalPropagator numerical =
+                        new NumericalPropagator(new DormandPrince853Integrator(0.001, 1000, 1.0e-9, 1.0e-12));
+        numerical.setOrbitType(OrbitType.CARTESIAN);
+        numerical.setInitialState(new SpacecraftState(orbit));
+        numerical.setEphemerisMode();
+        numerical.propagate(orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+        final BoundedPropagator ephemeris = numerical.getGeneratedEphemeris();
+
+        final ChebyshevEphemeris compressed =
+                        new ChebyshevEphemerisCompressor(1.0e-2, 1.0e-5, 12, 3600.0, 10.0).compress(ephemeris);
+        checkErrors(ephemeris, compressed, 2.0e-2, 2.0e-5);
+        Assert.assertEquals(orbit.getMu(), compressed.getInitialState().getMu(), 1.0e-10);
+        Assert.assertEquals(ephemeris.getInitialState().getMass(), compressed.getInitialState().getMass(), 1.0e-15);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(ephemeris.propagate(orbit.getDate().shiftedBy(5000.0)).getPVCoordinates().getPosition(),
+                                              compressed.propagate(orbit.getDate().shiftedBy(5000.0)).getPVCoordinates().getPosition()),
+                            2.0e-2);
+    }
+
+    @Test
+    public void testParallel() {
+        final KeplerianPropagator reference = new KeplerianPropagator(orbit);
+        final List<SpacecraftState> states = new ArrayList<>();
+        for (double dt = 0; dt <= Constants.JULIAN_DAY; dt += 60.0) {
+            states.add(reference.propagate(orbit.getDate().shiftedBy(dt)));
+        }
+        final Ephemeris ephemeris = new Ephemeris(states, 8);
+        final ChebyshevEphemerisCompressor compressor = new ChebyshevEphemerisCompressor(1.0e-3, 1.0e-6, 10, 3600.0, 10.0);
+        final ChebyshevEphemeris sequential = compressor.compress(ephemeris);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final ChebyshevEphemeris parallel = compressor.compress(ephemeris, pool);
+            Assert.assertEquals(sequential.getNbSegments(), parallel.getNbSegments());
+            for (double dt = 0; dt <= Constants.JULIAN_DAY; dt += 97.0) {
+                final AbsoluteDate date = orbit.getDate().shiftedBy(dt);
+                final PVCoordinates delta = new PVCoordinates(sequential.getPVCoordinates(date, orbit.getFrame()),
+                                                              parallel.getPVCoordinates(date, orbit.getFrame()));
+                Assert.assertEquals(0.0, delta.getPosition().getNorm(), 0.0);
+                Assert.assertEquals(0.0, delta.getVelocity().getNorm(), 0.0);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testOutOfRange() {
+        final KeplerianPropagator reference = new KeplerianPropagator(orbit);
+        final List<SpacecraftState> states = new ArrayList<>();
+        for (double dt = 0; dt <= 3600.0; dt += 60.0) {
+            states.add(reference.propagate(orbit.getDate().shiftedBy(dt)));
+        }
+        final ChebyshevEphemeris compressed =
+                        new ChebyshevEphemerisCompressor(1.0e-3, 1.0e-6, 10, 3600.0, 10.0).compress(new Ephemeris(states, 8));
+        try {
+            compressed.getPVCoordinates(orbit.getDate().shiftedBy(-0.001), orbit.getFrame());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, oe.getSpecifier());
+        }
+        try {
+            compressed.resetInitialState(compressed.getInitialState());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NON_RESETABLE_STATE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testWrongSettings() {
+        try {
+            new ChebyshevEphemerisCompressor(0.0, 1.0e-6, 10, 3600.0, 10.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+        try {
+            new ChebyshevEphemerisCompressor(1.0e-3, 1.0e-6, 1, 3600.0, 10.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+        try {
+            new ChebyshevEphemerisCompressor(1.0e-3, 1.0e-6, 10, 5.0, 10.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    private void checkErrors(final BoundedPropagator expected, final ChebyshevEphemeris compressed,
+                             final double positionTolerance, final double velocityTolerance) {
+        double maxDP = 0;
+        double maxDV = 0;
+        final double span = expected.getMaxDate().durationFrom(expected.getMinDate());
+        for (double dt = 0; dt <= span; dt += 7.7) {
+            final AbsoluteDate date = expected.getMinDate().shiftedBy(dt);
+            final PVCoordinates delta = new PVCoordinates(expected.getPVCoordinates(date, orbit.getFrame()),
+                                                          compressed.getPVCoordinates(date, orbit.getFrame()));
+            maxDP = FastMath.max(maxDP, delta.getPosition().getNorm());
+            maxDV = FastMath.max(maxDV, delta.getVelocity().getNorm());
+        }
+        Assert.assertEquals(0.0, maxDP, positionTolerance);
+        Assert.assertEquals(0.0, maxDV, velocityTolerance);
+    }
+
+}
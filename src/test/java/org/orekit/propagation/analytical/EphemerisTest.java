@@ -20,7 +20,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -41,6 +43,7 @@ import org.orekit.errors.TimeStampedCacheException;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.frames.LOFType;
+import org.orekit.orbits.CartesianOrbit;
 import org.orekit.orbits.KeplerianOrbit;
 import org.orekit.orbits.Orbit;
 import org.orekit.orbits.PositionAngle;
@@ -329,6 +332,72 @@ public class EphemerisTest {
         }
     }
 
+    @Test
+    public void testPositionCartesian() {
+        double dt = finalDate.durationFrom(initDate);
+        double timeStep = dt / 720.0;
+        List<SpacecraftState> states = new ArrayList<SpacecraftState>();
+        for (double t = 0 ; t <= dt; t += timeStep) {
+            final SpacecraftState s = propagator.propagate(initDate.shiftedBy(t));
+            states.add(new SpacecraftState(new CartesianOrbit(s.getOrbit())));
+        }
+
+        // neighbors selection must not depend on input order
+        Collections.shuffle(states, new Random(0x3a7c5e1fd4b29086L));
+
+        Ephemeris ephemeris = new Ephemeris(states, 6);
+        Assert.assertEquals(initDate,  ephemeris.getMinDate());
+        Assert.assertEquals(finalDate, ephemeris.getMaxDate());
+
+        final double[] p = new double[3];
+        double maxFull     = 0;
+        double maxAnalytic = 0;
+        for (double t = -0.5 * ephemeris.getExtrapolationThreshold();
+             t <= dt + 0.5 * ephemeris.getExtrapolationThreshold();
+             t += 17.25) {
+            final AbsoluteDate date = initDate.shiftedBy(t);
+            ephemeris.getPosition(date, p);
+            final Vector3D fast = new Vector3D(p[0], p[1], p[2]);
+            maxFull     = FastMath.max(maxFull,
+                                       Vector3D.distance(fast, ephemeris.propagate(date).getPVCoordinates().getPosition()));
+            maxAnalytic = FastMath.max(maxAnalytic,
+                                       Vector3D.distance(fast, propagator.propagate(date).getPVCoordinates().getPosition()));
+        }
+        Assert.assertEquals(0.0, maxFull,     2.0e-8);
+        Assert.assertEquals(0.0, maxAnalytic, 2.0e-5);
+
+        // frame conversion
+        final AbsoluteDate date = initDate.shiftedBy(1234.5);
+        final Frame itrf = FramesFactory.getGTOD(true);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(ephemeris.getPosition(date, itrf),
+                                              ephemeris.getPVCoordinates(date, itrf).getPosition()),
+                            2.0e-8);
+
+    }
+
+    @Test
+    public void testPositionOutOfRange() {
+        List<SpacecraftState> states = new ArrayList<SpacecraftState>();
+        for (double t = 0 ; t <= 600.0; t += 60.0) {
+            states.add(propagator.propagate(initDate.shiftedBy(t)));
+        }
+        Ephemeris ephemeris = new Ephemeris(states, 4);
+        final double[] p = new double[3];
+        try {
+            ephemeris.getPosition(initDate.shiftedBy(-1.0), p);
+            Assert.fail("an exception should have been thrown");
+        } catch (TimeStampedCacheException e) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE, e.getSpecifier());
+        }
+        try {
+            ephemeris.getPosition(initDate.shiftedBy(601.0), p);
+            Assert.fail("an exception should have been thrown");
+        } catch (TimeStampedCacheException e) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER, e.getSpecifier());
+        }
+    }
+
     @Test
     public void testIssue662() {
 
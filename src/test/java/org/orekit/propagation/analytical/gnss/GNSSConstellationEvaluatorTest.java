@@ -0,0 +1,112 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.gnss;
+
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.gnss.GPSAlmanac;
+import org.orekit.gnss.SEMParser;
+import org.orekit.gnss.SatelliteSystem;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateComponents;
+import org.orekit.time.GNSSDate;
+import org.orekit.utils.Constants;
+
+public class GNSSConstellationEvaluatorTest {
+
+    private static List<GPSAlmanac> almanacs;
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        Utils.setDataRoot("gnss");
+        GNSSDate.setRolloverReference(new DateComponents(DateComponents.GPS_EPOCH, 7 * 512));
+        // Get the parser to read a SEM file
+        SEMParser reader = new SEMParser(null);
+        // Reads the SEM file
+        reader.loadData();
+        // Gets all the SEM almanacs
+        almanacs = reader.getAlmanacs();
+    }
+
+    @Test
+    public void testSameAsPropagators() {
+        final GNSSConstellationEvaluator evaluator = new GNSSConstellationEvaluator(SatelliteSystem.GPS, almanacs);
+        Assert.assertEquals(SatelliteSystem.GPS, evaluator.getSystem());
+        Assert.assertEquals(almanacs.size(), evaluator.getSize());
+
+        final double[] x = new double[evaluator.getSize()];
+        final double[] y = new double[evaluator.getSize()];
+        final double[] z = new double[evaluator.getSize()];
+        final AbsoluteDate date0 = almanacs.get(0).getDate();
+        for (double dt = -Constants.JULIAN_DAY; dt < 2 * Constants.JULIAN_DAY; dt += 3517.0) {
+            final AbsoluteDate date = date0.shiftedBy(dt);
+            evaluator.getPositions(date, x, y, z);
+            for (int k = 0; k < almanacs.size(); ++k) {
+                Assert.assertEquals(almanacs.get(k).getPRN(), evaluator.getPRN(k));
+                final GPSPropagator propagator = new GPSPropagator.Builder(almanacs.get(k)).build();
+                final Vector3D expected = propagator.propagateInEcef(date).getPosition();
+                Assert.assertEquals(0.0, Vector3D.distance(expected, new Vector3D(x[k], y[k], z[k])), 1.0e-6);
+            }
+        }
+    }
+
+    @Test
+    public void testOffset() {
+        final GNSSConstellationEvaluator evaluator = new GNSSConstellationEvaluator(SatelliteSystem.GPS, almanacs);
+        final int n = evaluator.getSize();
+        final double[] x = new double[n + 3];
+        final double[] y = new double[n + 3];
+        final double[] z = new double[n + 3];
+        final double[] xRef = new double[n];
+        final double[] yRef = new double[n];
+        final double[] zRef = new double[n];
+        final AbsoluteDate date = almanacs.get(0).getDate().shiftedBy(1234.5);
+        evaluator.getPositions(date, x, y, z, 3);
+        evaluator.getPositions(date, xRef, yRef, zRef);
+        for (int k = 0; k < n; ++k) {
+            Assert.assertEquals(xRef[k], x[k + 3], 0.0);
+            Assert.assertEquals(yRef[k], y[k + 3], 0.0);
+            Assert.assertEquals(zRef[k], z[k + 3], 0.0);
+        }
+
+        try {
+            evaluator.getPositions(date, xRef, yRef, zRef, 1);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testInvalidSystem() {
+        try {
+            new GNSSConstellationEvaluator(SatelliteSystem.GLONASS, almanacs);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(OrekitMessages.INVALID_SATELLITE_SYSTEM, oiae.getSpecifier());
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+/* Copyright 2002-2021 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.geometry.spherical.twod.S2Point;
+import org.hipparchus.geometry.spherical.twod.SphericalPolygonsSet;
+import org.hipparchus.ode.events.Action;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.BodyShape;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.EquinoctialOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.EcksteinHechlerPropagator;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinates;
+
+public class MultiGeographicZoneDetectorTest {
+
+    private BodyShape earth;
+
+    private Orbit orbit;
+
+    @Test
+    public void testSameEventsAsIndividualDetectors() {
+
+        // a set of disjoint square zones
+        final List<SphericalPolygonsSet> zones = new ArrayList<>();
+        for (double lat = -60.0; lat <= 60.0; lat += 10.0) {
+            for (double lon = -180.0; lon < 180.0; lon += 15.0) {
+                zones.add(buildSquare(lat, lon, 3.0));
+            }
+        }
+        final double margin   = FastMath.toRadians(0.1);
+        final double maxCheck = 20.0;
+
+        // reference: one detector per zone
+        final Propagator reference = buildPropagator();
+        final List<EventsLogger> loggers = new ArrayList<>();
+        for (final SphericalPolygonsSet zone : zones) {
+            final EventsLogger logger = new EventsLogger();
+            reference.addEventDetector(logger.monitorDetector(new GeographicZoneDetector(maxCheck, 1.0e-3, earth, zone, margin).
+                                                              withHandler(new ContinueOnEvent<GeographicZoneDetector>())));
+            loggers.add(logger);
+        }
+        reference.propagate(orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+        int nbRef = 0;
+        for (final EventsLogger logger : loggers) {
+            nbRef += logger.getLoggedEvents().size();
+        }
+
+        // single multi-zone detector
+        final Propagator propagator = buildPropagator();
+        final List<AbsoluteDate> dates   = new ArrayList<>();
+        final List<MultiGeographicZoneDetector.Crossing> crossings = new ArrayList<>();
+        final MultiGeographicZoneDetector detector =
+                        new MultiGeographicZoneDetector(maxCheck, 1.0e-3, earth, zones, margin).
+                        withHandler((s, d, increasing) -> {
+                            dates.add(s.getDate());
+                            crossings.add(d.identifyCrossing(s, increasing));
+                            return Action.CONTINUE;
+                        });
+        Assert.assertEquals(zones.size(), detector.getZones().size());
+        Assert.assertEquals(margin, detector.getMargin(), 0.0);
+        propagator.addEventDetector(detector);
+        propagator.propagate(orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+
+        // visits shorter than the max check interval may be missed by either side,
+        // all other events must be found by both sides
+        Assert.assertTrue(nbRef > 10);
+        final double shortVisit = 2 * maxCheck;
+        for (int i = 0; i < crossings.size(); ++i) {
+            final MultiGeographicZoneDetector.Crossing crossing = crossings.get(i);
+            boolean found = false;
+            for (final EventsLogger.LoggedEvent event : loggers.get(crossing.getZoneIndex()).getLoggedEvents()) {
+                if (FastMath.abs(event.getState().getDate().durationFrom(dates.get(i))) < 0.01) {
+                    // GeographicZoneDetector g function increases when exiting the zone
+                    Assert.assertEquals(!event.isIncreasing(), crossing.isEntry());
+                    found = true;
+                }
+            }
+            if (!found) {
+                final int other = crossing.isEntry() ? i + 1 : i - 1;
+                Assert.assertEquals(crossing.getZoneIndex(), crossings.get(other).getZoneIndex());
+                Assert.assertTrue(FastMath.abs(dates.get(other).durationFrom(dates.get(i))) < shortVisit);
+            }
+        }
+        for (int z = 0; z < loggers.size(); ++z) {
+            final List<EventsLogger.LoggedEvent> events = loggers.get(z).getLoggedEvents();
+            for (int k = 0; k < events.size(); ++k) {
+                final AbsoluteDate date = events.get(k).getState().getDate();
+                boolean found = false;
+                for (int i = 0; i < crossings.size(); ++i) {
+                    if (crossings.get(i).getZoneIndex() == z && FastMath.abs(date.durationFrom(dates.get(i))) < 0.01) {
+                        found = true;
+                    }
+                }
+                if (!found) {
+                    final int other = events.get(k).isIncreasing() ? k - 1 : k + 1;
+                    Assert.assertTrue(FastMath.abs(events.get(other).getState().getDate().durationFrom(date)) < shortVisit);
+                }
+            }
+        }
+
+    }
+
+    @Test
+    public void testOutsideAllZones() {
+        final List<SphericalPolygonsSet> zones = new ArrayList<>();
+        zones.add(buildSquare(45.0, 2.0, 3.0));
+        final MultiGeographicZoneDetector detector = new MultiGeographicZoneDetector(earth, zones, 0.0);
+        // far from the single zone, the function is positive and saturated
+        Assert.assertEquals(MultiGeographicZoneDetector.REACH,
+                            detector.g(new SpacecraftState(orbit)),
+                            0.0);
+        Assert.assertNull(detector.identifyCrossing(new SpacecraftState(orbit), true));
+    }
+
+    private Propagator buildPropagator() {
+        return new EcksteinHechlerPropagator(orbit,
+                                             Constants.EIGEN5C_EARTH_EQUATORIAL_RADIUS,
+                                             Constants.EIGEN5C_EARTH_MU,
+                                             Constants.EIGEN5C_EARTH_C20,
+                                             Constants.EIGEN5C_EARTH_C30,
+                                             Constants.EIGEN5C_EARTH_C40,
+                                             Constants.EIGEN5C_EARTH_C50,
+                                             Constants.EIGEN5C_EARTH_C60);
+    }
+
+    private SphericalPolygonsSet buildSquare(final double lat, final double lon, final double size) {
+        return new SphericalPolygonsSet(1.0e-10,
+                                        toS2Point(lat,        lon),
+                                        toS2Point(lat,        lon + size),
+                                        toS2Point(lat + size, lon + size),
+                                        toS2Point(lat + size, lon));
+    }
+
+    private S2Point toS2Point(final double lat, final double lon) {
+        return new S2Point(FastMath.toRadians(lon), FastMath.toRadians(90.0 - lat));
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        orbit = new EquinoctialOrbit(new PVCoordinates(new Vector3D(-6142438.668, 3492467.56, -25767.257),
+                                                       new Vector3D(505.848, 942.781, 7435.922)),
+                                     FramesFactory.getEME2000(),
+                                     new AbsoluteDate(2003, 9, 16, TimeScalesFactory.getUTC()),
+                                     Constants.EIGEN5C_EARTH_MU);
+    }
+
+}
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 import org.hamcrest.MatcherAssert;
@@ -513,6 +514,56 @@ public class DSSTPropagatorTest {
         Assert.assertEquals(((DSSTAtmosphericDrag)drag).getRbar(), atmosphericMaxConstant + Constants.WGS84_EARTH_EQUATORIAL_RADIUS, 1e-9);
     }
 
+    @Test
+    public void testConcurrentForceModels() {
+        final SpacecraftState sequential = propagateWithDrag(null);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final SpacecraftState concurrent = propagateWithDrag(pool);
+            Assert.assertSame(pool, dsstProp.getForceModelsPool());
+            // contributions are always summed in the same order, results are identical
+            Assert.assertEquals(sequential.getA(),             concurrent.getA(),             0.0);
+            Assert.assertEquals(sequential.getEquinoctialEx(), concurrent.getEquinoctialEx(), 0.0);
+            Assert.assertEquals(sequential.getEquinoctialEy(), concurrent.getEquinoctialEy(), 0.0);
+            Assert.assertEquals(sequential.getHx(),            concurrent.getHx(),            0.0);
+            Assert.assertEquals(sequential.getHy(),            concurrent.getHy(),            0.0);
+            Assert.assertEquals(sequential.getLM(),            concurrent.getLM(),            0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private SpacecraftState propagateWithDrag(final ForkJoinPool pool) {
+        final UnnormalizedSphericalHarmonicsProvider provider =
+                GravityFieldFactory.getUnnormalizedProvider(2, 0);
+        final Frame earthFrame = CelestialBodyFactory.getEarth().getBodyOrientedFrame();
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(provider.getAe(),
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            earthFrame);
+        final DSSTAtmosphericDrag drag =
+                        new DSSTAtmosphericDrag(new HarrisPriester(CelestialBodyFactory.getSun(), earth, 6),
+                                                2.0, 25.0, provider.getMu());
+        drag.setQuadraturePool(pool);
+        Assert.assertSame(pool, drag.getQuadraturePool());
+        final AbsoluteDate initDate = new AbsoluteDate(2003, 7, 1, 0, 0, 00.000,
+                                                       TimeScalesFactory.getUTC());
+        final Orbit orbit = new KeplerianOrbit(7204535.848109440, 0.0012402238462686,
+                                               FastMath.toRadians(98.74341600466740),
+                                               FastMath.toRadians(111.1990175076630),
+                                               FastMath.toRadians(43.32990110790340),
+                                               FastMath.toRadians(68.66852509725620),
+                                               PositionAngle.MEAN, FramesFactory.getEME2000(),
+                                               initDate, provider.getMu());
+        setDSSTProp(new SpacecraftState(orbit));
+        dsstProp.setForceModelsPool(pool);
+        dsstProp.addForceModel(new DSSTZonal(provider, 2, 0, 5));
+        dsstProp.addForceModel(new DSSTTesseral(earthFrame, Constants.WGS84_EARTH_ANGULAR_VELOCITY,
+                                                provider, 2, 0, 0, 2, 2, 0, 0));
+        dsstProp.addForceModel(new DSSTThirdBody(CelestialBodyFactory.getMoon(), provider.getMu()));
+        dsstProp.addForceModel(drag);
+        return dsstProp.propagate(initDate.shiftedBy(5. * 86400.));
+    }
+
     @Test
     public void testPropagationWithSolarRadiationPressure() {
 
@@ -704,6 +755,75 @@ public class DSSTPropagatorTest {
         Assert.assertEquals(0.0, maxError, 1.0e-10);
     }
 
+    @Test
+    public void testShortPeriodicsCache() {
+        Utils.setDataRoot("regular-data:potential/icgem-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new ICGEMFormatReader("^eigen-6s-truncated$", false));
+        UnnormalizedSphericalHarmonicsProvider nshp = GravityFieldFactory.getUnnormalizedProvider(8, 8);
+        Orbit orbit = new KeplerianOrbit(13378000, 0.05, 0, 0, FastMath.PI, 0, PositionAngle.MEAN,
+                                         FramesFactory.getTOD(false),
+                                         new AbsoluteDate(2003, 5, 6, TimeScalesFactory.getUTC()),
+                                         nshp.getMu());
+        Orbit close = new KeplerianOrbit(13378001, 0.05, 0, 0, FastMath.PI, 0, PositionAngle.MEAN,
+                                         orbit.getFrame(), orbit.getDate(), orbit.getMu());
+        Orbit far   = new KeplerianOrbit(13388000, 0.05, 0, 0, FastMath.PI, 0, PositionAngle.MEAN,
+                                         orbit.getFrame(), orbit.getDate(), orbit.getMu());
+        double period = orbit.getKeplerianPeriod();
+        double[][] tolerance = DSSTPropagator.tolerances(1.0, orbit);
+        AdaptiveStepsizeIntegrator integrator =
+                new DormandPrince853Integrator(period / 100, period * 100, tolerance[0], tolerance[1]);
+        integrator.setInitialStepSize(10 * period);
+        DSSTPropagator propagator = new DSSTPropagator(integrator, PropagationType.OSCULATING);
+        CelestialBody sun = CelestialBodyFactory.getSun();
+        propagator.addForceModel(new DSSTZonal(nshp, 8, 7, 17));
+        propagator.addForceModel(new DSSTThirdBody(sun, nshp.getMu()));
+        final AbsoluteDate target = orbit.getDate().shiftedBy(5 * Constants.JULIAN_DAY);
+
+        // reference propagation, without cache
+        propagator.setInitialState(new SpacecraftState(close, 45.0), PropagationType.MEAN);
+        final SpacecraftState reference = propagator.propagate(target);
+
+        final DSSTShortPeriodicsCache cache = new DSSTShortPeriodicsCache(1.0e-6, 4);
+        propagator.setShortPeriodicsCache(cache);
+        Assert.assertSame(cache, propagator.getShortPeriodicsCache());
+
+        // first propagation fills the cache
+        propagator.setInitialState(new SpacecraftState(orbit, 45.0), PropagationType.MEAN);
+        propagator.propagate(target);
+        Assert.assertEquals(0, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(1, cache.getEntries());
+
+        // close propagation reuses the cached short periodic terms
+        propagator.setInitialState(new SpacecraftState(close, 45.0), PropagationType.MEAN);
+        final SpacecraftState cached = propagator.propagate(target);
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(reference.getPVCoordinates().getPosition(),
+                                              cached.getPVCoordinates().getPosition()),
+                            1.0e-2);
+
+        // propagation beyond the cached range cannot reuse the terms
+        propagator.setInitialState(new SpacecraftState(close, 45.0), PropagationType.MEAN);
+        propagator.propagate(target.shiftedBy(Constants.JULIAN_DAY));
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(2, cache.getMisses());
+
+        // far propagation cannot reuse the terms
+        propagator.setInitialState(new SpacecraftState(far, 45.0), PropagationType.MEAN);
+        propagator.propagate(target);
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(3, cache.getMisses());
+        Assert.assertEquals(3, cache.getEntries());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.getEntries());
+        Assert.assertEquals(0, cache.getHits());
+        Assert.assertEquals(0, cache.getMisses());
+
+    }
+
     @Test
     public void testGetInitialOsculatingState() throws IllegalArgumentException, OrekitException {
         final SpacecraftState initialState = getGEOState();
@@ -58,7 +58,7 @@ public class FieldGammaMnsFunctionTest {
     private <T extends RealFieldElement<T>> void doTestPrecomputedRatios(Field<T> field)
         throws NoSuchFieldException, SecurityException, IllegalArgumentException, IllegalAccessException {
         final T zero = field.getZero();
-        java.lang.reflect.Field precomputedF = FieldGammaMnsFunction.class.getDeclaredField("PRECOMPUTED_RATIOS");
+        java.lang.reflect.Field precomputedF = GammaMnsFunction.class.getDeclaredField("PRECOMPUTED_RATIOS");
         precomputedF.setAccessible(true);
         new FieldGammaMnsFunction<>(nMax, zero.add(0.5), +1, field);
         double[] precomputed = (double[]) precomputedF.get(null);
@@ -83,7 +83,7 @@ public class FieldGammaMnsFunctionTest {
     private <T extends RealFieldElement<T>> void doTestReallocate(Field<T> field)
         throws NoSuchFieldException, SecurityException, IllegalArgumentException, IllegalAccessException {
         final T zero = field.getZero();
-        java.lang.reflect.Field precomputedF = FieldGammaMnsFunction.class.getDeclaredField("PRECOMPUTED_RATIOS");
+        java.lang.reflect.Field precomputedF = GammaMnsFunction.class.getDeclaredField("PRECOMPUTED_RATIOS");
         precomputedF.setAccessible(true);
         precomputedF.set(null, new double[0]);
         new FieldGammaMnsFunction<>(nMax, zero.add(0.5), +1, field);
@@ -89,6 +89,30 @@ public class HansenThirdBodyLinearTest {
         doTestLinearVsRecursive(0.9, 8.3e-16);
     }
 
+    @Test
+    public void testSharedPolynomials() {
+        final double chi = 1.0 / FastMath.sqrt(1 - 0.3 * 0.3);
+        final int s = 3;
+
+        // small table first, then a larger one replacing it, then small again
+        final HansenThirdBodyLinear small = new HansenThirdBodyLinear(12, s);
+        final HansenThirdBodyLinear large = new HansenThirdBodyLinear(30, s);
+        final HansenThirdBodyLinear reuse = new HansenThirdBodyLinear(12, s);
+        small.computeInitValues(1 / chi, 1 / (chi * chi), 1 / (chi * chi * chi));
+        large.computeInitValues(1 / chi, 1 / (chi * chi), 1 / (chi * chi * chi));
+        reuse.computeInitValues(1 / chi, 1 / (chi * chi), 1 / (chi * chi * chi));
+
+        for (int n = s; n <= 12; n++) {
+            Assert.assertEquals(small.getValue(n, 1 / chi), large.getValue(n, 1 / chi), 0.0);
+            Assert.assertEquals(small.getValue(n, 1 / chi), reuse.getValue(n, 1 / chi), 0.0);
+            Assert.assertEquals(small.getDerivative(n, 1 / chi), reuse.getDerivative(n, 1 / chi), 0.0);
+        }
+        for (int n = FastMath.max(2, s); n <= 30; n++) {
+            Assert.assertEquals(hansen(n, s, chi), large.getValue(n, 1 / chi), 1.0e-12 * FastMath.abs(hansen(n, s, chi)));
+        }
+
+    }
+
     private void doTestLinearVsRecursive(final double ecc, final double tol) {
         final int N = 22;
         final double chi = 1.0 / FastMath.sqrt(1 - ecc * ecc);
@@ -66,4 +66,16 @@ public class ElevationMaskTest {
         Assert.assertEquals(FastMath.toRadians(4), elevation, 1.0e-15);
     }
 
+    @Test
+    public void testGetMinElevation() {
+        double [][] masqueData = {{FastMath.toRadians(  0), FastMath.toRadians(5)},
+                                  {FastMath.toRadians(180), FastMath.toRadians(3)},
+                                  {FastMath.toRadians(-90), FastMath.toRadians(4)}};
+        ElevationMask mask = new ElevationMask(masqueData);
+        Assert.assertEquals(FastMath.toRadians(3), mask.getMinElevation(), 1.0e-15);
+        for (double az = 0; az < 360; az += 0.5) {
+            Assert.assertTrue(mask.getElevation(FastMath.toRadians(az)) >= mask.getMinElevation());
+        }
+    }
+
 }
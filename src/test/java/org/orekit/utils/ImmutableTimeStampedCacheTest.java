@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.MatcherAssert;
+import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -169,6 +170,60 @@ public class ImmutableTimeStampedCacheTest {
         }
     }
 
+    /**
+     * check {@link ImmutableTimeStampedCache#getNeighborsStart(AbsoluteDate)}
+     * is consistent with {@link ImmutableTimeStampedCache#getNeighbors(AbsoluteDate)}
+     * for regular and irregular sampling.
+     */
+    @Test
+    public void testGetNeighborsStart() {
+        final List<AbsoluteDate> irregular = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            irregular.add(date.shiftedBy(i + 0.3 * FastMath.sin(i)));
+        }
+        for (final List<AbsoluteDate> sample : Arrays.asList(data, irregular)) {
+            final ImmutableTimeStampedCache<AbsoluteDate> c = new ImmutableTimeStampedCache<>(4, sample);
+            final AbsoluteDate last = sample.get(sample.size() - 1);
+            for (AbsoluteDate t = sample.get(0); t.compareTo(last) <= 0; t = t.shiftedBy(0.0625)) {
+                final int start = c.getNeighborsStart(t);
+                Assert.assertSame(c.getNeighbors(t).findFirst().get(), c.getAll().get(start));
+            }
+        }
+    }
+
+    /**
+     * check dates extremely close to entries are classified exactly, even far from the first entry.
+     */
+    @Test
+    public void testGetNeighborsStartExactComparison() {
+        final List<AbsoluteDate> sample = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            sample.add(date.shiftedBy(1.0e7 * i));
+        }
+        final ImmutableTimeStampedCache<AbsoluteDate> c = new ImmutableTimeStampedCache<>(2, sample);
+        for (int i = 1; i < sample.size() - 1; ++i) {
+            Assert.assertEquals(i - 1, c.getNeighborsStart(sample.get(i).shiftedBy(-1.0e-12)));
+            Assert.assertEquals(i,     c.getNeighborsStart(sample.get(i)));
+        }
+    }
+
+    /**
+     * check {@link ImmutableTimeStampedCache#fromSortedList(int, List)}
+     */
+    @Test
+    public void testFromSortedList() {
+        final ImmutableTimeStampedCache<AbsoluteDate> c = ImmutableTimeStampedCache.fromSortedList(3, data);
+        Assert.assertEquals(data, c.getAll());
+        Assert.assertSame(data.get(2), c.getAll().get(c.getNeighborsStart(data.get(3).shiftedBy(-0.5)) + 1));
+        Assert.assertArrayEquals(cache.getNeighbors(data.get(4)).toArray(), c.getNeighbors(data.get(4)).toArray());
+        try {
+            ImmutableTimeStampedCache.fromSortedList(data.size() + 1, data);
+            Assert.fail("Expected Exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
     /**
      * check {@link ImmutableTimeStampedCache#getNeighborsSize()}
      */